@@ -25,7 +25,34 @@ public enum EnvironmentProperties {
     BLACKDUCK_MULTIPART_UPLOAD_THRESHOLD("blackduck.multipart.upload.threshold", false),
     BLACKDUCK_MULTIPART_UPLOAD_PART_RETRY_ATTEMPTS("blackduck.multipart.upload.part.retry.attempts", false),
     BLACKDUCK_MULTIPART_UPLOAD_PART_RETRY_INITIAL_INTERVAL("blackduck.multipart.upload.part.retry.initial.interval", false),
-    BLACKDUCK_MULTIPART_UPLOAD_TIMEOUT_MINUTES("blackduck.multipart.upload.timeout.minutes", false);
+    BLACKDUCK_MULTIPART_UPLOAD_TIMEOUT_MINUTES("blackduck.multipart.upload.timeout.minutes", false),
+    BLACKDUCK_MULTIPART_UPLOAD_PART_CONCURRENCY("blackduck.multipart.upload.part.concurrency", false),
+    BLACKDUCK_UPLOAD_SPLIT_MODE("blackduck.upload.split.mode", false),
+    BLACKDUCK_UPLOAD_SPLIT_PARALLELISM("blackduck.upload.split.parallelism", false),
+    BLACKDUCK_UPLOAD_CHECKSUM_CACHE_DIRECTORY("blackduck.upload.checksum.cache.directory", false),
+    BLACKDUCK_UPLOAD_CHECKSUM_CACHE_MAX_SIZE("blackduck.upload.checksum.cache.max.size", false),
+    BLACKDUCK_UPLOAD_BUFFER_POOL_SIZE_CLASSES("blackduck.upload.buffer.pool.size.classes", false),
+    BLACKDUCK_UPLOAD_BUFFER_POOL_MAX_SIZE("blackduck.upload.buffer.pool.max.size", false),
+    BLACKDUCK_UPLOAD_MEMORY_MAPPED("blackduck.upload.memory.mapped", false),
+    BLACKDUCK_UPLOAD_PART_DIGEST_ALGORITHM("blackduck.upload.part.digest.algorithm", false),
+    BLACKDUCK_UPLOAD_CHECKSUM_TYPE("blackduck.upload.checksum.type", false),
+    BLACKDUCK_UPLOAD_CHUNK_SIZE_AUTO("blackduck.upload.chunk.size.auto", false),
+    BLACKDUCK_UPLOAD_TARGET_PART_COUNT("blackduck.upload.target.part.count", false),
+    BLACKDUCK_UPLOAD_JOURNAL_DIRECTORY("blackduck.upload.journal.directory", false),
+    BLACKDUCK_MULTIPART_UPLOAD_FAILURE_POLICY("blackduck.multipart.upload.failure.policy", false),
+    BLACKDUCK_MULTIPART_UPLOAD_PART_FAILURE_BUDGET("blackduck.multipart.upload.part.failure.budget", false),
+    BLACKDUCK_MULTIPART_UPLOAD_PART_RETRY_MAX_INTERVAL("blackduck.multipart.upload.part.retry.max.interval", false),
+    BLACKDUCK_MULTIPART_UPLOAD_PART_HEDGE_PERCENTILE("blackduck.multipart.upload.part.hedge.percentile", false),
+    BLACKDUCK_MULTIPART_UPLOAD_PART_HEDGE_BANDWIDTH_FRACTION("blackduck.multipart.upload.part.hedge.bandwidth.fraction", false),
+    BLACKDUCK_MULTIPART_UPLOAD_PART_MINIMUM_THROUGHPUT("blackduck.multipart.upload.part.minimum.throughput", false),
+    BLACKDUCK_MULTIPART_UPLOAD_PART_STALL_WINDOW("blackduck.multipart.upload.part.stall.window", false),
+    BLACKDUCK_MULTIPART_UPLOAD_PART_CONCURRENCY_MINIMUM("blackduck.multipart.upload.part.concurrency.minimum", false),
+    BLACKDUCK_MULTIPART_UPLOAD_PART_CONCURRENCY_INITIAL("blackduck.multipart.upload.part.concurrency.initial", false),
+    BLACKDUCK_UPLOAD_BANDWIDTH_LIMIT("blackduck.upload.bandwidth.limit", false),
+    BLACKDUCK_UPLOAD_BANDWIDTH_BURST("blackduck.upload.bandwidth.burst", false),
+    BLACKDUCK_UPLOAD_CONNECTION_POOL_MAX_TOTAL("blackduck.upload.connection.pool.max.total", false),
+    BLACKDUCK_UPLOAD_CONNECTION_POOL_MAX_PER_ROUTE("blackduck.upload.connection.pool.max.per.route", false),
+    BLACKDUCK_UPLOAD_CONNECTION_TIME_TO_LIVE("blackduck.upload.connection.time.to.live", false);
 
     private final String propertyKey;
     private final boolean isRequired;
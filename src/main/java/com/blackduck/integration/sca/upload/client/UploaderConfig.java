@@ -8,6 +8,10 @@
 package com.blackduck.integration.sca.upload.client;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
@@ -19,6 +23,11 @@ import com.blackduck.integration.exception.IntegrationException;
 import com.blackduck.integration.properties.PropertiesManager;
 import com.blackduck.integration.rest.HttpUrl;
 import com.blackduck.integration.rest.proxy.ProxyInfo;
+import com.blackduck.integration.sca.upload.file.FileSplitMode;
+import com.blackduck.integration.sca.upload.file.MultipartUploadFailurePolicy;
+import com.blackduck.integration.sca.upload.file.digest.PartDigestAlgorithm;
+import com.blackduck.integration.sca.upload.file.digest.PartDigestAlgorithms;
+import com.blackduck.integration.sca.upload.file.model.FileChecksumType;
 import com.blackduck.integration.sca.upload.rest.BlackDuckHttpClient;
 import com.blackduck.integration.sca.upload.validation.ErrorCode;
 import com.blackduck.integration.sca.upload.validation.UploadError;
@@ -41,6 +50,33 @@ public class UploaderConfig {
     private final int multipartUploadPartRetryAttempts;
     private final long multipartUploadPartRetryInitialInterval;
     private final int multipartUploadTimeoutInMinutes;
+    private final int multipartUploadPartConcurrency;
+    private final FileSplitMode uploadSplitMode;
+    private final int uploadSplitParallelism;
+    private final Path uploadChecksumCacheDirectory;
+    private final long uploadChecksumCacheMaxSize;
+    private final List<Integer> uploadBufferPoolSizeClasses;
+    private final long uploadBufferPoolMaxSize;
+    private final boolean uploadMemoryMapped;
+    private final PartDigestAlgorithm uploadPartDigestAlgorithm;
+    private final FileChecksumType uploadChecksumType;
+    private final boolean uploadChunkSizeAuto;
+    private final int uploadTargetPartCount;
+    private final Path uploadJournalDirectory;
+    private final MultipartUploadFailurePolicy multipartUploadFailurePolicy;
+    private final int multipartUploadPartFailureBudget;
+    private final long multipartUploadPartRetryMaxInterval;
+    private final double multipartUploadPartHedgePercentile;
+    private final double multipartUploadPartHedgeBandwidthFraction;
+    private final long multipartUploadPartMinimumThroughput;
+    private final long multipartUploadPartStallWindow;
+    private final int multipartUploadPartConcurrencyMinimum;
+    private final int multipartUploadPartConcurrencyInitial;
+    private final long uploadBandwidthLimit;
+    private final long uploadBandwidthBurst;
+    private final int uploadConnectionPoolMaxTotal;
+    private final int uploadConnectionPoolMaxPerRoute;
+    private final long uploadConnectionTimeToLive;
 
     /**
      * Static constructor to instantiate Builder using just {@link ProxyInfo}.
@@ -113,28 +149,45 @@ public class UploaderConfig {
         return new Builder(proxyInfo, PropertiesManager.loadWithOverrides(propertiesFileLocation, EnvironmentProperties.getAsMap()));
     }
 
-    private UploaderConfig(
-        ProxyInfo proxyInfo,
-        int uploadChunkSize,
-        int blackduckTimeoutInSeconds,
-        boolean alwaysTrustServerCertificate,
-        HttpUrl blackDuckUrl,
-        String apiToken,
-        Long multipartUploadThreshold,
-        int multipartUploadPartRetryAttempts,
-        long multipartUploadPartRetryInitialInterval,
-        int multipartUploadTimeoutInMinutes
-    ) {
-        this.proxyInfo = proxyInfo;
-        this.uploadChunkSize = uploadChunkSize;
-        this.blackduckTimeoutInSeconds = blackduckTimeoutInSeconds;
-        this.alwaysTrustServerCertificate = alwaysTrustServerCertificate;
-        this.blackDuckUrl = blackDuckUrl;
-        this.apiToken = apiToken;
-        this.multipartUploadThreshold = multipartUploadThreshold;
-        this.multipartUploadPartRetryAttempts = multipartUploadPartRetryAttempts;
-        this.multipartUploadPartRetryInitialInterval = multipartUploadPartRetryInitialInterval;
-        this.multipartUploadTimeoutInMinutes = multipartUploadTimeoutInMinutes;
+    // Black Duck URL and API token are validated by the builder prior to construction, therefore those values should never be null.
+    private UploaderConfig(Builder builder) throws IntegrationException {
+        this.proxyInfo = builder.proxyInfo;
+        this.uploadChunkSize = builder.getUploadChunkSize();
+        this.blackduckTimeoutInSeconds = builder.getBlackDuckTimeoutInSeconds();
+        this.alwaysTrustServerCertificate = builder.isAlwaysTrustServerCertificate();
+        this.blackDuckUrl = builder.getBlackDuckUrl().orElse(null);
+        this.apiToken = builder.getApiToken().orElse(null);
+        this.multipartUploadThreshold = builder.getMultipartUploadThreshold();
+        this.multipartUploadPartRetryAttempts = builder.getMultipartUploadPartRetryAttempts();
+        this.multipartUploadPartRetryInitialInterval = builder.getMultipartUploadPartRetryInitialInterval();
+        this.multipartUploadTimeoutInMinutes = builder.getMultipartUploadTimeoutInMinutes();
+        this.multipartUploadPartConcurrency = builder.getMultipartUploadPartConcurrency();
+        this.uploadSplitMode = builder.getUploadSplitMode();
+        this.uploadSplitParallelism = builder.getUploadSplitParallelism();
+        this.uploadChecksumCacheDirectory = builder.getUploadChecksumCacheDirectory().orElse(null);
+        this.uploadChecksumCacheMaxSize = builder.getUploadChecksumCacheMaxSize();
+        this.uploadBufferPoolSizeClasses = builder.getUploadBufferPoolSizeClasses();
+        this.uploadBufferPoolMaxSize = builder.getUploadBufferPoolMaxSize();
+        this.uploadMemoryMapped = builder.isUploadMemoryMapped();
+        this.uploadPartDigestAlgorithm = builder.getUploadPartDigestAlgorithm();
+        this.uploadChecksumType = builder.getUploadChecksumType();
+        this.uploadChunkSizeAuto = builder.isUploadChunkSizeAuto();
+        this.uploadTargetPartCount = builder.getUploadTargetPartCount();
+        this.uploadJournalDirectory = builder.getUploadJournalDirectory().orElse(null);
+        this.multipartUploadFailurePolicy = builder.getMultipartUploadFailurePolicy();
+        this.multipartUploadPartFailureBudget = builder.getMultipartUploadPartFailureBudget();
+        this.multipartUploadPartRetryMaxInterval = builder.getMultipartUploadPartRetryMaxInterval();
+        this.multipartUploadPartHedgePercentile = builder.getMultipartUploadPartHedgePercentile();
+        this.multipartUploadPartHedgeBandwidthFraction = builder.getMultipartUploadPartHedgeBandwidthFraction();
+        this.multipartUploadPartMinimumThroughput = builder.getMultipartUploadPartMinimumThroughput();
+        this.multipartUploadPartStallWindow = builder.getMultipartUploadPartStallWindow();
+        this.multipartUploadPartConcurrencyMinimum = builder.getMultipartUploadPartConcurrencyMinimum();
+        this.multipartUploadPartConcurrencyInitial = builder.getMultipartUploadPartConcurrencyInitial();
+        this.uploadBandwidthLimit = builder.getUploadBandwidthLimit();
+        this.uploadBandwidthBurst = builder.getUploadBandwidthBurst();
+        this.uploadConnectionPoolMaxTotal = builder.getUploadConnectionPoolMaxTotal();
+        this.uploadConnectionPoolMaxPerRoute = builder.getUploadConnectionPoolMaxPerRoute();
+        this.uploadConnectionTimeToLive = builder.getUploadConnectionTimeToLive();
     }
 
     /**
@@ -227,6 +280,253 @@ public class UploaderConfig {
         return multipartUploadTimeoutInMinutes;
     }
 
+    /**
+     * Retrieve the number of file parts uploaded concurrently during a multipart upload.
+     * A value of 1 uploads the parts one at a time in order.
+     *
+     * @return multipart upload part concurrency.
+     */
+    public int getMultipartUploadPartConcurrency() {
+        return multipartUploadPartConcurrency;
+    }
+
+    /**
+     * Retrieve the mode used to read the upload file when computing the checksums for a multipart upload.
+     *
+     * @return upload split mode.
+     */
+    public FileSplitMode getUploadSplitMode() {
+        return uploadSplitMode;
+    }
+
+    /**
+     * Retrieve the number of threads used to compute part checksums when using the {@link FileSplitMode#PARALLEL} split mode.
+     * A value of 0 or less uses the common fork/join pool.
+     *
+     * @return upload split parallelism.
+     */
+    public int getUploadSplitParallelism() {
+        return uploadSplitParallelism;
+    }
+
+    /**
+     * Retrieve the directory in which computed file checksums are cached between uploads.
+     *
+     * @return upload checksum cache directory, empty when checksums are not cached.
+     */
+    public Optional<Path> getUploadChecksumCacheDirectory() {
+        return Optional.ofNullable(uploadChecksumCacheDirectory);
+    }
+
+    /**
+     * Retrieve the maximum size in bytes of the checksum cache before the least recently used entries are evicted.
+     *
+     * @return upload checksum cache max size.
+     */
+    public long getUploadChecksumCacheMaxSize() {
+        return uploadChecksumCacheMaxSize;
+    }
+
+    /**
+     * Retrieve the byte sizes of the reusable buffers used to read, hash and upload files.
+     *
+     * @return upload buffer pool size classes.
+     */
+    public List<Integer> getUploadBufferPoolSizeClasses() {
+        return uploadBufferPoolSizeClasses;
+    }
+
+    /**
+     * Retrieve the maximum total size in bytes of the buffers kept for reuse.
+     *
+     * @return upload buffer pool max size.
+     */
+    public long getUploadBufferPoolMaxSize() {
+        return uploadBufferPoolMaxSize;
+    }
+
+    /**
+     * Retrieve whether files are hashed from memory-mapped windows. Intended for files on local disks.
+     * The windows of {@link com.blackduck.integration.sca.upload.file.FileSplitter#MAPPED_WINDOW_SIZE} bytes are not unmapped after use, but when
+     * the garbage collector frees them, so a process with a low virtual memory or map count limit should leave this disabled.
+     *
+     * @return upload memory mapped.
+     */
+    public boolean isUploadMemoryMapped() {
+        return uploadMemoryMapped;
+    }
+
+    /**
+     * Retrieve the algorithm computing the checksum of each file part, sent in the Content-Digest header of the part upload.
+     *
+     * @return upload part digest algorithm.
+     */
+    public PartDigestAlgorithm getUploadPartDigestAlgorithm() {
+        return uploadPartDigestAlgorithm;
+    }
+
+    /**
+     * Retrieve how the checksum of the whole file is computed and sent in the multipart upload start request.
+     *
+     * @return upload checksum type.
+     */
+    public FileChecksumType getUploadChecksumType() {
+        return uploadChecksumType;
+    }
+
+    /**
+     * Retrieve whether the chunk size of each file is chosen from its size and the measured part upload throughput instead of using the upload chunk size.
+     *
+     * @return upload chunk size auto.
+     */
+    public boolean isUploadChunkSizeAuto() {
+        return uploadChunkSizeAuto;
+    }
+
+    /**
+     * Retrieve the number of parts a file is divided into when the chunk size is chosen automatically, before part uploads have been measured.
+     *
+     * @return upload target part count.
+     */
+    public int getUploadTargetPartCount() {
+        return uploadTargetPartCount;
+    }
+
+    /**
+     * Retrieve the directory in which multipart uploads are journaled so they can be resumed.
+     *
+     * @return upload journal directory, empty when uploads are not journaled.
+     */
+    public Optional<Path> getUploadJournalDirectory() {
+        return Optional.ofNullable(uploadJournalDirectory);
+    }
+
+    /**
+     * Retrieve the policy applied to a file part that could not be uploaded after all of its retry attempts.
+     *
+     * @return multipart upload failure policy.
+     */
+    public MultipartUploadFailurePolicy getMultipartUploadFailurePolicy() {
+        return multipartUploadFailurePolicy;
+    }
+
+    /**
+     * Retrieve the number of part failures repaired before a multipart upload is cancelled, when using the {@link MultipartUploadFailurePolicy#REPAIR} policy.
+     *
+     * @return multipart upload part failure budget.
+     */
+    public int getMultipartUploadPartFailureBudget() {
+        return multipartUploadPartFailureBudget;
+    }
+
+    /**
+     * Retrieve the maximum interval to wait between two attempts of an upload request, unless the server requests a longer delay.
+     *
+     * @return multipart upload retry maximum interval.
+     */
+    public long getMultipartUploadPartRetryMaxInterval() {
+        return multipartUploadPartRetryMaxInterval;
+    }
+
+    /**
+     * Retrieve the percentile of the completed part durations after which a part still uploading is hedged by a second request.
+     *
+     * @return multipart upload part hedge percentile.
+     */
+    public double getMultipartUploadPartHedgePercentile() {
+        return multipartUploadPartHedgePercentile;
+    }
+
+    /**
+     * Retrieve the bytes of hedged part requests allowed for a multipart upload, as a fraction of the file size. A fraction of 0 disables hedging.
+     *
+     * @return multipart upload part hedge bandwidth fraction.
+     */
+    public double getMultipartUploadPartHedgeBandwidthFraction() {
+        return multipartUploadPartHedgeBandwidthFraction;
+    }
+
+    /**
+     * Retrieve the throughput in bytes per second below which a part upload request is aborted and retried. A throughput of 0 disables the stall detection, part requests past their deadline are still aborted.
+     *
+     * @return multipart upload part minimum throughput.
+     */
+    public long getMultipartUploadPartMinimumThroughput() {
+        return multipartUploadPartMinimumThroughput;
+    }
+
+    /**
+     * Retrieve the window in milliseconds over which the throughput of a part upload request is measured.
+     *
+     * @return multipart upload part stall window.
+     */
+    public long getMultipartUploadPartStallWindow() {
+        return multipartUploadPartStallWindow;
+    }
+
+    /**
+     * Retrieve the lowest number of file parts uploaded concurrently when the part concurrency adapts to the server. A value of 0 keeps the part concurrency fixed.
+     *
+     * @return multipart upload part concurrency minimum.
+     */
+    public int getMultipartUploadPartConcurrencyMinimum() {
+        return multipartUploadPartConcurrencyMinimum;
+    }
+
+    /**
+     * Retrieve the number of file parts uploaded concurrently when an adaptive part concurrency starts. A value of 0 starts from the part concurrency.
+     *
+     * @return multipart upload part concurrency initial.
+     */
+    public int getMultipartUploadPartConcurrencyInitial() {
+        return multipartUploadPartConcurrencyInitial;
+    }
+
+    /**
+     * Retrieve the rate in bytes per second at which the uploaders of this process send their files together. A rate of 0 leaves the rate of the process unchanged.
+     *
+     * @return upload bandwidth limit.
+     */
+    public long getUploadBandwidthLimit() {
+        return uploadBandwidthLimit;
+    }
+
+    /**
+     * Retrieve the number of bytes sent in a burst, above the upload bandwidth limit, after the uploads were idle.
+     *
+     * @return upload bandwidth burst.
+     */
+    public long getUploadBandwidthBurst() {
+        return uploadBandwidthBurst;
+    }
+
+    /**
+     * Retrieve the maximum number of connections kept open by the uploaders of a factory.
+     *
+     * @return upload connection pool max total.
+     */
+    public int getUploadConnectionPoolMaxTotal() {
+        return uploadConnectionPoolMaxTotal;
+    }
+
+    /**
+     * Retrieve the maximum number of connections kept open to one server by the uploaders of a factory.
+     *
+     * @return upload connection pool max per route.
+     */
+    public int getUploadConnectionPoolMaxPerRoute() {
+        return uploadConnectionPoolMaxPerRoute;
+    }
+
+    /**
+     * Retrieve the time in milliseconds after which a pooled connection is closed instead of reused. A value of 0 reuses connections for as long as the server keeps them alive.
+     *
+     * @return upload connection time to live.
+     */
+    public long getUploadConnectionTimeToLive() {
+        return uploadConnectionTimeToLive;
+    }
+
     /**
      * Builder class used to validate and create an instance of {@link UploaderConfig}.
      */
@@ -244,24 +544,12 @@ public class UploaderConfig {
          *
          * @return uploader configuration.
          *
-         * @throws IntegrationException if any required properties do not exist or are null, or if the property for the Black Duck URL is not a valid URL.
+         * @throws IntegrationException if any required properties do not exist or are null, if the property for the Black Duck URL is not a valid URL,
+         * or if properties are set to values or combinations that are not supported.
          */
         public UploaderConfig build() throws IntegrationException {
             validate();
-
-            // Black Duck URL and API token are validated prior to construction, therefore those values should never be null.
-            return new UploaderConfig(
-                proxyInfo,
-                getUploadChunkSize(),
-                getBlackDuckTimeoutInSeconds(),
-                isAlwaysTrustServerCertificate(),
-                getBlackDuckUrl().orElse(null),
-                getApiToken().orElse(null),
-                getMultipartUploadThreshold(),
-                getMultipartUploadPartRetryAttempts(),
-                getMultipartUploadPartRetryInitialInterval(),
-                getMultipartUploadTimeoutInMinutes()
-            );
+            return new UploaderConfig(this);
         }
 
         private void validate() throws IntegrationException {
@@ -274,6 +562,61 @@ public class UploaderConfig {
             if (CollectionUtils.isNotEmpty(nullPropertyKeys)) {
                 throw new UploaderValidationException(nullPropertyKeys);
             }
+
+            List<UploadError> invalidProperties = new ArrayList<>();
+            validatePropertyRanges(invalidProperties);
+            validateUploadSplitMode(invalidProperties);
+            if (CollectionUtils.isNotEmpty(invalidProperties)) {
+                throw new UploaderValidationException(invalidProperties);
+            }
+        }
+
+        // Values out of range are rejected rather than adjusted, so an uploader never runs with settings other than the configured ones.
+        private void validatePropertyRanges(List<UploadError> invalidProperties) {
+            validateMinimum(invalidProperties, EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_CONCURRENCY, getMultipartUploadPartConcurrency(), 1);
+            validateMinimum(invalidProperties, EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_FAILURE_BUDGET, getMultipartUploadPartFailureBudget(), 0);
+            validateMinimum(invalidProperties, EnvironmentProperties.BLACKDUCK_UPLOAD_TARGET_PART_COUNT, getUploadTargetPartCount(), 1);
+            validateMinimum(invalidProperties, EnvironmentProperties.BLACKDUCK_UPLOAD_CONNECTION_POOL_MAX_TOTAL, getUploadConnectionPoolMaxTotal(), 1);
+            validateMinimum(invalidProperties, EnvironmentProperties.BLACKDUCK_UPLOAD_CONNECTION_POOL_MAX_PER_ROUTE, getUploadConnectionPoolMaxPerRoute(), 1);
+            double hedgePercentile = getMultipartUploadPartHedgePercentile();
+            if (!(hedgePercentile >= 0.0 && hedgePercentile <= 100.0)) {
+                invalidProperties.add(createRangeError(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_HEDGE_PERCENTILE, hedgePercentile, "between 0 and 100"));
+            }
+            double hedgeBandwidthFraction = getMultipartUploadPartHedgeBandwidthFraction();
+            if (!(hedgeBandwidthFraction >= 0.0 && hedgeBandwidthFraction < Double.POSITIVE_INFINITY)) {
+                invalidProperties.add(createRangeError(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_HEDGE_BANDWIDTH_FRACTION, hedgeBandwidthFraction, "0 or more"));
+            }
+        }
+
+        private void validateMinimum(List<UploadError> invalidProperties, EnvironmentProperties property, int value, int minimum) {
+            if (value < minimum) {
+                invalidProperties.add(createRangeError(property, value, String.format("%d or more", minimum)));
+            }
+        }
+
+        private UploadError createRangeError(EnvironmentProperties property, Object value, String range) {
+            return new UploadError(ErrorCode.INVALID_PROPERTY_ERROR, String.format("%s=%s must be %s", property.getPropertyKey(), value, range));
+        }
+
+        // The splitter rejects these combinations as well, so they are reported with the property names before an uploader is created.
+        private void validateUploadSplitMode(List<UploadError> invalidProperties) {
+            FileSplitMode uploadSplitMode = getUploadSplitMode();
+            if (getUploadChecksumType() == FileChecksumType.COMPOSITE && !uploadSplitMode.isCompositeChecksumSupported()) {
+                invalidProperties.add(createSplitModeError(EnvironmentProperties.BLACKDUCK_UPLOAD_CHECKSUM_TYPE, FileChecksumType.COMPOSITE.name(), uploadSplitMode));
+            }
+            if (isUploadMemoryMapped() && !uploadSplitMode.isMemoryMappingSupported()) {
+                invalidProperties.add(createSplitModeError(EnvironmentProperties.BLACKDUCK_UPLOAD_MEMORY_MAPPED, Boolean.TRUE.toString(), uploadSplitMode));
+            }
+        }
+
+        private UploadError createSplitModeError(EnvironmentProperties property, String value, FileSplitMode uploadSplitMode) {
+            return new UploadError(ErrorCode.INVALID_PROPERTY_ERROR, String.format(
+                "%s=%s is not supported with %s=%s",
+                property.getPropertyKey(),
+                value,
+                EnvironmentProperties.BLACKDUCK_UPLOAD_SPLIT_MODE.getPropertyKey(),
+                uploadSplitMode
+            ));
         }
 
 
@@ -375,163 +718,982 @@ public class UploaderConfig {
                 .orElse(UploadValidator.DEFAULT_MULTIPART_UPLOAD_TIMEOUT_MINUTES);
         }
 
-        private String getPropertyValue(String propertyKey) {
-            return propertiesManager.getProperty(propertyKey).orElse(null);
+        /**
+         * Retrieve current builder value for the number of file parts uploaded concurrently.
+         *
+         * @return configured or default multipart upload part concurrency.
+         */
+        public Integer getMultipartUploadPartConcurrency() {
+            Optional<String> multipartUploadPartConcurrencyProperty =
+                Optional.ofNullable(getPropertyValue(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_CONCURRENCY.getPropertyKey()));
+            return multipartUploadPartConcurrencyProperty.map(Integer::parseInt)
+                .orElse(UploadValidator.DEFAULT_MULTIPART_UPLOAD_PART_CONCURRENCY);
         }
 
         /**
-         * Replace the value for a specified property within {@link EnvironmentProperties}.
+         * Retrieve current builder value for the mode used to read the upload file when computing checksums.
          *
-         * @param environmentProperty The property key to replace.
-         * @param propertyValue The value of the property.
+         * @return configured or default upload split mode.
          */
-        public void setPropertyValue(EnvironmentProperties environmentProperty, String propertyValue) {
-            propertiesManager.getProperties().put(environmentProperty.getPropertyKey(), propertyValue);
+        public FileSplitMode getUploadSplitMode() {
+            Optional<String> uploadSplitModeProperty = Optional.ofNullable(getPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_SPLIT_MODE.getPropertyKey()));
+            return uploadSplitModeProperty.map(String::toUpperCase).map(FileSplitMode::valueOf).orElse(FileSplitMode.SINGLE_PASS);
         }
 
         /**
-         * Replace the size for uploading chunks to Black Duck.
+         * Retrieve current builder value for the number of threads used to compute part checksums in parallel.
          *
-         * @param chunkSize The size of each individual chunk for upload.
-         *
-         * @return builder.
+         * @return configured or default upload split parallelism.
          */
-        public Builder setUploadChunkSize(int chunkSize) {
-            return setUploadChunkSize(String.valueOf(chunkSize));
+        public Integer getUploadSplitParallelism() {
+            Optional<String> uploadSplitParallelismProperty = Optional.ofNullable(getPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_SPLIT_PARALLELISM.getPropertyKey()));
+            return uploadSplitParallelismProperty.map(Integer::parseInt)
+                .orElse(UploadValidator.DEFAULT_UPLOAD_SPLIT_PARALLELISM);
         }
 
         /**
-         * Replace the size for uploading chunks to Black Duck.
-         *
-         * @param chunkSize The size of each individual chunk for upload.
+         * Retrieve current builder value for the directory in which computed file checksums are cached between uploads.
          *
-         * @return builder.
+         * @return configured upload checksum cache directory, empty when checksums are not cached.
          */
-        public Builder setUploadChunkSize(String chunkSize) {
-            setPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_CHUNK_SIZE, chunkSize);
-            return this;
+        public Optional<Path> getUploadChecksumCacheDirectory() {
+            Optional<String> uploadChecksumCacheDirectoryProperty = Optional.ofNullable(getPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_CHECKSUM_CACHE_DIRECTORY.getPropertyKey()));
+            return uploadChecksumCacheDirectoryProperty.map(Paths::get);
         }
 
         /**
-         * Replace the timeout when communicating with Black Duck.
-         *
-         * @param blackduckTimeoutInSeconds The time to wait for a response.
+         * Retrieve current builder value for the maximum size in bytes of the checksum cache.
          *
-         * @return builder.
+         * @return configured or default upload checksum cache max size.
          */
-        public Builder setBlackDuckTimeoutInSeconds(int blackduckTimeoutInSeconds) {
-            return setBlackDuckTimeoutInSeconds(String.valueOf(blackduckTimeoutInSeconds));
+        public Long getUploadChecksumCacheMaxSize() {
+            Optional<String> uploadChecksumCacheMaxSizeProperty = Optional.ofNullable(getPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_CHECKSUM_CACHE_MAX_SIZE.getPropertyKey()));
+            return uploadChecksumCacheMaxSizeProperty.map(Long::parseLong)
+                .orElse(UploadValidator.DEFAULT_UPLOAD_CHECKSUM_CACHE_MAX_SIZE);
         }
 
         /**
-         * Replace the timeout when communicating with Black Duck.
-         *
-         * @param blackduckTimeoutInSeconds The time to wait for a response.
+         * Retrieve current builder value for the byte sizes of the reusable buffers.
          *
-         * @return builder.
+         * @return configured or default upload buffer pool size classes.
          */
-        public Builder setBlackDuckTimeoutInSeconds(String blackduckTimeoutInSeconds) {
-            setPropertyValue(EnvironmentProperties.BLACKDUCK_TIMEOUT_SECONDS, blackduckTimeoutInSeconds);
-            return this;
+        public List<Integer> getUploadBufferPoolSizeClasses() {
+            Optional<String> uploadBufferPoolSizeClassesProperty = Optional.ofNullable(getPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_BUFFER_POOL_SIZE_CLASSES.getPropertyKey()));
+            return uploadBufferPoolSizeClassesProperty.map(sizeClasses -> Arrays.stream(sizeClasses.split(","))
+                    .map(String::trim)
+                    .map(Integer::parseInt)
+                    .collect(Collectors.toList()))
+                .orElse(UploadValidator.DEFAULT_UPLOAD_BUFFER_POOL_SIZE_CLASSES);
         }
 
         /**
-         * Replace the value for trusting the Black Duck server certificate.
-         *
-         * @param alwaysTrustServerCertificate If the Black Duck certificate should be trusted.
+         * Retrieve current builder value for the maximum total size in bytes of the buffers kept for reuse.
          *
-         * @return builder.
+         * @return configured or default upload buffer pool max size.
          */
-        public Builder setAlwaysTrustServerCertificate(boolean alwaysTrustServerCertificate) {
-            return setAlwaysTrustServerCertificate(String.valueOf(alwaysTrustServerCertificate));
+        public Long getUploadBufferPoolMaxSize() {
+            Optional<String> uploadBufferPoolMaxSizeProperty = Optional.ofNullable(getPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_BUFFER_POOL_MAX_SIZE.getPropertyKey()));
+            return uploadBufferPoolMaxSizeProperty.map(Long::parseLong)
+                .orElse(UploadValidator.DEFAULT_UPLOAD_BUFFER_POOL_MAX_SIZE);
         }
 
         /**
-         * Replace the value for trusting the Black Duck server certificate.
+         * Retrieve current builder value for hashing files from memory-mapped windows.
          *
-         * @param alwaysTrustServerCertificate If the Black Duck certificate should be trusted.
-         *
-         * @return builder.
+         * @return configured or default upload memory mapped.
          */
-        public Builder setAlwaysTrustServerCertificate(String alwaysTrustServerCertificate) {
-            setPropertyValue(EnvironmentProperties.BLACKDUCK_TRUST_CERT, alwaysTrustServerCertificate);
-            return this;
+        public boolean isUploadMemoryMapped() {
+            return Boolean.parseBoolean(getPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_MEMORY_MAPPED.getPropertyKey()));
         }
 
         /**
-         * Replace the Black Duck {@link HttpUrl}.
-         *
-         * @param blackDuckUrl The Black Duck URL.
+         * Retrieve current builder value for the algorithm computing the checksum of each file part.
          *
-         * @return builder.
+         * @return configured or default upload part digest algorithm.
          */
-        public Builder setBlackDuckUrl(HttpUrl blackDuckUrl) {
-            return setBlackDuckUrl(blackDuckUrl.string());
+        public PartDigestAlgorithm getUploadPartDigestAlgorithm() {
+            Optional<String> uploadPartDigestAlgorithmProperty = Optional.ofNullable(getPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_PART_DIGEST_ALGORITHM.getPropertyKey()));
+            return uploadPartDigestAlgorithmProperty.map(PartDigestAlgorithms::fromName).orElse(PartDigestAlgorithms.MD5);
         }
 
         /**
-         * Replace the Black Duck {@link HttpUrl}.
-         *
-         * @param blackDuckUrl The Black Duck URL.
+         * Retrieve current builder value for how the checksum of the whole file is computed.
          *
-         * @return builder.
+         * @return configured or default upload checksum type.
          */
-        public Builder setBlackDuckUrl(String blackDuckUrl) {
-            setPropertyValue(EnvironmentProperties.BLACKDUCK_URL, blackDuckUrl);
-            return this;
+        public FileChecksumType getUploadChecksumType() {
+            Optional<String> uploadChecksumTypeProperty = Optional.ofNullable(getPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_CHECKSUM_TYPE.getPropertyKey()));
+            return uploadChecksumTypeProperty.map(String::toUpperCase).map(FileChecksumType::valueOf).orElse(FileChecksumType.MD5);
         }
 
         /**
-         * Replace the Black Duck api token.
+         * Retrieve current builder value for choosing the chunk size of each file automatically.
          *
-         * @param apiToken The token used for api calls to Black Duck.
+         * @return configured or default upload chunk size auto.
+         */
+        public boolean isUploadChunkSizeAuto() {
+            Optional<String> uploadChunkSizeAutoProperty = Optional.ofNullable(getPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_CHUNK_SIZE_AUTO.getPropertyKey()));
+            return uploadChunkSizeAutoProperty.map(Boolean::parseBoolean)
+                .orElse(false);
+        }
+
+        /**
+         * Retrieve current builder value for the number of parts a file is divided into when the chunk size is chosen automatically.
          *
-         * @return Builder.
+         * @return configured or default upload target part count.
          */
-        public Builder setApiToken(String apiToken) {
-            setPropertyValue(EnvironmentProperties.BLACKDUCK_API_TOKEN, apiToken);
-            return this;
+        public int getUploadTargetPartCount() {
+            Optional<String> uploadTargetPartCountProperty = Optional.ofNullable(getPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_TARGET_PART_COUNT.getPropertyKey()));
+            return uploadTargetPartCountProperty.map(Integer::parseInt)
+                .orElse(UploadValidator.DEFAULT_UPLOAD_TARGET_PART_COUNT);
         }
 
         /**
-         * Replace the multipart upload threshold.
+         * Retrieve current builder value for the directory in which multipart uploads are journaled so they can be resumed.
          *
-         * @param multipartUploadThreshold The minimum size for each upload.
+         * @return configured upload journal directory.
+         */
+        public Optional<Path> getUploadJournalDirectory() {
+            Optional<String> uploadJournalDirectoryProperty = Optional.ofNullable(getPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_JOURNAL_DIRECTORY.getPropertyKey()));
+            return uploadJournalDirectoryProperty.map(Paths::get);
+        }
+
+        /**
+         * Retrieve current builder value for the policy applied to a file part that could not be uploaded after all of its retry attempts.
          *
-         * @return builder.
+         * @return configured or default multipart upload failure policy.
          */
-        public Builder setMultipartUploadThreshold(Long multipartUploadThreshold) {
-            setPropertyValue(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_THRESHOLD, String.valueOf(multipartUploadThreshold));
-            return this;
+        public MultipartUploadFailurePolicy getMultipartUploadFailurePolicy() {
+            Optional<String> multipartUploadFailurePolicyProperty = Optional.ofNullable(getPropertyValue(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_FAILURE_POLICY.getPropertyKey()));
+            return multipartUploadFailurePolicyProperty.map(String::toUpperCase).map(MultipartUploadFailurePolicy::valueOf).orElse(MultipartUploadFailurePolicy.CANCEL);
         }
 
         /**
-         * Replace the multipart upload retry attempts.
+         * Retrieve current builder value for the number of part failures repaired before a multipart upload is cancelled.
          *
-         * @param multipartUploadPartRetryAttempts The maximum number of retries for failed uploads.
+         * @return configured or default multipart upload part failure budget.
+         */
+        public int getMultipartUploadPartFailureBudget() {
+            Optional<String> multipartUploadPartFailureBudgetProperty = Optional.ofNullable(getPropertyValue(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_FAILURE_BUDGET.getPropertyKey()));
+            return multipartUploadPartFailureBudgetProperty.map(Integer::parseInt)
+                .orElse(UploadValidator.DEFAULT_MULTIPART_UPLOAD_PART_FAILURE_BUDGET);
+        }
+
+        /**
+         * Retrieve current builder value for the maximum interval to wait between two attempts of an upload request.
          *
-         * @return builder.
+         * @return configured or default multipart upload retry maximum interval.
          */
-        public Builder setMultipartUploadPartRetryAttempts(Integer multipartUploadPartRetryAttempts) {
-            setPropertyValue(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_RETRY_ATTEMPTS, String.valueOf(multipartUploadPartRetryAttempts));
-            return this;
+        public Long getMultipartUploadPartRetryMaxInterval() {
+            Optional<String> multipartUploadPartRetryMaxIntervalProperty = Optional.ofNullable(getPropertyValue(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_RETRY_MAX_INTERVAL.getPropertyKey()));
+            return multipartUploadPartRetryMaxIntervalProperty.map(Long::parseLong)
+                .orElse(UploadValidator.DEFAULT_MULTIPART_UPLOAD_PART_RETRY_MAX_INTERVAL);
         }
 
         /**
-         * Replace the multipart upload retry interval.
+         * Retrieve current builder value for the percentile of the completed part durations after which a part is hedged.
          *
-         * @param multipartUploadPartRetryInitialInterval The time to wait before retrying an upload.
+         * @return configured or default multipart upload part hedge percentile.
+         */
+        public double getMultipartUploadPartHedgePercentile() {
+            Optional<String> multipartUploadPartHedgePercentileProperty = Optional.ofNullable(getPropertyValue(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_HEDGE_PERCENTILE.getPropertyKey()));
+            return multipartUploadPartHedgePercentileProperty.map(Double::parseDouble)
+                .orElse(UploadValidator.DEFAULT_MULTIPART_UPLOAD_PART_HEDGE_PERCENTILE);
+        }
+
+        /**
+         * Retrieve current builder value for the bytes of hedged part requests allowed for a multipart upload, as a fraction of the file size.
          *
-         * @return builder.
+         * @return configured or default multipart upload part hedge bandwidth fraction.
          */
-        public Builder setMultipartUploadPartRetryInitialInterval(Long multipartUploadPartRetryInitialInterval) {
-            setPropertyValue(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_RETRY_INITIAL_INTERVAL, String.valueOf(multipartUploadPartRetryInitialInterval));
-            return this;
+        public double getMultipartUploadPartHedgeBandwidthFraction() {
+            Optional<String> multipartUploadPartHedgeBandwidthFractionProperty = Optional.ofNullable(getPropertyValue(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_HEDGE_BANDWIDTH_FRACTION.getPropertyKey()));
+            return multipartUploadPartHedgeBandwidthFractionProperty.map(Double::parseDouble)
+                .orElse(UploadValidator.DEFAULT_MULTIPART_UPLOAD_PART_HEDGE_BANDWIDTH_FRACTION);
         }
 
-        public Builder setMultipartUploadTimeoutInMinutes(Integer multipartUploadTimeoutInMinutes) {
+        /**
+         * Retrieve current builder value for the throughput in bytes per second below which a part upload request is aborted and retried.
+         *
+         * @return configured or default multipart upload part minimum throughput.
+         */
+        public Long getMultipartUploadPartMinimumThroughput() {
+            Optional<String> multipartUploadPartMinimumThroughputProperty = Optional.ofNullable(getPropertyValue(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_MINIMUM_THROUGHPUT.getPropertyKey()));
+            return multipartUploadPartMinimumThroughputProperty.map(Long::parseLong)
+                .orElse(UploadValidator.DEFAULT_MULTIPART_UPLOAD_PART_MINIMUM_THROUGHPUT);
+        }
+
+        /**
+         * Retrieve current builder value for the window in milliseconds over which the throughput of a part upload request is measured.
+         *
+         * @return configured or default multipart upload part stall window.
+         */
+        public Long getMultipartUploadPartStallWindow() {
+            Optional<String> multipartUploadPartStallWindowProperty = Optional.ofNullable(getPropertyValue(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_STALL_WINDOW.getPropertyKey()));
+            return multipartUploadPartStallWindowProperty.map(Long::parseLong)
+                .orElse(UploadValidator.DEFAULT_MULTIPART_UPLOAD_PART_STALL_WINDOW);
+        }
+
+        /**
+         * Retrieve current builder value for the lowest number of file parts uploaded concurrently when the part concurrency adapts to the server.
+         *
+         * @return configured or default multipart upload part concurrency minimum.
+         */
+        public int getMultipartUploadPartConcurrencyMinimum() {
+            Optional<String> multipartUploadPartConcurrencyMinimumProperty = Optional.ofNullable(getPropertyValue(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_CONCURRENCY_MINIMUM.getPropertyKey()));
+            return multipartUploadPartConcurrencyMinimumProperty.map(Integer::parseInt)
+                .orElse(UploadValidator.DEFAULT_MULTIPART_UPLOAD_PART_CONCURRENCY_MINIMUM);
+        }
+
+        /**
+         * Retrieve current builder value for the number of file parts uploaded concurrently when an adaptive part concurrency starts.
+         *
+         * @return configured or default multipart upload part concurrency initial.
+         */
+        public int getMultipartUploadPartConcurrencyInitial() {
+            Optional<String> multipartUploadPartConcurrencyInitialProperty = Optional.ofNullable(getPropertyValue(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_CONCURRENCY_INITIAL.getPropertyKey()));
+            return multipartUploadPartConcurrencyInitialProperty.map(Integer::parseInt)
+                .orElse(UploadValidator.DEFAULT_MULTIPART_UPLOAD_PART_CONCURRENCY_INITIAL);
+        }
+
+        /**
+         * Retrieve current builder value for the rate in bytes per second at which the uploaders of this process send their files together.
+         *
+         * @return configured or default upload bandwidth limit.
+         */
+        public Long getUploadBandwidthLimit() {
+            Optional<String> uploadBandwidthLimitProperty = Optional.ofNullable(getPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_BANDWIDTH_LIMIT.getPropertyKey()));
+            return uploadBandwidthLimitProperty.map(Long::parseLong)
+                .orElse(UploadValidator.DEFAULT_UPLOAD_BANDWIDTH_LIMIT);
+        }
+
+        /**
+         * Retrieve current builder value for the number of bytes sent in a burst after the uploads were idle.
+         *
+         * @return configured or default upload bandwidth burst.
+         */
+        public Long getUploadBandwidthBurst() {
+            Optional<String> uploadBandwidthBurstProperty = Optional.ofNullable(getPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_BANDWIDTH_BURST.getPropertyKey()));
+            return uploadBandwidthBurstProperty.map(Long::parseLong)
+                .orElse(UploadValidator.DEFAULT_UPLOAD_BANDWIDTH_BURST);
+        }
+
+        /**
+         * Retrieve current builder value for the maximum number of connections kept open by the uploaders of a factory.
+         *
+         * @return configured or default upload connection pool max total.
+         */
+        public int getUploadConnectionPoolMaxTotal() {
+            Optional<String> uploadConnectionPoolMaxTotalProperty = Optional.ofNullable(getPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_CONNECTION_POOL_MAX_TOTAL.getPropertyKey()));
+            return uploadConnectionPoolMaxTotalProperty.map(Integer::parseInt)
+                .orElse(UploadValidator.DEFAULT_UPLOAD_CONNECTION_POOL_MAX_TOTAL);
+        }
+
+        /**
+         * Retrieve current builder value for the maximum number of connections kept open to one server by the uploaders of a factory.
+         *
+         * @return configured or default upload connection pool max per route.
+         */
+        public int getUploadConnectionPoolMaxPerRoute() {
+            Optional<String> uploadConnectionPoolMaxPerRouteProperty = Optional.ofNullable(getPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_CONNECTION_POOL_MAX_PER_ROUTE.getPropertyKey()));
+            return uploadConnectionPoolMaxPerRouteProperty.map(Integer::parseInt)
+                .orElse(UploadValidator.DEFAULT_UPLOAD_CONNECTION_POOL_MAX_PER_ROUTE);
+        }
+
+        /**
+         * Retrieve current builder value for the time in milliseconds after which a pooled connection is closed instead of reused.
+         *
+         * @return configured or default upload connection time to live.
+         */
+        public Long getUploadConnectionTimeToLive() {
+            Optional<String> uploadConnectionTimeToLiveProperty = Optional.ofNullable(getPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_CONNECTION_TIME_TO_LIVE.getPropertyKey()));
+            return uploadConnectionTimeToLiveProperty.map(Long::parseLong)
+                .orElse(UploadValidator.DEFAULT_UPLOAD_CONNECTION_TIME_TO_LIVE);
+        }
+
+        private String getPropertyValue(String propertyKey) {
+            return propertiesManager.getProperty(propertyKey).orElse(null);
+        }
+
+        /**
+         * Replace the value for a specified property within {@link EnvironmentProperties}.
+         *
+         * @param environmentProperty The property key to replace.
+         * @param propertyValue The value of the property.
+         */
+        public void setPropertyValue(EnvironmentProperties environmentProperty, String propertyValue) {
+            propertiesManager.getProperties().put(environmentProperty.getPropertyKey(), propertyValue);
+        }
+
+        /**
+         * Replace the size for uploading chunks to Black Duck.
+         *
+         * @param chunkSize The size of each individual chunk for upload.
+         *
+         * @return builder.
+         */
+        public Builder setUploadChunkSize(int chunkSize) {
+            return setUploadChunkSize(String.valueOf(chunkSize));
+        }
+
+        /**
+         * Replace the size for uploading chunks to Black Duck.
+         *
+         * @param chunkSize The size of each individual chunk for upload.
+         *
+         * @return builder.
+         */
+        public Builder setUploadChunkSize(String chunkSize) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_CHUNK_SIZE, chunkSize);
+            return this;
+        }
+
+        /**
+         * Replace the timeout when communicating with Black Duck.
+         *
+         * @param blackduckTimeoutInSeconds The time to wait for a response.
+         *
+         * @return builder.
+         */
+        public Builder setBlackDuckTimeoutInSeconds(int blackduckTimeoutInSeconds) {
+            return setBlackDuckTimeoutInSeconds(String.valueOf(blackduckTimeoutInSeconds));
+        }
+
+        /**
+         * Replace the timeout when communicating with Black Duck.
+         *
+         * @param blackduckTimeoutInSeconds The time to wait for a response.
+         *
+         * @return builder.
+         */
+        public Builder setBlackDuckTimeoutInSeconds(String blackduckTimeoutInSeconds) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_TIMEOUT_SECONDS, blackduckTimeoutInSeconds);
+            return this;
+        }
+
+        /**
+         * Replace the value for trusting the Black Duck server certificate.
+         *
+         * @param alwaysTrustServerCertificate If the Black Duck certificate should be trusted.
+         *
+         * @return builder.
+         */
+        public Builder setAlwaysTrustServerCertificate(boolean alwaysTrustServerCertificate) {
+            return setAlwaysTrustServerCertificate(String.valueOf(alwaysTrustServerCertificate));
+        }
+
+        /**
+         * Replace the value for trusting the Black Duck server certificate.
+         *
+         * @param alwaysTrustServerCertificate If the Black Duck certificate should be trusted.
+         *
+         * @return builder.
+         */
+        public Builder setAlwaysTrustServerCertificate(String alwaysTrustServerCertificate) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_TRUST_CERT, alwaysTrustServerCertificate);
+            return this;
+        }
+
+        /**
+         * Replace the Black Duck {@link HttpUrl}.
+         *
+         * @param blackDuckUrl The Black Duck URL.
+         *
+         * @return builder.
+         */
+        public Builder setBlackDuckUrl(HttpUrl blackDuckUrl) {
+            return setBlackDuckUrl(blackDuckUrl.string());
+        }
+
+        /**
+         * Replace the Black Duck {@link HttpUrl}.
+         *
+         * @param blackDuckUrl The Black Duck URL.
+         *
+         * @return builder.
+         */
+        public Builder setBlackDuckUrl(String blackDuckUrl) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_URL, blackDuckUrl);
+            return this;
+        }
+
+        /**
+         * Replace the Black Duck api token.
+         *
+         * @param apiToken The token used for api calls to Black Duck.
+         *
+         * @return Builder.
+         */
+        public Builder setApiToken(String apiToken) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_API_TOKEN, apiToken);
+            return this;
+        }
+
+        /**
+         * Replace the multipart upload threshold.
+         *
+         * @param multipartUploadThreshold The minimum size for each upload.
+         *
+         * @return builder.
+         */
+        public Builder setMultipartUploadThreshold(Long multipartUploadThreshold) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_THRESHOLD, String.valueOf(multipartUploadThreshold));
+            return this;
+        }
+
+        /**
+         * Replace the multipart upload retry attempts.
+         *
+         * @param multipartUploadPartRetryAttempts The maximum number of retries for failed uploads.
+         *
+         * @return builder.
+         */
+        public Builder setMultipartUploadPartRetryAttempts(Integer multipartUploadPartRetryAttempts) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_RETRY_ATTEMPTS, String.valueOf(multipartUploadPartRetryAttempts));
+            return this;
+        }
+
+        /**
+         * Replace the multipart upload retry interval.
+         *
+         * @param multipartUploadPartRetryInitialInterval The time to wait before retrying an upload.
+         *
+         * @return builder.
+         */
+        public Builder setMultipartUploadPartRetryInitialInterval(Long multipartUploadPartRetryInitialInterval) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_RETRY_INITIAL_INTERVAL, String.valueOf(multipartUploadPartRetryInitialInterval));
+            return this;
+        }
+
+        public Builder setMultipartUploadTimeoutInMinutes(Integer multipartUploadTimeoutInMinutes) {
             setPropertyValue(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_TIMEOUT_MINUTES, String.valueOf(multipartUploadTimeoutInMinutes));
             return this;
         }
+
+        /**
+         * Replace the number of file parts uploaded concurrently.
+         * Use 1 to upload the parts one at a time in order, as required by GCS backed Black Duck servers.
+         *
+         * @param multipartUploadPartConcurrency The maximum number of parts uploaded at the same time.
+         *
+         * @return builder.
+         */
+        public Builder setMultipartUploadPartConcurrency(Integer multipartUploadPartConcurrency) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_CONCURRENCY, String.valueOf(multipartUploadPartConcurrency));
+            return this;
+        }
+
+        /**
+         * Replace the mode used to read the upload file when computing the checksums for a multipart upload.
+         *
+         * @param uploadSplitMode The {@link FileSplitMode} used when splitting the upload file.
+         *
+         * @return builder.
+         */
+        public Builder setUploadSplitMode(FileSplitMode uploadSplitMode) {
+            return setUploadSplitMode(uploadSplitMode.name());
+        }
+
+        /**
+         * Replace the mode used to read the upload file when computing the checksums for a multipart upload.
+         *
+         * @param uploadSplitMode The {@link FileSplitMode} used when splitting the upload file.
+         *
+         * @return builder.
+         */
+        public Builder setUploadSplitMode(String uploadSplitMode) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_SPLIT_MODE, uploadSplitMode);
+            return this;
+        }
+
+        /**
+         * Replace the number of threads used to compute part checksums when using the {@link FileSplitMode#PARALLEL} split mode.
+         * Use 0 or less to compute the checksums on the common fork/join pool.
+         *
+         * @param uploadSplitParallelism The number of threads hashing file parts at the same time.
+         *
+         * @return builder.
+         */
+        public Builder setUploadSplitParallelism(Integer uploadSplitParallelism) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_SPLIT_PARALLELISM, String.valueOf(uploadSplitParallelism));
+            return this;
+        }
+
+        /**
+         * Replace the directory in which computed file checksums are cached between uploads.
+         * Checksums are only cached when a directory is configured.
+         *
+         * @param uploadChecksumCacheDirectory The directory containing the checksum cache.
+         *
+         * @return builder.
+         */
+        public Builder setUploadChecksumCacheDirectory(Path uploadChecksumCacheDirectory) {
+            return setUploadChecksumCacheDirectory(uploadChecksumCacheDirectory.toString());
+        }
+
+        /**
+         * Replace the directory in which computed file checksums are cached between uploads.
+         * Checksums are only cached when a directory is configured.
+         *
+         * @param uploadChecksumCacheDirectory The directory containing the checksum cache.
+         *
+         * @return builder.
+         */
+        public Builder setUploadChecksumCacheDirectory(String uploadChecksumCacheDirectory) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_CHECKSUM_CACHE_DIRECTORY, uploadChecksumCacheDirectory);
+            return this;
+        }
+
+        /**
+         * Replace the maximum size in bytes of the checksum cache before the least recently used entries are evicted.
+         *
+         * @param uploadChecksumCacheMaxSize The maximum size in bytes of the cached checksums.
+         *
+         * @return builder.
+         */
+        public Builder setUploadChecksumCacheMaxSize(Long uploadChecksumCacheMaxSize) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_CHECKSUM_CACHE_MAX_SIZE, String.valueOf(uploadChecksumCacheMaxSize));
+            return this;
+        }
+
+        /**
+         * Replace the byte sizes of the reusable buffers used to read, hash and upload files.
+         *
+         * @param uploadBufferPoolSizeClasses The byte sizes of the pooled buffers.
+         *
+         * @return builder.
+         */
+        public Builder setUploadBufferPoolSizeClasses(List<Integer> uploadBufferPoolSizeClasses) {
+            return setUploadBufferPoolSizeClasses(uploadBufferPoolSizeClasses.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        }
+
+        /**
+         * Replace the byte sizes of the reusable buffers used to read, hash and upload files.
+         *
+         * @param uploadBufferPoolSizeClasses The byte sizes of the pooled buffers.
+         *
+         * @return builder.
+         */
+        public Builder setUploadBufferPoolSizeClasses(String uploadBufferPoolSizeClasses) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_BUFFER_POOL_SIZE_CLASSES, uploadBufferPoolSizeClasses);
+            return this;
+        }
+
+        /**
+         * Replace the maximum total size in bytes of the buffers kept for reuse.
+         *
+         * @param uploadBufferPoolMaxSize The maximum total size in bytes of the pooled buffers.
+         *
+         * @return builder.
+         */
+        public Builder setUploadBufferPoolMaxSize(Long uploadBufferPoolMaxSize) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_BUFFER_POOL_MAX_SIZE, String.valueOf(uploadBufferPoolMaxSize));
+            return this;
+        }
+
+        /**
+         * Replace whether files are hashed from memory-mapped windows.
+         *
+         * @param uploadMemoryMapped True to hash files from memory-mapped windows.
+         *
+         * @return builder.
+         */
+        public Builder setUploadMemoryMapped(boolean uploadMemoryMapped) {
+            return setUploadMemoryMapped(String.valueOf(uploadMemoryMapped));
+        }
+
+        /**
+         * Replace whether files are hashed from memory-mapped windows.
+         *
+         * @param uploadMemoryMapped True to hash files from memory-mapped windows.
+         *
+         * @return builder.
+         */
+        public Builder setUploadMemoryMapped(String uploadMemoryMapped) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_MEMORY_MAPPED, uploadMemoryMapped);
+            return this;
+        }
+
+        /**
+         * Replace the algorithm computing the checksum of each file part of a multipart upload.
+         *
+         * @param uploadPartDigestAlgorithm The {@link PartDigestAlgorithm} used for the part checksums.
+         *
+         * @return builder.
+         */
+        public Builder setUploadPartDigestAlgorithm(PartDigestAlgorithm uploadPartDigestAlgorithm) {
+            return setUploadPartDigestAlgorithm(uploadPartDigestAlgorithm.getName());
+        }
+
+        /**
+         * Replace the algorithm computing the checksum of each file part of a multipart upload.
+         *
+         * @param uploadPartDigestAlgorithm The {@link PartDigestAlgorithm} used for the part checksums.
+         *
+         * @return builder.
+         */
+        public Builder setUploadPartDigestAlgorithm(String uploadPartDigestAlgorithm) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_PART_DIGEST_ALGORITHM, uploadPartDigestAlgorithm);
+            return this;
+        }
+
+        /**
+         * Replace how the checksum of the whole file of a multipart upload is computed.
+         *
+         * @param uploadChecksumType The {@link FileChecksumType} of the file checksum.
+         *
+         * @return builder.
+         */
+        public Builder setUploadChecksumType(FileChecksumType uploadChecksumType) {
+            return setUploadChecksumType(uploadChecksumType.name());
+        }
+
+        /**
+         * Replace how the checksum of the whole file of a multipart upload is computed.
+         *
+         * @param uploadChecksumType The {@link FileChecksumType} of the file checksum.
+         *
+         * @return builder.
+         */
+        public Builder setUploadChecksumType(String uploadChecksumType) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_CHECKSUM_TYPE, uploadChecksumType);
+            return this;
+        }
+
+        /**
+         * Replace whether the chunk size of each file is chosen automatically.
+         *
+         * @param uploadChunkSizeAuto True to choose the chunk size of each file automatically.
+         *
+         * @return builder.
+         */
+        public Builder setUploadChunkSizeAuto(boolean uploadChunkSizeAuto) {
+            return setUploadChunkSizeAuto(String.valueOf(uploadChunkSizeAuto));
+        }
+
+        /**
+         * Replace whether the chunk size of each file is chosen automatically.
+         *
+         * @param uploadChunkSizeAuto True to choose the chunk size of each file automatically.
+         *
+         * @return builder.
+         */
+        public Builder setUploadChunkSizeAuto(String uploadChunkSizeAuto) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_CHUNK_SIZE_AUTO, uploadChunkSizeAuto);
+            return this;
+        }
+
+        /**
+         * Replace the number of parts a file is divided into when the chunk size is chosen automatically.
+         *
+         * @param uploadTargetPartCount The target number of parts.
+         *
+         * @return builder.
+         */
+        public Builder setUploadTargetPartCount(int uploadTargetPartCount) {
+            return setUploadTargetPartCount(String.valueOf(uploadTargetPartCount));
+        }
+
+        /**
+         * Replace the number of parts a file is divided into when the chunk size is chosen automatically.
+         *
+         * @param uploadTargetPartCount The target number of parts.
+         *
+         * @return builder.
+         */
+        public Builder setUploadTargetPartCount(String uploadTargetPartCount) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_TARGET_PART_COUNT, uploadTargetPartCount);
+            return this;
+        }
+
+        /**
+         * Replace the directory in which multipart uploads are journaled so they can be resumed.
+         * Uploads are only journaled when a directory is configured, in which case a failed multipart upload is kept by Black Duck instead of being cancelled.
+         *
+         * @param uploadJournalDirectory The directory containing the upload journal.
+         *
+         * @return builder.
+         */
+        public Builder setUploadJournalDirectory(Path uploadJournalDirectory) {
+            return setUploadJournalDirectory(uploadJournalDirectory.toString());
+        }
+
+        /**
+         * Replace the directory in which multipart uploads are journaled so they can be resumed.
+         * Uploads are only journaled when a directory is configured, in which case a failed multipart upload is kept by Black Duck instead of being cancelled.
+         *
+         * @param uploadJournalDirectory The directory containing the upload journal.
+         *
+         * @return builder.
+         */
+        public Builder setUploadJournalDirectory(String uploadJournalDirectory) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_JOURNAL_DIRECTORY, uploadJournalDirectory);
+            return this;
+        }
+
+        /**
+         * Replace the policy applied to a file part that could not be uploaded after all of its retry attempts.
+         *
+         * @param multipartUploadFailurePolicy The {@link MultipartUploadFailurePolicy} of part uploads.
+         *
+         * @return builder.
+         */
+        public Builder setMultipartUploadFailurePolicy(MultipartUploadFailurePolicy multipartUploadFailurePolicy) {
+            return setMultipartUploadFailurePolicy(multipartUploadFailurePolicy.name());
+        }
+
+        /**
+         * Replace the policy applied to a file part that could not be uploaded after all of its retry attempts.
+         *
+         * @param multipartUploadFailurePolicy The {@link MultipartUploadFailurePolicy} of part uploads.
+         *
+         * @return builder.
+         */
+        public Builder setMultipartUploadFailurePolicy(String multipartUploadFailurePolicy) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_FAILURE_POLICY, multipartUploadFailurePolicy);
+            return this;
+        }
+
+        /**
+         * Replace the number of part failures repaired before a multipart upload is cancelled, when using the {@link MultipartUploadFailurePolicy#REPAIR} policy.
+         *
+         * @param multipartUploadPartFailureBudget The part failure budget.
+         *
+         * @return builder.
+         */
+        public Builder setMultipartUploadPartFailureBudget(int multipartUploadPartFailureBudget) {
+            return setMultipartUploadPartFailureBudget(String.valueOf(multipartUploadPartFailureBudget));
+        }
+
+        /**
+         * Replace the number of part failures repaired before a multipart upload is cancelled, when using the {@link MultipartUploadFailurePolicy#REPAIR} policy.
+         *
+         * @param multipartUploadPartFailureBudget The part failure budget.
+         *
+         * @return builder.
+         */
+        public Builder setMultipartUploadPartFailureBudget(String multipartUploadPartFailureBudget) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_FAILURE_BUDGET, multipartUploadPartFailureBudget);
+            return this;
+        }
+
+        /**
+         * Replace the maximum interval to wait between two attempts of an upload request, unless the server requests a longer delay.
+         *
+         * @param multipartUploadPartRetryMaxInterval The maximum time in milliseconds to wait before retrying an upload.
+         *
+         * @return builder.
+         */
+        public Builder setMultipartUploadPartRetryMaxInterval(Long multipartUploadPartRetryMaxInterval) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_RETRY_MAX_INTERVAL, String.valueOf(multipartUploadPartRetryMaxInterval));
+            return this;
+        }
+
+        /**
+         * Replace the percentile, between 0 and 100, of the completed part durations after which a part still uploading is hedged by a second request.
+         *
+         * @param multipartUploadPartHedgePercentile The part hedge percentile.
+         *
+         * @return builder.
+         */
+        public Builder setMultipartUploadPartHedgePercentile(double multipartUploadPartHedgePercentile) {
+            return setMultipartUploadPartHedgePercentile(String.valueOf(multipartUploadPartHedgePercentile));
+        }
+
+        /**
+         * Replace the percentile, between 0 and 100, of the completed part durations after which a part still uploading is hedged by a second request.
+         *
+         * @param multipartUploadPartHedgePercentile The part hedge percentile.
+         *
+         * @return builder.
+         */
+        public Builder setMultipartUploadPartHedgePercentile(String multipartUploadPartHedgePercentile) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_HEDGE_PERCENTILE, multipartUploadPartHedgePercentile);
+            return this;
+        }
+
+        /**
+         * Replace the bytes of hedged part requests allowed for a multipart upload, as a fraction of the file size. A fraction of 0 disables hedging.
+         *
+         * @param multipartUploadPartHedgeBandwidthFraction The part hedge bandwidth fraction.
+         *
+         * @return builder.
+         */
+        public Builder setMultipartUploadPartHedgeBandwidthFraction(double multipartUploadPartHedgeBandwidthFraction) {
+            return setMultipartUploadPartHedgeBandwidthFraction(String.valueOf(multipartUploadPartHedgeBandwidthFraction));
+        }
+
+        /**
+         * Replace the bytes of hedged part requests allowed for a multipart upload, as a fraction of the file size. A fraction of 0 disables hedging.
+         *
+         * @param multipartUploadPartHedgeBandwidthFraction The part hedge bandwidth fraction.
+         *
+         * @return builder.
+         */
+        public Builder setMultipartUploadPartHedgeBandwidthFraction(String multipartUploadPartHedgeBandwidthFraction) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_HEDGE_BANDWIDTH_FRACTION, multipartUploadPartHedgeBandwidthFraction);
+            return this;
+        }
+
+        /**
+         * Replace the throughput in bytes per second below which a part upload request is aborted and retried. A throughput of 0 disables the stall detection, part requests past their deadline are still aborted.
+         *
+         * @param multipartUploadPartMinimumThroughput The minimum part throughput in bytes per second.
+         *
+         * @return builder.
+         */
+        public Builder setMultipartUploadPartMinimumThroughput(Long multipartUploadPartMinimumThroughput) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_MINIMUM_THROUGHPUT, String.valueOf(multipartUploadPartMinimumThroughput));
+            return this;
+        }
+
+        /**
+         * Replace the window in milliseconds over which the throughput of a part upload request is measured.
+         *
+         * @param multipartUploadPartStallWindow The stall detection window in milliseconds.
+         *
+         * @return builder.
+         */
+        public Builder setMultipartUploadPartStallWindow(Long multipartUploadPartStallWindow) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_STALL_WINDOW, String.valueOf(multipartUploadPartStallWindow));
+            return this;
+        }
+
+        /**
+         * Replace the lowest number of file parts uploaded concurrently. A positive value lets the part concurrency adapt to the server between this value
+         * and the part concurrency, while a value of 0 keeps the part concurrency fixed.
+         *
+         * @param multipartUploadPartConcurrencyMinimum The minimum part concurrency.
+         *
+         * @return builder.
+         */
+        public Builder setMultipartUploadPartConcurrencyMinimum(int multipartUploadPartConcurrencyMinimum) {
+            return setMultipartUploadPartConcurrencyMinimum(String.valueOf(multipartUploadPartConcurrencyMinimum));
+        }
+
+        /**
+         * Replace the lowest number of file parts uploaded concurrently. A positive value lets the part concurrency adapt to the server between this value
+         * and the part concurrency, while a value of 0 keeps the part concurrency fixed.
+         *
+         * @param multipartUploadPartConcurrencyMinimum The minimum part concurrency.
+         *
+         * @return builder.
+         */
+        public Builder setMultipartUploadPartConcurrencyMinimum(String multipartUploadPartConcurrencyMinimum) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_CONCURRENCY_MINIMUM, multipartUploadPartConcurrencyMinimum);
+            return this;
+        }
+
+        /**
+         * Replace the number of file parts uploaded concurrently when an adaptive part concurrency starts. A value of 0 starts from the part concurrency.
+         *
+         * @param multipartUploadPartConcurrencyInitial The initial part concurrency.
+         *
+         * @return builder.
+         */
+        public Builder setMultipartUploadPartConcurrencyInitial(int multipartUploadPartConcurrencyInitial) {
+            return setMultipartUploadPartConcurrencyInitial(String.valueOf(multipartUploadPartConcurrencyInitial));
+        }
+
+        /**
+         * Replace the number of file parts uploaded concurrently when an adaptive part concurrency starts. A value of 0 starts from the part concurrency.
+         *
+         * @param multipartUploadPartConcurrencyInitial The initial part concurrency.
+         *
+         * @return builder.
+         */
+        public Builder setMultipartUploadPartConcurrencyInitial(String multipartUploadPartConcurrencyInitial) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_CONCURRENCY_INITIAL, multipartUploadPartConcurrencyInitial);
+            return this;
+        }
+
+        /**
+         * Replace the rate in bytes per second at which the uploaders of this process send their files together. The rate is shared by every
+         * uploader of the process, and the last uploader factory created with a positive rate sets it. A rate of 0 leaves the rate of the process unchanged.
+         * Keep the minimum part throughput below the rate, or throttled parts are aborted as stalled.
+         *
+         * @param uploadBandwidthLimit The upload bandwidth limit in bytes per second.
+         *
+         * @return builder.
+         */
+        public Builder setUploadBandwidthLimit(Long uploadBandwidthLimit) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_BANDWIDTH_LIMIT, String.valueOf(uploadBandwidthLimit));
+            return this;
+        }
+
+        /**
+         * Replace the number of bytes sent in a burst, above the upload bandwidth limit, after the uploads were idle.
+         *
+         * @param uploadBandwidthBurst The upload bandwidth burst in bytes.
+         *
+         * @return builder.
+         */
+        public Builder setUploadBandwidthBurst(Long uploadBandwidthBurst) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_BANDWIDTH_BURST, String.valueOf(uploadBandwidthBurst));
+            return this;
+        }
+
+        /**
+         * Replace the maximum number of connections kept open by the uploaders of a factory. The connections are pooled and reused by every request
+         * the uploaders send.
+         *
+         * @param uploadConnectionPoolMaxTotal The maximum number of pooled connections.
+         *
+         * @return builder.
+         */
+        public Builder setUploadConnectionPoolMaxTotal(int uploadConnectionPoolMaxTotal) {
+            return setUploadConnectionPoolMaxTotal(String.valueOf(uploadConnectionPoolMaxTotal));
+        }
+
+        /**
+         * Replace the maximum number of connections kept open by the uploaders of a factory. The connections are pooled and reused by every request
+         * the uploaders send.
+         *
+         * @param uploadConnectionPoolMaxTotal The maximum number of pooled connections.
+         *
+         * @return builder.
+         */
+        public Builder setUploadConnectionPoolMaxTotal(String uploadConnectionPoolMaxTotal) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_CONNECTION_POOL_MAX_TOTAL, uploadConnectionPoolMaxTotal);
+            return this;
+        }
+
+        /**
+         * Replace the maximum number of connections kept open to one server by the uploaders of a factory. A value below twice the part concurrency
+         * is raised to it, so the part requests and their hedges never wait for a connection.
+         *
+         * @param uploadConnectionPoolMaxPerRoute The maximum number of pooled connections to one server.
+         *
+         * @return builder.
+         */
+        public Builder setUploadConnectionPoolMaxPerRoute(int uploadConnectionPoolMaxPerRoute) {
+            return setUploadConnectionPoolMaxPerRoute(String.valueOf(uploadConnectionPoolMaxPerRoute));
+        }
+
+        /**
+         * Replace the maximum number of connections kept open to one server by the uploaders of a factory. A value below twice the part concurrency
+         * is raised to it, so the part requests and their hedges never wait for a connection.
+         *
+         * @param uploadConnectionPoolMaxPerRoute The maximum number of pooled connections to one server.
+         *
+         * @return builder.
+         */
+        public Builder setUploadConnectionPoolMaxPerRoute(String uploadConnectionPoolMaxPerRoute) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_CONNECTION_POOL_MAX_PER_ROUTE, uploadConnectionPoolMaxPerRoute);
+            return this;
+        }
+
+        /**
+         * Replace the time in milliseconds after which a pooled connection is closed instead of reused, so long uploads spread over the servers behind a
+         * load balancer. A value of 0 reuses connections for as long as the server keeps them alive.
+         *
+         * @param uploadConnectionTimeToLive The connection time to live in milliseconds.
+         *
+         * @return builder.
+         */
+        public Builder setUploadConnectionTimeToLive(Long uploadConnectionTimeToLive) {
+            setPropertyValue(EnvironmentProperties.BLACKDUCK_UPLOAD_CONNECTION_TIME_TO_LIVE, String.valueOf(uploadConnectionTimeToLive));
+            return this;
+        }
     }
 }
@@ -8,8 +8,10 @@
 package com.blackduck.integration.sca.upload.client.uploaders;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
 
@@ -21,8 +23,12 @@ import com.blackduck.integration.function.ThrowingFunction;
 import com.blackduck.integration.rest.body.BodyContent;
 import com.blackduck.integration.rest.response.Response;
 import com.blackduck.integration.sca.upload.client.EnvironmentProperties;
+import com.blackduck.integration.sca.upload.file.ChunkSizePolicy;
 import com.blackduck.integration.sca.upload.file.FileSplitter;
 import com.blackduck.integration.sca.upload.file.FileUploader;
+import com.blackduck.integration.sca.upload.file.UploadJournal;
+import com.blackduck.integration.sca.upload.file.UploadMetadataOutputStream;
+import com.blackduck.integration.sca.upload.file.UploadMetadataWritableByteChannel;
 import com.blackduck.integration.sca.upload.file.model.MultipartUploadFileMetadata;
 import com.blackduck.integration.sca.upload.rest.model.request.MultipartUploadStartRequest;
 import com.blackduck.integration.sca.upload.rest.status.MutableResponseStatus;
@@ -40,10 +46,10 @@ import com.blackduck.integration.sca.upload.validation.UploadValidator;
  */
 public abstract class AbstractUploader<T extends UploadStatus> {
     private final Logger logger = LoggerFactory.getLogger(getClass());
-    private final FileSplitter fileSplitter = new FileSplitter();
+    private final FileSplitter fileSplitter;
     private final FileUploader fileUploader;
     private final UploadValidator uploadValidator;
-    private final int chunkSize;
+    private final ChunkSizePolicy chunkSizePolicy;
 
     /**
      * Constructor for the abstract uploader.
@@ -53,9 +59,34 @@ public abstract class AbstractUploader<T extends UploadStatus> {
      * @param uploadValidator The class that provides validation for file splitting and uploader configuration.
      */
     AbstractUploader(int chunkSize, FileUploader fileUploader, UploadValidator uploadValidator) {
-        this.chunkSize = chunkSize;
+        this(chunkSize, fileUploader, uploadValidator, new FileSplitter());
+    }
+
+    /**
+     * Constructor for the abstract uploader.
+     *
+     * @param chunkSize The maximum size per chunk for a multipart upload.
+     * @param fileUploader The class which uploads the file to the Black Duck server.
+     * @param uploadValidator The class that provides validation for file splitting and uploader configuration.
+     * @param fileSplitter The class which splits the file into parts and computes their checksums for a multipart upload.
+     */
+    AbstractUploader(int chunkSize, FileUploader fileUploader, UploadValidator uploadValidator, FileSplitter fileSplitter) {
+        this(ChunkSizePolicy.fixed(chunkSize), fileUploader, uploadValidator, fileSplitter);
+    }
+
+    /**
+     * Constructor for the abstract uploader.
+     *
+     * @param chunkSizePolicy The {@link ChunkSizePolicy} choosing the maximum size per chunk of each file for a multipart upload.
+     * @param fileUploader The class which uploads the file to the Black Duck server.
+     * @param uploadValidator The class that provides validation for file splitting and uploader configuration.
+     * @param fileSplitter The class which splits the file into parts and computes their checksums for a multipart upload.
+     */
+    AbstractUploader(ChunkSizePolicy chunkSizePolicy, FileUploader fileUploader, UploadValidator uploadValidator, FileSplitter fileSplitter) {
+        this.chunkSizePolicy = chunkSizePolicy;
         this.fileUploader = fileUploader;
         this.uploadValidator = uploadValidator;
+        this.fileSplitter = fileSplitter;
     }
 
     /**
@@ -71,17 +102,87 @@ public abstract class AbstractUploader<T extends UploadStatus> {
         uploadValidator.validateUploadFile(uploadFilePath);
 
         if (uploadValidator.isFileForPartitioning(uploadFilePath)) {
+            int chunkSize = chunkSizePolicy.getChunkSize(Files.size(uploadFilePath));
             uploadValidator.validateUploaderConfiguration(uploadFilePath, chunkSize);
-            return partitionAndUploadFile(uploadFilePath);
+            return partitionAndUploadFile(uploadFilePath, chunkSize);
+        }
+
+        return fileUploader.upload(createBodyContent(uploadFilePath), createUploadStatus(), createUploadStatusError());
+    }
+
+    /**
+     * Performs upload of a file specified by a given path, using metadata computed while the file was written instead of splitting the file.
+     * If the file is larger than the threshold specified by {@link EnvironmentProperties#BLACKDUCK_MULTIPART_UPLOAD_THRESHOLD},
+     * a multipart upload is performed with the given metadata. Otherwise, a standard uploaded is performed.
+     *
+     * @see UploadMetadataOutputStream
+     * @see UploadMetadataWritableByteChannel
+     * @param uploadFilePath The path of the file to upload.
+     * @param multipartUploadFileMetadata The {@link MultipartUploadFileMetadata} of the file, which remains owned by the caller.
+     * @return the {@link UploadStatus} from uploading a file.
+     * @throws IntegrationException if the file size does not match the metadata, e.g. because the file was modified after it was written.
+     */
+    public T upload(Path uploadFilePath, MultipartUploadFileMetadata multipartUploadFileMetadata) throws IOException, IntegrationException {
+        uploadValidator.validateUploadFile(uploadFilePath);
+
+        if (uploadValidator.isFileForPartitioning(uploadFilePath)) {
+            uploadValidator.validateUploaderConfiguration(uploadFilePath, multipartUploadFileMetadata.getChunkSize());
+            long fileSize = Files.size(uploadFilePath);
+            if (fileSize != multipartUploadFileMetadata.getFileSize()) {
+                throw new IntegrationException(String.format(
+                    "The size of %s is %d bytes, but its upload metadata was computed for %d bytes.",
+                    uploadFilePath,
+                    fileSize,
+                    multipartUploadFileMetadata.getFileSize()
+                ));
+            }
+            return multipartUploadFile(multipartUploadFileMetadata);
         }
 
         return fileUploader.upload(createBodyContent(uploadFilePath), createUploadStatus(), createUploadStatusError());
     }
 
-    private T partitionAndUploadFile(Path uploadFilePath) throws IOException, IntegrationException {
-        logger.info("Start of calculate for file offsets.");
-        MultipartUploadFileMetadata multipartUploadFileMetadata = fileSplitter.splitFile(uploadFilePath, chunkSize);
-        logger.info("Finish of calculate for file offsets.");
+    /**
+     * Continues the multipart upload of a file specified by a given path from the parts that were not uploaded yet, e.g. after the process
+     * performing the upload was stopped. The upload must have been started by an uploader configured with
+     * {@link EnvironmentProperties#BLACKDUCK_UPLOAD_JOURNAL_DIRECTORY}. A file without an upload to continue, which changed since its
+     * upload was started, or whose parts were checksummed with another part digest algorithm, is uploaded from the start as with
+     * {@link #upload(Path)}, and so is a file whose upload Black Duck no longer knows. A file below the multipart upload threshold is
+     * uploaded with a standard upload, and the parts of a journaled upload are validated against the configuration as with {@link #upload(Path)}.
+     *
+     * @see UploadJournal
+     * @param uploadFilePath The path of the file to upload.
+     * @return the {@link UploadStatus} from uploading a file.
+     */
+    public T resume(Path uploadFilePath) throws IOException, IntegrationException {
+        uploadValidator.validateUploadFile(uploadFilePath);
+
+        Optional<UploadJournal.ResumableUpload> resumableUpload = fileUploader.findResumableUpload(uploadFilePath, fileSplitter.getPartDigestAlgorithm());
+        if (!resumableUpload.isPresent() || !uploadValidator.isFileForPartitioning(uploadFilePath)) {
+            return upload(uploadFilePath);
+        }
+        MultipartUploadFileMetadata multipartUploadFileMetadata = resumableUpload.get().getFileMetadata();
+        uploadValidator.validateUploaderConfiguration(uploadFilePath, multipartUploadFileMetadata.getChunkSize());
+        return fileUploader.resumeMultipartUpload(
+            resumableUpload.get(),
+            getMultipartUploadStartRequestHeaders(),
+            getMultipartUploadStartContentType(),
+            getMultipartUploadStartRequest(() -> multipartUploadFileMetadata),
+            createUploadStatus(),
+            createUploadStatusError()
+        );
+    }
+
+    private T partitionAndUploadFile(Path uploadFilePath, int chunkSize) throws IOException, IntegrationException {
+        logger.info("Start of calculate for file offsets with a chunk size of {} bytes.", chunkSize);
+        // Closing the metadata stops any background hashing of parts that were not uploaded.
+        try (MultipartUploadFileMetadata multipartUploadFileMetadata = fileSplitter.splitFile(uploadFilePath, chunkSize)) {
+            logger.info("Finish of calculate for file offsets.");
+            return multipartUploadFile(multipartUploadFileMetadata);
+        }
+    }
+
+    private T multipartUploadFile(MultipartUploadFileMetadata multipartUploadFileMetadata) throws IntegrationException {
         return fileUploader.multipartUpload(
             multipartUploadFileMetadata,
             getMultipartUploadStartRequestHeaders(),
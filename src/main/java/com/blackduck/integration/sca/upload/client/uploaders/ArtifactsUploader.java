@@ -19,6 +19,8 @@ import com.blackduck.integration.exception.IntegrationException;
 import com.blackduck.integration.function.ThrowingFunction;
 import com.blackduck.integration.rest.body.BodyContent;
 import com.blackduck.integration.rest.response.Response;
+import com.blackduck.integration.sca.upload.file.ChunkSizePolicy;
+import com.blackduck.integration.sca.upload.file.FileSplitter;
 import com.blackduck.integration.sca.upload.file.FileUploader;
 import com.blackduck.integration.sca.upload.file.model.MultipartUploadFileMetadata;
 import com.blackduck.integration.sca.upload.rest.model.ContentTypes;
@@ -44,7 +46,31 @@ public class ArtifactsUploader extends AbstractUploader<UploadStatus> {
      * @param uploadValidator The class that provides validation for file splitting and uploader configuration.
      */
     ArtifactsUploader(int chunkSize, FileUploader fileUploader, UploadValidator uploadValidator) {
-        super(chunkSize, fileUploader, uploadValidator);
+        this(chunkSize, fileUploader, uploadValidator, new FileSplitter());
+    }
+
+    /**
+     * Constructor for Artifact uploads.
+     *
+     * @param chunkSize The maximum size per chunk for a multipart upload.
+     * @param fileUploader The class which uploads the file to the Black Duck server.
+     * @param uploadValidator The class that provides validation for file splitting and uploader configuration.
+     * @param fileSplitter The class which splits the file into parts and computes their checksums for a multipart upload.
+     */
+    ArtifactsUploader(int chunkSize, FileUploader fileUploader, UploadValidator uploadValidator, FileSplitter fileSplitter) {
+        this(ChunkSizePolicy.fixed(chunkSize), fileUploader, uploadValidator, fileSplitter);
+    }
+
+    /**
+     * Constructor for Artifact uploads.
+     *
+     * @param chunkSizePolicy The {@link ChunkSizePolicy} choosing the maximum size per chunk of each file for a multipart upload.
+     * @param fileUploader The class which uploads the file to the Black Duck server.
+     * @param uploadValidator The class that provides validation for file splitting and uploader configuration.
+     * @param fileSplitter The class which splits the file into parts and computes their checksums for a multipart upload.
+     */
+    ArtifactsUploader(ChunkSizePolicy chunkSizePolicy, FileUploader fileUploader, UploadValidator uploadValidator, FileSplitter fileSplitter) {
+        super(chunkSizePolicy, fileUploader, uploadValidator, fileSplitter);
     }
 
     /**
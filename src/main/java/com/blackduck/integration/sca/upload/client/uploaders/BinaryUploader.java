@@ -23,6 +23,8 @@ import com.blackduck.integration.rest.body.BodyContent;
 import com.blackduck.integration.rest.body.MultipartBodyContent;
 import com.blackduck.integration.rest.response.Response;
 import com.blackduck.integration.sca.upload.client.model.BinaryScanRequestData;
+import com.blackduck.integration.sca.upload.file.ChunkSizePolicy;
+import com.blackduck.integration.sca.upload.file.FileSplitter;
 import com.blackduck.integration.sca.upload.file.FileUploader;
 import com.blackduck.integration.sca.upload.file.model.MultipartUploadFileMetadata;
 import com.blackduck.integration.sca.upload.rest.model.ContentTypes;
@@ -60,7 +62,45 @@ public class BinaryUploader extends AbstractUploader<BinaryUploadStatus> {
         UploadValidator uploadValidator,
         BinaryScanRequestData binaryScanRequestData
     ) {
-        super(chunkSize, fileUploader, uploadValidator);
+        this(chunkSize, fileUploader, uploadValidator, new FileSplitter(), binaryScanRequestData);
+    }
+
+    /**
+     * Constructor for Binary uploader.
+     *
+     * @param chunkSize The maximum size per chunk for a multipart upload.
+     * @param fileUploader The class which uploads the file to the Black Duck server.
+     * @param uploadValidator The class that provides validation for file splitting and uploader configuration.
+     * @param fileSplitter The class which splits the file into parts and computes their checksums for a multipart upload.
+     * @param binaryScanRequestData The class that provides the required binary specific data for uploads.
+     */
+    BinaryUploader(
+        int chunkSize,
+        FileUploader fileUploader,
+        UploadValidator uploadValidator,
+        FileSplitter fileSplitter,
+        BinaryScanRequestData binaryScanRequestData
+    ) {
+        this(ChunkSizePolicy.fixed(chunkSize), fileUploader, uploadValidator, fileSplitter, binaryScanRequestData);
+    }
+
+    /**
+     * Constructor for Binary uploader.
+     *
+     * @param chunkSizePolicy The {@link ChunkSizePolicy} choosing the maximum size per chunk of each file for a multipart upload.
+     * @param fileUploader The class which uploads the file to the Black Duck server.
+     * @param uploadValidator The class that provides validation for file splitting and uploader configuration.
+     * @param fileSplitter The class which splits the file into parts and computes their checksums for a multipart upload.
+     * @param binaryScanRequestData The class that provides the required binary specific data for uploads.
+     */
+    BinaryUploader(
+        ChunkSizePolicy chunkSizePolicy,
+        FileUploader fileUploader,
+        UploadValidator uploadValidator,
+        FileSplitter fileSplitter,
+        BinaryScanRequestData binaryScanRequestData
+    ) {
+        super(chunkSizePolicy, fileUploader, uploadValidator, fileSplitter);
         this.binaryScanRequestData = binaryScanRequestData;
     }
 
@@ -22,6 +22,8 @@ import com.blackduck.integration.function.ThrowingFunction;
 import com.blackduck.integration.rest.body.BodyContent;
 import com.blackduck.integration.rest.body.EntityBodyContent;
 import com.blackduck.integration.rest.response.Response;
+import com.blackduck.integration.sca.upload.file.ChunkSizePolicy;
+import com.blackduck.integration.sca.upload.file.FileSplitter;
 import com.blackduck.integration.sca.upload.file.FileUploader;
 import com.blackduck.integration.sca.upload.file.model.MultipartUploadFileMetadata;
 import com.blackduck.integration.sca.upload.rest.model.ContentTypes;
@@ -48,7 +50,31 @@ public class ContainerUploader extends AbstractUploader<DefaultUploadStatus> {
      * @param uploadValidator The class that provides validation for file splitting and uploader configuration.
      */
     ContainerUploader(int chunkSize, FileUploader fileUploader, UploadValidator uploadValidator) {
-        super(chunkSize, fileUploader, uploadValidator);
+        this(chunkSize, fileUploader, uploadValidator, new FileSplitter());
+    }
+
+    /**
+     * Constructor for Container uploads.
+     *
+     * @param chunkSize The maximum size per chunk for a multipart upload.
+     * @param fileUploader The class which uploads the file to the Black Duck server.
+     * @param uploadValidator The class that provides validation for file splitting and uploader configuration.
+     * @param fileSplitter The class which splits the file into parts and computes their checksums for a multipart upload.
+     */
+    ContainerUploader(int chunkSize, FileUploader fileUploader, UploadValidator uploadValidator, FileSplitter fileSplitter) {
+        this(ChunkSizePolicy.fixed(chunkSize), fileUploader, uploadValidator, fileSplitter);
+    }
+
+    /**
+     * Constructor for Container uploads.
+     *
+     * @param chunkSizePolicy The {@link ChunkSizePolicy} choosing the maximum size per chunk of each file for a multipart upload.
+     * @param fileUploader The class which uploads the file to the Black Duck server.
+     * @param uploadValidator The class that provides validation for file splitting and uploader configuration.
+     * @param fileSplitter The class which splits the file into parts and computes their checksums for a multipart upload.
+     */
+    ContainerUploader(ChunkSizePolicy chunkSizePolicy, FileUploader fileUploader, UploadValidator uploadValidator, FileSplitter fileSplitter) {
+        super(chunkSizePolicy, fileUploader, uploadValidator, fileSplitter);
     }
 
     /**
@@ -12,6 +12,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -20,6 +21,7 @@ import org.apache.http.HttpEntity;
 import org.apache.http.HttpHeaders;
 import org.apache.http.HttpStatus;
 import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.FileEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,10 +29,15 @@ import com.blackduck.integration.exception.IntegrationException;
 import com.blackduck.integration.rest.HttpMethod;
 import com.blackduck.integration.rest.HttpUrl;
 import com.blackduck.integration.rest.body.EntityBodyContent;
-import com.blackduck.integration.rest.body.FileBodyContent;
 import com.blackduck.integration.rest.client.IntHttpClient;
 import com.blackduck.integration.rest.request.Request;
 import com.blackduck.integration.rest.response.Response;
+import com.blackduck.integration.sca.upload.file.BufferPool;
+import com.blackduck.integration.sca.upload.file.UploadOptions;
+import com.blackduck.integration.sca.upload.rest.BandwidthLimiter;
+import com.blackduck.integration.sca.upload.rest.RetryPolicy;
+import com.blackduck.integration.sca.upload.rest.RetryScheduler;
+import com.blackduck.integration.sca.upload.rest.ThrottledEntity;
 import com.blackduck.integration.sca.upload.rest.status.ScassUploadStatus;
 import com.blackduck.integration.sca.upload.util.HttpHeaderUtils;
 import com.blackduck.integration.sca.upload.validation.UploadValidator;
@@ -56,15 +63,34 @@ public class ScassUploader {
 
     private final int multipartUploadPartRetryAttempts;
 
+    private final BufferPool bufferPool;
+
+    private final RetryPolicy retryPolicy;
+
+    private final RetryScheduler retryScheduler;
+
+    private final BandwidthLimiter bandwidthLimiter;
+
     public ScassUploader(
         IntHttpClient client, UploadValidator uploadValidator, int chunkSize, long multipartUploadPartRetryInitialInterval,
         int multipartUploadPartRetryAttempts
+    ) {
+        this(client, uploadValidator, chunkSize, multipartUploadPartRetryInitialInterval, multipartUploadPartRetryAttempts, UploadOptions.defaultOptions());
+    }
+
+    public ScassUploader(
+        IntHttpClient client, UploadValidator uploadValidator, int chunkSize, long multipartUploadPartRetryInitialInterval,
+        int multipartUploadPartRetryAttempts, UploadOptions uploadOptions
     ) {
         this.client = client;
         this.uploadValidator = uploadValidator;
         this.chunkSize = chunkSize;
         this.multipartUploadPartRetryInitialInterval = multipartUploadPartRetryInitialInterval;
         this.multipartUploadPartRetryAttempts = multipartUploadPartRetryAttempts;
+        this.bufferPool = uploadOptions.getBufferPool();
+        this.retryPolicy = uploadOptions.getRetryPolicy();
+        this.retryScheduler = uploadOptions.getRetryScheduler();
+        this.bandwidthLimiter = uploadOptions.getBandwidthLimiter();
     }
 
     public ScassUploadStatus upload(HttpMethod method, String signedUrl, Map<String, String> headers, Path uploadFilePath)
@@ -86,7 +112,7 @@ public class ScassUploader {
 
         HttpUrl requestUrl = new HttpUrl(signedUrl);
 
-        FileBodyContent bodyContent = new FileBodyContent(uploadFilePath.toFile(), null);
+        EntityBodyContent bodyContent = new EntityBodyContent(new ThrottledEntity(new FileEntity(uploadFilePath.toFile()), bandwidthLimiter));
         Request.Builder builder = new Request.Builder()
             .url(requestUrl)
             .headers(headers)
@@ -141,14 +167,16 @@ public class ScassUploader {
 
         int bytesRead;
 
-        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
-            byte[] chunk = new byte[bytesToRead];
+        // The first chunk is the largest, so one buffer holds every chunk of the upload.
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+            BufferPool.Buffer chunkBuffer = bufferPool.acquire(bytesToRead)) {
+            byte[] chunk = chunkBuffer.array();
             while ((bytesRead = randomAccessFile.read(chunk, 0, bytesToRead)) != -1) {
                 Map<String, String> chunkHeaders = new HashMap<>();
                 String rangeValue = String.format("bytes %s-%s/%s", offset, (offset.getValue() + bytesRead - 1), fileSize);
                 chunkHeaders.put(HttpHeaders.CONTENT_RANGE, rangeValue);
 
-                ScassUploadStatus status = uploadChunk(uploadUrl, chunkHeaders, chunk, offset);
+                ScassUploadStatus status = uploadChunk(uploadUrl, chunkHeaders, chunk, bytesRead, offset);
                 if (status.isError() || (status.getStatusCode() != HttpStatus.SC_OK && status.getStatusCode() != PERMANENT_REDIRECT)) {
                     // this is error status, so break the cycle and return it
                     return status;
@@ -159,10 +187,9 @@ public class ScassUploader {
                     break;
                 }
 
-                // at this point offset was reset, so reset file pointer and reinitialize buffer
+                // at this point offset was reset, so reset file pointer and the number of bytes to read into the buffer
                 randomAccessFile.seek(offset.getValue());
                 bytesToRead = computeBytesToRead(fileSize, offset.getValue());
-                chunk = new byte[bytesToRead];
             }
         } catch (InterruptedException e) {
             throw new IntegrationException("The thread was interrupted.");
@@ -193,10 +220,11 @@ public class ScassUploader {
         return client.execute(request);
     }
 
-    private ScassUploadStatus uploadChunk(String uploadUrl, Map<String, String> headers, byte[] chunk, MutableLong offset)
+    private ScassUploadStatus uploadChunk(String uploadUrl, Map<String, String> headers, byte[] chunk, int chunkLength, MutableLong offset)
         throws IntegrationException, IOException, InterruptedException {
         HttpUrl requestUrl = new HttpUrl(uploadUrl);
-        HttpEntity entity = new ByteArrayEntity(chunk);
+        // The pooled buffer can be larger than the chunk, so only the bytes read are sent.
+        HttpEntity entity = new ThrottledEntity(new ByteArrayEntity(chunk, 0, chunkLength), bandwidthLimiter);
         EntityBodyContent bodyContent = new EntityBodyContent(entity);
 
         Request.Builder builder = new Request.Builder()
@@ -208,7 +236,7 @@ public class ScassUploader {
         Request request = builder.build();
 
         String chunkId = headers.get(HttpHeaders.CONTENT_RANGE);
-        long interval = multipartUploadPartRetryInitialInterval;
+        long retryDelay = 0;
         int retryCount = 0;
         while (retryCount <= multipartUploadPartRetryAttempts) {
 
@@ -241,9 +269,11 @@ public class ScassUploader {
             } catch (Exception ex) {
                 logger.error("Error occurred while uploading chunk {}", chunkId);
 
-                if (retryCount >= multipartUploadPartRetryAttempts) {
-                    String errorMessage =
-                        String.format("Failed to upload chunk after %s attempts. Error message is: %s", multipartUploadPartRetryAttempts, ex.getMessage());
+                boolean retryBudgetExhausted = retryCount < multipartUploadPartRetryAttempts && !retryPolicy.tryAcquireRetry();
+                if (retryCount >= multipartUploadPartRetryAttempts || retryBudgetExhausted) {
+                    String errorMessage = retryBudgetExhausted
+                        ? String.format("Failed to upload chunk, the retry budget is exhausted. Error message is: %s", ex.getMessage())
+                        : String.format("Failed to upload chunk after %s attempts. Error message is: %s", multipartUploadPartRetryAttempts, ex.getMessage());
                     if (response != null) {
                         return new ScassUploadStatus(response.getStatusCode(), response.getStatusMessage(), new IntegrationException(errorMessage, ex),
                             response.getContentString()
@@ -253,8 +283,10 @@ public class ScassUploader {
                     }
                 }
 
-                Thread.sleep(interval);
-                interval = 2 * interval;
+                Map<String, String> responseHeaders = (response == null) ? Collections.emptyMap() : response.getHeaders();
+                retryDelay = retryPolicy.nextDelay(multipartUploadPartRetryInitialInterval, retryDelay, responseHeaders);
+                // The chunks are uploaded in order, so the upload waits for the retry.
+                retryScheduler.await(retryDelay);
                 retryCount++;
             } finally {
                 if (response != null) {
@@ -8,20 +8,60 @@
  */
 package com.blackduck.integration.sca.upload.client.uploaders;
 
+import java.io.Closeable;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.conn.ssl.TrustAllStrategy;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.ssl.SSLContextBuilder;
+
 import com.blackduck.integration.log.IntLogger;
 import com.blackduck.integration.rest.client.IntHttpClient;
 import com.blackduck.integration.rest.proxy.ProxyInfo;
 import com.blackduck.integration.sca.upload.client.UploaderConfig;
 import com.blackduck.integration.sca.upload.client.model.BinaryScanRequestData;
+import com.blackduck.integration.sca.upload.file.AdaptiveChunkSizer;
+import com.blackduck.integration.sca.upload.file.BufferPool;
+import com.blackduck.integration.sca.upload.file.ChunkSizePolicy;
+import com.blackduck.integration.sca.upload.file.FileChecksumCache;
+import com.blackduck.integration.sca.upload.file.FileSplitMode;
+import com.blackduck.integration.sca.upload.file.FileSplitter;
+import com.blackduck.integration.sca.upload.file.FileSplitterOptions;
 import com.blackduck.integration.sca.upload.file.FileUploader;
+import com.blackduck.integration.sca.upload.file.PartConcurrencyPolicy;
+import com.blackduck.integration.sca.upload.file.PartHedgingPolicy;
+import com.blackduck.integration.sca.upload.file.PartStallPolicy;
+import com.blackduck.integration.sca.upload.file.PartUploadListener;
+import com.blackduck.integration.sca.upload.file.UploadJournal;
+import com.blackduck.integration.sca.upload.file.UploadOptions;
 import com.blackduck.integration.sca.upload.file.UploadRequestPaths;
+import com.blackduck.integration.sca.upload.rest.AbortableRequestExecutor;
+import com.blackduck.integration.sca.upload.rest.BandwidthLimiter;
 import com.blackduck.integration.sca.upload.rest.BlackDuckHttpClient;
+import com.blackduck.integration.sca.upload.rest.ExecutorRetryScheduler;
+import com.blackduck.integration.sca.upload.rest.RetryBudget;
+import com.blackduck.integration.sca.upload.rest.RetryPolicy;
+import com.blackduck.integration.sca.upload.rest.TrailerRequestExecutor;
 import com.blackduck.integration.sca.upload.validation.UploadStateManager;
 import com.blackduck.integration.sca.upload.validation.UploadValidator;
 import com.google.gson.Gson;
 
 /**
  * Factory class to create needed uploader.
+ * <p>
+ * The uploaders of a factory share one HTTP client per server and one pool of connections, so the connections, the TLS sessions and the
+ * Black Duck authentication are reused from one upload to the next. Close the factory once its uploaders are done to close the connections.
  * @see UploaderConfig
  * @see ArtifactsUploader
  * @see BdbaUploader
@@ -31,13 +71,28 @@ import com.google.gson.Gson;
  * @see ScassUploader
  * @see ToolsUploader
  */
-public class UploaderFactory {
+public class UploaderFactory implements Closeable {
     private final UploaderConfig uploaderConfig;
 
     private final IntLogger intLogger;
 
     private final Gson gson;
 
+    // Shared by every uploader created by this factory, so the buffer memory of concurrent uploads stays within one limit.
+    private final BufferPool bufferPool;
+
+    // Shared by every uploader created by this factory, so the part uploads of every upload refine the chunk size of the next files.
+    private final ChunkSizePolicy chunkSizePolicy;
+
+    private final PartUploadListener partUploadListener;
+
+    // Every HTTP client of this factory borrows its connections from this pool, and closing a response returns its connection for reuse.
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    private BlackDuckHttpClient httpClient;
+
+    private IntHttpClient scassHttpClient;
+
     /**
      * Constructor for creating a specified uploader.
      * @param uploaderConfig The configuration needed for multipart uploads.
@@ -48,11 +103,33 @@ public class UploaderFactory {
         this.uploaderConfig = uploaderConfig;
         this.intLogger = intLogger;
         this.gson = gson;
+        this.bufferPool = new BufferPool(uploaderConfig.getUploadBufferPoolSizeClasses(), uploaderConfig.getUploadBufferPoolMaxSize());
+        if (uploaderConfig.isUploadChunkSizeAuto()) {
+            AdaptiveChunkSizer adaptiveChunkSizer = new AdaptiveChunkSizer(uploaderConfig.getUploadTargetPartCount());
+            this.chunkSizePolicy = adaptiveChunkSizer;
+            this.partUploadListener = adaptiveChunkSizer;
+        } else {
+            this.chunkSizePolicy = ChunkSizePolicy.fixed(uploaderConfig.getUploadChunkSize());
+            this.partUploadListener = PartUploadListener.NONE;
+        }
+        // The bandwidth is shared by the uploaders of the whole process, so a factory without a limit leaves the limit of the others in place.
+        if (uploaderConfig.getUploadBandwidthLimit() > 0) {
+            BandwidthLimiter.global().setRate(uploaderConfig.getUploadBandwidthLimit(), uploaderConfig.getUploadBandwidthBurst());
+        }
+        this.connectionManager = createConnectionManager();
+    }
+
+    /**
+     * Close the pooled connections of the uploaders created by this factory. The uploaders cannot send requests afterwards.
+     */
+    @Override
+    public void close() {
+        connectionManager.shutdown();
     }
 
     // TODO: Make public along with uncommenting test when ready
     private ArtifactsUploader createArtifactsUploader(String urlPrefix) {
-        return new ArtifactsUploader(uploaderConfig.getUploadChunkSize(), createFileUploader(urlPrefix), createUploadValidator());
+        return new ArtifactsUploader(chunkSizePolicy, createFileUploader(urlPrefix), createUploadValidator(), createFileSplitter());
     }
 
     /**
@@ -61,7 +138,7 @@ public class UploaderFactory {
      * @return the {@link BdbaUploader} created.
      */
     public BdbaUploader createBdbaUploader(String urlPrefix) {
-        return new BdbaUploader(uploaderConfig.getUploadChunkSize(), createFileUploader(urlPrefix), createUploadValidator());
+        return new BdbaUploader(chunkSizePolicy, createFileUploader(urlPrefix), createUploadValidator(), createFileSplitter());
     }
 
     /**
@@ -71,7 +148,7 @@ public class UploaderFactory {
      * @return the {@link BinaryUploader} created.
      */
     public BinaryUploader createBinaryUploader(String urlPrefix, BinaryScanRequestData binaryScanRequestData) {
-        return new BinaryUploader(uploaderConfig.getUploadChunkSize(), createFileUploader(urlPrefix), createUploadValidator(), binaryScanRequestData);
+        return new BinaryUploader(chunkSizePolicy, createFileUploader(urlPrefix), createUploadValidator(), createFileSplitter(), binaryScanRequestData);
     }
 
     /**
@@ -80,7 +157,7 @@ public class UploaderFactory {
      * @return the {@link ContainerUploader} created.
      */
     public ContainerUploader createContainerUploader(String urlPrefix) {
-        return new ContainerUploader(uploaderConfig.getUploadChunkSize(), createFileUploader(urlPrefix), createUploadValidator());
+        return new ContainerUploader(chunkSizePolicy, createFileUploader(urlPrefix), createUploadValidator(), createFileSplitter());
     }
 
     /**
@@ -88,40 +165,110 @@ public class UploaderFactory {
      * @return the {@link ScassUploader} created.
      */
     public ScassUploader createScassUploaderWithProxyInfo() {
-        return new ScassUploader(createScassHttpClientWithProxyInfo(), createUploadValidator(),
+        return new ScassUploader(getScassHttpClient(), createUploadValidator(),
             uploaderConfig.getUploadChunkSize(),
             uploaderConfig.getMultipartUploadPartRetryInitialInterval(),
-            uploaderConfig.getMultipartUploadPartRetryAttempts()
+            uploaderConfig.getMultipartUploadPartRetryAttempts(),
+            createUploadOptions().build()
         );
     }
 
     // TODO: Make public along with uncommenting test when ready
     private ReversingLabUploader createReversingLabUploader(String urlPrefix) {
-        return new ReversingLabUploader(uploaderConfig.getUploadChunkSize(), createFileUploader(urlPrefix), createUploadValidator());
+        return new ReversingLabUploader(chunkSizePolicy, createFileUploader(urlPrefix), createUploadValidator(), createFileSplitter());
     }
 
     // TODO: Make public along with uncommenting test when ready
     private ToolsUploader createToolsUploader(String urlPrefix) {
-        return new ToolsUploader(uploaderConfig.getUploadChunkSize(), createFileUploader(urlPrefix), createUploadValidator());
+        return new ToolsUploader(chunkSizePolicy, createFileUploader(urlPrefix), createUploadValidator(), createFileSplitter());
     }
 
     private FileUploader createFileUploader(String urlPrefix) {
+        UploadOptions uploadOptions = createUploadOptions()
+            .setPartUploadListener(partUploadListener)
+            .setUploadJournal(uploaderConfig.getUploadJournalDirectory().map(UploadJournal::new).orElse(null))
+            .setFailurePolicy(uploaderConfig.getMultipartUploadFailurePolicy())
+            .setPartFailureBudget(uploaderConfig.getMultipartUploadPartFailureBudget())
+            .setHedgingPolicy(new PartHedgingPolicy(uploaderConfig.getMultipartUploadPartHedgePercentile(), uploaderConfig.getMultipartUploadPartHedgeBandwidthFraction()))
+            .setStallPolicy(new PartStallPolicy(uploaderConfig.getMultipartUploadPartMinimumThroughput(), uploaderConfig.getMultipartUploadPartStallWindow()))
+            .setConcurrencyPolicy(new PartConcurrencyPolicy(uploaderConfig.getMultipartUploadPartConcurrencyMinimum(), uploaderConfig.getMultipartUploadPartConcurrencyInitial()))
+            .setConnectionEvictor(this::closeIdleConnections)
+            .build();
         return new FileUploader(
-            createHttpClient(),
+            getHttpClient(),
             createUploadRequestPaths(urlPrefix),
             uploaderConfig.getMultipartUploadPartRetryAttempts(),
             uploaderConfig.getMultipartUploadPartRetryInitialInterval(),
-            uploaderConfig.getMultipartUploadTimeoutInMinutes()
+            uploaderConfig.getMultipartUploadTimeoutInMinutes(),
+            uploaderConfig.getMultipartUploadPartConcurrency(),
+            uploadOptions
         );
     }
 
+    // The settings shared by the file and SCASS uploaders.
+    private UploadOptions.Builder createUploadOptions() {
+        return UploadOptions.createOptions()
+            .setBufferPool(bufferPool)
+            .setRetryPolicy(createRetryPolicy())
+            .setRetryScheduler(ExecutorRetryScheduler.shared())
+            .setBandwidthLimiter(BandwidthLimiter.global());
+    }
+
+    // Every uploader takes its retries from the global budget, so uploads against a failing server back off together.
+    private RetryPolicy createRetryPolicy() {
+        return new RetryPolicy(uploaderConfig.getMultipartUploadPartRetryMaxInterval(), RetryBudget.global());
+    }
+
+    private FileSplitter createFileSplitter() {
+        FileChecksumCache checksumCache = uploaderConfig.getUploadChecksumCacheDirectory()
+            .map(cacheDirectory -> new FileChecksumCache(cacheDirectory, uploaderConfig.getUploadChecksumCacheMaxSize()))
+            .orElse(null);
+        return new FileSplitter(FileSplitterOptions.createOptions()
+            .setSplitMode(uploaderConfig.getUploadSplitMode())
+            .setParallelism(uploaderConfig.getUploadSplitParallelism())
+            .setChecksumCache(checksumCache)
+            .setBufferPool(bufferPool)
+            .setMemoryMapped(uploaderConfig.isUploadMemoryMapped())
+            .setPartDigestAlgorithm(uploaderConfig.getUploadPartDigestAlgorithm())
+            .setChecksumType(uploaderConfig.getUploadChecksumType())
+            .build());
+    }
+
+    // The client is created once, so the uploaders of the factory authenticate once against the Black Duck server.
+    private synchronized BlackDuckHttpClient getHttpClient() {
+        if (httpClient == null) {
+            httpClient = createHttpClient();
+        }
+        return httpClient;
+    }
+
+    private synchronized IntHttpClient getScassHttpClient() {
+        if (scassHttpClient == null) {
+            scassHttpClient = createScassHttpClientWithProxyInfo();
+        }
+        return scassHttpClient;
+    }
+
     private BlackDuckHttpClient createHttpClient() {
+        HttpClientBuilder httpClientBuilder = createHttpClientBuilder();
+        // The part checksums of the trailer split mode are sent in trailer fields, which needs the trailer request executor.
+        // Both executors let a stalled part request be aborted by shutting its connection down.
+        if (uploaderConfig.getUploadSplitMode() == FileSplitMode.TRAILER) {
+            httpClientBuilder.setRequestExecutor(new TrailerRequestExecutor());
+        } else {
+            httpClientBuilder.setRequestExecutor(new AbortableRequestExecutor());
+        }
         return new BlackDuckHttpClient(
             intLogger,
             gson,
             uploaderConfig.getBlackDuckTimeoutInSeconds(),
             uploaderConfig.isAlwaysTrustServerCertificate(),
             uploaderConfig.getProxyInfo(),
+            new BasicCredentialsProvider(),
+            httpClientBuilder,
+            RequestConfig.custom(),
+            // The client is shared by the uploads of every uploader of the factory, which may add common headers concurrently.
+            new ConcurrentHashMap<>(),
             uploaderConfig.getBlackDuckUrl(),
             uploaderConfig.getApiToken()
         );
@@ -133,8 +280,60 @@ public class UploaderFactory {
             gson,
             uploaderConfig.getBlackDuckTimeoutInSeconds(),
             uploaderConfig.isAlwaysTrustServerCertificate(),
-                this.uploaderConfig.getProxyInfo()
+            this.uploaderConfig.getProxyInfo(),
+            new BasicCredentialsProvider(),
+            createHttpClientBuilder(),
+            RequestConfig.custom(),
+            new ConcurrentHashMap<>()
+        );
+    }
+
+    // The connections in use are left open, so the requests of the other uploads are not failed.
+    private void closeIdleConnections() {
+        connectionManager.closeExpiredConnections();
+        connectionManager.closeIdleConnections(0L, TimeUnit.MILLISECONDS);
+    }
+
+    // A client is built from the builder for every request, and the shared connection manager outlives each of them.
+    private HttpClientBuilder createHttpClientBuilder() {
+        return HttpClientBuilder.create()
+            .setConnectionManager(connectionManager)
+            .setConnectionManagerShared(true);
+    }
+
+    private PoolingHttpClientConnectionManager createConnectionManager() {
+        PoolingHttpClientConnectionManager poolingConnectionManager = new PoolingHttpClientConnectionManager(
+            createSocketFactoryRegistry(),
+            null,
+            null,
+            null,
+            uploaderConfig.getUploadConnectionTimeToLive(),
+            TimeUnit.MILLISECONDS
         );
+        // A part request and its hedge each hold a connection, so fewer connections per server would leave part requests waiting for one.
+        int maxPerRoute = Math.max(uploaderConfig.getUploadConnectionPoolMaxPerRoute(), uploaderConfig.getMultipartUploadPartConcurrency() * 2);
+        poolingConnectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        poolingConnectionManager.setMaxTotal(Math.max(uploaderConfig.getUploadConnectionPoolMaxTotal(), maxPerRoute));
+        return poolingConnectionManager;
+    }
+
+    // The socket factories of the client builder are not used with a shared connection manager, so the pool trusts the server certificates itself.
+    private Registry<ConnectionSocketFactory> createSocketFactoryRegistry() {
+        SSLConnectionSocketFactory sslSocketFactory = SSLConnectionSocketFactory.getSocketFactory();
+        if (uploaderConfig.isAlwaysTrustServerCertificate()) {
+            try {
+                sslSocketFactory = new SSLConnectionSocketFactory(
+                    SSLContextBuilder.create().loadTrustMaterial(TrustAllStrategy.INSTANCE).build(),
+                    NoopHostnameVerifier.INSTANCE
+                );
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Could not create the SSL context trusting all server certificates.", e);
+            }
+        }
+        return RegistryBuilder.<ConnectionSocketFactory>create()
+            .register("http", PlainConnectionSocketFactory.getSocketFactory())
+            .register("https", sslSocketFactory)
+            .build();
     }
 
     private UploadRequestPaths createUploadRequestPaths(String urlPrefix) {
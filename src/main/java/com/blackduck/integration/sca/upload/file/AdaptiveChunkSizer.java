@@ -0,0 +1,105 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file;
+
+import java.util.concurrent.TimeUnit;
+
+import com.blackduck.integration.sca.upload.validation.UploadValidator;
+
+/**
+ * {@link ChunkSizePolicy} sizing the parts of each file from its size and from the part uploads observed so far.
+ * A file is first divided into the target number of parts. Once parts have been uploaded, the parts are made no larger than what the
+ * measured per-part throughput uploads within the target part duration, which bounds the cost of retrying a part on a slow link,
+ * and they are made smaller as the share of failed part uploads grows. The chunk size always stays within
+ * {@link UploadValidator#MINIMUM_UPLOAD_CHUNK_SIZE} and {@link UploadValidator#MAXIMUM_UPLOAD_CHUNK_SIZE}.
+ * <p>
+ * The parts of a file are fixed before its upload starts, so the observations of an upload size the files uploaded after it.
+ * The same sizer must therefore be shared by the uploads it should learn from, as the {@link PartUploadListener} of their {@link FileUploader}.
+ */
+public class AdaptiveChunkSizer implements ChunkSizePolicy, PartUploadListener {
+    public static final long DEFAULT_TARGET_PART_DURATION_MILLIS = 30_000L;
+    // Weight of the newest observation in the throughput and error rate averages.
+    private static final double SMOOTHING_FACTOR = 0.2;
+    // Parts shrink with the error rate, but never below this share of their size.
+    private static final double MINIMUM_ERROR_SCALE = 0.25;
+    private static final int CHUNK_SIZE_ALIGNMENT = 1024 * 1024;
+
+    private final int targetPartCount;
+    private final long targetPartDurationMillis;
+    // Bytes per second of a single part upload, or 0 before the first part is uploaded.
+    private double throughput = 0;
+    private double errorRate = 0;
+
+    /**
+     * Constructor for an adaptive chunk sizer with the default target part duration.
+     *
+     * @param targetPartCount The number of parts a file is divided into before any part upload was observed.
+     */
+    public AdaptiveChunkSizer(int targetPartCount) {
+        this(targetPartCount, DEFAULT_TARGET_PART_DURATION_MILLIS);
+    }
+
+    /**
+     * Constructor for the adaptive chunk sizer.
+     *
+     * @param targetPartCount The number of parts a file is divided into before any part upload was observed.
+     * @param targetPartDurationMillis The time in milliseconds a part upload should take at the measured throughput.
+     */
+    public AdaptiveChunkSizer(int targetPartCount, long targetPartDurationMillis) {
+        if (targetPartCount <= 0 || targetPartDurationMillis <= 0) {
+            throw new IllegalArgumentException("The target part count and part duration must be positive.");
+        }
+        this.targetPartCount = targetPartCount;
+        this.targetPartDurationMillis = targetPartDurationMillis;
+    }
+
+    @Override
+    public synchronized int getChunkSize(long fileSize) {
+        double chunkSize = Math.ceil((double) fileSize / targetPartCount);
+        if (throughput > 0) {
+            chunkSize = Math.min(chunkSize, throughput * targetPartDurationMillis / 1000.0);
+        }
+        chunkSize *= Math.max(MINIMUM_ERROR_SCALE, 1.0 - errorRate);
+        long alignedChunkSize = (long) Math.ceil(chunkSize / CHUNK_SIZE_ALIGNMENT) * CHUNK_SIZE_ALIGNMENT;
+        return (int) Math.max(UploadValidator.MINIMUM_UPLOAD_CHUNK_SIZE, Math.min(UploadValidator.MAXIMUM_UPLOAD_CHUNK_SIZE, alignedChunkSize));
+    }
+
+    @Override
+    public synchronized void partUploaded(int partSize, long elapsedNanos) {
+        double partThroughput = partSize * (double) TimeUnit.SECONDS.toNanos(1) / Math.max(1L, elapsedNanos);
+        throughput = throughput > 0 ? smooth(throughput, partThroughput) : partThroughput;
+        errorRate = smooth(errorRate, 0);
+    }
+
+    @Override
+    public synchronized void partFailed(int partSize) {
+        errorRate = smooth(errorRate, 1);
+    }
+
+    /**
+     * Retrieve the average throughput of a single part upload.
+     *
+     * @return bytes per second, or 0 if no part upload was observed.
+     */
+    public synchronized double getThroughput() {
+        return throughput;
+    }
+
+    /**
+     * Retrieve the average share of failed part uploads.
+     *
+     * @return error rate between 0 and 1.
+     */
+    public synchronized double getErrorRate() {
+        return errorRate;
+    }
+
+    private static double smooth(double average, double observation) {
+        return average + SMOOTHING_FACTOR * (observation - average);
+    }
+}
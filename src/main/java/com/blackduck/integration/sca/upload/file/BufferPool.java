@@ -0,0 +1,169 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+
+import com.blackduck.integration.sca.upload.validation.UploadValidator;
+
+/**
+ * Bounded pool of reusable byte buffers shared by the file hashing, part upload and chunked upload paths.
+ * Buffers are handed out from a fixed set of size classes, a request being served by the smallest class that fits it.
+ * Released buffers are kept for reuse until the pooled buffers reach the maximum pooled size; buffers released beyond that,
+ * and requests larger than the largest size class, are left to the garbage collector.
+ */
+public class BufferPool {
+    private final int[] sizeClasses;
+    private final long maximumPooledBytes;
+    private final Deque<byte[]>[] freeBuffers;
+    private long pooledBytes = 0;
+
+    /**
+     * Constructor for a buffer pool with the default size classes and maximum pooled size.
+     */
+    public BufferPool() {
+        this(UploadValidator.DEFAULT_UPLOAD_BUFFER_POOL_SIZE_CLASSES, UploadValidator.DEFAULT_UPLOAD_BUFFER_POOL_MAX_SIZE);
+    }
+
+    /**
+     * Constructor for the buffer pool.
+     *
+     * @param sizeClasses The byte sizes of the pooled buffers.
+     * @param maximumPooledBytes The maximum total size in bytes of the buffers kept for reuse.
+     */
+    @SuppressWarnings("unchecked")
+    public BufferPool(Collection<Integer> sizeClasses, long maximumPooledBytes) {
+        this.sizeClasses = sizeClasses.stream()
+            .mapToInt(Integer::intValue)
+            .distinct()
+            .sorted()
+            .toArray();
+        if (this.sizeClasses.length == 0 || this.sizeClasses[0] <= 0) {
+            throw new IllegalArgumentException("The buffer pool needs at least one size class, and every size class must be positive.");
+        }
+        this.maximumPooledBytes = maximumPooledBytes;
+        this.freeBuffers = new Deque[this.sizeClasses.length];
+        for (int index = 0; index < this.sizeClasses.length; index++) {
+            freeBuffers[index] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * Retrieve the byte sizes of the pooled buffers.
+     *
+     * @return size classes in ascending order.
+     */
+    public int[] getSizeClasses() {
+        return Arrays.copyOf(sizeClasses, sizeClasses.length);
+    }
+
+    /**
+     * Retrieve the maximum total size in bytes of the buffers kept for reuse.
+     *
+     * @return maximum pooled bytes.
+     */
+    public long getMaximumPooledBytes() {
+        return maximumPooledBytes;
+    }
+
+    /**
+     * Retrieve the total size in bytes of the buffers currently kept for reuse.
+     *
+     * @return pooled bytes.
+     */
+    public synchronized long getPooledBytes() {
+        return pooledBytes;
+    }
+
+    /**
+     * Acquires a buffer of at least the requested size. The buffer must be released by closing the returned {@link Buffer}.
+     *
+     * @param minimumSize The minimum byte size of the buffer.
+     * @return {@link Buffer} holding the buffer.
+     */
+    public Buffer acquire(int minimumSize) {
+        int sizeClassIndex = findSizeClass(minimumSize);
+        if (sizeClassIndex < 0) {
+            return new Buffer(new byte[minimumSize], -1);
+        }
+        byte[] array;
+        synchronized (this) {
+            array = freeBuffers[sizeClassIndex].pollFirst();
+            if (array != null) {
+                pooledBytes -= array.length;
+            }
+        }
+        if (array == null) {
+            array = new byte[sizeClasses[sizeClassIndex]];
+        }
+        return new Buffer(array, sizeClassIndex);
+    }
+
+    private int findSizeClass(int minimumSize) {
+        for (int index = 0; index < sizeClasses.length; index++) {
+            if (sizeClasses[index] >= minimumSize) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private synchronized void release(byte[] array, int sizeClassIndex) {
+        if (sizeClassIndex >= 0 && pooledBytes + array.length <= maximumPooledBytes) {
+            // The most recently released buffer is handed out first, as it is the most likely to still be in the CPU caches.
+            freeBuffers[sizeClassIndex].addFirst(array);
+            pooledBytes += array.length;
+        }
+    }
+
+    /**
+     * A buffer acquired from the {@link BufferPool}. Closing it returns the buffer to the pool, after which it must not be used.
+     */
+    public class Buffer implements Closeable {
+        private final byte[] array;
+        private final int sizeClassIndex;
+        private boolean released = false;
+
+        private Buffer(byte[] array, int sizeClassIndex) {
+            this.array = array;
+            this.sizeClassIndex = sizeClassIndex;
+        }
+
+        /**
+         * Retrieve the backing array, which may be larger than the requested size.
+         *
+         * @return byte array.
+         */
+        public byte[] array() {
+            return array;
+        }
+
+        /**
+         * Retrieve a {@link ByteBuffer} with the given capacity over the start of the backing array.
+         *
+         * @param size The byte size of the buffer view, at most the length of the backing array.
+         * @return {@link ByteBuffer} wrapping the backing array.
+         */
+        public ByteBuffer byteBuffer(int size) {
+            return ByteBuffer.wrap(array, 0, size).slice();
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                release(array, sizeClassIndex);
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file;
+
+/**
+ * Chooses the byte size of the parts a file is split into for a multipart upload.
+ *
+ * @see AdaptiveChunkSizer
+ */
+public interface ChunkSizePolicy {
+    /**
+     * Retrieve the chunk size to split a file of the given size with.
+     *
+     * @param fileSize The size of the file to upload in bytes.
+     * @return chunk size in bytes.
+     */
+    int getChunkSize(long fileSize);
+
+    /**
+     * Creates a policy using the same chunk size for every file.
+     *
+     * @param chunkSize The byte size of the file parts.
+     * @return {@link ChunkSizePolicy}
+     */
+    static ChunkSizePolicy fixed(int chunkSize) {
+        return fileSize -> chunkSize;
+    }
+}
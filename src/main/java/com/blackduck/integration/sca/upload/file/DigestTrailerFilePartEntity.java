@@ -0,0 +1,87 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.http.Header;
+import org.apache.http.entity.ContentType;
+import org.apache.http.message.BasicHeader;
+
+import com.blackduck.integration.sca.upload.file.digest.PartDigest;
+import com.blackduck.integration.sca.upload.file.digest.PartDigestAlgorithm;
+import com.blackduck.integration.sca.upload.rest.BandwidthLimiter;
+import com.blackduck.integration.sca.upload.rest.TrailerEntity;
+
+/**
+ * {@link FilePartEntity} sent with the chunked transfer coding, computing the part digest from the blocks as they are written.
+ * The digest is sent in a Content-Digest trailer field after the part, so the part is read only once, when it is sent.
+ *
+ * @see com.blackduck.integration.sca.upload.rest.TrailerRequestExecutor
+ */
+class DigestTrailerFilePartEntity extends FilePartEntity implements TrailerEntity {
+    private final PartDigestAlgorithm partDigestAlgorithm;
+    private PartDigest partDigest;
+    private List<Header> trailers = Collections.emptyList();
+
+    DigestTrailerFilePartEntity(
+        FileChannel fileChannel,
+        BufferPool bufferPool,
+        long startOffset,
+        long contentLength,
+        ContentType contentType,
+        PartDigestAlgorithm partDigestAlgorithm
+    ) {
+        this(fileChannel, bufferPool, startOffset, contentLength, contentType, partDigestAlgorithm, BandwidthLimiter.global());
+    }
+
+    DigestTrailerFilePartEntity(
+        FileChannel fileChannel,
+        BufferPool bufferPool,
+        long startOffset,
+        long contentLength,
+        ContentType contentType,
+        PartDigestAlgorithm partDigestAlgorithm,
+        BandwidthLimiter bandwidthLimiter
+    ) {
+        super(fileChannel, bufferPool, startOffset, contentLength, contentType, bandwidthLimiter);
+        this.partDigestAlgorithm = partDigestAlgorithm;
+        setChunked(true);
+    }
+
+    @Override
+    public long getContentLength() {
+        // A negative length makes the client send the part with the chunked transfer coding, which is needed for trailer fields.
+        return -1;
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        // The entity may be written again when the request is retried, so the digest is computed again on every write.
+        partDigest = partDigestAlgorithm.createDigest();
+        trailers = Collections.emptyList();
+        super.writeTo(outputStream);
+        String checksum = Base64.getEncoder().encodeToString(partDigest.digest());
+        trailers = Collections.singletonList(new BasicHeader(FileUploader.CONTENT_DIGEST_HEADER, String.format("%s=:%s:", partDigestAlgorithm.getName(), checksum)));
+    }
+
+    @Override
+    void blockRead(byte[] block, int length) {
+        partDigest.update(block, 0, length);
+    }
+
+    @Override
+    public List<Header> getTrailers() {
+        return trailers;
+    }
+}
@@ -7,23 +7,31 @@
  */
 package com.blackduck.integration.sca.upload.file;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 import org.jetbrains.annotations.NotNull;
 
 /**
- * Class that reads the {@link RandomAccessFile} upload file into an {@link InputStream}.
+ * Class that reads a byte range of the upload file into an {@link InputStream}.
+ * The range is read with positional reads on a {@link FileChannel}, which never move the channel position, so any number of streams
+ * may read from the same channel concurrently.
  */
 public class FileByteRangeInputStream extends InputStream {
-    private final RandomAccessFile randomAccessFile;
-    private final long startOffset;
+    private final FileChannel fileChannel;
+    // The resource closed with this stream, null when the channel is shared and owned by the caller.
+    private final Closeable ownedResource;
     private final long endOffset;
+    private final ByteBuffer singleByteBuffer = ByteBuffer.allocate(1);
     private long position;
+    private long markPosition;
 
     /**
-     * Constructor for the {@link InputStream}.
+     * Constructor for the {@link InputStream}. Closing the stream closes the {@link RandomAccessFile}.
      *
      * @param randomAccessFile The file to upload as a {@link RandomAccessFile}.
      * @param startOffset The starting byte offset for which to read the upload file at.
@@ -31,39 +39,59 @@ public class FileByteRangeInputStream extends InputStream {
      * @throws IOException If an I/O error occurs reading the upload file.
      */
     public FileByteRangeInputStream(RandomAccessFile randomAccessFile, long startOffset, long contentLength) throws IOException {
-        this.randomAccessFile = randomAccessFile;
-        this.startOffset = startOffset;
+        this(randomAccessFile.getChannel(), randomAccessFile, startOffset, contentLength);
+    }
+
+    /**
+     * Constructor for the {@link InputStream} reading from a shared {@link FileChannel}. Closing the stream leaves the channel open.
+     *
+     * @param fileChannel The {@link FileChannel} of the file to upload.
+     * @param startOffset The starting byte offset for which to read the upload file at.
+     * @param contentLength The length in bytes of the file part.
+     */
+    public FileByteRangeInputStream(FileChannel fileChannel, long startOffset, long contentLength) {
+        this(fileChannel, null, startOffset, contentLength);
+    }
+
+    private FileByteRangeInputStream(FileChannel fileChannel, Closeable ownedResource, long startOffset, long contentLength) {
+        this.fileChannel = fileChannel;
+        this.ownedResource = ownedResource;
         this.endOffset = startOffset + contentLength;
         this.position = startOffset;
-        randomAccessFile.seek(startOffset);
+        this.markPosition = startOffset;
     }
 
     @Override
     public int read() throws IOException {
-        // check if still within range to keep reading the contents.
-        if(randomAccessFile.getFilePointer() < endOffset) {
-            int bytesRead = randomAccessFile.read();
-            if(bytesRead != -1) {
-                position++;
-            }
-            return bytesRead;
-        } else {
-            return -1;
-        }
+        singleByteBuffer.clear();
+        return read(singleByteBuffer) > 0 ? singleByteBuffer.get(0) & 0xFF : -1;
     }
 
     @Override
     public int read(@NotNull final byte[] b, final int off, final int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        return read(ByteBuffer.wrap(b, off, len));
+    }
+
+    // Reads up to the remaining bytes of the buffer without reading past the end of the range.
+    private int read(ByteBuffer buffer) throws IOException {
         long remainingBytes = endOffset - position;
         // check if the end of the range has been read or not.
-        if(remainingBytes <= 0) {
+        if (remainingBytes <= 0) {
             return -1;
         }
-        Long bytesToReadCount = Math.min(len, remainingBytes);
-        int bytesRead = randomAccessFile.read(b, off, bytesToReadCount.intValue());
+        if (buffer.remaining() > remainingBytes) {
+            buffer.limit(buffer.position() + (int) remainingBytes);
+        }
+        int bytesRead = fileChannel.read(buffer, position);
 
         // increment the current position by the number of bytes read.
-        if(bytesRead > 0) {
+        if (bytesRead > 0) {
             position += bytesRead;
         }
 
@@ -71,20 +99,43 @@ public class FileByteRangeInputStream extends InputStream {
     }
 
     @Override
-    public synchronized void reset() throws IOException {
-        this.position = startOffset;
-        randomAccessFile.seek(startOffset);
+    public long skip(long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+        long skipped = Math.min(n, endOffset - position);
+        position += skipped;
+        return skipped;
     }
 
     @Override
-    public long skip(long n) throws IOException {
-        position += n;
-        randomAccessFile.seek(position);
-        return position;
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, endOffset - position);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        // Any position of the range can be read again, so the read limit does not apply.
+        this.markPosition = position;
+    }
+
+    /**
+     * Repositions the stream to the last mark, or to the start of the byte range if the stream was never marked.
+     */
+    @Override
+    public synchronized void reset() throws IOException {
+        this.position = markPosition;
     }
 
     @Override
     public void close() throws IOException {
-        randomAccessFile.close();
+        if (ownedResource != null) {
+            ownedResource.close();
+        }
     }
 }
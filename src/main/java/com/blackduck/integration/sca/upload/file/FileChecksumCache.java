@@ -0,0 +1,364 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.codec.binary.Hex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackduck.integration.sca.upload.file.digest.PartDigestAlgorithm;
+import com.blackduck.integration.sca.upload.file.digest.PartDigestAlgorithms;
+import com.blackduck.integration.sca.upload.file.model.FileChecksumType;
+import com.blackduck.integration.sca.upload.file.model.MultipartUploadFileMetadata;
+import com.blackduck.integration.sca.upload.file.model.MultipartUploadFilePart;
+import com.blackduck.integration.sca.upload.file.model.MultipartUploadPartTable;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * On-disk cache of the checksums computed by the {@link FileSplitter}, stored in the {@link FileSplitter#UPLOAD_CACHE} directory.
+ * An entry is keyed by the path, size, modification time and file key of the upload file together with the chunk size,
+ * so a changed file or a different chunk size never matches a stale entry. An entry only matches a lookup for the part digest algorithm it was computed with.
+ * <p>
+ * The directory may be shared by several JVMs. Entries are written to a temporary file and atomically moved into place, so a reader
+ * sees either a complete entry or none. When the total size of the entries exceeds the configured maximum, the least recently used
+ * entries are evicted while holding a file lock, so only one process evicts at a time.
+ *
+ * @see FileSplitter
+ */
+public class FileChecksumCache {
+    public static final String ENTRY_FILE_EXTENSION = ".json";
+    public static final String EVICTION_LOCK_FILE_NAME = "eviction.lock";
+    private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+    // Temporary files older than this were left behind by a writer that did not finish, e.g. because its JVM was killed.
+    private static final long ABANDONED_TEMPORARY_FILE_AGE_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final Gson gson = new Gson();
+    private final Path cacheDirectory;
+    private final long maximumCacheSizeInBytes;
+
+    /**
+     * Constructor for the checksum cache.
+     *
+     * @param baseDirectory           The directory in which the {@link FileSplitter#UPLOAD_CACHE} directory is created.
+     * @param maximumCacheSizeInBytes The maximum total size of the cache entries before the least recently used entries are evicted.
+     */
+    public FileChecksumCache(Path baseDirectory, long maximumCacheSizeInBytes) {
+        this.cacheDirectory = Paths.get(baseDirectory.toString(), FileSplitter.UPLOAD_CACHE);
+        this.maximumCacheSizeInBytes = maximumCacheSizeInBytes;
+    }
+
+    /**
+     * Retrieve the directory containing the cache entries.
+     *
+     * @return cache directory.
+     */
+    public Path getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    /**
+     * Retrieve the maximum total size of the cache entries.
+     *
+     * @return maximum cache size in bytes.
+     */
+    public long getMaximumCacheSizeInBytes() {
+        return maximumCacheSizeInBytes;
+    }
+
+    /**
+     * Retrieve the split metadata with MD5 part checksums cached for the current state of a file.
+     * A cache that cannot be read is treated as a miss.
+     *
+     * @param uploadFilePath The path of the file to upload.
+     * @param chunkSize      The byte size of each file part.
+     * @return the cached {@link MultipartUploadFileMetadata} with a new upload id, or empty if the file has no valid entry.
+     */
+    public Optional<MultipartUploadFileMetadata> find(Path uploadFilePath, int chunkSize) {
+        return find(uploadFilePath, chunkSize, PartDigestAlgorithms.MD5);
+    }
+
+    /**
+     * Retrieve the split metadata cached for the current state of a file.
+     * A cache that cannot be read is treated as a miss.
+     *
+     * @param uploadFilePath      The path of the file to upload.
+     * @param chunkSize           The byte size of each file part.
+     * @param partDigestAlgorithm The {@link PartDigestAlgorithm} the cached part checksums must have been computed with.
+     * @return the cached {@link MultipartUploadFileMetadata} with a new upload id, or empty if the file has no valid entry.
+     */
+    public Optional<MultipartUploadFileMetadata> find(Path uploadFilePath, int chunkSize, PartDigestAlgorithm partDigestAlgorithm) {
+        try {
+            String cacheKey = createCacheKey(uploadFilePath, chunkSize);
+            Path entryPath = getEntryPath(cacheKey);
+            if (!Files.exists(entryPath)) {
+                return Optional.empty();
+            }
+            CacheEntry cacheEntry = gson.fromJson(new String(Files.readAllBytes(entryPath), StandardCharsets.UTF_8), CacheEntry.class);
+            if (cacheEntry == null || !cacheEntry.isValidFor(cacheKey, partDigestAlgorithm)) {
+                logger.debug("Ignoring the invalid checksum cache entry {}.", entryPath);
+                return Optional.empty();
+            }
+            // The modification time of an entry records its last use for the least recently used eviction.
+            touch(entryPath);
+            logger.debug("Found cached checksums for {}.", uploadFilePath);
+            return Optional.of(cacheEntry.toMetadata(uploadFilePath, partDigestAlgorithm));
+        } catch (IOException | JsonParseException | IllegalArgumentException e) {
+            // An entry with checksums that are not valid Base64 digests of the algorithm's length is rejected while building the part table.
+            logger.debug("Could not read the checksum cache for {}.", uploadFilePath, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the split metadata of a file. The entry is skipped if the file changed while its checksums were computed.
+     * Failures to write the cache are logged and otherwise ignored.
+     *
+     * @param uploadFilePath  The path of the file that was split.
+     * @param fileAttributes  The attributes of the file read before its checksums were computed.
+     * @param fileMetadata    The {@link MultipartUploadFileMetadata} to store.
+     */
+    public void store(Path uploadFilePath, BasicFileAttributes fileAttributes, MultipartUploadFileMetadata fileMetadata) {
+        try {
+            String cacheKey = createCacheKey(uploadFilePath, fileMetadata.getChunkSize());
+            if (!cacheKey.equals(createCacheKey(uploadFilePath, fileAttributes, fileMetadata.getChunkSize()))) {
+                logger.debug("Not caching the checksums of {} because the file changed while it was split.", uploadFilePath);
+                return;
+            }
+            Files.createDirectories(cacheDirectory);
+            Path entryPath = getEntryPath(cacheKey);
+            Path temporaryPath = Files.createTempFile(cacheDirectory, entryPath.getFileName().toString(), TEMPORARY_FILE_EXTENSION);
+            try {
+                Files.write(temporaryPath, gson.toJson(CacheEntry.fromMetadata(cacheKey, fileMetadata)).getBytes(StandardCharsets.UTF_8));
+                moveIntoPlace(temporaryPath, entryPath);
+            } finally {
+                Files.deleteIfExists(temporaryPath);
+            }
+            evictLeastRecentlyUsed();
+        } catch (IOException e) {
+            logger.debug("Could not write the checksum cache for {}.", uploadFilePath, e);
+        }
+    }
+
+    /**
+     * Creates the key identifying the current state of a file split with the given chunk size.
+     *
+     * @param uploadFilePath The path of the file to upload.
+     * @param chunkSize      The byte size of each file part.
+     * @return the cache key.
+     * @throws IOException if the attributes of the file could not be read.
+     */
+    public String createCacheKey(Path uploadFilePath, int chunkSize) throws IOException {
+        return createCacheKey(uploadFilePath, Files.readAttributes(uploadFilePath, BasicFileAttributes.class), chunkSize);
+    }
+
+    private String createCacheKey(Path uploadFilePath, BasicFileAttributes fileAttributes, int chunkSize) throws IOException {
+        return String.join(
+            "|",
+            uploadFilePath.toRealPath().toString(),
+            String.valueOf(fileAttributes.size()),
+            String.valueOf(fileAttributes.lastModifiedTime().to(TimeUnit.NANOSECONDS)),
+            String.valueOf(fileAttributes.fileKey()),
+            String.valueOf(chunkSize)
+        );
+    }
+
+    private Path getEntryPath(String cacheKey) throws IOException {
+        try {
+            byte[] keyDigest = MessageDigest.getInstance("SHA-256").digest(cacheKey.getBytes(StandardCharsets.UTF_8));
+            return cacheDirectory.resolve(Hex.encodeHexString(keyDigest) + ENTRY_FILE_EXTENSION);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("Cannot create the checksum cache entry name: ", e);
+        }
+    }
+
+    private void moveIntoPlace(Path temporaryPath, Path entryPath) throws IOException {
+        try {
+            Files.move(temporaryPath, entryPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporaryPath, entryPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void touch(Path entryPath) {
+        try {
+            Files.setLastModifiedTime(entryPath, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // Another process may have evicted the entry after it was read.
+            logger.debug("Could not update the last use of the checksum cache entry {}.", entryPath, e);
+        }
+    }
+
+    // Deletes the least recently used entries until the cache fits in its maximum size. Processes that cannot get the lock skip the
+    // eviction because the process holding it is already evicting.
+    private void evictLeastRecentlyUsed() throws IOException {
+        synchronized (FileChecksumCache.class) {
+            try (FileChannel lockChannel = FileChannel.open(cacheDirectory.resolve(EVICTION_LOCK_FILE_NAME), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                FileLock fileLock = lockChannel.tryLock()) {
+                if (fileLock == null) {
+                    return;
+                }
+                List<CachedFile> entries = listEntries();
+                long cacheSize = entries.stream().mapToLong(CachedFile::getSize).sum();
+                entries.sort(Comparator.comparingLong(CachedFile::getLastModifiedMillis));
+                for (CachedFile entry : entries) {
+                    if (cacheSize <= maximumCacheSizeInBytes) {
+                        break;
+                    }
+                    if (delete(entry.getPath())) {
+                        cacheSize -= entry.getSize();
+                    }
+                }
+            } catch (OverlappingFileLockException e) {
+                logger.debug("The checksum cache is already being evicted.");
+            }
+        }
+    }
+
+    private List<CachedFile> listEntries() throws IOException {
+        List<CachedFile> entries = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(cacheDirectory)) {
+            for (Path path : directoryStream) {
+                String fileName = path.getFileName().toString();
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    if (fileName.endsWith(ENTRY_FILE_EXTENSION)) {
+                        entries.add(new CachedFile(path, attributes.size(), attributes.lastModifiedTime().toMillis()));
+                    } else if (fileName.endsWith(TEMPORARY_FILE_EXTENSION) && now - attributes.lastModifiedTime().toMillis() > ABANDONED_TEMPORARY_FILE_AGE_MILLIS) {
+                        delete(path);
+                    }
+                } catch (NoSuchFileException e) {
+                    // Removed by another process while listing.
+                }
+            }
+        }
+        return entries;
+    }
+
+    private boolean delete(Path path) {
+        try {
+            return Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.debug("Could not delete the checksum cache file {}.", path, e);
+            return false;
+        }
+    }
+
+    private static class CachedFile {
+        private final Path path;
+        private final long size;
+        private final long lastModifiedMillis;
+
+        private CachedFile(Path path, long size, long lastModifiedMillis) {
+            this.path = path;
+            this.size = size;
+            this.lastModifiedMillis = lastModifiedMillis;
+        }
+
+        private Path getPath() {
+            return path;
+        }
+
+        private long getSize() {
+            return size;
+        }
+
+        private long getLastModifiedMillis() {
+            return lastModifiedMillis;
+        }
+    }
+
+    // Serialized form of a cache entry. The key is stored to detect name collisions and entries of a different format.
+    private static class CacheEntry {
+        private String key;
+        private String fileName;
+        private String checksum;
+        private FileChecksumType checksumType;
+        private long fileSize;
+        private int chunkSize;
+        private String partDigestName;
+        private long[] partOffsets;
+        private int[] partSizes;
+        private String[] partChecksums;
+
+        private static CacheEntry fromMetadata(String key, MultipartUploadFileMetadata fileMetadata) {
+            List<MultipartUploadFilePart> fileParts = fileMetadata.getFileChunks();
+            CacheEntry cacheEntry = new CacheEntry();
+            cacheEntry.key = key;
+            cacheEntry.fileName = fileMetadata.getFileName();
+            cacheEntry.checksum = fileMetadata.getChecksum();
+            cacheEntry.checksumType = fileMetadata.getChecksumType();
+            cacheEntry.fileSize = fileMetadata.getFileSize();
+            cacheEntry.chunkSize = fileMetadata.getChunkSize();
+            cacheEntry.partDigestName = fileMetadata.getPartDigestName();
+            cacheEntry.partOffsets = new long[fileParts.size()];
+            cacheEntry.partSizes = new int[fileParts.size()];
+            cacheEntry.partChecksums = new String[fileParts.size()];
+            for (int index = 0; index < fileParts.size(); index++) {
+                MultipartUploadFilePart filePart = fileParts.get(index);
+                cacheEntry.partOffsets[index] = filePart.getStartByteRange();
+                cacheEntry.partSizes[index] = filePart.getChunkSize();
+                cacheEntry.partChecksums[index] = filePart.getChecksum();
+            }
+            return cacheEntry;
+        }
+
+        private boolean isValidFor(String cacheKey, PartDigestAlgorithm partDigestAlgorithm) {
+            return cacheKey.equals(key)
+                && partDigestAlgorithm.getName().equals(partDigestName)
+                && checksum != null
+                && checksumType != null
+                && partOffsets != null
+                && partSizes != null
+                && partChecksums != null
+                && partOffsets.length == partSizes.length
+                && partOffsets.length == partChecksums.length;
+        }
+
+        private MultipartUploadFileMetadata toMetadata(Path uploadFilePath, PartDigestAlgorithm partDigestAlgorithm) {
+            MultipartUploadPartTable partTable = new MultipartUploadPartTable(
+                uploadFilePath,
+                partOffsets,
+                partSizes,
+                partDigestAlgorithm.getName(),
+                partDigestAlgorithm.getDigestLength()
+            );
+            for (int index = 0; index < partChecksums.length; index++) {
+                partTable.setDigest(index, Base64.getDecoder().decode(partChecksums[index]));
+            }
+            return new MultipartUploadFileMetadata(fileName, checksum, checksumType, UUID.randomUUID(), fileSize, chunkSize, partTable, false);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.entity.AbstractHttpEntity;
+import org.apache.http.entity.ContentType;
+
+import com.blackduck.integration.sca.upload.rest.AbortableEntity;
+import com.blackduck.integration.sca.upload.rest.AbortableRequestExecutor;
+import com.blackduck.integration.sca.upload.rest.BandwidthLimiter;
+
+/**
+ * Repeatable {@link org.apache.http.HttpEntity} for the byte range of a file part.
+ * The range is read with positional reads on a shared {@link FileChannel}, so the entity can be written any number of times, e.g. when
+ * the request is retried, without reopening the file. The range is written to the request stream in large blocks rather than through
+ * the small copy buffer used for stream entities, using a block buffer from the {@link BufferPool} for each write.
+ * Sent by the {@link AbortableRequestExecutor}, an aborted entity shuts the connection of its request down.
+ */
+class FilePartEntity extends AbstractHttpEntity implements AbortableEntity {
+    // Writes of this size bypass the buffer of the connection and go to the socket directly.
+    static final int WRITE_BLOCK_SIZE = 256 * 1024;
+
+    private final FileChannel fileChannel;
+    private final BufferPool bufferPool;
+    private final long startOffset;
+    private final long contentLength;
+    private final BandwidthLimiter bandwidthLimiter;
+    private volatile String abortReason = null;
+    private volatile long bytesWritten = 0;
+    private volatile long throttledNanos = 0;
+    // The connection of the request in flight, guarded by the entity.
+    private HttpClientConnection connection = null;
+
+    FilePartEntity(FileChannel fileChannel, BufferPool bufferPool, long startOffset, long contentLength, ContentType contentType) {
+        this(fileChannel, bufferPool, startOffset, contentLength, contentType, BandwidthLimiter.global());
+    }
+
+    FilePartEntity(FileChannel fileChannel, BufferPool bufferPool, long startOffset, long contentLength, ContentType contentType, BandwidthLimiter bandwidthLimiter) {
+        this.fileChannel = fileChannel;
+        this.bufferPool = bufferPool;
+        this.startOffset = startOffset;
+        this.contentLength = contentLength;
+        this.bandwidthLimiter = bandwidthLimiter;
+        setContentType(contentType.toString());
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public long getContentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public InputStream getContent() {
+        return new FileByteRangeInputStream(fileChannel, startOffset, contentLength);
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        int blockSize = (int) Math.min(WRITE_BLOCK_SIZE, Math.max(contentLength, 1));
+        try (BufferPool.Buffer writeBuffer = bufferPool.acquire(blockSize)) {
+            ByteBuffer buffer = writeBuffer.byteBuffer(blockSize);
+            long position = startOffset;
+            long endOffset = startOffset + contentLength;
+            while (position < endOffset) {
+                if (abortReason != null) {
+                    throw new InterruptedIOException(abortReason);
+                }
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), endOffset - position));
+                // Fill the whole block before writing it, so every write to the stream is a full block.
+                while (buffer.hasRemaining()) {
+                    int bytesRead = fileChannel.read(buffer, position + buffer.position());
+                    if (bytesRead < 0) {
+                        throw new PartFileChangedException(String.format("The file ended %d bytes before the end of the part.", endOffset - position - buffer.position()));
+                    }
+                }
+                blockRead(buffer.array(), buffer.position());
+                // Every block waits for the bandwidth, so a rate set while the part is uploading applies to its next block.
+                if (bandwidthLimiter.isLimited()) {
+                    long throttleStartNanos = System.nanoTime();
+                    bandwidthLimiter.acquire(buffer.position());
+                    throttledNanos += System.nanoTime() - throttleStartNanos;
+                }
+                outputStream.write(buffer.array(), 0, buffer.position());
+                position += buffer.position();
+                bytesWritten = position - startOffset;
+            }
+        }
+        outputStream.flush();
+    }
+
+    // Shuts the connection of the request down, which fails the request wherever it is blocked, and stops writing the part at the next block in case
+    // the request was not sent by the abortable request executor. Used to abort the slower of two requests for the same part, or a request that stalled.
+    void abort(String reason) {
+        abortReason = reason;
+        HttpClientConnection boundConnection;
+        synchronized (this) {
+            boundConnection = connection;
+        }
+        shutdown(boundConnection);
+    }
+
+    boolean isAborted() {
+        return abortReason != null;
+    }
+
+    @Override
+    public void bind(HttpClientConnection connection) {
+        synchronized (this) {
+            this.connection = connection;
+        }
+        // Aborted before the request was sent.
+        if (abortReason != null) {
+            shutdown(connection);
+        }
+    }
+
+    @Override
+    public synchronized void unbind() {
+        connection = null;
+    }
+
+    private void shutdown(HttpClientConnection boundConnection) {
+        if (boundConnection == null) {
+            return;
+        }
+        try {
+            boundConnection.shutdown();
+        } catch (IOException e) {
+            // The connection is closed anyway, and the request fails with its own error.
+        }
+    }
+
+    // The bytes of the part written to the request so far, updated after each block.
+    long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    // The time spent waiting for the bandwidth limiter so far, which is not a stall of the request.
+    long getThrottledNanos() {
+        return throttledNanos;
+    }
+
+    // Called with each block of the part before it is written, in order.
+    void blockRead(byte[] block, int length) throws IOException {
+        // Nothing to do for a part sent as it is.
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+}
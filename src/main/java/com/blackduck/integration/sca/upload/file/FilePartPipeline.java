@@ -0,0 +1,225 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackduck.integration.sca.upload.file.digest.PartDigest;
+import com.blackduck.integration.sca.upload.file.digest.PartDigestAlgorithm;
+import com.blackduck.integration.sca.upload.file.model.MultipartUploadFilePart;
+import com.blackduck.integration.sca.upload.file.model.MultipartUploadFilePartSource;
+import com.blackduck.integration.sca.upload.file.model.MultipartUploadPartTable;
+
+/**
+ * Staged pipeline producing the file parts of a multipart upload while earlier parts are already being uploaded.
+ * A reader stage reads the file in blocks, a hashing stage computes the checksum of each part from those blocks, and the upload stage
+ * takes the finished parts through {@link #nextPart()}. The stages are connected by bounded queues, so a slow upload pauses the hashing
+ * and a slow hashing stage pauses the reader.
+ */
+class FilePartPipeline implements MultipartUploadFilePartSource {
+    // The number of read blocks in flight between the reader and the hashing stage.
+    static final int BLOCK_BUFFER_COUNT = 6;
+    // The number of hashed parts waiting for the upload stage before the hashing stage pauses.
+    static final int PART_QUEUE_CAPACITY = 8;
+    // How long closing the pipeline waits for the interrupted stages to stop.
+    static final long STAGE_TERMINATION_TIMEOUT_SECONDS = 5;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final MultipartUploadPartTable partTable;
+    private final PartDigestAlgorithm partDigestAlgorithm;
+    private final int blockSize;
+    private final FileChannel fileChannel;
+    // The block buffers are held for the lifetime of the pipeline and returned to the pool when it is closed.
+    private final List<BufferPool.Buffer> blockBuffers = new ArrayList<>(BLOCK_BUFFER_COUNT);
+    private final BlockingQueue<byte[]> freeBuffers = new ArrayBlockingQueue<>(BLOCK_BUFFER_COUNT);
+    private final BlockingQueue<FileBlock> blockQueue = new ArrayBlockingQueue<>(BLOCK_BUFFER_COUNT);
+    private final BlockingQueue<HashedPart> partQueue = new ArrayBlockingQueue<>(PART_QUEUE_CAPACITY);
+    private final ExecutorService stageExecutorService;
+    private int partsSupplied = 0;
+    private IOException failure;
+
+    FilePartPipeline(MultipartUploadPartTable partTable, int chunkSize, BufferPool bufferPool, PartDigestAlgorithm partDigestAlgorithm) throws IOException {
+        this.partTable = partTable;
+        this.partDigestAlgorithm = partDigestAlgorithm;
+        this.blockSize = Math.min(chunkSize, FileSplitter.READ_BUFFER_SIZE);
+        this.fileChannel = FileChannel.open(partTable.getFilePath(), StandardOpenOption.READ);
+        for (int index = 0; index < BLOCK_BUFFER_COUNT; index++) {
+            BufferPool.Buffer blockBuffer = bufferPool.acquire(blockSize);
+            blockBuffers.add(blockBuffer);
+            freeBuffers.add(blockBuffer.array());
+        }
+        this.stageExecutorService = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "upload-part-pipeline");
+            // The stages must never keep the JVM alive if an upload is abandoned without closing the pipeline.
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts the reader and hashing stages.
+     */
+    void start() {
+        stageExecutorService.submit(this::readBlocks);
+        stageExecutorService.submit(this::hashParts);
+    }
+
+    @Override
+    public Optional<MultipartUploadFilePart> nextPart() throws IOException, InterruptedException {
+        if (isExhausted()) {
+            return Optional.empty();
+        }
+        return supply(partQueue.take());
+    }
+
+    @Override
+    public Optional<MultipartUploadFilePart> nextPart(long timeout, TimeUnit unit) throws IOException, InterruptedException, TimeoutException {
+        if (isExhausted()) {
+            return Optional.empty();
+        }
+        HashedPart hashedPart = partQueue.poll(timeout, unit);
+        if (hashedPart == null) {
+            throw new TimeoutException("The checksum of the next file part was not computed in time.");
+        }
+        return supply(hashedPart);
+    }
+
+    private boolean isExhausted() throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+        return partsSupplied >= partTable.getPartCount();
+    }
+
+    private Optional<MultipartUploadFilePart> supply(HashedPart hashedPart) throws IOException {
+        if (hashedPart.failure != null) {
+            failure = new IOException("Could not compute the checksum of a file part: " + hashedPart.failure.getMessage(), hashedPart.failure);
+            throw failure;
+        }
+        partsSupplied++;
+        return Optional.of(hashedPart.part);
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Interrupts stages that are blocked on a full queue because the upload stage stopped taking parts.
+        stageExecutorService.shutdownNow();
+        try {
+            stageExecutorService.awaitTermination(STAGE_TERMINATION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        fileChannel.close();
+        // Only released once the stages stopped, so no stage still writes into a buffer handed to another user of the pool.
+        if (stageExecutorService.isTerminated()) {
+            blockBuffers.forEach(BufferPool.Buffer::close);
+        }
+    }
+
+    private void readBlocks() {
+        try {
+            for (int index = 0; index < partTable.getPartCount(); index++) {
+                long position = partTable.getStartByteRange(index);
+                long endOffset = position + partTable.getChunkSize(index);
+                while (position < endOffset) {
+                    byte[] buffer = freeBuffers.take();
+                    ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, (int) Math.min(blockSize, endOffset - position));
+                    while (byteBuffer.hasRemaining()) {
+                        if (fileChannel.read(byteBuffer, position + byteBuffer.position()) < 0) {
+                            throw new EOFException(String.format("The file %s ended before the part at index %d was fully read.", partTable.getFilePath().getFileName(), index));
+                        }
+                    }
+                    position += byteBuffer.position();
+                    blockQueue.put(new FileBlock(buffer, byteBuffer.position(), position == endOffset, null));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Reading the file parts failed.", e);
+            putFailure(blockQueue, new FileBlock(null, 0, true, e));
+        }
+    }
+
+    private void hashParts() {
+        try {
+            PartDigest partDigest = partDigestAlgorithm.createDigest();
+            for (int index = 0; index < partTable.getPartCount(); index++) {
+                boolean partComplete = false;
+                while (!partComplete) {
+                    FileBlock fileBlock = blockQueue.take();
+                    if (fileBlock.failure != null) {
+                        putFailure(partQueue, new HashedPart(null, fileBlock.failure));
+                        return;
+                    }
+                    partDigest.update(fileBlock.buffer, 0, fileBlock.length);
+                    freeBuffers.put(fileBlock.buffer);
+                    partComplete = fileBlock.lastBlockOfPart;
+                }
+                partTable.setDigest(index, partDigest.digest());
+                // The queue hand-off publishes the digest written to the table before the view is read by the upload stage.
+                partQueue.put(new HashedPart(partTable.getPart(index), null));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Hashing the file parts failed.", e);
+            putFailure(partQueue, new HashedPart(null, e));
+        }
+    }
+
+    // A failure that is not forwarded would leave the next stage waiting forever, so it waits for room in the full queue. Closing the pipeline
+    // interrupts the wait if the next stage stopped.
+    private <T> void putFailure(BlockingQueue<T> queue, T failedItem) {
+        try {
+            queue.put(failedItem);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class FileBlock {
+        private final byte[] buffer;
+        private final int length;
+        private final boolean lastBlockOfPart;
+        private final Exception failure;
+
+        private FileBlock(byte[] buffer, int length, boolean lastBlockOfPart, Exception failure) {
+            this.buffer = buffer;
+            this.length = length;
+            this.lastBlockOfPart = lastBlockOfPart;
+            this.failure = failure;
+        }
+    }
+
+    private static class HashedPart {
+        private final MultipartUploadFilePart part;
+        private final Exception failure;
+
+        private HashedPart(MultipartUploadFilePart part, Exception failure) {
+            this.part = part;
+            this.failure = failure;
+        }
+    }
+}
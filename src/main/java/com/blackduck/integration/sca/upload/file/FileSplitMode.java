@@ -0,0 +1,56 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file;
+
+/**
+ * Defines how the {@link FileSplitter} reads the upload file when computing the checksums for a multipart upload.
+ * Every mode produces the same {@link com.blackduck.integration.sca.upload.file.model.MultipartUploadFileMetadata}, except that the part checksums of the
+ * {@link #TRAILER} mode are only computed when the parts are sent.
+ */
+public enum FileSplitMode {
+    /**
+     * Reads the whole file once for the file checksum and then reads each part again for the part checksums.
+     */
+    PER_PART,
+    /**
+     * Streams the file exactly once, feeding each block to both the file checksum and the checksum of the current part.
+     */
+    SINGLE_PASS,
+    /**
+     * Computes the part checksums concurrently on a fork/join pool while the file checksum is computed alongside them.
+     */
+    PARALLEL,
+    /**
+     * Computes the file checksum up front and supplies the parts lazily from a pipeline that hashes them while earlier parts are uploaded.
+     */
+    STREAMING,
+    /**
+     * Computes only the file checksum. Each part checksum is computed while the part is sent and delivered in a Content-Digest trailer field,
+     * so the parts are not read before the upload. The server must accept the part digest in a trailer.
+     */
+    TRAILER;
+
+    /**
+     * Determine whether the mode can compute a {@link com.blackduck.integration.sca.upload.file.model.FileChecksumType#COMPOSITE} checksum.
+     * The {@link #STREAMING} and {@link #TRAILER} modes do not know the part checksums before the upload starts.
+     *
+     * @return true if the composite checksum is supported.
+     */
+    public boolean isCompositeChecksumSupported() {
+        return this != STREAMING && this != TRAILER;
+    }
+
+    /**
+     * Determine whether the mode can hash the file from memory-mapped windows. The {@link #STREAMING} mode reads its parts into buffers.
+     *
+     * @return true if memory mapping is supported.
+     */
+    public boolean isMemoryMappingSupported() {
+        return this != STREAMING;
+    }
+}
@@ -7,25 +7,38 @@
  */
 package com.blackduck.integration.sca.upload.file;
 
+import java.io.EOFException;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 import org.apache.commons.codec.digest.DigestUtils;
 
+import com.blackduck.integration.sca.upload.file.digest.CompositeChecksum;
+import com.blackduck.integration.sca.upload.file.digest.PartDigest;
+import com.blackduck.integration.sca.upload.file.digest.PartDigestAlgorithm;
+import com.blackduck.integration.sca.upload.file.model.FileChecksumType;
 import com.blackduck.integration.sca.upload.file.model.MultipartUploadFileMetadata;
 import com.blackduck.integration.sca.upload.file.model.MultipartUploadFilePart;
+import com.blackduck.integration.sca.upload.file.model.MultipartUploadPartTable;
 
 /**
  * Class use to split a file into parts for multipart upload.
@@ -36,9 +49,119 @@ import com.blackduck.integration.sca.upload.file.model.MultipartUploadFilePart;
 public class FileSplitter {
     public static final String UPLOAD_CACHE = "/upload-cache";
     public static final int DIGEST_MAX_CHUNK_SIZE = 1024 * 1024 * 256;
+    // The block size used when streaming file content into the checksum digests.
+    public static final int READ_BUFFER_SIZE = 1024 * 1024;
+    // Computes the part checksums of the parallel split mode on the common fork/join pool.
+    public static final int COMMON_POOL_PARALLELISM = 0;
+    // The size of each memory-mapped window. A region is mapped window by window, so files and parts of any supported size can be hashed.
+    public static final int MAPPED_WINDOW_SIZE = 1024 * 1024 * 64;
+
+    private final FileSplitMode splitMode;
+    private final int parallelism;
+    // Null when split metadata is not cached.
+    private final FileChecksumCache checksumCache;
+    private final BufferPool bufferPool;
+    private final boolean memoryMapped;
+    private final PartDigestAlgorithm partDigestAlgorithm;
+    private final FileChecksumType checksumType;
+
+    /**
+     * Constructor for the file splitter using the {@link FileSplitMode#SINGLE_PASS} mode.
+     */
+    public FileSplitter() {
+        this(FileSplitMode.SINGLE_PASS);
+    }
+
+    /**
+     * Constructor for the file splitter.
+     *
+     * @param splitMode The {@link FileSplitMode} determining how the file is read to compute the checksums.
+     */
+    public FileSplitter(FileSplitMode splitMode) {
+        this(FileSplitterOptions.createOptions().setSplitMode(splitMode).build());
+    }
+
+    /**
+     * Constructor for the file splitter.
+     *
+     * @param splitterOptions The {@link FileSplitterOptions} with the settings of the splitter.
+     */
+    public FileSplitter(FileSplitterOptions splitterOptions) {
+        this.splitMode = splitterOptions.getSplitMode();
+        this.parallelism = splitterOptions.getParallelism();
+        this.checksumCache = splitterOptions.getChecksumCache().orElse(null);
+        this.bufferPool = splitterOptions.getBufferPool();
+        this.memoryMapped = splitterOptions.isMemoryMapped();
+        this.partDigestAlgorithm = splitterOptions.getPartDigestAlgorithm();
+        this.checksumType = splitterOptions.getChecksumType();
+    }
+
+    /**
+     * Retrieve the mode used to read the file when computing checksums.
+     *
+     * @return {@link FileSplitMode}
+     */
+    public FileSplitMode getSplitMode() {
+        return splitMode;
+    }
+
+    /**
+     * Retrieve the number of threads computing part checksums in the {@link FileSplitMode#PARALLEL} mode.
+     *
+     * @return parallelism, 0 or less when the common fork/join pool is used.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Retrieve the cache of previously computed checksums.
+     *
+     * @return {@link FileChecksumCache}, empty when checksums are not cached.
+     */
+    public Optional<FileChecksumCache> getChecksumCache() {
+        return Optional.ofNullable(checksumCache);
+    }
+
+    /**
+     * Retrieve the pool providing the buffers the file is read into.
+     *
+     * @return {@link BufferPool}
+     */
+    public BufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    /**
+     * Retrieve whether the file is hashed from memory-mapped windows.
+     *
+     * @return true if the file is memory-mapped.
+     */
+    public boolean isMemoryMapped() {
+        return memoryMapped;
+    }
+
+    /**
+     * Retrieve the algorithm computing the checksum of each part.
+     *
+     * @return {@link PartDigestAlgorithm}
+     */
+    public PartDigestAlgorithm getPartDigestAlgorithm() {
+        return partDigestAlgorithm;
+    }
+
+    /**
+     * Retrieve how the file checksum is computed.
+     *
+     * @return {@link FileChecksumType}
+     */
+    public FileChecksumType getChecksumType() {
+        return checksumType;
+    }
 
     /**
      * Splits the file and creates the {@link MultipartUploadFileMetadata} needed to perform a multipart upload.
+     * When a {@link FileChecksumCache} is configured and holds an entry for the unchanged file, the cached checksums are used instead of reading the file.
      *
      * @param uploadFilePath The file path of the file to upload.
      * @param chunkSize The byte size of each file part.
@@ -49,72 +172,254 @@ public class FileSplitter {
         if (!uploadFilePath.toFile().exists()) {
             throw new FileNotFoundException(String.format("Invalid file path, could not find file to split: %s", uploadFilePath.getFileName()));
         }
+        if (checksumCache != null) {
+            Optional<MultipartUploadFileMetadata> cachedFileMetadata = checksumCache.find(uploadFilePath, chunkSize, partDigestAlgorithm)
+                .filter(fileMetadata -> fileMetadata.getChecksumType() == checksumType);
+            if (cachedFileMetadata.isPresent()) {
+                return cachedFileMetadata.get();
+            }
+        }
+        // The attributes are read before hashing so the cache can detect a file that changed while it was being read.
+        BasicFileAttributes fileAttributes = Files.readAttributes(uploadFilePath, BasicFileAttributes.class);
+        MultipartUploadFileMetadata multipartUploadFileMetadata = computeFileMetadata(uploadFilePath, fileAttributes.size(), chunkSize);
+        // Streamed parts are still being hashed when the metadata is returned and trailer parts are hashed when they are sent, so only complete metadata is cached.
+        if (checksumCache != null && splitMode != FileSplitMode.STREAMING && splitMode != FileSplitMode.TRAILER) {
+            checksumCache.store(uploadFilePath, fileAttributes, multipartUploadFileMetadata);
+        }
+        return multipartUploadFileMetadata;
+    }
+
+    private MultipartUploadFileMetadata computeFileMetadata(Path uploadFilePath, long fileSize, int chunkSize) throws IOException {
         String uploadedFileName = uploadFilePath.toFile().getName();
-        long fileSize = Files.size(uploadFilePath);
-        String checksum = toMD5Checksum(uploadFilePath);
         UUID uploadId = UUID.randomUUID();
-        List<MultipartUploadFilePart> chunkList = createParts(uploadFilePath, chunkSize);
-        return new MultipartUploadFileMetadata(uploadedFileName, checksum, uploadId, fileSize, chunkSize, chunkList);
+        if (splitMode == FileSplitMode.SINGLE_PASS) {
+            return splitFileSinglePass(uploadFilePath, uploadedFileName, uploadId, fileSize, chunkSize);
+        }
+        if (splitMode == FileSplitMode.PARALLEL) {
+            return splitFileParallel(uploadFilePath, uploadedFileName, uploadId, fileSize, chunkSize);
+        }
+        if (splitMode == FileSplitMode.STREAMING) {
+            return splitFileStreaming(uploadFilePath, uploadedFileName, uploadId, fileSize, chunkSize);
+        }
+        if (splitMode == FileSplitMode.TRAILER) {
+            return splitFileTrailer(uploadFilePath, uploadedFileName, uploadId, fileSize, chunkSize);
+        }
+        String checksum = checksumType == FileChecksumType.COMPOSITE ? null : toMD5Checksum(uploadFilePath);
+        MultipartUploadPartTable partTable = createParts(uploadFilePath, chunkSize);
+        return createTableMetadata(uploadedFileName, checksum, uploadId, fileSize, chunkSize, partTable);
     }
 
-    private List<MultipartUploadFilePart> createParts(Path uploadFilePath, int chunkSize) throws IOException {
-        List<MultipartUploadFilePart> partList = new LinkedList<>();
-        int index = 0;
-        long fileSize = Files.size(uploadFilePath);
-        int numberOfChunks = (int) Math.ceil((double) fileSize / chunkSize);
-        long startOffset = 0;
-        while (index < numberOfChunks) {
-            UUID tagId = UUID.randomUUID();
-            String encodedChecksum = computePartMD5Checksum(uploadFilePath, startOffset, chunkSize);
-            MultipartUploadFilePart multipartUploadFilePart;
-            if(index == numberOfChunks - 1) {
-                Long remainingSize = fileSize - startOffset;
-                multipartUploadFilePart = new MultipartUploadFilePart(tagId, encodedChecksum, index, startOffset, remainingSize.intValue(), uploadFilePath);
-            } else {
-                multipartUploadFilePart = new MultipartUploadFilePart(tagId, encodedChecksum, index, startOffset, chunkSize, uploadFilePath);
-            }
-            partList.add(multipartUploadFilePart);
-            startOffset += chunkSize;
-            index++;
-        }
-        return partList;
-    }
-
-    private String computePartMD5Checksum(Path uploadFilePath, long startOffset, int chunkSize) throws IOException {
-        String partChecksum = "";
+    // Reads the file sequentially one time. Each block read is added to the file digest and to the digest of the part the block belongs to.
+    private MultipartUploadFileMetadata splitFileSinglePass(Path uploadFilePath, String uploadedFileName, UUID uploadId, long fileSize, int chunkSize) throws IOException {
+        MultipartUploadPartTable partTable = createPartTable(uploadFilePath, fileSize, chunkSize);
+        // The composite checksum is computed from the part digests, so the file digest is only needed for the MD5 checksum.
+        MessageDigest fileDigest = checksumType == FileChecksumType.COMPOSITE ? null : createMD5Digest();
+        PartDigest partDigest = partDigestAlgorithm.createDigest();
+        if (memoryMapped) {
+            try (FileChannel fileChannel = FileChannel.open(uploadFilePath, StandardOpenOption.READ)) {
+                for (int index = 0; index < partTable.getPartCount(); index++) {
+                    updateDigestsMapped(fileChannel, partTable.getStartByteRange(index), partTable.getChunkSize(index), fileDigest, partDigest);
+                    partTable.setDigest(index, partDigest.digest());
+                }
+            }
+            return createTableMetadata(uploadedFileName, toChecksum(fileDigest), uploadId, fileSize, chunkSize, partTable);
+        }
+        try (FileChannel fileChannel = FileChannel.open(uploadFilePath, StandardOpenOption.READ);
+            BufferPool.Buffer readBuffer = bufferPool.acquire(Math.min(chunkSize, READ_BUFFER_SIZE))) {
+            ByteBuffer buff = readBuffer.byteBuffer(Math.min(chunkSize, READ_BUFFER_SIZE));
+            for (int index = 0; index < partTable.getPartCount(); index++) {
+                long remainingBytes = partTable.getChunkSize(index);
+                while (remainingBytes > 0) {
+                    buff.clear();
+                    // never read past the end of the current part so that each block belongs to exactly one part digest.
+                    buff.limit((int) Math.min(buff.capacity(), remainingBytes));
+                    int numberOfBytesRead = fileChannel.read(buff);
+                    if (numberOfBytesRead < 0) {
+                        throw new EOFException(String.format("The file %s ended before the expected size of %d bytes was read.", uploadedFileName, fileSize));
+                    }
+                    if (fileDigest != null) {
+                        fileDigest.update(buff.array(), 0, numberOfBytesRead);
+                    }
+                    partDigest.update(buff.array(), 0, numberOfBytesRead);
+                    remainingBytes -= numberOfBytesRead;
+                }
+                // digest() resets the part digest so it can be reused for the next part.
+                partTable.setDigest(index, partDigest.digest());
+            }
+        }
+        return createTableMetadata(uploadedFileName, toChecksum(fileDigest), uploadId, fileSize, chunkSize, partTable);
+    }
+
+    // Hashes the parts concurrently using positional reads on one shared channel. The sequential file checksum is computed by a separate task at the same time.
+    private MultipartUploadFileMetadata splitFileParallel(Path uploadFilePath, String uploadedFileName, UUID uploadId, long fileSize, int chunkSize) throws IOException {
+        MultipartUploadPartTable partTable = createPartTable(uploadFilePath, fileSize, chunkSize);
+        ForkJoinPool forkJoinPool = parallelism > 0 ? new ForkJoinPool(parallelism) : ForkJoinPool.commonPool();
+        ForkJoinTask<String> fileChecksumTask = null;
+        try (FileChannel fileChannel = FileChannel.open(uploadFilePath, StandardOpenOption.READ)) {
+            if (checksumType == FileChecksumType.MD5) {
+                fileChecksumTask = forkJoinPool.submit(() -> memoryMapped ? toMappedMD5Checksum(fileChannel, fileSize) : toMD5Checksum(uploadFilePath));
+            }
+            if (partTable.getPartCount() > 0) {
+                forkJoinPool.invoke(new PartChecksumTask(fileChannel, bufferPool, memoryMapped, partDigestAlgorithm, partTable, 0, partTable.getPartCount()));
+            }
+            String checksum = fileChecksumTask == null ? null : fileChecksumTask.get();
+            return createTableMetadata(uploadedFileName, checksum, uploadId, fileSize, chunkSize, partTable);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while computing the checksums of the file parts.", e);
+        } catch (ExecutionException | RuntimeException e) {
+            throw toIOException(e);
+        } finally {
+            if (fileChecksumTask != null) {
+                fileChecksumTask.cancel(true);
+            }
+            if (forkJoinPool != ForkJoinPool.commonPool()) {
+                forkJoinPool.shutdown();
+            }
+        }
+    }
+
+    // Starts hashing the parts in the background and returns as soon as the file checksum needed by the start request is known.
+    // The parts are then supplied lazily, so the first part upload does not wait for every part checksum.
+    private MultipartUploadFileMetadata splitFileStreaming(Path uploadFilePath, String uploadedFileName, UUID uploadId, long fileSize, int chunkSize) throws IOException {
+        MultipartUploadPartTable partTable = createPartTable(uploadFilePath, fileSize, chunkSize);
+        FilePartPipeline filePartPipeline = new FilePartPipeline(partTable, chunkSize, bufferPool, partDigestAlgorithm);
+        try {
+            filePartPipeline.start();
+            String checksum = toMD5Checksum(uploadFilePath);
+            return new MultipartUploadFileMetadata(
+                uploadedFileName,
+                checksum,
+                uploadId,
+                fileSize,
+                chunkSize,
+                partTable.getPartCount(),
+                filePartPipeline,
+                partDigestAlgorithm.getName()
+            );
+        } catch (IOException | RuntimeException e) {
+            filePartPipeline.close();
+            throw e;
+        }
+    }
+
+    // Only the file checksum needed by the start request is computed. Each part is hashed while it is sent and its checksum is sent in a trailer field.
+    private MultipartUploadFileMetadata splitFileTrailer(Path uploadFilePath, String uploadedFileName, UUID uploadId, long fileSize, int chunkSize) throws IOException {
+        MultipartUploadPartTable partTable = createPartTable(uploadFilePath, fileSize, chunkSize);
+        String checksum;
+        if (memoryMapped) {
+            try (FileChannel fileChannel = FileChannel.open(uploadFilePath, StandardOpenOption.READ)) {
+                checksum = toMappedMD5Checksum(fileChannel, fileSize);
+            }
+        } else {
+            checksum = toMD5Checksum(uploadFilePath);
+        }
+        return new MultipartUploadFileMetadata(uploadedFileName, checksum, uploadId, fileSize, chunkSize, partTable, true);
+    }
+
+    // Completes the metadata of the modes that know every part digest when the split ends, which are the modes supporting the composite checksum.
+    private MultipartUploadFileMetadata createTableMetadata(
+        String uploadedFileName,
+        String md5Checksum,
+        UUID uploadId,
+        long fileSize,
+        int chunkSize,
+        MultipartUploadPartTable partTable
+    ) throws IOException {
+        if (checksumType == FileChecksumType.COMPOSITE) {
+            String compositeChecksum = CompositeChecksum.compute(partTable);
+            return new MultipartUploadFileMetadata(uploadedFileName, compositeChecksum, FileChecksumType.COMPOSITE, uploadId, fileSize, chunkSize, partTable, false);
+        }
+        return new MultipartUploadFileMetadata(uploadedFileName, md5Checksum, uploadId, fileSize, chunkSize, partTable);
+    }
+
+    private static String toChecksum(MessageDigest fileDigest) {
+        return fileDigest == null ? null : Base64.getEncoder().encodeToString(fileDigest.digest());
+    }
+
+    private static String toMappedMD5Checksum(FileChannel fileChannel, long fileSize) throws IOException {
+        MessageDigest fileDigest = createMD5Digest();
+        updateDigestsMapped(fileChannel, 0, fileSize, fileDigest, null);
+        return Base64.getEncoder().encodeToString(fileDigest.digest());
+    }
+
+    // Hashes the byte range from memory-mapped windows, so the content is digested straight from the page cache instead of being read into a buffer first.
+    // Either digest may be null when only the file or only the part is hashed.
+    private static void updateDigestsMapped(FileChannel fileChannel, long startOffset, long length, MessageDigest fileDigest, PartDigest partDigest) throws IOException {
         long position = startOffset;
-        try (RandomAccessFile uploadFile = new RandomAccessFile(uploadFilePath.toFile(), "r")) {
-            uploadFile.seek(startOffset);
-            FileChannel fileChannel = uploadFile.getChannel();
-            // if the chunk size is less than 256MB use it, otherwise use a chunk size that is smaller than 256MB.
-            // This will allow the max chunk six of 2GB to be handled appropriately.
-            // Compute the chunk size used for calculating the checksum.  Divide the chunksize by the maximum chunk size allowed to determine the quotient.
-            // Then divide the chunksize by the quotient to ensure a byte buffer allocation will not cause bytes to be read beyond the endOffset.
-            // This will ensure the correct checksum because bytes read will remain between the startOffset and the endOffset when computing the checksum.
-            int digestChunkSize = chunkSize;
-            if(chunkSize > DIGEST_MAX_CHUNK_SIZE) {
-                int result = (int) Math.ceil((double) chunkSize / DIGEST_MAX_CHUNK_SIZE);
-                digestChunkSize = chunkSize / result;
-            }
-            ByteBuffer buff = ByteBuffer.allocate(digestChunkSize);
-            long endOffset = startOffset + chunkSize;
-            int numberOfBytesRead = fileChannel.read(buff);
-            long remainingBytes = endOffset - position;
-            MessageDigest messageDigest = MessageDigest.getInstance("md5");
-            while (numberOfBytesRead > -1 && remainingBytes > 0) {
-                messageDigest.update(buff.array(), 0, numberOfBytesRead);
+        long endOffset = startOffset + length;
+        if (endOffset > fileChannel.size()) {
+            throw new EOFException(String.format("The file ended before the expected size of %d bytes.", endOffset));
+        }
+        while (position < endOffset) {
+            long windowSize = Math.min(MAPPED_WINDOW_SIZE, endOffset - position);
+            // Java 8 has no supported way to unmap a window, so each window stays mapped until the garbage collector frees its buffer.
+            MappedByteBuffer window = fileChannel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+            if (fileDigest != null) {
+                fileDigest.update(window.duplicate());
+            }
+            if (partDigest != null) {
+                partDigest.update(window.duplicate());
+            }
+            position += windowSize;
+        }
+    }
+
+    // Fork/join tasks cannot throw checked exceptions, so an IOException is wrapped one or more times by the time it reaches the caller.
+    private IOException toIOException(Exception exception) {
+        Throwable cause = exception;
+        while (cause != null) {
+            if (cause instanceof IOException) {
+                return (IOException) cause;
+            }
+            cause = cause.getCause();
+        }
+        return new IOException("Could not compute the checksums of the file parts.", exception);
+    }
+
+    private MultipartUploadPartTable createPartTable(Path uploadFilePath, long fileSize, int chunkSize) {
+        return MultipartUploadPartTable.createForChunkSize(uploadFilePath, fileSize, chunkSize, partDigestAlgorithm.getName(), partDigestAlgorithm.getDigestLength());
+    }
+
+    private MultipartUploadPartTable createParts(Path uploadFilePath, int chunkSize) throws IOException {
+        long fileSize = Files.size(uploadFilePath);
+        MultipartUploadPartTable partTable = createPartTable(uploadFilePath, fileSize, chunkSize);
+        for (int index = 0; index < partTable.getPartCount(); index++) {
+            partTable.setDigest(index, computePartDigest(uploadFilePath, partTable.getStartByteRange(index), chunkSize));
+        }
+        return partTable;
+    }
+
+    private byte[] computePartDigest(Path uploadFilePath, long startOffset, int chunkSize) throws IOException {
+        int blockSize = Math.min(chunkSize, READ_BUFFER_SIZE);
+        try (FileChannel fileChannel = FileChannel.open(uploadFilePath, StandardOpenOption.READ);
+            BufferPool.Buffer readBuffer = bufferPool.acquire(blockSize)) {
+            ByteBuffer buff = readBuffer.byteBuffer(blockSize);
+            long position = startOffset;
+            // The last part ends with the file, which can be before the chunk size is reached.
+            long endOffset = Math.min(startOffset + chunkSize, fileChannel.size());
+            PartDigest partDigest = partDigestAlgorithm.createDigest();
+            while (position < endOffset) {
                 buff.clear();
-                // check if the end of the range has been read or not.
+                // check if the end of the range has been read or not, so no bytes past the end of the part are added to the digest.
+                buff.limit((int) Math.min(blockSize, endOffset - position));
+                int numberOfBytesRead = fileChannel.read(buff, position);
+                if (numberOfBytesRead < 0) {
+                    break;
+                }
+                partDigest.update(buff.array(), 0, numberOfBytesRead);
                 position += numberOfBytesRead;
-                remainingBytes = endOffset - position;
-                numberOfBytesRead = fileChannel.read(buff);
             }
-            partChecksum = Base64.getEncoder().encodeToString(messageDigest.digest());
+            return partDigest.digest();
+        }
+    }
+
+    private static MessageDigest createMD5Digest() throws IOException {
+        try {
+            return MessageDigest.getInstance("md5");
         } catch (NoSuchAlgorithmException e) {
             throw new IOException("Cannot validate checksum of the part: ", e);
         }
-
-        return partChecksum;
     }
 
     private String toMD5Checksum(Path uploadFilePath) throws IOException {
@@ -122,4 +427,79 @@ public class FileSplitter {
             return Base64.getEncoder().encodeToString(DigestUtils.md5(is));
         }
     }
+
+    // Splits the range of part indexes in half until a single part remains, then digests that part with positional reads.
+    // Every leaf writes its digest to its own region of the part table, and joining the tasks publishes the digests to the caller.
+    private static class PartChecksumTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient FileChannel fileChannel;
+        private final transient BufferPool bufferPool;
+        private final boolean memoryMapped;
+        private final transient PartDigestAlgorithm partDigestAlgorithm;
+        private final transient MultipartUploadPartTable partTable;
+        private final int startIndex;
+        private final int endIndex;
+
+        private PartChecksumTask(
+            FileChannel fileChannel,
+            BufferPool bufferPool,
+            boolean memoryMapped,
+            PartDigestAlgorithm partDigestAlgorithm,
+            MultipartUploadPartTable partTable,
+            int startIndex,
+            int endIndex
+        ) {
+            this.fileChannel = fileChannel;
+            this.bufferPool = bufferPool;
+            this.memoryMapped = memoryMapped;
+            this.partDigestAlgorithm = partDigestAlgorithm;
+            this.partTable = partTable;
+            this.startIndex = startIndex;
+            this.endIndex = endIndex;
+        }
+
+        @Override
+        protected void compute() {
+            if (endIndex - startIndex > 1) {
+                int middleIndex = (startIndex + endIndex) >>> 1;
+                invokeAll(
+                    new PartChecksumTask(fileChannel, bufferPool, memoryMapped, partDigestAlgorithm, partTable, startIndex, middleIndex),
+                    new PartChecksumTask(fileChannel, bufferPool, memoryMapped, partDigestAlgorithm, partTable, middleIndex, endIndex)
+                );
+                return;
+            }
+            try {
+                partTable.setDigest(startIndex, computePartDigest());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private byte[] computePartDigest() throws IOException {
+            long position = partTable.getStartByteRange(startIndex);
+            long endOffset = position + partTable.getChunkSize(startIndex);
+            PartDigest partDigest = partDigestAlgorithm.createDigest();
+            if (memoryMapped) {
+                updateDigestsMapped(fileChannel, position, partTable.getChunkSize(startIndex), null, partDigest);
+                return partDigest.digest();
+            }
+            int blockSize = Math.min(partTable.getChunkSize(startIndex), READ_BUFFER_SIZE);
+            try (BufferPool.Buffer readBuffer = bufferPool.acquire(blockSize)) {
+                ByteBuffer buff = readBuffer.byteBuffer(blockSize);
+                while (position < endOffset) {
+                    buff.clear();
+                    buff.limit((int) Math.min(buff.capacity(), endOffset - position));
+                    // positional reads do not move the shared channel position, so concurrent tasks do not interfere with each other.
+                    int numberOfBytesRead = fileChannel.read(buff, position);
+                    if (numberOfBytesRead < 0) {
+                        throw new EOFException(String.format("The file ended before the part at index %d was fully read.", startIndex));
+                    }
+                    partDigest.update(buff.array(), 0, numberOfBytesRead);
+                    position += numberOfBytesRead;
+                }
+            }
+            return partDigest.digest();
+        }
+    }
 }
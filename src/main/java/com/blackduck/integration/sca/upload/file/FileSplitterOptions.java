@@ -0,0 +1,225 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file;
+
+import java.util.Optional;
+
+import com.blackduck.integration.sca.upload.file.digest.PartDigestAlgorithm;
+import com.blackduck.integration.sca.upload.file.digest.PartDigestAlgorithms;
+import com.blackduck.integration.sca.upload.file.model.FileChecksumType;
+
+/**
+ * The settings of a {@link FileSplitter}. Every setting left unset keeps its default.
+ *
+ * @see FileSplitter
+ */
+public class FileSplitterOptions {
+    private final FileSplitMode splitMode;
+    private final int parallelism;
+    private final FileChecksumCache checksumCache;
+    private final BufferPool bufferPool;
+    private final boolean memoryMapped;
+    private final PartDigestAlgorithm partDigestAlgorithm;
+    private final FileChecksumType checksumType;
+
+    /**
+     * Static constructor to instantiate a Builder with the default settings.
+     *
+     * @return builder.
+     */
+    public static Builder createOptions() {
+        return new Builder();
+    }
+
+    private FileSplitterOptions(Builder builder) {
+        this.splitMode = builder.splitMode;
+        this.parallelism = builder.parallelism;
+        this.checksumCache = builder.checksumCache;
+        this.bufferPool = builder.bufferPool != null ? builder.bufferPool : new BufferPool();
+        this.memoryMapped = builder.memoryMapped;
+        this.partDigestAlgorithm = builder.partDigestAlgorithm;
+        this.checksumType = builder.checksumType;
+    }
+
+    /**
+     * Retrieve the mode used to read the file when computing checksums.
+     *
+     * @return {@link FileSplitMode}
+     */
+    public FileSplitMode getSplitMode() {
+        return splitMode;
+    }
+
+    /**
+     * Retrieve the number of threads computing part checksums in the {@link FileSplitMode#PARALLEL} mode.
+     *
+     * @return parallelism, 0 or less when the common fork/join pool is used.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Retrieve the cache of previously computed checksums.
+     *
+     * @return {@link FileChecksumCache}, empty when checksums are not cached.
+     */
+    public Optional<FileChecksumCache> getChecksumCache() {
+        return Optional.ofNullable(checksumCache);
+    }
+
+    /**
+     * Retrieve the pool providing the buffers the file is read into.
+     *
+     * @return {@link BufferPool}
+     */
+    public BufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    /**
+     * Retrieve whether the file is hashed from memory-mapped windows.
+     *
+     * @return true if the file is memory-mapped.
+     */
+    public boolean isMemoryMapped() {
+        return memoryMapped;
+    }
+
+    /**
+     * Retrieve the algorithm computing the checksum of each part.
+     *
+     * @return {@link PartDigestAlgorithm}
+     */
+    public PartDigestAlgorithm getPartDigestAlgorithm() {
+        return partDigestAlgorithm;
+    }
+
+    /**
+     * Retrieve how the file checksum is computed.
+     *
+     * @return {@link FileChecksumType}
+     */
+    public FileChecksumType getChecksumType() {
+        return checksumType;
+    }
+
+    /**
+     * Builder class used to create an instance of {@link FileSplitterOptions}.
+     */
+    public static class Builder {
+        private FileSplitMode splitMode = FileSplitMode.SINGLE_PASS;
+        private int parallelism = FileSplitter.COMMON_POOL_PARALLELISM;
+        private FileChecksumCache checksumCache;
+        // Null until set, so every options built without a pool get a pool of their own.
+        private BufferPool bufferPool;
+        private boolean memoryMapped = false;
+        private PartDigestAlgorithm partDigestAlgorithm = PartDigestAlgorithms.MD5;
+        private FileChecksumType checksumType = FileChecksumType.MD5;
+
+        private Builder() {
+        }
+
+        /**
+         * Construct an instance of {@link FileSplitterOptions}.
+         *
+         * @return file splitter options.
+         * @throws IllegalArgumentException if the split mode cannot compute the checksum type, or cannot hash the file from memory-mapped windows.
+         */
+        public FileSplitterOptions build() {
+            if (checksumType == FileChecksumType.COMPOSITE && !splitMode.isCompositeChecksumSupported()) {
+                throw new IllegalArgumentException(String.format("The %s split mode cannot compute the composite checksum.", splitMode));
+            }
+            if (memoryMapped && !splitMode.isMemoryMappingSupported()) {
+                throw new IllegalArgumentException(String.format("The %s split mode cannot hash the file from memory-mapped windows.", splitMode));
+            }
+            return new FileSplitterOptions(this);
+        }
+
+        /**
+         * Set the mode determining how the file is read to compute the checksums. Defaults to {@link FileSplitMode#SINGLE_PASS}.
+         *
+         * @param splitMode The {@link FileSplitMode}.
+         * @return builder.
+         */
+        public Builder setSplitMode(FileSplitMode splitMode) {
+            this.splitMode = splitMode;
+            return this;
+        }
+
+        /**
+         * Set the number of threads computing part checksums in the {@link FileSplitMode#PARALLEL} mode. Defaults to {@link FileSplitter#COMMON_POOL_PARALLELISM}.
+         *
+         * @param parallelism The parallelism. A value of 0 or less uses the common fork/join pool.
+         * @return builder.
+         */
+        public Builder setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Set the cache used to skip computing the checksums of a file that was split before. Defaults to none, which always computes them.
+         *
+         * @param checksumCache The {@link FileChecksumCache}, or null to always compute the checksums.
+         * @return builder.
+         */
+        public Builder setChecksumCache(FileChecksumCache checksumCache) {
+            this.checksumCache = checksumCache;
+            return this;
+        }
+
+        /**
+         * Set the pool providing the buffers the file is read into. Defaults to a new {@link BufferPool}.
+         *
+         * @param bufferPool The {@link BufferPool}.
+         * @return builder.
+         */
+        public Builder setBufferPool(BufferPool bufferPool) {
+            this.bufferPool = bufferPool;
+            return this;
+        }
+
+        /**
+         * Set whether the {@link FileSplitMode#SINGLE_PASS}, {@link FileSplitMode#PARALLEL} and {@link FileSplitMode#TRAILER} modes hash the file from
+         * memory-mapped windows instead of reading it into buffers. Defaults to false. The {@link FileSplitMode#STREAMING} mode does not support it.
+         * A window is only unmapped when the garbage collector frees it, so hashing a large file can keep much of it mapped, which counts against
+         * the virtual memory and the map count limits of the process.
+         *
+         * @param memoryMapped true to hash the file from memory-mapped windows.
+         * @return builder.
+         */
+        public Builder setMemoryMapped(boolean memoryMapped) {
+            this.memoryMapped = memoryMapped;
+            return this;
+        }
+
+        /**
+         * Set the algorithm computing the checksum of each part. Defaults to {@link PartDigestAlgorithms#MD5}.
+         *
+         * @param partDigestAlgorithm The {@link PartDigestAlgorithm}.
+         * @return builder.
+         */
+        public Builder setPartDigestAlgorithm(PartDigestAlgorithm partDigestAlgorithm) {
+            this.partDigestAlgorithm = partDigestAlgorithm;
+            return this;
+        }
+
+        /**
+         * Set how the file checksum is computed. Defaults to {@link FileChecksumType#MD5}. The {@link FileSplitMode#STREAMING} and
+         * {@link FileSplitMode#TRAILER} modes do not know the part checksums before the upload starts, so they only support the MD5 checksum.
+         *
+         * @param checksumType The {@link FileChecksumType}.
+         * @return builder.
+         */
+        public Builder setChecksumType(FileChecksumType checksumType) {
+            this.checksumType = checksumType;
+            return this;
+        }
+    }
+}
@@ -8,19 +8,36 @@
 package com.blackduck.integration.sca.upload.file;
 
 import java.io.IOException;
-import java.io.RandomAccessFile;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
 import org.apache.http.entity.ContentType;
-import org.apache.http.entity.InputStreamEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,17 +52,29 @@ import com.blackduck.integration.rest.body.StringBodyContent;
 import com.blackduck.integration.rest.exception.IntegrationRestException;
 import com.blackduck.integration.rest.request.Request;
 import com.blackduck.integration.rest.response.Response;
+import com.blackduck.integration.sca.upload.file.digest.PartDigestAlgorithm;
+import com.blackduck.integration.sca.upload.file.digest.PartDigestAlgorithms;
+import com.blackduck.integration.sca.upload.file.model.FileChecksumType;
 import com.blackduck.integration.sca.upload.file.model.MultipartUploadFileMetadata;
 import com.blackduck.integration.sca.upload.file.model.MultipartUploadFilePart;
+import com.blackduck.integration.sca.upload.file.model.MultipartUploadFilePartSource;
+import com.blackduck.integration.sca.upload.file.model.MultipartUploadPartTable;
 import com.blackduck.integration.sca.upload.file.response.UploadPartResponse;
+import com.blackduck.integration.sca.upload.rest.BandwidthLimiter;
 import com.blackduck.integration.sca.upload.rest.BlackDuckHttpClient;
+import com.blackduck.integration.sca.upload.rest.RetryPolicy;
+import com.blackduck.integration.sca.upload.rest.RetryScheduler;
+import com.blackduck.integration.sca.upload.rest.ThrottledEntity;
 import com.blackduck.integration.sca.upload.rest.model.ContentTypes;
 import com.blackduck.integration.sca.upload.rest.model.request.MultipartUploadStartRequest;
 import com.blackduck.integration.sca.upload.rest.status.MutableResponseStatus;
+import com.blackduck.integration.sca.upload.rest.status.PartUploadException;
+import com.blackduck.integration.sca.upload.rest.status.PartUploadFailure;
 import com.blackduck.integration.sca.upload.rest.status.UploadStatus;
 import com.blackduck.integration.sca.upload.util.HttpHeaderUtils;
 import com.blackduck.integration.sca.upload.validation.UploadValidator;
 import com.google.gson.Gson;
+import com.google.gson.JsonObject;
 
 /**
  * Class used to perform an upload of a file to Black Duck.
@@ -56,15 +85,42 @@ import com.google.gson.Gson;
 public class FileUploader {
     public static final String CLOSE_RESPONSE_OBJECT_MESSAGE = "Was unable to close response object: ";
     public static final String CONTENT_DIGEST_HEADER = "Content-Digest";
+    public static final String TRAILER_HEADER = "Trailer";
+    public static final String START_REQUEST_CHECKSUM_FIELD = "checksum";
+    public static final String START_REQUEST_CHECKSUM_TYPE_FIELD = "checksumType";
+    public static final String START_REQUEST_PART_SIZE_FIELD = "partSize";
+    // Responses of a server that does not support the composite checksum, after which the upload is started again with the MD5 checksum.
+    private static final Set<Integer> COMPOSITE_CHECKSUM_REJECTED_STATUS_CODES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+        HttpStatus.SC_BAD_REQUEST,
+        HttpStatus.SC_UNSUPPORTED_MEDIA_TYPE,
+        HttpStatus.SC_UNPROCESSABLE_ENTITY
+    )));
     private final Logger logger = LoggerFactory.getLogger(getClass());
     private final BlackDuckHttpClient httpClient;
     private final Gson gson;
     private final UploadRequestPaths uploadRequestPaths;
-    private boolean isCanceled = false;
+    // Cancels the upload made step by step with multipartUploadParts and finishMultipartUpload. Each call of multipartUpload and
+    // resumeMultipartUpload cancels with a flag of its own, so a cancelled upload never fails the next upload of the uploader, e.g. its resume.
+    private final AtomicBoolean isCanceled = new AtomicBoolean(false);
     private final int multipartUploadPartRetryAttempts;
     // Retry interval in milliseconds
     private final long multipartUploadPartRetryInitialInterval;
     private final int multipartUploadTimeoutInMinutes;
+    private final int multipartUploadPartConcurrency;
+    private final BufferPool bufferPool;
+    private final PartUploadListener partUploadListener;
+    private final PartRetryClassifier partRetryClassifier = new PartRetryClassifier(UploadValidator.MULTIPART_UPLOAD_PART_RETRY_STATUS_CODES);
+    private final UploadJournal uploadJournal;
+    private final MultipartUploadFailurePolicy failurePolicy;
+    private final int partFailureBudget;
+    private final RetryPolicy retryPolicy;
+    private final RetryScheduler retryScheduler;
+    private final PartHedgingPolicy hedgingPolicy;
+    private final PartStallPolicy stallPolicy;
+    // Shared by the uploads of this uploader, so the limit learned from the server carries over to the next upload.
+    private final PartConcurrencyLimiter concurrencyLimiter;
+    private final BandwidthLimiter bandwidthLimiter;
+    private final Runnable connectionEvictor;
 
     /**
      * Constructor for the file uploader.
@@ -73,6 +129,7 @@ public class FileUploader {
      * @param uploadRequestPaths The {@link UploadRequestPaths} endpoints for performing upload and multipart uploads.
      * @param multipartUploadPartRetryAttempts The number of retry attempts for uploading a file part.
      * @param multipartUploadPartRetryInitialInterval The initial interval to wait for the first retry of a file part upload.
+     * @param multipartUploadTimeoutInMinutes The time to wait for all file parts to be uploaded.
      */
     public FileUploader(
         BlackDuckHttpClient httpClient,
@@ -81,14 +138,109 @@ public class FileUploader {
         long multipartUploadPartRetryInitialInterval,
         int multipartUploadTimeoutInMinutes
     ) {
+        this(
+            httpClient,
+            uploadRequestPaths,
+            multipartUploadPartRetryAttempts,
+            multipartUploadPartRetryInitialInterval,
+            multipartUploadTimeoutInMinutes,
+            UploadValidator.DEFAULT_MULTIPART_UPLOAD_PART_CONCURRENCY
+        );
+    }
+
+    /**
+     * Constructor for the file uploader.
+     *
+     * @param httpClient The {@link BlackDuckHttpClient} used to authenticate with and make requests to Black Duck.
+     * @param uploadRequestPaths The {@link UploadRequestPaths} endpoints for performing upload and multipart uploads.
+     * @param multipartUploadPartRetryAttempts The number of retry attempts for uploading a file part.
+     * @param multipartUploadPartRetryInitialInterval The initial interval to wait for the first retry of a file part upload.
+     * @param multipartUploadTimeoutInMinutes The time to wait for all file parts to be uploaded.
+     * @param multipartUploadPartConcurrency The number of file parts to upload concurrently. A value of 1 uploads the parts one at a time in order.
+     * @throws IllegalArgumentException if the part concurrency is less than 1.
+     */
+    public FileUploader(
+        BlackDuckHttpClient httpClient,
+        UploadRequestPaths uploadRequestPaths,
+        int multipartUploadPartRetryAttempts,
+        long multipartUploadPartRetryInitialInterval,
+        int multipartUploadTimeoutInMinutes,
+        int multipartUploadPartConcurrency
+    ) {
+        this(
+            httpClient,
+            uploadRequestPaths,
+            multipartUploadPartRetryAttempts,
+            multipartUploadPartRetryInitialInterval,
+            multipartUploadTimeoutInMinutes,
+            multipartUploadPartConcurrency,
+            UploadOptions.defaultOptions()
+        );
+    }
+
+    /**
+     * Constructor for the file uploader.
+     *
+     * @param httpClient The {@link BlackDuckHttpClient} used to authenticate with and make requests to Black Duck.
+     * @param uploadRequestPaths The {@link UploadRequestPaths} endpoints for performing upload and multipart uploads.
+     * @param multipartUploadPartRetryAttempts The number of retry attempts for uploading a file part.
+     * @param multipartUploadPartRetryInitialInterval The initial interval to wait for the first retry of a file part upload.
+     * @param multipartUploadTimeoutInMinutes The time to wait for all file parts to be uploaded.
+     * @param multipartUploadPartConcurrency The number of file parts to upload concurrently. The highest number with an adaptive {@link PartConcurrencyPolicy}. A value of 1 uploads the parts one at a time in order.
+     * @param uploadOptions The {@link UploadOptions} with the optional settings of the uploader.
+     * @throws IllegalArgumentException if the part concurrency is less than 1.
+     */
+    public FileUploader(
+        BlackDuckHttpClient httpClient,
+        UploadRequestPaths uploadRequestPaths,
+        int multipartUploadPartRetryAttempts,
+        long multipartUploadPartRetryInitialInterval,
+        int multipartUploadTimeoutInMinutes,
+        int multipartUploadPartConcurrency,
+        UploadOptions uploadOptions
+    ) {
+        if (multipartUploadPartConcurrency < 1) {
+            throw new IllegalArgumentException("The part concurrency must be at least 1.");
+        }
         this.httpClient = httpClient;
         this.uploadRequestPaths = uploadRequestPaths;
         this.multipartUploadPartRetryAttempts = multipartUploadPartRetryAttempts;
         this.multipartUploadPartRetryInitialInterval = multipartUploadPartRetryInitialInterval;
         this.multipartUploadTimeoutInMinutes = multipartUploadTimeoutInMinutes;
+        this.multipartUploadPartConcurrency = multipartUploadPartConcurrency;
+        this.bufferPool = uploadOptions.getBufferPool();
+        this.partUploadListener = uploadOptions.getPartUploadListener();
+        this.uploadJournal = uploadOptions.getUploadJournal().orElse(null);
+        this.failurePolicy = uploadOptions.getFailurePolicy();
+        this.partFailureBudget = uploadOptions.getPartFailureBudget();
+        this.retryPolicy = uploadOptions.getRetryPolicy();
+        this.retryScheduler = uploadOptions.getRetryScheduler();
+        this.hedgingPolicy = uploadOptions.getHedgingPolicy();
+        this.stallPolicy = uploadOptions.getStallPolicy();
+        this.concurrencyLimiter = new PartConcurrencyLimiter(uploadOptions.getConcurrencyPolicy(), this.multipartUploadPartConcurrency);
+        this.bandwidthLimiter = uploadOptions.getBandwidthLimiter();
+        this.connectionEvictor = uploadOptions.getConnectionEvictor();
         gson = httpClient.getGson();
     }
 
+    /**
+     * Retrieve the number of failed part upload attempts of each {@link PartUploadFailureClass}, counted over all uploads performed by this uploader.
+     *
+     * @return {@link Map} of every {@link PartUploadFailureClass} to its count.
+     */
+    public Map<PartUploadFailureClass, Long> getPartFailureCounts() {
+        return partRetryClassifier.getFailureCounts();
+    }
+
+    /**
+     * Retrieve the number of file parts currently allowed to upload concurrently. The limit only changes with an adaptive {@link PartConcurrencyPolicy}.
+     *
+     * @return part concurrency limit.
+     */
+    public int getPartConcurrencyLimit() {
+        return concurrencyLimiter.getLimit();
+    }
+
     /**
      * Performs a standard file upload to Black Duck.
      *
@@ -110,7 +262,7 @@ public class FileUploader {
         Request.Builder builder = new Request.Builder()
             .url(requestUrl)
             .method(HttpMethod.POST)
-            .bodyContent(bodyContent);
+            .bodyContent(throttle(bodyContent));
 
         Request request = builder.build();
         MutableResponseStatus mutableResponseStatus = new MutableResponseStatus(-1, "unknown status");
@@ -125,6 +277,14 @@ public class FileUploader {
         }
     }
 
+    // Only an entity body can be throttled, the other bodies create their entity inside the HTTP client.
+    private BodyContent throttle(BodyContent bodyContent) {
+        if (bodyContent instanceof EntityBodyContent) {
+            return new EntityBodyContent(new ThrottledEntity(((EntityBodyContent) bodyContent).getEntity(), bandwidthLimiter));
+        }
+        return bodyContent;
+    }
+
     /**
      * Performs a multipart file upload to Black Duck.
      *
@@ -147,15 +307,182 @@ public class FileUploader {
     ) {
         MutableResponseStatus mutableResponseStatus = new MutableResponseStatus(-1, "unknown status");
         try {
-            String uploadUrl = startMultipartUpload(mutableResponseStatus, multipartUploadStartRequestHeaders, multipartUploadStartContentType, multipartUploadStartRequest);
-            Map<Integer, String> uploadedParts = multipartUploadParts(mutableResponseStatus, multipartUploadFileMetadata, uploadUrl);
-            verifyAllPartsUploaded(multipartUploadFileMetadata, uploadedParts);
-            return finishMultipartUpload(mutableResponseStatus, uploadUrl, uploadStatusFunction);
+            String uploadUrl = startMultipartUpload(
+                mutableResponseStatus,
+                multipartUploadFileMetadata,
+                multipartUploadStartRequestHeaders,
+                multipartUploadStartContentType,
+                multipartUploadStartRequest
+            );
+            PartCompletionMap tagOrderMap = new PartCompletionMap(multipartUploadFileMetadata.getPartCount());
+            try (UploadJournal.Writer journalWriter = beginJournal(multipartUploadFileMetadata, uploadUrl)) {
+                return uploadPartsAndFinish(mutableResponseStatus, multipartUploadFileMetadata, uploadUrl, tagOrderMap, journalWriter, uploadStatusFunction, new AtomicBoolean(false));
+            }
         } catch (IntegrationException ex) {
             return uploadStatusErrorFunction.apply(mutableResponseStatus, ex);
         }
     }
 
+    /**
+     * Retrieve the multipart upload of a file that was interrupted, e.g. by the end of an earlier process, and can be continued with
+     * {@link #resumeMultipartUpload(UploadJournal.ResumableUpload, ThrowingFunction, BiFunction)}.
+     *
+     * @param uploadFilePath The path of the file to upload.
+     * @return {@link UploadJournal.ResumableUpload} of the file, or empty if no {@link UploadJournal} is configured or the file has no upload to continue.
+     */
+    public Optional<UploadJournal.ResumableUpload> findResumableUpload(Path uploadFilePath) {
+        return findResumableUpload(uploadFilePath, PartDigestAlgorithms.MD5);
+    }
+
+    /**
+     * Retrieve the multipart upload of a file that was interrupted and whose part checksums were computed with a given algorithm.
+     *
+     * @param uploadFilePath      The path of the file to upload.
+     * @param partDigestAlgorithm The {@link PartDigestAlgorithm} the parts of the upload must be checksummed with.
+     * @return {@link UploadJournal.ResumableUpload} of the file, or empty if no {@link UploadJournal} is configured or the file has no upload to continue.
+     */
+    public Optional<UploadJournal.ResumableUpload> findResumableUpload(Path uploadFilePath, PartDigestAlgorithm partDigestAlgorithm) {
+        if (uploadJournal == null) {
+            return Optional.empty();
+        }
+        return uploadJournal.find(uploadFilePath, partDigestAlgorithm);
+    }
+
+    /**
+     * Continues a multipart upload recorded in the {@link UploadJournal}, uploading only the parts Black Duck has not acknowledged yet.
+     *
+     * @param resumableUpload The {@link UploadJournal.ResumableUpload} to continue.
+     * @param uploadStatusFunction {@link ThrowingFunction} that generates the {@link UploadStatus} from the response.
+     * @param uploadStatusErrorFunction {@link BiFunction} that generates the error {@link UploadStatus} from the response and exception thrown.
+     * @return {@link UploadStatus} status of the upload.
+     * @param <T> status of the upload for the file type.
+     */
+    public <T extends UploadStatus> T resumeMultipartUpload(
+        UploadJournal.ResumableUpload resumableUpload,
+        ThrowingFunction<Response, T, IntegrationException> uploadStatusFunction,
+        BiFunction<MutableResponseStatus, IntegrationException, T> uploadStatusErrorFunction
+    ) {
+        MutableResponseStatus mutableResponseStatus = new MutableResponseStatus(-1, "unknown status");
+        try {
+            return resumeUploadParts(mutableResponseStatus, resumableUpload, uploadStatusFunction);
+        } catch (IntegrationException ex) {
+            return uploadStatusErrorFunction.apply(mutableResponseStatus, ex);
+        }
+    }
+
+    /**
+     * Continues a multipart upload recorded in the {@link UploadJournal}, uploading only the parts Black Duck has not acknowledged yet.
+     * An upload that Black Duck no longer knows, e.g. because it expired, is started again with the start request.
+     *
+     * @param resumableUpload The {@link UploadJournal.ResumableUpload} to continue.
+     * @param multipartUploadStartRequestHeaders Headers of the start request, used if the upload is started again.
+     * @param multipartUploadStartContentType Content type of the start request, used if the upload is started again.
+     * @param multipartUploadStartRequest Body of the start request, used if the upload is started again.
+     * @param uploadStatusFunction {@link ThrowingFunction} that generates the {@link UploadStatus} from the response.
+     * @param uploadStatusErrorFunction {@link BiFunction} that generates the error {@link UploadStatus} from the response and exception thrown.
+     * @return {@link UploadStatus} status of the upload.
+     * @param <T> status of the upload for the file type.
+     */
+    public <T extends UploadStatus> T resumeMultipartUpload(
+        UploadJournal.ResumableUpload resumableUpload,
+        Map<String, String> multipartUploadStartRequestHeaders,
+        String multipartUploadStartContentType,
+        MultipartUploadStartRequest multipartUploadStartRequest,
+        ThrowingFunction<Response, T, IntegrationException> uploadStatusFunction,
+        BiFunction<MutableResponseStatus, IntegrationException, T> uploadStatusErrorFunction
+    ) {
+        MutableResponseStatus mutableResponseStatus = new MutableResponseStatus(-1, "unknown status");
+        try {
+            return resumeUploadParts(mutableResponseStatus, resumableUpload, uploadStatusFunction);
+        } catch (PartUploadException ex) {
+            if (!isUploadGone(ex)) {
+                return uploadStatusErrorFunction.apply(mutableResponseStatus, ex);
+            }
+            // The failed parts cancelled the upload and deleted its journal.
+            logger.warn("The upload {} no longer exists, uploading the file again.", resumableUpload.getUploadUrl());
+            return multipartUpload(
+                resumableUpload.getFileMetadata(),
+                multipartUploadStartRequestHeaders,
+                multipartUploadStartContentType,
+                multipartUploadStartRequest,
+                uploadStatusFunction,
+                uploadStatusErrorFunction
+            );
+        } catch (IntegrationException ex) {
+            return uploadStatusErrorFunction.apply(mutableResponseStatus, ex);
+        }
+    }
+
+    private boolean isUploadGone(PartUploadException partUploadException) {
+        return partUploadException.getPartFailures().stream()
+            .anyMatch(failure -> failure.getStatusCode() == HttpStatus.SC_NOT_FOUND || failure.getStatusCode() == HttpStatus.SC_GONE);
+    }
+
+    private <T extends UploadStatus> T resumeUploadParts(
+        MutableResponseStatus mutableResponseStatus,
+        UploadJournal.ResumableUpload resumableUpload,
+        ThrowingFunction<Response, T, IntegrationException> uploadStatusFunction
+    ) throws IntegrationException {
+        MultipartUploadFileMetadata multipartUploadFileMetadata = resumableUpload.getFileMetadata();
+        int partCount = multipartUploadFileMetadata.getPartCount();
+        logger.info("Resuming multipart file upload for {} with {} of {} parts already uploaded.", multipartUploadFileMetadata.getUploadId(), resumableUpload.getCompletedPartCount(), partCount);
+        PartCompletionMap tagOrderMap = new PartCompletionMap(partCount);
+        MultipartUploadPartTable partTable = multipartUploadFileMetadata.getPartTable()
+            .orElseThrow(() -> new IllegalArgumentException("Only uploads with a part table can be resumed."));
+        for (int index = 0; index < partCount; index++) {
+            if (resumableUpload.isPartCompleted(index)) {
+                tagOrderMap.markCompleted(index, partTable.getTagId(index));
+            }
+        }
+        try (UploadJournal.Writer journalWriter = resumableUpload.openWriter()) {
+            return uploadPartsAndFinish(
+                mutableResponseStatus,
+                multipartUploadFileMetadata,
+                resumableUpload.getUploadUrl(),
+                tagOrderMap,
+                journalWriter,
+                uploadStatusFunction,
+                new AtomicBoolean(false)
+            );
+        }
+    }
+
+    // The journal is no longer needed once the finish request was sent: a failed finish request cancels the upload.
+    private <T extends UploadStatus> T uploadPartsAndFinish(
+        MutableResponseStatus mutableResponseStatus,
+        MultipartUploadFileMetadata multipartUploadFileMetadata,
+        String uploadUrl,
+        PartCompletionMap tagOrderMap,
+        UploadJournal.Writer journalWriter,
+        ThrowingFunction<Response, T, IntegrationException> uploadStatusFunction,
+        AtomicBoolean canceled
+    ) throws IntegrationException {
+        PartRepairQueue repairQueue = createPartRepairQueue();
+        Map<Integer, String> uploadedParts = multipartUploadParts(mutableResponseStatus, multipartUploadFileMetadata, uploadUrl, tagOrderMap, journalWriter, repairQueue, canceled);
+        verifyAllPartsUploaded(multipartUploadFileMetadata, uploadedParts, repairQueue);
+        try {
+            return finishMultipartUpload(mutableResponseStatus, uploadUrl, uploadStatusFunction, canceled);
+        } finally {
+            if (journalWriter != null) {
+                journalWriter.delete();
+            }
+        }
+    }
+
+    // A journal that cannot be written does not fail the upload, which then cannot be resumed.
+    private UploadJournal.Writer beginJournal(MultipartUploadFileMetadata multipartUploadFileMetadata, String uploadUrl) {
+        if (uploadJournal == null) {
+            return null;
+        }
+        try {
+            return uploadJournal.begin(multipartUploadFileMetadata, uploadUrl).orElse(null);
+        } catch (IOException ex) {
+            logger.warn("Could not start the upload journal, the upload cannot be resumed if it is interrupted: {}", ex.getMessage());
+            logger.debug("Cause: ", ex);
+            return null;
+        }
+    }
+
     /**
      * Initiates the start of a multipart upload.
      *
@@ -171,6 +498,66 @@ public class FileUploader {
         Map<String, String> startRequestHeaders,
         String multipartUploadStartContentType,
         MultipartUploadStartRequest multipartUploadStartRequest
+    ) throws IntegrationException {
+        return startMultipartUpload(mutableResponseStatus, startRequestHeaders, multipartUploadStartContentType, gson.toJson(multipartUploadStartRequest));
+    }
+
+    /**
+     * Initiates the start of a multipart upload, requesting the checksum type of the file metadata.
+     * When the file has a {@link FileChecksumType#COMPOSITE} checksum, the start request carries the composite checksum with its type and part size.
+     * If the server rejects the request, the MD5 checksum of the file is computed and the upload is started with it instead.
+     *
+     * @param mutableResponseStatus A {@link MutableResponseStatus} with the status of the multipart upload.
+     * @param multipartUploadFileMetadata The {@link MultipartUploadFileMetadata} for the file to upload.
+     * @param startRequestHeaders A {@link Map} of headers for the multipart upload start request.
+     * @param multipartUploadStartContentType The Content-Type for the start request body.
+     * @param multipartUploadStartRequest The data object for multipart upload start request.
+     * @return Value of the upload url from Black Duck to be used for part uploads and assembly.
+     * @throws IntegrationException if an error occurred while making the request to Black Duck.
+     */
+    protected String startMultipartUpload(
+        MutableResponseStatus mutableResponseStatus,
+        MultipartUploadFileMetadata multipartUploadFileMetadata,
+        Map<String, String> startRequestHeaders,
+        String multipartUploadStartContentType,
+        MultipartUploadStartRequest multipartUploadStartRequest
+    ) throws IntegrationException {
+        if (multipartUploadFileMetadata.getChecksumType() != FileChecksumType.COMPOSITE) {
+            return startMultipartUpload(mutableResponseStatus, startRequestHeaders, multipartUploadStartContentType, multipartUploadStartRequest);
+        }
+        JsonObject startRequestJson = gson.toJsonTree(multipartUploadStartRequest).getAsJsonObject();
+        startRequestJson.addProperty(START_REQUEST_CHECKSUM_FIELD, multipartUploadFileMetadata.getChecksum());
+        startRequestJson.addProperty(START_REQUEST_CHECKSUM_TYPE_FIELD, FileChecksumType.COMPOSITE.getStartRequestValue());
+        startRequestJson.addProperty(START_REQUEST_PART_SIZE_FIELD, multipartUploadFileMetadata.getChunkSize());
+        try {
+            return startMultipartUpload(mutableResponseStatus, startRequestHeaders, multipartUploadStartContentType, gson.toJson(startRequestJson));
+        } catch (IntegrationRestException ex) {
+            if (!COMPOSITE_CHECKSUM_REJECTED_STATUS_CODES.contains(ex.getHttpStatusCode())) {
+                throw ex;
+            }
+            logger.info("The composite checksum was rejected with status {}, starting the upload of {} with the MD5 checksum.", ex.getHttpStatusCode(), multipartUploadFileMetadata.getUploadId());
+            startRequestJson.remove(START_REQUEST_CHECKSUM_TYPE_FIELD);
+            startRequestJson.remove(START_REQUEST_PART_SIZE_FIELD);
+            startRequestJson.addProperty(START_REQUEST_CHECKSUM_FIELD, computeMD5Checksum(multipartUploadFileMetadata));
+            return startMultipartUpload(mutableResponseStatus, startRequestHeaders, multipartUploadStartContentType, gson.toJson(startRequestJson));
+        }
+    }
+
+    private String computeMD5Checksum(MultipartUploadFileMetadata multipartUploadFileMetadata) throws IntegrationException {
+        MultipartUploadPartTable partTable = multipartUploadFileMetadata.getPartTable()
+            .orElseThrow(() -> new IntegrationException("Could not compute the MD5 checksum of a file without a part table."));
+        try (InputStream inputStream = Files.newInputStream(partTable.getFilePath())) {
+            return Base64.getEncoder().encodeToString(DigestUtils.md5(inputStream));
+        } catch (IOException ex) {
+            throw new IntegrationException("Could not compute the MD5 checksum of the file: " + ex.getMessage(), ex);
+        }
+    }
+
+    private String startMultipartUpload(
+        MutableResponseStatus mutableResponseStatus,
+        Map<String, String> startRequestHeaders,
+        String multipartUploadStartContentType,
+        String multipartUploadStartRequestJson
     ) throws IntegrationException {
         String requestPath = uploadRequestPaths.getMultipartUploadStartRequestPath();
         HttpUrl requestUrl = httpClient.getBlackDuckUrl().appendRelativeUrl(requestPath);
@@ -180,7 +567,7 @@ public class FileUploader {
             .method(HttpMethod.POST)
             .headers(startRequestHeaders)
             .bodyContent(new StringBodyContent(
-                gson.toJson(multipartUploadStartRequest),
+                multipartUploadStartRequestJson,
                 ContentType.create(multipartUploadStartContentType)
             ));
 
@@ -212,135 +599,256 @@ public class FileUploader {
         MutableResponseStatus mutableResponseStatus,
         MultipartUploadFileMetadata multipartUploadFileMetadata,
         String uploadUrl
+    ) throws IntegrationException {
+        // Tracked per upload rather than on the metadata, because the same metadata may be uploaded more than once.
+        PartCompletionMap tagOrderMap = new PartCompletionMap(multipartUploadFileMetadata.getPartCount());
+        return multipartUploadParts(mutableResponseStatus, multipartUploadFileMetadata, uploadUrl, tagOrderMap, null, createPartRepairQueue(), isCanceled);
+    }
+
+    private PartRepairQueue createPartRepairQueue() {
+        return new PartRepairQueue(failurePolicy == MultipartUploadFailurePolicy.REPAIR ? partFailureBudget : 0);
+    }
+
+    // Uploads the parts not already in the map, then uploads the parts that failed again in repair passes until none is left or the upload is cancelled.
+    // Each uploaded part is recorded in the journal, if the upload has one.
+    private Map<Integer, String> multipartUploadParts(
+        MutableResponseStatus mutableResponseStatus,
+        MultipartUploadFileMetadata multipartUploadFileMetadata,
+        String uploadUrl,
+        PartCompletionMap tagOrderMap,
+        UploadJournal.Writer journalWriter,
+        PartRepairQueue repairQueue,
+        AtomicBoolean canceled
     ) throws IntegrationException {
         logger.info("Starting multipart file upload for {}.", multipartUploadFileMetadata.getUploadId());
-        Map<Integer, String> tagOrderMap = new ConcurrentHashMap<>(multipartUploadFileMetadata.getFileChunks().size());
+        // One descriptor per file serves every part, retry and repair pass of this upload.
+        PartFileChannels partFileChannels = new PartFileChannels();
+        PartHedger partHedger = new PartHedger(hedgingPolicy, multipartUploadFileMetadata.getFileSize());
+        // Every wait and part request of the upload, repair passes included, is bounded by the time left until this deadline,
+        // so the upload never takes longer than its timeout.
+        long uploadDeadlineNanos = System.nanoTime() + TimeUnit.MINUTES.toNanos(multipartUploadTimeoutInMinutes);
+        PartStallWatchdog stallWatchdog = new PartStallWatchdog(retryScheduler, stallPolicy, uploadDeadlineNanos, multipartUploadPartConcurrency);
         try {
-            // For GCS at the moment it must execute each upload request in order.  There are back end changes that need to be implemented to support GCS with multithreaded support.
-            ExecutorService executorService = Executors.newSingleThreadExecutor();
-
-            //TODO: By default, we want to use a multithreaded pool. We may want to have this configurable and enable this for the purposes of testing.
-            // See HUB-42207 for more info. FileUploaderTest may also need to be updated for multithreaded cases.
-            // ExecutorService executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), Executors.defaultThreadFactory());
-            logger.debug("Submitting {} upload requests into executor service.", multipartUploadFileMetadata.getFileChunks().size());
-            for (MultipartUploadFilePart part : multipartUploadFileMetadata.getFileChunks()) {
+            int pass = 0;
+            MultipartUploadFilePartSource filePartSource = multipartUploadFileMetadata.getFilePartSource();
+            uploadPartsPass(mutableResponseStatus, multipartUploadFileMetadata, uploadUrl, tagOrderMap, journalWriter, repairQueue, partFileChannels, partHedger, stallWatchdog, filePartSource, pass, uploadDeadlineNanos, canceled);
+            while (!canceled.get() && !repairQueue.isEmpty()) {
+                pass++;
+                logger.info("Repairing {} failed parts in pass {}.", repairQueue.size(), pass);
+                // The parts of the previous pass are finished, so only idle connections are closed, and the repaired parts never fail again on a broken one.
+                connectionEvictor.run();
+                uploadPartsPass(mutableResponseStatus, multipartUploadFileMetadata, uploadUrl, tagOrderMap, journalWriter, repairQueue, partFileChannels, partHedger, stallWatchdog, repairQueue.drain(), pass, uploadDeadlineNanos, canceled);
+            }
+            if (partHedger.getHedgeCount() > 0) {
+                logger.info("Hedged {} slow parts, {} hedged requests finished first.", partHedger.getHedgeCount(), partHedger.getHedgeWinCount());
+            }
+            if (stallWatchdog.getStalledCount() + stallWatchdog.getExpiredCount() > 0) {
+                logger.info("Aborted {} stalled part requests and {} part requests past their deadline.", stallWatchdog.getStalledCount(), stallWatchdog.getExpiredCount());
+            }
+            if (concurrencyLimiter.isAdaptive()) {
+                logger.info("Uploading up to {} parts concurrently after the upload of {}.", concurrencyLimiter.getLimit(), multipartUploadFileMetadata.getUploadId());
+            }
+            return tagOrderMap;
+        } finally {
+            stallWatchdog.close();
+            closePartFileChannels(partFileChannels);
+        }
+    }
+
+    // Uploads the parts supplied by the source. A part that fails is queued for the next repair pass, or cancels the upload once the failure budget is exhausted.
+    private void uploadPartsPass(
+        MutableResponseStatus mutableResponseStatus,
+        MultipartUploadFileMetadata multipartUploadFileMetadata,
+        String uploadUrl,
+        PartCompletionMap tagOrderMap,
+        UploadJournal.Writer journalWriter,
+        PartRepairQueue repairQueue,
+        PartFileChannels partFileChannels,
+        PartHedger partHedger,
+        PartStallWatchdog stallWatchdog,
+        MultipartUploadFilePartSource filePartSource,
+        int pass,
+        long uploadDeadlineNanos,
+        AtomicBoolean canceled
+    ) throws IntegrationException {
+        int partCount = multipartUploadFileMetadata.getPartCount();
+        ExecutorService executorService = createPartExecutorService();
+        // Limits the parts waiting for an upload thread, so a lazily supplied part source is only drained as fast as the parts are uploaded.
+        Semaphore submissionPermits = new Semaphore(multipartUploadPartConcurrency * 2);
+        // Tracks the parts of the pass until they are uploaded or failed, including the parts waiting for a retry.
+        Phaser pendingParts = new Phaser(1);
+        try {
+            logger.debug("Submitting {} upload requests into executor service.", partCount - tagOrderMap.size());
+            while (!canceled.get()) {
+                if (!submissionPermits.tryAcquire(remainingNanos(uploadDeadlineNanos), TimeUnit.NANOSECONDS)) {
+                    throw timeoutUpload(executorService, tagOrderMap.size(), partCount, uploadUrl, journalWriter, canceled);
+                }
+                Optional<MultipartUploadFilePart> nextPart = nextFilePart(filePartSource, executorService, uploadUrl, journalWriter, uploadDeadlineNanos, canceled);
+                if (!nextPart.isPresent()) {
+                    break;
+                }
+                MultipartUploadFilePart part = nextPart.get();
+                if (tagOrderMap.containsKey(part.getIndex())) {
+                    // Uploaded before the upload was resumed.
+                    submissionPermits.release();
+                    continue;
+                }
+                pendingParts.register();
+                PartUpload partUpload = new PartUpload(
+                    mutableResponseStatus,
+                    tagOrderMap,
+                    journalWriter,
+                    partFileChannels,
+                    partHedger,
+                    stallWatchdog,
+                    multipartUploadFileMetadata,
+                    uploadUrl,
+                    part,
+                    pass,
+                    uploadDeadlineNanos,
+                    executorService,
+                    canceled,
+                    partFailure -> {
+                        partFailure.ifPresent(failure -> repairOrAbortUpload(uploadUrl, journalWriter, repairQueue, part, failure, canceled));
+                        pendingParts.arriveAndDeregister();
+                    }
+                );
+                // The permit is returned after the first attempt, so a part waiting for a retry does not hold back the next parts.
                 executorService.submit(() -> {
-                    boolean partUploaded = false;
                     try {
-                        partUploaded = retryableExecuteUploadPart(mutableResponseStatus, tagOrderMap, multipartUploadFileMetadata, uploadUrl, part);
-                    } catch (InterruptedException e) {
-                        logger.error("Thread was interrupted during upload of part: ", e);
-                        Thread.currentThread().interrupt();
-                    } catch (IntegrationException | IOException e) {
-                        logger.error("Error uploading part: ", e);
-                    }
-                    if (!partUploaded) {
-                        cancelUpload(uploadUrl);
+                        partUpload.run();
+                    } finally {
+                        submissionPermits.release();
                     }
                 });
             }
-            logger.debug("All {} upload requests submitted into executor service.", multipartUploadFileMetadata.getFileChunks().size());
+            logger.debug("All upload requests of pass {} submitted into executor service.", pass);
+            logger.debug("Awaiting for all parts to complete or timeout in {} seconds occurs.", TimeUnit.NANOSECONDS.toSeconds(remainingNanos(uploadDeadlineNanos)));
+            pendingParts.awaitAdvanceInterruptibly(pendingParts.arriveAndDeregister(), remainingNanos(uploadDeadlineNanos), TimeUnit.NANOSECONDS);
             executorService.shutdown();
-            logger.debug("Awaiting for executor service to complete or timeout of {} minutes occurs.", multipartUploadTimeoutInMinutes);
-            boolean success = executorService.awaitTermination(multipartUploadTimeoutInMinutes, TimeUnit.MINUTES);
-            logger.debug("Executor service terminated: {}", success);
-            // if the timeout occurred cancel the upload.
-            if(!success) {
-                logger.error("Upload timed out. Cancelling upload.");
-                logger.debug(partsUploadedString(tagOrderMap.size(), multipartUploadFileMetadata.getFileChunks().size()));
-                cancelUpload(uploadUrl);
-                throw new IntegrationTimeoutException("Executor service timed out.");
-            }
-            if (isCanceled) {
+            if (canceled.get()) {
                 logger.info("Upload was cancelled. Check log for errors.");
-            } else if (success) {
-                logger.info("All part requests submitted successfully.");
+            } else if (!repairQueue.isEmpty()) {
+                logger.info("{} part requests failed and will be repaired.", repairQueue.size());
             } else {
-                logger.info("There were errors submitting part upload requests.");
+                logger.info("All part requests submitted successfully.");
             }
-            return tagOrderMap;
+        } catch (TimeoutException ex) {
+            // if the timeout occurred cancel the upload.
+            throw timeoutUpload(executorService, tagOrderMap.size(), partCount, uploadUrl, journalWriter, canceled);
         } catch (InterruptedException ex) {
+            // Stop the part uploads still queued or in flight before handing the interrupt back to the caller.
+            executorService.shutdownNow();
             Thread.currentThread().interrupt();
-            // TODO: We likely need to improve handling interrupted threads, including cleaning up the thread pool in the event of an interrupt.
-            //  See HUB-42207 for implementing this work.
             throw new IntegrationException("An error occurred while uploading parts: " + ex.getCause(), ex);
         }
     }
 
-    // Performs the upload of a part and retries based on status code. Attempts and wait interval between each retry are specified by properties.
-    private boolean retryableExecuteUploadPart(
-        MutableResponseStatus mutableResponseStatus,
-        Map<Integer, String> tagOrderMap,
-        MultipartUploadFileMetadata fileMetaData,
+    // A part that fails because the upload was cancelled is neither charged to the failure budget nor repaired.
+    private void repairOrAbortUpload(
         String uploadUrl,
-        MultipartUploadFilePart part
-    ) throws IOException, InterruptedException, IntegrationException {
-        int retryCount = 0; // Initial upload is 0
-        long interval = multipartUploadPartRetryInitialInterval;
-        HttpUrl requestUrl = new HttpUrl(uploadUrl);
-        Request.Builder requestBuilder = new Request.Builder()
-            .url(requestUrl)
-            .method(HttpMethod.PUT)
-            .headers(createUploadHeaders(fileMetaData, part));
+        UploadJournal.Writer journalWriter,
+        PartRepairQueue repairQueue,
+        MultipartUploadFilePart part,
+        PartUploadFailure failure,
+        AtomicBoolean canceled
+    ) {
+        if (canceled.get()) {
+            return;
+        }
+        if (repairQueue.add(part, failure)) {
+            logger.warn("Upload of part {} failed, it will be uploaded again in a repair pass.", part.getIndex());
+        } else {
+            logger.error("Upload of part {} failed and the part failure budget is exhausted.", part.getIndex());
+            // A failure without a response is a transport failure, a timeout or an interrupt, which a resume can recover from.
+            abortUpload(uploadUrl, journalWriter, failure.getStatusCode() < 0, canceled);
+        }
+    }
 
-        while (retryCount <= multipartUploadPartRetryAttempts && !isCanceled) {
-            if (retryCount > 0) {
-                logger.info("Retry attempt {} for uploading of part {}", retryCount, part);
-                if (multipartUploadPartRetryInitialInterval > 0) {
-                    Thread.sleep(interval);
-                }
-            }
+    // A server under load answers with a backpressure status code, or keeps the part request waiting until it times out.
+    private boolean isBackpressure(PartUploadFailureClass failureClass, int statusCode) {
+        return failureClass == PartUploadFailureClass.TIMEOUT || UploadValidator.MULTIPART_UPLOAD_PART_BACKPRESSURE_STATUS_CODES.contains(statusCode);
+    }
 
-            Optional<UploadPartResponse> optionalPartResponse;
-            try (RandomAccessFile uploadFile = new RandomAccessFile(part.getFilePath().toFile(), "r");
-                FileByteRangeInputStream fileByteRangeInputStream = new FileByteRangeInputStream(uploadFile, part.getStartByteRange(), part.getChunkSize())) {
-                EntityBodyContent content = createUploadBodyContent(part, fileByteRangeInputStream);
-                requestBuilder.bodyContent(content);
-                optionalPartResponse = executeUploadPart(requestBuilder.build(), part);
-            }
-            if (optionalPartResponse.isPresent()) {
-                UploadPartResponse uploadPartResponse = optionalPartResponse.get();
-                mutableResponseStatus.setStatusCode(uploadPartResponse.getHttpStatusCode());
-                mutableResponseStatus.setStatusMessage(uploadPartResponse.getHttpStatusMessage());
-
-                Optional<Response> optionalResponse = uploadPartResponse.getResponse();
-
-                if (optionalResponse.isPresent()) {
-                    try (Response response = optionalResponse.get()) {
-                        if (response.isStatusCodeSuccess()) {
-                            tagOrderMap.put(part.getIndex(), part.getTagId().toString());
-                            return true;
-                        } else if (UploadValidator.MULTIPART_UPLOAD_PART_RETRY_STATUS_CODES.contains(response.getStatusCode())) {
-                            logger.debug("Received {} response code during uploading of part: {}", response.getStatusCode(), response.getStatusMessage());
-                            if (retryCount > 0) {
-                                // Double the retry interval
-                                interval = 2 * interval;
-                            }
-                        } else {
-                            logger.error("Aborting upload part due to {} status code {}", response.getStatusCode(), response.getStatusMessage());
-                            return false;
-                        }
-                    }
-                }
-            } else {
-                logger.error("Aborting upload part due to no or non-valid response");
-                return false;
-            }
-            retryCount += 1;
+    private PartUploadFailure createPartUploadFailure(MultipartUploadFilePart part, int pass, int attempts, int statusCode, String statusMessage) {
+        return new PartUploadFailure(part.getIndex(), part.getStartByteRange(), part.getChunkSize(), pass, attempts, statusCode, statusMessage);
+    }
+
+    private void closePartFileChannels(PartFileChannels partFileChannels) {
+        try {
+            partFileChannels.close();
+        } catch (IOException ex) {
+            logger.debug("Could not close the upload file: ", ex);
         }
+    }
 
-        String status = isCanceled ? "cancelled" : "failed";
-        logger.error("Upload of part {} {}", status, part);
-        return false;
+    // Waits for the next part from the source until the upload deadline. A part that cannot be produced fails the whole upload.
+    private Optional<MultipartUploadFilePart> nextFilePart(
+        MultipartUploadFilePartSource filePartSource,
+        ExecutorService executorService,
+        String uploadUrl,
+        UploadJournal.Writer journalWriter,
+        long uploadDeadlineNanos,
+        AtomicBoolean canceled
+    ) throws IntegrationException, InterruptedException, TimeoutException {
+        try {
+            return filePartSource.nextPart(remainingNanos(uploadDeadlineNanos), TimeUnit.NANOSECONDS);
+        } catch (IOException ex) {
+            logger.error("Could not prepare the next part for upload. Cancelling upload.");
+            abortUpload(uploadUrl, journalWriter, false, canceled);
+            executorService.shutdownNow();
+            throw new IntegrationException("An error occurred while preparing parts: " + ex.getMessage(), ex);
+        }
+    }
+
+    private long remainingNanos(long deadlineNanos) {
+        return Math.max(0L, deadlineNanos - System.nanoTime());
     }
 
-    private EntityBodyContent createUploadBodyContent(MultipartUploadFilePart part, FileByteRangeInputStream fileByteRangeInputStream) {
-        InputStreamEntity entity = new InputStreamEntity(fileByteRangeInputStream, part.getChunkSize(), ContentType.create(ContentTypes.APPLICATION_MULTIPART_UPLOAD_DATA_V1));
-        return new EntityBodyContent(entity);
+    private IntegrationTimeoutException timeoutUpload(
+        ExecutorService executorService,
+        int uploadedPartCount,
+        int partCount,
+        String uploadUrl,
+        UploadJournal.Writer journalWriter,
+        AtomicBoolean canceled
+    ) {
+        logger.error("Upload timed out. Cancelling upload.");
+        logger.debug(partsUploadedString(uploadedPartCount, partCount));
+        abortUpload(uploadUrl, journalWriter, true, canceled);
+        executorService.shutdownNow();
+        return new IntegrationTimeoutException("Executor service timed out.");
+    }
+
+    // For GCS at the moment it must execute each upload request in order. There are back end changes that need to be implemented to support GCS with multithreaded support,
+    // so a concurrency of 1 keeps the single threaded executor and its ordering guarantee.
+    private ExecutorService createPartExecutorService() {
+        if (multipartUploadPartConcurrency == 1) {
+            return Executors.newSingleThreadExecutor();
+        }
+        logger.debug("Uploading up to {} parts concurrently.", multipartUploadPartConcurrency);
+        return Executors.newFixedThreadPool(multipartUploadPartConcurrency, Executors.defaultThreadFactory());
     }
 
-    private Optional<UploadPartResponse> executeUploadPart(Request request, MultipartUploadFilePart part) {
-        if (isCanceled) {
+    private FilePartEntity createPartEntity(MultipartUploadFileMetadata fileMetaData, MultipartUploadFilePart part, FileChannel fileChannel) {
+        ContentType contentType = ContentType.create(ContentTypes.APPLICATION_MULTIPART_UPLOAD_DATA_V1);
+        if (fileMetaData.isPartDigestTrailer()) {
+            PartDigestAlgorithm partDigestAlgorithm = PartDigestAlgorithms.fromName(fileMetaData.getPartDigestName());
+            return new DigestTrailerFilePartEntity(fileChannel, bufferPool, part.getStartByteRange(), part.getChunkSize(), contentType, partDigestAlgorithm, bandwidthLimiter);
+        }
+        return new FilePartEntity(fileChannel, bufferPool, part.getStartByteRange(), part.getChunkSize(), contentType, bandwidthLimiter);
+    }
+
+    // Parts may finish concurrently, so the status code and message of a part response are recorded together.
+    private void updateResponseStatus(MutableResponseStatus mutableResponseStatus, int statusCode, String statusMessage) {
+        synchronized (mutableResponseStatus) {
+            mutableResponseStatus.setStatusCode(statusCode);
+            mutableResponseStatus.setStatusMessage(statusMessage);
+        }
+    }
+
+    private Optional<UploadPartResponse> executeUploadPart(Request request, MultipartUploadFilePart part, AtomicBoolean canceled) {
+        if (canceled.get()) {
             logger.debug("Multipart upload has been canceled, not starting upload for part {}, beginning with byte {}.", part.getIndex(), part.getStartByteRange());
             return Optional.empty();
         }
@@ -354,11 +862,11 @@ public class FileUploader {
         } catch (IntegrationRestException ex) {
             return Optional.of(UploadPartResponse.fromException(ex));
         } catch (IOException | IntegrationException ex) {
-            logger.error("Exception occurred whiling uploading part {}", part);
-            logger.error("Cause: {}", ex.getMessage());
+            logger.warn("Exception occurred whiling uploading part {}", part);
+            logger.warn("Cause: {}", ex.getMessage());
             logger.debug("Cause: ", ex);
+            return Optional.of(UploadPartResponse.fromTransportException(ex));
         }
-        return Optional.empty();
     }
 
     /**
@@ -375,11 +883,20 @@ public class FileUploader {
         MutableResponseStatus mutableResponseStatus,
         String uploadUrl,
         ThrowingFunction<Response, T, IntegrationException> uploadStatusFunction
+    ) throws IntegrationException {
+        return finishMultipartUpload(mutableResponseStatus, uploadUrl, uploadStatusFunction, isCanceled);
+    }
+
+    private <T extends UploadStatus> T finishMultipartUpload(
+        MutableResponseStatus mutableResponseStatus,
+        String uploadUrl,
+        ThrowingFunction<Response, T, IntegrationException> uploadStatusFunction,
+        AtomicBoolean canceled
     ) throws IntegrationException {
         HttpMethod httpMethod = HttpMethod.POST;
         HttpUrl requestUrl = new HttpUrl(uploadUrl + "/completed");
 
-        if (isCanceled) {
+        if (canceled.get()) {
             logger.debug("Upload has been canceled, not calling {} against {}", httpMethod, requestUrl);
             throw new IntegrationException("Upload has been canceled, not calling {} against {}");
         }
@@ -399,17 +916,33 @@ public class FileUploader {
             httpClient.throwExceptionForError(response);
             return uploadStatusFunction.apply(response);
         } catch (IOException ex) {
-            cancelUpload(uploadUrl);
+            cancelUpload(uploadUrl, canceled);
             throw new IntegrationException(CLOSE_RESPONSE_OBJECT_MESSAGE + ex.getCause(), ex);
         } catch (IntegrationException ex) {
-            cancelUpload(uploadUrl);
+            cancelUpload(uploadUrl, canceled);
             throw ex;
         }
     }
 
+    // Stops the part uploads. A journaled upload that can be resumed is kept by Black Duck. Any other upload is cancelled and its journal deleted,
+    // since Black Duck rejected its parts and would reject them again when the upload is resumed.
+    private void abortUpload(String uploadUrl, UploadJournal.Writer journalWriter, boolean resumable, AtomicBoolean canceled) {
+        if (journalWriter != null && resumable) {
+            if (canceled.compareAndSet(false, true)) {
+                logger.info("Stopping multipart file upload, it can be resumed from the upload journal.");
+            }
+            return;
+        }
+        cancelUpload(uploadUrl, canceled);
+        if (journalWriter != null) {
+            journalWriter.delete();
+        }
+    }
+
     // Notifies Black Duck of an upload cancellation and blocks further uploads of parts by the uploader.
-    private void cancelUpload(String uploadUrl) {
-        if (isCanceled) {
+    private void cancelUpload(String uploadUrl, AtomicBoolean canceled) {
+        // Only the first failing part notifies Black Duck. Marking the upload as canceled first also stops the other part threads from starting new requests.
+        if (!canceled.compareAndSet(false, true)) {
             logger.debug("Upload already cancelled.");
             return;
         }
@@ -432,12 +965,16 @@ public class FileUploader {
             logger.error("Cause: {}", ex.getMessage());
             logger.debug("Cause: ", ex);
         }
-        isCanceled = true;
     }
 
     private Map<String, String> createUploadHeaders(MultipartUploadFileMetadata fileMetaData, MultipartUploadFilePart part) {
         Map<String, String> requestHeaders = new HashMap<>();
-        requestHeaders.put(CONTENT_DIGEST_HEADER, String.format("md5=:%s:", part.getChecksum()));
+        if (fileMetaData.isPartDigestTrailer()) {
+            // The digest is computed while the part is sent, and follows the part in a trailer field.
+            requestHeaders.put(TRAILER_HEADER, CONTENT_DIGEST_HEADER);
+        } else {
+            requestHeaders.put(CONTENT_DIGEST_HEADER, String.format("%s=:%s:", fileMetaData.getPartDigestName(), part.getChecksum()));
+        }
         requestHeaders.put(
             HttpHeaders.CONTENT_RANGE,
             String.format("bytes %s-%s/%s", part.getStartByteRange(), part.getStartByteRange() + part.getChunkSize() - 1, fileMetaData.getFileSize())
@@ -447,13 +984,22 @@ public class FileUploader {
         return requestHeaders;
     }
 
-    private void verifyAllPartsUploaded(MultipartUploadFileMetadata multipartUploadFileMetaData, Map<Integer, String> uploadedParts) throws IntegrationException {
+    private void verifyAllPartsUploaded(
+        MultipartUploadFileMetadata multipartUploadFileMetaData,
+        Map<Integer, String> uploadedParts,
+        PartRepairQueue repairQueue
+    ) throws IntegrationException {
         int actual = uploadedParts.size();
-        int expected = multipartUploadFileMetaData.getFileChunks().size();
+        int expected = multipartUploadFileMetaData.getPartCount();
         if (expected != actual) {
             String message = "The number of parts uploaded does not match the number of parts created. " + partsUploadedString(actual, expected);
             logger.error(message);
-            throw new IntegrationException("The number of parts uploaded does not match the number of parts uploaded. Expected: " + expected + ", Actual: " + actual);
+            String exceptionMessage = "The number of parts uploaded does not match the number of parts uploaded. Expected: " + expected + ", Actual: " + actual;
+            List<PartUploadFailure> partFailures = repairQueue.getFailures();
+            if (!partFailures.isEmpty()) {
+                throw new PartUploadException(String.format("%s, Failed part uploads: %d", exceptionMessage, partFailures.size()), partFailures);
+            }
+            throw new IntegrationException(exceptionMessage);
         }
     }
 
@@ -464,4 +1010,338 @@ public class FileUploader {
             expected
         );
     }
+
+    // Uploads one part of a pass and retries it based on status code. Attempts and wait interval between each retry are specified by properties.
+    // A part waiting for a retry is resubmitted by the retry scheduler when the retry is due, so it does not hold an upload thread during the wait.
+    // A request slower than the hedge delay is hedged by a second request for the part, once per part. The first request to succeed wins and aborts the other.
+    private final class PartUpload implements Runnable {
+        private final MutableResponseStatus mutableResponseStatus;
+        private final PartCompletionMap tagOrderMap;
+        private final UploadJournal.Writer journalWriter;
+        private final PartFileChannels partFileChannels;
+        private final PartHedger partHedger;
+        private final PartStallWatchdog stallWatchdog;
+        private final MultipartUploadFileMetadata fileMetaData;
+        private final MultipartUploadFilePart part;
+        private final int pass;
+        private final long uploadDeadlineNanos;
+        private final ExecutorService executorService;
+        private final AtomicBoolean canceled;
+        // Receives the failure of the part, or empty if the part was uploaded.
+        private final Consumer<Optional<PartUploadFailure>> completion;
+        private final String uploadUrl;
+        private Request.Builder requestBuilder;
+        private int retryCount = 0; // Initial upload is 0
+        private long retryDelay = 0;
+        private int lastStatusCode = -1;
+        private String lastStatusMessage = "not attempted";
+        // The failure of the part once it is finished, empty if the part was uploaded.
+        private Optional<PartUploadFailure> partFailure = Optional.empty();
+        // The entities of the requests in flight, so the winner can abort the other request.
+        private final AtomicReference<FilePartEntity> attemptEntity = new AtomicReference<>();
+        private final AtomicReference<FilePartEntity> hedgeEntity = new AtomicReference<>();
+        private final AtomicBoolean hedged = new AtomicBoolean(false);
+        // Claimed by the hedged request when it starts, or by the attempt so a hedged request that has not started never runs.
+        private final AtomicBoolean hedgeClaimed = new AtomicBoolean(false);
+        // Counted down once the hedged request is finished or will never run, null while no hedged request was submitted.
+        private volatile CountDownLatch hedgeDone;
+
+        private PartUpload(
+            MutableResponseStatus mutableResponseStatus,
+            PartCompletionMap tagOrderMap,
+            UploadJournal.Writer journalWriter,
+            PartFileChannels partFileChannels,
+            PartHedger partHedger,
+            PartStallWatchdog stallWatchdog,
+            MultipartUploadFileMetadata fileMetaData,
+            String uploadUrl,
+            MultipartUploadFilePart part,
+            int pass,
+            long uploadDeadlineNanos,
+            ExecutorService executorService,
+            AtomicBoolean canceled,
+            Consumer<Optional<PartUploadFailure>> completion
+        ) {
+            this.mutableResponseStatus = mutableResponseStatus;
+            this.tagOrderMap = tagOrderMap;
+            this.journalWriter = journalWriter;
+            this.partFileChannels = partFileChannels;
+            this.partHedger = partHedger;
+            this.stallWatchdog = stallWatchdog;
+            this.fileMetaData = fileMetaData;
+            this.part = part;
+            this.pass = pass;
+            this.uploadDeadlineNanos = uploadDeadlineNanos;
+            this.executorService = executorService;
+            this.canceled = canceled;
+            this.completion = completion;
+            this.uploadUrl = uploadUrl;
+        }
+
+        @Override
+        public void run() {
+            try {
+                boolean finished = attempt();
+                // A single upload thread keeps the parts in order, so the next part waits for the retry anyway.
+                while (!finished && multipartUploadPartConcurrency == 1) {
+                    retryScheduler.await(retryDelay);
+                    finished = attempt();
+                }
+                if (!finished) {
+                    retryScheduler.schedule(this::resubmit, retryDelay);
+                    return;
+                }
+            } catch (InterruptedException e) {
+                logger.error("Thread was interrupted during upload of part: ", e);
+                Thread.currentThread().interrupt();
+                partFailure = Optional.of(createPartUploadFailure(part, pass, retryCount, -1, "Interrupted: " + e.getMessage()));
+            } catch (IntegrationException | IOException e) {
+                logger.error("Error uploading part: ", e);
+                partFailure = Optional.of(createPartUploadFailure(part, pass, retryCount, -1, e.getMessage()));
+            }
+            completion.accept(partFailure);
+        }
+
+        private void resubmit() {
+            try {
+                executorService.submit(this);
+            } catch (RejectedExecutionException e) {
+                // The pass timed out or was interrupted while the part waited for its retry.
+                logger.error("Upload of part {} cancelled", part);
+                completion.accept(failed());
+            }
+        }
+
+        // Makes one attempt to upload the part. Returns true once the part is uploaded or failed, or false if it must be retried after the retry delay.
+        private boolean attempt() throws IOException, IntegrationException, InterruptedException {
+            if (canceled.get()) {
+                return finish(failed());
+            }
+            if (tagOrderMap.containsKey(part.getIndex())) {
+                // Uploaded by the hedged request while this part waited for a retry.
+                return finish(Optional.empty());
+            }
+            if (retryCount > 0) {
+                logger.info("Retry attempt {} for uploading of part {}", retryCount, part);
+            } else {
+                requestBuilder = createRequestBuilder();
+            }
+
+            // Released once the outcome of the request is known, so the outcome tells the limiter whether the server pushed back.
+            try (PartConcurrencyLimiter.Permit permit = concurrencyLimiter.acquire()) {
+                return uploadPart(permit);
+            }
+        }
+
+        // Sends the part once, while holding a permit of the concurrency limiter. Returns as attempt() does.
+        private boolean uploadPart(PartConcurrencyLimiter.Permit permit) throws IOException, IntegrationException, InterruptedException {
+            Optional<UploadPartResponse> optionalPartResponse;
+            FilePartEntity entity = createPartEntity(fileMetaData, part, partFileChannels.get(part.getFilePath()));
+            requestBuilder.bodyContent(new EntityBodyContent(entity));
+            attemptEntity.set(entity);
+            scheduleHedge(entity);
+            long requestStartNanos = System.nanoTime();
+            PartStallWatchdog.Watch watch = stallWatchdog.watch(entity, fileMetaData.getPartCount() - tagOrderMap.size());
+            try {
+                optionalPartResponse = executeUploadPart(requestBuilder.build(), part, canceled);
+            } finally {
+                watch.close();
+                attemptEntity.set(null);
+            }
+            long requestNanos = System.nanoTime() - requestStartNanos;
+            if (!optionalPartResponse.isPresent()) {
+                if (hedgeWon()) {
+                    return finish(Optional.empty());
+                }
+                logger.error("Aborting upload part due to no or non-valid response");
+                return finish(Optional.of(createPartUploadFailure(part, pass, retryCount + 1, -1, "no or non-valid response")));
+            }
+            UploadPartResponse uploadPartResponse = optionalPartResponse.get();
+            lastStatusCode = uploadPartResponse.getHttpStatusCode();
+            lastStatusMessage = uploadPartResponse.getHttpStatusMessage();
+            Optional<Exception> transportException = uploadPartResponse.getTransportException();
+            if (!transportException.isPresent()) {
+                // Only HTTP responses are reported, so the status of the upload is never a transport error that a retry recovered from.
+                updateResponseStatus(mutableResponseStatus, lastStatusCode, lastStatusMessage);
+            }
+
+            PartUploadFailureClass failureClass;
+            Map<String, String> responseHeaders = Collections.emptyMap();
+            Optional<Response> optionalResponse = uploadPartResponse.getResponse();
+            if (optionalResponse.isPresent()) {
+                try (Response response = optionalResponse.get()) {
+                    if (response.isStatusCodeSuccess()) {
+                        if (tagOrderMap.markCompleted(part.getIndex(), part.getTagId()) && journalWriter != null) {
+                            journalWriter.partCompleted(part.getIndex());
+                        }
+                        partUploadListener.partUploaded(part.getChunkSize(), requestNanos);
+                        partHedger.partUploaded(requestNanos);
+                        permit.succeeded(part.getChunkSize());
+                        abortRequest(hedgeEntity);
+                        return finish(Optional.empty());
+                    }
+                    failureClass = partRetryClassifier.classify(response.getStatusCode());
+                    responseHeaders = response.getHeaders();
+                }
+            } else if (transportException.isPresent()) {
+                // An aborted request fails with the error of its shut down connection, so it is classified as the timeout it is.
+                failureClass = entity.isAborted() ? PartUploadFailureClass.TIMEOUT : partRetryClassifier.classify(transportException.get());
+            } else {
+                failureClass = partRetryClassifier.classify(lastStatusCode);
+            }
+            if (hedgeWon()) {
+                // The hedged request won, and aborted this one if it was still in flight.
+                return finish(Optional.empty());
+            }
+            partRetryClassifier.recordFailure(failureClass);
+            if (isBackpressure(failureClass, lastStatusCode)) {
+                permit.congested();
+            }
+
+            if (!failureClass.isRetryable()) {
+                logger.error("Aborting upload part due to {} failure {}: {}", failureClass, lastStatusCode, lastStatusMessage);
+                return finish(Optional.of(createPartUploadFailure(part, pass, retryCount + 1, lastStatusCode, lastStatusMessage)));
+            }
+            partUploadListener.partFailed(part.getChunkSize());
+            logger.debug("Received {} failure {} during uploading of part: {}", failureClass, lastStatusCode, lastStatusMessage);
+            if (retryCount < multipartUploadPartRetryAttempts) {
+                if (!retryPolicy.tryAcquireRetry()) {
+                    logger.error("Aborting upload part {}, the retry budget is exhausted", part);
+                    return finish(Optional.of(createPartUploadFailure(part, pass, retryCount + 1, lastStatusCode, lastStatusMessage)));
+                }
+                retryDelay = retryPolicy.nextDelay(multipartUploadPartRetryInitialInterval, retryDelay, responseHeaders);
+            }
+            retryCount += 1;
+            if (retryCount > multipartUploadPartRetryAttempts || canceled.get()) {
+                return finish(failed());
+            }
+            return false;
+        }
+
+        // A single upload thread would only run the hedged request once the part is finished, so parts uploaded in order are never hedged.
+        private void scheduleHedge(FilePartEntity entity) {
+            if (multipartUploadPartConcurrency == 1 || hedged.get()) {
+                return;
+            }
+            partHedger.getHedgeDelayNanos()
+                .ifPresent(hedgeDelayNanos -> retryScheduler.schedule(() -> hedge(entity), Math.max(1L, TimeUnit.NANOSECONDS.toMillis(hedgeDelayNanos))));
+        }
+
+        // Runs on the scheduler thread when the hedge delay has passed, and submits the hedged request if the attempt is still in flight.
+        private void hedge(FilePartEntity entity) {
+            if (attemptEntity.get() != entity || canceled.get() || !hedged.compareAndSet(false, true) || !partHedger.tryHedge(part.getChunkSize())) {
+                return;
+            }
+            CountDownLatch done = new CountDownLatch(1);
+            hedgeDone = done;
+            try {
+                executorService.submit(this::uploadHedge);
+            } catch (RejectedExecutionException e) {
+                // The pass finished or was abandoned since the attempt was made.
+                done.countDown();
+            }
+        }
+
+        private void uploadHedge() {
+            if (!hedgeClaimed.compareAndSet(false, true)) {
+                // The attempt failed before the hedged request started.
+                return;
+            }
+            try {
+                sendHedge();
+            } finally {
+                hedgeDone.countDown();
+            }
+        }
+
+        private void sendHedge() {
+            if (attemptEntity.get() == null || tagOrderMap.containsKey(part.getIndex())) {
+                return;
+            }
+            // A hedged request never waits for the limit, the part is still uploading.
+            Optional<PartConcurrencyLimiter.Permit> optionalPermit = concurrencyLimiter.tryAcquire();
+            if (!optionalPermit.isPresent()) {
+                return;
+            }
+            logger.info("Hedging the upload of part {}", part);
+            try (PartConcurrencyLimiter.Permit permit = optionalPermit.get()) {
+                FilePartEntity entity = createPartEntity(fileMetaData, part, partFileChannels.get(part.getFilePath()));
+                hedgeEntity.set(entity);
+                Request request = createRequestBuilder().bodyContent(new EntityBodyContent(entity)).build();
+                long requestStartNanos = System.nanoTime();
+                Optional<Response> optionalResponse;
+                try (PartStallWatchdog.Watch watch = stallWatchdog.watch(entity, fileMetaData.getPartCount() - tagOrderMap.size())) {
+                    optionalResponse = executeUploadPart(request, part, canceled).flatMap(UploadPartResponse::getResponse);
+                }
+                long requestNanos = System.nanoTime() - requestStartNanos;
+                if (!optionalResponse.isPresent()) {
+                    return;
+                }
+                try (Response response = optionalResponse.get()) {
+                    if (UploadValidator.MULTIPART_UPLOAD_PART_BACKPRESSURE_STATUS_CODES.contains(response.getStatusCode())) {
+                        permit.congested();
+                    }
+                    if (response.isStatusCodeSuccess() && tagOrderMap.markCompleted(part.getIndex(), part.getTagId())) {
+                        if (journalWriter != null) {
+                            journalWriter.partCompleted(part.getIndex());
+                        }
+                        partUploadListener.partUploaded(part.getChunkSize(), requestNanos);
+                        partHedger.partUploaded(requestNanos);
+                        partHedger.hedgeWon();
+                        permit.succeeded(part.getChunkSize());
+                        abortRequest(attemptEntity);
+                        logger.debug("The hedged request of part {} finished first.", part.getIndex());
+                    }
+                }
+            } catch (IOException | IntegrationException e) {
+                // The part is still uploaded by its own request.
+                logger.debug("Hedged upload of part {} failed: ", part, e);
+            } finally {
+                hedgeEntity.set(null);
+            }
+        }
+
+        // Waits for the hedged request of a failed attempt, so the part is neither failed nor sent a third time while the hedged request may still succeed.
+        // Returns true if the hedged request uploaded the part, and false if it failed or was still in flight when the upload timed out.
+        private boolean hedgeWon() throws InterruptedException {
+            CountDownLatch done = hedgeDone;
+            if (done != null) {
+                if (hedgeClaimed.compareAndSet(false, true)) {
+                    // The hedged request has not started, and now never runs.
+                    done.countDown();
+                }
+                if (!done.await(remainingNanos(uploadDeadlineNanos), TimeUnit.NANOSECONDS)) {
+                    abortRequest(hedgeEntity);
+                    return false;
+                }
+            }
+            return tagOrderMap.containsKey(part.getIndex());
+        }
+
+        private void abortRequest(AtomicReference<FilePartEntity> requestEntity) {
+            FilePartEntity entity = requestEntity.get();
+            if (entity != null) {
+                entity.abort("The other request for the part finished first.");
+            }
+        }
+
+        private Request.Builder createRequestBuilder() throws IntegrationException {
+            Map<String, String> requestHeaders = createUploadHeaders(fileMetaData, part);
+            return new Request.Builder()
+                .url(new HttpUrl(uploadUrl))
+                .method(HttpMethod.PUT)
+                .headers(requestHeaders);
+        }
+
+        private boolean finish(Optional<PartUploadFailure> partFailure) {
+            this.partFailure = partFailure;
+            return true;
+        }
+
+        private Optional<PartUploadFailure> failed() {
+            String status = canceled.get() ? "cancelled" : "failed";
+            logger.error("Upload of part {} {}", status, part);
+            return Optional.of(createPartUploadFailure(part, pass, retryCount, lastStatusCode, lastStatusMessage));
+        }
+    }
 }
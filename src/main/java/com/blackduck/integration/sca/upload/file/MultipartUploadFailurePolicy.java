@@ -0,0 +1,23 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file;
+
+/**
+ * Defines how the {@link FileUploader} handles a file part that could not be uploaded after all of its retry attempts.
+ */
+public enum MultipartUploadFailurePolicy {
+    /**
+     * Cancels the whole multipart upload as soon as a part fails.
+     */
+    CANCEL,
+    /**
+     * Queues the failed parts and uploads them again in repair passes once the other parts have been uploaded.
+     * The upload is only cancelled when more parts fail than the part failure budget allows.
+     */
+    REPAIR
+}
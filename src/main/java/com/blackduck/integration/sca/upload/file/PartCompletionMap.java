@@ -0,0 +1,130 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Read-only {@link Map} of the uploaded part indexes of one multipart upload and their tag ids.
+ * Completion is tracked in a bitmap with one bit per part, and the tag ids are kept as primitive bits, so recording a part
+ * does not allocate. Parts are recorded concurrently by the upload threads through {@link #markCompleted(int, UUID)}.
+ */
+class PartCompletionMap extends AbstractMap<Integer, String> {
+    private final int partCount;
+    private final AtomicLongArray completedBits;
+    private final AtomicInteger completedCount = new AtomicInteger();
+    // The most and least significant bits of each tag id, two longs per part.
+    private final long[] tagIdBits;
+
+    PartCompletionMap(int partCount) {
+        this.partCount = partCount;
+        this.completedBits = new AtomicLongArray((partCount + Long.SIZE - 1) / Long.SIZE);
+        this.tagIdBits = new long[partCount * 2];
+    }
+
+    /**
+     * Records the upload of a part. Recording the same part again keeps the first tag id.
+     *
+     * @param index The index of the uploaded part.
+     * @param tagId The tag id of the uploaded part.
+     * @return true if the part was not recorded before.
+     */
+    boolean markCompleted(int index, UUID tagId) {
+        if (index < 0 || index >= partCount) {
+            throw new IndexOutOfBoundsException(String.format("Part index %d is outside of the %d parts.", index, partCount));
+        }
+        int wordIndex = index / Long.SIZE;
+        long bit = 1L << (index % Long.SIZE);
+        long word = completedBits.get(wordIndex);
+        while ((word & bit) == 0) {
+            // The tag id is written before the bit is published, and readers only read the tag id of parts whose bit is set.
+            tagIdBits[index * 2] = tagId.getMostSignificantBits();
+            tagIdBits[index * 2 + 1] = tagId.getLeastSignificantBits();
+            if (completedBits.compareAndSet(wordIndex, word, word | bit)) {
+                completedCount.incrementAndGet();
+                return true;
+            }
+            word = completedBits.get(wordIndex);
+        }
+        return false;
+    }
+
+    private boolean isCompleted(int index) {
+        return index >= 0 && index < partCount && (completedBits.get(index / Long.SIZE) & (1L << (index % Long.SIZE))) != 0;
+    }
+
+    private String tagIdOf(int index) {
+        return new UUID(tagIdBits[index * 2], tagIdBits[index * 2 + 1]).toString();
+    }
+
+    @Override
+    public int size() {
+        return completedCount.get();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && isCompleted((Integer) key);
+    }
+
+    @Override
+    public String get(Object key) {
+        return containsKey(key) ? tagIdOf((Integer) key) : null;
+    }
+
+    @Override
+    public Set<Entry<Integer, String>> entrySet() {
+        return new AbstractSet<Entry<Integer, String>>() {
+            @Override
+            public Iterator<Entry<Integer, String>> iterator() {
+                return new CompletedPartIterator();
+            }
+
+            @Override
+            public int size() {
+                return completedCount.get();
+            }
+        };
+    }
+
+    // Iterates the completed parts in index order.
+    private class CompletedPartIterator implements Iterator<Entry<Integer, String>> {
+        private int nextIndex = findCompleted(0);
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < partCount;
+        }
+
+        @Override
+        public Entry<Integer, String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int index = nextIndex;
+            nextIndex = findCompleted(index + 1);
+            return new SimpleImmutableEntry<>(index, tagIdOf(index));
+        }
+
+        private int findCompleted(int fromIndex) {
+            int index = fromIndex;
+            while (index < partCount && !isCompleted(index)) {
+                index++;
+            }
+            return index;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file;
+
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * Applies the {@link PartConcurrencyPolicy} to the part requests of an uploader. Every part request holds a permit while it is in flight,
+ * and the outcome reported with the permit moves the limit: additive increase after a window of healthy requests, multiplicative decrease
+ * on backpressure or a latency spike. Only one decrease is made for the requests in flight when the server pushed back, so a burst of
+ * rejections halves the limit once. Requests complete concurrently.
+ */
+class PartConcurrencyLimiter {
+    // The limit is multiplied by this ratio when the server pushes back.
+    static final double BACKOFF_RATIO = 0.5;
+    // A part request this many times slower per byte than the recent part requests is a latency spike.
+    static final double LATENCY_SPIKE_FACTOR = 2.0;
+    // Latency spikes are only detected once this many parts were uploaded.
+    static final int MINIMUM_SAMPLE_COUNT = 5;
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    private final boolean adaptive;
+    private final int minimumLimit;
+    private final int maximumLimit;
+    private final LongSupplier nanoClock;
+    private int limit;
+    private int inFlight = 0;
+    // Counts the decreases, so the requests started before the last decrease do not decrease the limit again.
+    private int generation = 0;
+    private int healthyCount = 0;
+    private int sampleCount = 0;
+    private double baselineNanosPerByte = 0.0;
+    private long largestPartBytes = 0L;
+
+    PartConcurrencyLimiter(PartConcurrencyPolicy concurrencyPolicy, int maximumLimit) {
+        this(concurrencyPolicy, maximumLimit, System::nanoTime);
+    }
+
+    PartConcurrencyLimiter(PartConcurrencyPolicy concurrencyPolicy, int maximumLimit, LongSupplier nanoClock) {
+        this.maximumLimit = Math.max(1, maximumLimit);
+        this.adaptive = concurrencyPolicy.isAdaptive() && this.maximumLimit > 1;
+        this.minimumLimit = adaptive ? Math.min(concurrencyPolicy.getMinimumLimit(), this.maximumLimit) : this.maximumLimit;
+        this.nanoClock = nanoClock;
+        int initialLimit = concurrencyPolicy.getInitialLimit() > 0 ? concurrencyPolicy.getInitialLimit() : this.maximumLimit;
+        this.limit = adaptive ? Math.max(minimumLimit, Math.min(initialLimit, this.maximumLimit)) : this.maximumLimit;
+    }
+
+    /**
+     * Waits until fewer part requests than the limit are in flight.
+     *
+     * @return the {@link Permit} of the part request.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    synchronized Permit acquire() throws InterruptedException {
+        while (inFlight >= limit) {
+            wait();
+        }
+        inFlight++;
+        return new Permit(generation, nanoClock.getAsLong());
+    }
+
+    /**
+     * Takes a permit only if fewer part requests than the limit are in flight.
+     *
+     * @return the {@link Permit} of the part request, or empty if the limit is reached.
+     */
+    synchronized Optional<Permit> tryAcquire() {
+        if (inFlight >= limit) {
+            return Optional.empty();
+        }
+        inFlight++;
+        return Optional.of(new Permit(generation, nanoClock.getAsLong()));
+    }
+
+    synchronized int getLimit() {
+        return limit;
+    }
+
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    boolean isAdaptive() {
+        return adaptive;
+    }
+
+    private synchronized void succeeded(Permit permit, long bytes) {
+        if (!release(permit) || !adaptive) {
+            return;
+        }
+        boolean latencySpike = false;
+        largestPartBytes = Math.max(largestPartBytes, bytes);
+        // A short part, like the last part of a file, spends most of its time on the request itself, so its time per byte says nothing about the load.
+        if (bytes * 2 >= largestPartBytes) {
+            double nanosPerByte = (double) (nanoClock.getAsLong() - permit.acquiredNanos) / Math.max(1L, bytes);
+            latencySpike = sampleCount >= MINIMUM_SAMPLE_COUNT && nanosPerByte > baselineNanosPerByte * LATENCY_SPIKE_FACTOR;
+            // The spikes are part of the baseline too, so a server that stays slower is not taken for a spike forever.
+            baselineNanosPerByte = sampleCount == 0 ? nanosPerByte : baselineNanosPerByte + (nanosPerByte - baselineNanosPerByte) * LATENCY_SMOOTHING;
+            sampleCount++;
+        }
+        if (latencySpike) {
+            decrease(permit);
+        } else if (permit.generation == generation && ++healthyCount >= limit && limit < maximumLimit) {
+            limit++;
+            healthyCount = 0;
+            notifyAll();
+        }
+    }
+
+    private synchronized void congested(Permit permit) {
+        if (release(permit) && adaptive) {
+            decrease(permit);
+        }
+    }
+
+    private void decrease(Permit permit) {
+        if (permit.generation != generation) {
+            return;
+        }
+        generation++;
+        healthyCount = 0;
+        limit = Math.max(minimumLimit, (int) (limit * BACKOFF_RATIO));
+    }
+
+    // Returns false if the permit was already released.
+    private synchronized boolean release(Permit permit) {
+        if (permit.released) {
+            return false;
+        }
+        permit.released = true;
+        inFlight--;
+        notifyAll();
+        return true;
+    }
+
+    /**
+     * The right of one part request to be in flight. The outcome of the request is reported once, and a permit released without an outcome
+     * leaves the limit unchanged.
+     */
+    final class Permit implements AutoCloseable {
+        private final int generation;
+        private final long acquiredNanos;
+        private boolean released = false;
+
+        private Permit(int generation, long acquiredNanos) {
+            this.generation = generation;
+            this.acquiredNanos = acquiredNanos;
+        }
+
+        // The part was uploaded, in the time since the permit was acquired.
+        void succeeded(long bytes) {
+            PartConcurrencyLimiter.this.succeeded(this, bytes);
+        }
+
+        // The server pushed back or the request timed out.
+        void congested() {
+            PartConcurrencyLimiter.this.congested(this);
+        }
+
+        @Override
+        public void close() {
+            release(this);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file;
+
+/**
+ * Decides how many parts are uploaded at the same time. An adaptive limit starts from the initial limit, grows by one part after every
+ * window of healthy part requests, and is halved when the server pushes back with a 429, 503 or 504 response, a part request times out,
+ * or the part latency spikes. The limit never goes below the minimum nor above the part concurrency of the uploader.
+ *
+ * @see FileUploader
+ */
+public class PartConcurrencyPolicy {
+    /**
+     * Policy keeping the number of parts uploaded at the same time fixed at the part concurrency.
+     */
+    public static final PartConcurrencyPolicy FIXED = new PartConcurrencyPolicy(0, 0);
+
+    private final int minimumLimit;
+    private final int initialLimit;
+
+    /**
+     * Constructor for the part concurrency policy.
+     *
+     * @param minimumLimit The lowest number of parts uploaded at the same time. A limit of 0 keeps the concurrency fixed.
+     * @param initialLimit The number of parts uploaded at the same time when the upload starts. A limit of 0 starts from the part concurrency.
+     */
+    public PartConcurrencyPolicy(int minimumLimit, int initialLimit) {
+        this.minimumLimit = Math.max(0, minimumLimit);
+        this.initialLimit = Math.max(0, initialLimit);
+    }
+
+    /**
+     * Retrieve the lowest number of parts uploaded at the same time.
+     *
+     * @return minimum limit.
+     */
+    public int getMinimumLimit() {
+        return minimumLimit;
+    }
+
+    /**
+     * Retrieve the number of parts uploaded at the same time when the upload starts.
+     *
+     * @return initial limit, or 0 to start from the part concurrency.
+     */
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    /**
+     * Determine whether the number of parts uploaded at the same time adapts to the server.
+     *
+     * @return true if the concurrency limit is adaptive.
+     */
+    public boolean isAdaptive() {
+        return minimumLimit > 0;
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file;
+
+import java.io.IOException;
+
+/**
+ * Thrown to indicate that a file part could not be sent because the file changed since it was split, e.g. the file is now shorter than the part.
+ * Sending the part again cannot succeed, so the part upload is not retried.
+ */
+public class PartFileChangedException extends IOException {
+    private static final long serialVersionUID = 3920574183426519077L;
+
+    /**
+     * Constructs a new exception with the detail message.
+     * @param message the detail message.
+     */
+    public PartFileChangedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The read-only {@link FileChannel}s shared by all part uploads and retries of one multipart upload, one channel per file.
+ * Parts read their byte ranges with positional reads, so the channel can serve any number of concurrent parts without seek races.
+ */
+class PartFileChannels implements Closeable {
+    private final Map<Path, FileChannel> fileChannels = new HashMap<>();
+    private boolean closed = false;
+
+    /**
+     * Retrieve the channel of a file, opening it on first use.
+     * Interrupting a thread blocked on a channel read closes the channel, so a channel closed that way is reopened for the remaining parts.
+     *
+     * @param filePath The path of the file.
+     * @return the shared {@link FileChannel}.
+     * @throws IOException If the file cannot be opened, or the channels were already closed.
+     */
+    synchronized FileChannel get(Path filePath) throws IOException {
+        if (closed) {
+            throw new ClosedChannelException();
+        }
+        FileChannel fileChannel = fileChannels.get(filePath);
+        if (fileChannel == null || !fileChannel.isOpen()) {
+            fileChannel = FileChannel.open(filePath, StandardOpenOption.READ);
+            fileChannels.put(filePath, fileChannel);
+        }
+        return fileChannel;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        IOException failure = null;
+        for (FileChannel fileChannel : fileChannels.values()) {
+            try {
+                fileChannel.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        fileChannels.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Applies the {@link PartHedgingPolicy} to one multipart upload. The durations of the most recent successful part requests give the delay
+ * after which a part still uploading is hedged, and every hedged request is charged to the byte budget of the upload. Parts complete concurrently.
+ */
+class PartHedger {
+    // A part is only hedged once this many parts were uploaded, so one fast part does not make every other part look slow.
+    static final int MINIMUM_SAMPLE_COUNT = 5;
+    private static final int MAXIMUM_SAMPLE_COUNT = 256;
+
+    private final PartHedgingPolicy hedgingPolicy;
+    private final long hedgeByteBudget;
+    private final AtomicLong hedgedBytes = new AtomicLong();
+    private final AtomicInteger hedgeCount = new AtomicInteger();
+    private final AtomicInteger hedgeWinCount = new AtomicInteger();
+    // The durations of the most recent part requests, as a ring.
+    private final long[] durationNanos = new long[MAXIMUM_SAMPLE_COUNT];
+    private int sampleCount = 0;
+    private int nextSample = 0;
+
+    PartHedger(PartHedgingPolicy hedgingPolicy, long fileSize) {
+        this.hedgingPolicy = hedgingPolicy;
+        this.hedgeByteBudget = (long) (fileSize * hedgingPolicy.getMaximumBandwidthFraction());
+    }
+
+    synchronized void partUploaded(long elapsedNanos) {
+        durationNanos[nextSample] = elapsedNanos;
+        nextSample = (nextSample + 1) % MAXIMUM_SAMPLE_COUNT;
+        sampleCount = Math.min(sampleCount + 1, MAXIMUM_SAMPLE_COUNT);
+    }
+
+    /**
+     * Retrieve the time after which a part request is hedged.
+     *
+     * @return delay in nanoseconds, or empty if parts are not hedged yet.
+     */
+    synchronized OptionalLong getHedgeDelayNanos() {
+        if (!hedgingPolicy.isEnabled() || sampleCount < MINIMUM_SAMPLE_COUNT) {
+            return OptionalLong.empty();
+        }
+        long[] sortedDurations = Arrays.copyOf(durationNanos, sampleCount);
+        Arrays.sort(sortedDurations);
+        int index = (int) Math.ceil(hedgingPolicy.getLatencyPercentile() / 100.0 * sampleCount) - 1;
+        return OptionalLong.of(sortedDurations[Math.max(0, Math.min(index, sampleCount - 1))]);
+    }
+
+    /**
+     * Charges a hedged request to the byte budget of the upload.
+     *
+     * @param partSize The byte size of the hedged part.
+     * @return true if the part may be hedged, false if the budget does not allow it.
+     */
+    boolean tryHedge(int partSize) {
+        long bytes;
+        do {
+            bytes = hedgedBytes.get();
+            if (bytes + partSize > hedgeByteBudget) {
+                return false;
+            }
+        } while (!hedgedBytes.compareAndSet(bytes, bytes + partSize));
+        hedgeCount.incrementAndGet();
+        return true;
+    }
+
+    void hedgeWon() {
+        hedgeWinCount.incrementAndGet();
+    }
+
+    int getHedgeCount() {
+        return hedgeCount.get();
+    }
+
+    int getHedgeWinCount() {
+        return hedgeWinCount.get();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file;
+
+/**
+ * Decides when the upload of a slow file part is hedged. A part whose request takes longer than the given percentile of the part uploads
+ * completed so far is uploaded again by a second request, and the first request to succeed wins. The bytes of the hedged requests of an upload
+ * are capped at a fraction of the file size.
+ *
+ * @see FileUploader
+ */
+public class PartHedgingPolicy {
+    // The default percentile of the completed part durations after which a part is hedged.
+    public static final double DEFAULT_LATENCY_PERCENTILE = 95.0;
+    /**
+     * Policy never hedging a part.
+     */
+    public static final PartHedgingPolicy DISABLED = new PartHedgingPolicy(DEFAULT_LATENCY_PERCENTILE, 0.0);
+
+    private final double latencyPercentile;
+    private final double maximumBandwidthFraction;
+
+    /**
+     * Constructor for the part hedging policy.
+     *
+     * @param latencyPercentile The percentile, between 0 and 100, of the completed part durations after which a part still uploading is hedged.
+     * @param maximumBandwidthFraction The bytes of hedged requests allowed for an upload, as a fraction of the file size. A fraction of 0 disables hedging.
+     * @throws IllegalArgumentException if the percentile is not between 0 and 100, or the fraction is negative.
+     */
+    public PartHedgingPolicy(double latencyPercentile, double maximumBandwidthFraction) {
+        if (!(latencyPercentile >= 0.0 && latencyPercentile <= 100.0) || !(maximumBandwidthFraction >= 0.0 && maximumBandwidthFraction < Double.POSITIVE_INFINITY)) {
+            throw new IllegalArgumentException("The latency percentile must be between 0 and 100, and the bandwidth fraction must be 0 or more.");
+        }
+        this.latencyPercentile = latencyPercentile;
+        this.maximumBandwidthFraction = maximumBandwidthFraction;
+    }
+
+    /**
+     * Retrieve the percentile of the completed part durations after which a part is hedged.
+     *
+     * @return latency percentile.
+     */
+    public double getLatencyPercentile() {
+        return latencyPercentile;
+    }
+
+    /**
+     * Retrieve the bytes of hedged requests allowed for an upload, as a fraction of the file size.
+     *
+     * @return maximum bandwidth fraction.
+     */
+    public double getMaximumBandwidthFraction() {
+        return maximumBandwidthFraction;
+    }
+
+    /**
+     * Determine whether parts are hedged.
+     *
+     * @return true if hedged requests are allowed.
+     */
+    public boolean isEnabled() {
+        return maximumBandwidthFraction > 0.0;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.blackduck.integration.sca.upload.file.model.MultipartUploadFilePart;
+import com.blackduck.integration.sca.upload.file.model.MultipartUploadFilePartSource;
+import com.blackduck.integration.sca.upload.rest.status.PartUploadFailure;
+
+/**
+ * Collects the file parts that failed during a pass of a multipart upload, so they can be uploaded again in a repair pass,
+ * and records every failure for the {@link com.blackduck.integration.sca.upload.rest.status.UploadStatus}. Parts may fail concurrently.
+ * Each failure is charged to the failure budget, and a failure that exceeds the budget is not queued: the upload must be cancelled.
+ */
+class PartRepairQueue {
+    private final int failureBudget;
+    private final AtomicInteger failureCount = new AtomicInteger();
+    private final Queue<MultipartUploadFilePart> pendingParts = new ConcurrentLinkedQueue<>();
+    private final List<PartUploadFailure> failures = Collections.synchronizedList(new ArrayList<>());
+
+    PartRepairQueue(int failureBudget) {
+        this.failureBudget = failureBudget;
+    }
+
+    /**
+     * Records the failure of a part and queues the part for the next repair pass if the failure budget allows it.
+     *
+     * @param part The part that failed.
+     * @param failure The details of the failure.
+     * @return true if the part was queued, false if the failure budget is exhausted.
+     */
+    boolean add(MultipartUploadFilePart part, PartUploadFailure failure) {
+        failures.add(failure);
+        if (failureCount.incrementAndGet() > failureBudget) {
+            return false;
+        }
+        pendingParts.add(part);
+        return true;
+    }
+
+    boolean isEmpty() {
+        return pendingParts.isEmpty();
+    }
+
+    int size() {
+        return pendingParts.size();
+    }
+
+    // Supplies the parts queued so far, in index order, and empties the queue for the failures of the next pass.
+    MultipartUploadFilePartSource drain() {
+        List<MultipartUploadFilePart> parts = new ArrayList<>();
+        MultipartUploadFilePart part;
+        while ((part = pendingParts.poll()) != null) {
+            parts.add(part);
+        }
+        parts.sort((first, second) -> Integer.compare(first.getIndex(), second.getIndex()));
+        Queue<MultipartUploadFilePart> repairParts = new ConcurrentLinkedQueue<>(parts);
+        return () -> Optional.ofNullable(repairParts.poll());
+    }
+
+    List<PartUploadFailure> getFailures() {
+        synchronized (failures) {
+            return new ArrayList<>(failures);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file;
+
+import java.io.EOFException;
+import java.io.InterruptedIOException;
+import java.net.SocketException;
+import java.net.UnknownHostException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLHandshakeException;
+import javax.net.ssl.SSLPeerUnverifiedException;
+
+import org.apache.http.ConnectionClosedException;
+import org.apache.http.NoHttpResponseException;
+
+/**
+ * Decides whether a failed file part upload attempt is retried, from the status code of the response or from the exception thrown when no
+ * response was received, and counts the failed attempts of each {@link PartUploadFailureClass}.
+ * The exception is classified from its whole cause chain, because the HTTP client wraps transport exceptions, so a TLS handshake that
+ * failed because the connection was reset is retried like any other reset connection.
+ */
+public class PartRetryClassifier {
+    private final Set<Integer> retryStatusCodes;
+    private final AtomicLongArray failureCounts = new AtomicLongArray(PartUploadFailureClass.values().length);
+
+    /**
+     * Constructor for the part retry classifier.
+     *
+     * @param retryStatusCodes The response status codes after which a part upload is retried.
+     */
+    public PartRetryClassifier(Set<Integer> retryStatusCodes) {
+        this.retryStatusCodes = Collections.unmodifiableSet(retryStatusCodes);
+    }
+
+    /**
+     * Classify a failed attempt from the status code of its response.
+     *
+     * @param statusCode The unsuccessful status code of the response.
+     * @return {@link PartUploadFailureClass} of the attempt.
+     */
+    public PartUploadFailureClass classify(int statusCode) {
+        return retryStatusCodes.contains(statusCode) ? PartUploadFailureClass.RETRYABLE_STATUS : PartUploadFailureClass.NON_RETRYABLE_STATUS;
+    }
+
+    /**
+     * Classify a failed attempt from the exception thrown instead of a response.
+     *
+     * @param exception The exception thrown by the request.
+     * @return {@link PartUploadFailureClass} of the attempt.
+     */
+    public PartUploadFailureClass classify(Throwable exception) {
+        // A timeout or a lost connection anywhere in the chain is transient, whatever wraps it.
+        for (Throwable cause = exception; cause != null; cause = nextCause(cause)) {
+            if (cause instanceof PartFileChangedException) {
+                // The local file no longer holds the part, so no retry can send it.
+                return PartUploadFailureClass.NON_RETRYABLE_TRANSPORT;
+            }
+            if (cause instanceof InterruptedIOException) {
+                // Socket, connect and connection pool timeouts.
+                return PartUploadFailureClass.TIMEOUT;
+            }
+            if (cause instanceof SocketException
+                || cause instanceof NoHttpResponseException
+                || cause instanceof ConnectionClosedException
+                || cause instanceof EOFException) {
+                return PartUploadFailureClass.CONNECTION;
+            }
+        }
+        for (Throwable cause = exception; cause != null; cause = nextCause(cause)) {
+            if (cause instanceof UnknownHostException || cause instanceof SSLHandshakeException || cause instanceof SSLPeerUnverifiedException) {
+                return PartUploadFailureClass.NON_RETRYABLE_TRANSPORT;
+            }
+            if (cause instanceof SSLException) {
+                return PartUploadFailureClass.TLS;
+            }
+        }
+        return PartUploadFailureClass.NON_RETRYABLE_TRANSPORT;
+    }
+
+    private Throwable nextCause(Throwable throwable) {
+        Throwable cause = throwable.getCause();
+        return cause == throwable ? null : cause;
+    }
+
+    /**
+     * Counts a failed attempt.
+     *
+     * @param failureClass The {@link PartUploadFailureClass} of the attempt.
+     */
+    public void recordFailure(PartUploadFailureClass failureClass) {
+        failureCounts.incrementAndGet(failureClass.ordinal());
+    }
+
+    /**
+     * Retrieve the number of failed attempts counted for each class.
+     *
+     * @return {@link Map} of every {@link PartUploadFailureClass} to its count.
+     */
+    public Map<PartUploadFailureClass, Long> getFailureCounts() {
+        Map<PartUploadFailureClass, Long> counts = new EnumMap<>(PartUploadFailureClass.class);
+        for (PartUploadFailureClass failureClass : PartUploadFailureClass.values()) {
+            counts.put(failureClass, failureCounts.get(failureClass.ordinal()));
+        }
+        return counts;
+    }
+}
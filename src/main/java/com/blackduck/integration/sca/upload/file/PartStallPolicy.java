@@ -0,0 +1,88 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file;
+
+/**
+ * Decides when a file part request has stalled. A request that runs past its share of the time left for the upload is aborted and retried,
+ * and so is a request that sends the part slower than the minimum throughput over the window, if a minimum throughput is set.
+ *
+ * @see FileUploader
+ */
+public class PartStallPolicy {
+    // The default window over which the throughput of a part request is measured, in milliseconds.
+    public static final long DEFAULT_WINDOW = 30_000L;
+    /**
+     * Policy never aborting a part request, neither on its throughput nor on its deadline.
+     */
+    public static final PartStallPolicy DISABLED = new PartStallPolicy(0L, DEFAULT_WINDOW, false);
+
+    private final long minimumBytesPerSecond;
+    private final long window;
+    private final boolean deadlineEnabled;
+
+    /**
+     * Constructor for the part stall policy. The part requests always have a deadline.
+     *
+     * @param minimumBytesPerSecond The throughput below which a part request is aborted. A throughput of 0 disables the stall detection, but not the part deadlines.
+     * @param window The window in milliseconds over which the throughput of a part request is measured, and the shortest deadline of a part request.
+     */
+    public PartStallPolicy(long minimumBytesPerSecond, long window) {
+        this(minimumBytesPerSecond, window, true);
+    }
+
+    private PartStallPolicy(long minimumBytesPerSecond, long window, boolean deadlineEnabled) {
+        this.minimumBytesPerSecond = Math.max(0L, minimumBytesPerSecond);
+        this.window = Math.max(1L, window);
+        this.deadlineEnabled = deadlineEnabled;
+    }
+
+    /**
+     * Retrieve the throughput below which a part request is aborted.
+     *
+     * @return minimum throughput in bytes per second.
+     */
+    public long getMinimumBytesPerSecond() {
+        return minimumBytesPerSecond;
+    }
+
+    /**
+     * Retrieve the window over which the throughput of a part request is measured.
+     *
+     * @return window in milliseconds.
+     */
+    public long getWindow() {
+        return window;
+    }
+
+    /**
+     * Determine whether the throughput of part requests is measured.
+     *
+     * @return true if part requests slower than the minimum throughput are aborted.
+     */
+    public boolean isStallDetectionEnabled() {
+        return minimumBytesPerSecond > 0L;
+    }
+
+    /**
+     * Determine whether part requests past their deadline are aborted.
+     *
+     * @return true if part requests have a deadline.
+     */
+    public boolean isDeadlineEnabled() {
+        return deadlineEnabled;
+    }
+
+    /**
+     * Determine whether part requests are watched.
+     *
+     * @return true if stalled part requests or part requests past their deadline are aborted.
+     */
+    public boolean isEnabled() {
+        return isStallDetectionEnabled() || deadlineEnabled;
+    }
+}
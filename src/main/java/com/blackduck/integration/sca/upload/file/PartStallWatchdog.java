@@ -0,0 +1,172 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import com.blackduck.integration.sca.upload.rest.RetryScheduler;
+
+/**
+ * Applies the {@link PartStallPolicy} to the part requests of one multipart upload. The requests are checked at a fixed interval on the
+ * {@link RetryScheduler}, and a request is aborted when it runs past its deadline, or when it wrote less than the minimum throughput over
+ * the window. The time a request waits for the {@link com.blackduck.integration.sca.upload.rest.BandwidthLimiter} is left out of its window, so
+ * a throttled request is not taken for a stalled one. The deadline of a request is its share of the time left for the upload, with some slack.
+ * A request is aborted by shutting its connection down, so it fails whether it is sending the part or waiting for the response, and the
+ * failure is retried like a timeout.
+ */
+class PartStallWatchdog implements Closeable {
+    // A request may take this many times its share of the time left for the upload.
+    static final int DEADLINE_SLACK = 3;
+    private static final long MAXIMUM_CHECK_INTERVAL_MILLIS = 1000L;
+
+    private final RetryScheduler retryScheduler;
+    private final PartStallPolicy stallPolicy;
+    private final long uploadDeadlineNanos;
+    private final int concurrency;
+    private final LongSupplier nanoClock;
+    private final long windowNanos;
+    private final long checkIntervalMillis;
+    private final Set<Watch> watches = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger stalledCount = new AtomicInteger();
+    private final AtomicInteger expiredCount = new AtomicInteger();
+    private volatile boolean closed = false;
+
+    // The upload deadline is a System.nanoTime() value, shared with every other wait of the upload.
+    PartStallWatchdog(RetryScheduler retryScheduler, PartStallPolicy stallPolicy, long uploadDeadlineNanos, int concurrency) {
+        this(retryScheduler, stallPolicy, uploadDeadlineNanos, concurrency, System::nanoTime);
+    }
+
+    PartStallWatchdog(RetryScheduler retryScheduler, PartStallPolicy stallPolicy, long uploadDeadlineNanos, int concurrency, LongSupplier nanoClock) {
+        this.retryScheduler = retryScheduler;
+        this.stallPolicy = stallPolicy;
+        this.uploadDeadlineNanos = uploadDeadlineNanos;
+        this.concurrency = Math.max(1, concurrency);
+        this.nanoClock = nanoClock;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(stallPolicy.getWindow());
+        this.checkIntervalMillis = Math.max(1L, Math.min(MAXIMUM_CHECK_INTERVAL_MILLIS, stallPolicy.getWindow() / 4));
+        if (stallPolicy.isEnabled()) {
+            retryScheduler.schedule(this::check, checkIntervalMillis);
+        }
+    }
+
+    /**
+     * Watches a part request until the returned watch is closed.
+     *
+     * @param entity The entity of the request.
+     * @param remainingPartCount The number of parts of the upload not uploaded yet, including this one.
+     * @return the {@link Watch} of the request.
+     */
+    Watch watch(FilePartEntity entity, int remainingPartCount) {
+        long nowNanos = nanoClock.getAsLong();
+        Watch watch = new Watch(entity, nowNanos, computeDeadlineNanos(nowNanos, remainingPartCount));
+        if (stallPolicy.isEnabled()) {
+            watches.add(watch);
+        }
+        return watch;
+    }
+
+    // The parts left are uploaded concurrently, so each request may take its share of the time left for the upload, and never less than the window.
+    long computeDeadlineNanos(long nowNanos, int remainingPartCount) {
+        long remainingNanos = Math.max(0L, uploadDeadlineNanos - nowNanos);
+        long shareNanos = remainingNanos / Math.max(1, remainingPartCount) * concurrency * DEADLINE_SLACK;
+        return nowNanos + Math.min(remainingNanos, Math.max(windowNanos, shareNanos));
+    }
+
+    int getStalledCount() {
+        return stalledCount.get();
+    }
+
+    int getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    // Runs on the scheduler thread, so the samples of the watches are only read and written by one thread.
+    private void check() {
+        if (closed) {
+            return;
+        }
+        long nowNanos = nanoClock.getAsLong();
+        for (Watch watch : watches) {
+            watch.check(nowNanos);
+        }
+        retryScheduler.schedule(this::check, checkIntervalMillis);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        watches.clear();
+    }
+
+    class Watch implements AutoCloseable {
+        private final FilePartEntity entity;
+        private final long deadlineNanos;
+        // The time not spent throttled and the written bytes of the samples, oldest first.
+        private final Deque<long[]> samples = new ArrayDeque<>();
+
+        private Watch(FilePartEntity entity, long startNanos, long deadlineNanos) {
+            this.entity = entity;
+            this.deadlineNanos = deadlineNanos;
+            samples.addLast(new long[] { startNanos - entity.getThrottledNanos(), 0L });
+        }
+
+        private void check(long nowNanos) {
+            if (stallPolicy.isDeadlineEnabled() && nowNanos >= deadlineNanos) {
+                expiredCount.incrementAndGet();
+                abort("The upload of the part exceeded its deadline.");
+                return;
+            }
+            if (!stallPolicy.isStallDetectionEnabled()) {
+                return;
+            }
+            long bytesWritten = entity.getBytesWritten();
+            if (bytesWritten >= entity.getContentLength()) {
+                // The whole part was sent, the request is waiting for the response.
+                return;
+            }
+            // The clock of the window stops while the request waits for the bandwidth.
+            long activeNanos = nowNanos - entity.getThrottledNanos();
+            samples.addLast(new long[] { activeNanos, bytesWritten });
+            // Keeps the most recent sample that is at least a window old as the start of the window.
+            while (samples.size() > 1) {
+                long[] oldestSample = samples.removeFirst();
+                if (activeNanos - samples.peekFirst()[0] < windowNanos) {
+                    samples.addFirst(oldestSample);
+                    break;
+                }
+            }
+            long[] windowStart = samples.peekFirst();
+            long elapsedNanos = activeNanos - windowStart[0];
+            if (elapsedNanos < windowNanos) {
+                return;
+            }
+            long bytesPerSecond = (bytesWritten - windowStart[1]) * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+            if (bytesPerSecond < stallPolicy.getMinimumBytesPerSecond()) {
+                stalledCount.incrementAndGet();
+                abort(String.format("The upload of the part stalled at %d bytes per second.", bytesPerSecond));
+            }
+        }
+
+        private void abort(String reason) {
+            entity.abort(reason);
+            watches.remove(this);
+        }
+
+        @Override
+        public void close() {
+            watches.remove(this);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file;
+
+/**
+ * The classes of failed file part upload attempts distinguished by the {@link PartRetryClassifier}, and whether an attempt failing with each class is retried.
+ */
+public enum PartUploadFailureClass {
+    /**
+     * The server responded with one of the status codes in {@link com.blackduck.integration.sca.upload.validation.UploadValidator#MULTIPART_UPLOAD_PART_RETRY_STATUS_CODES}.
+     */
+    RETRYABLE_STATUS(true),
+    /**
+     * The server responded with any other unsuccessful status code.
+     */
+    NON_RETRYABLE_STATUS(false),
+    /**
+     * The connection or a read on it timed out.
+     */
+    TIMEOUT(true),
+    /**
+     * The connection could not be established, was reset, or was closed before the response was received.
+     */
+    CONNECTION(true),
+    /**
+     * The TLS session failed after it was established.
+     */
+    TLS(true),
+    /**
+     * The request failed for a reason that another attempt cannot fix, e.g. an unknown host or a rejected certificate.
+     */
+    NON_RETRYABLE_TRANSPORT(false);
+
+    private final boolean retryable;
+
+    PartUploadFailureClass(boolean retryable) {
+        this.retryable = retryable;
+    }
+
+    /**
+     * Determine if a part upload attempt failing with this class is retried.
+     *
+     * @return true if the attempt is retried.
+     */
+    public boolean isRetryable() {
+        return retryable;
+    }
+}
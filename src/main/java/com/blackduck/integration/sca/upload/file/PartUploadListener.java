@@ -0,0 +1,45 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file;
+
+/**
+ * Receives the outcome of each attempt to upload a file part. Parts may be uploaded concurrently, so implementations must be thread safe.
+ *
+ * @see FileUploader
+ */
+public interface PartUploadListener {
+    /**
+     * Listener ignoring every part upload.
+     */
+    PartUploadListener NONE = new PartUploadListener() {
+        @Override
+        public void partUploaded(int partSize, long elapsedNanos) {
+            // Nothing to record
+        }
+
+        @Override
+        public void partFailed(int partSize) {
+            // Nothing to record
+        }
+    };
+
+    /**
+     * Called when a part was uploaded.
+     *
+     * @param partSize     The byte size of the part.
+     * @param elapsedNanos The time the successful request took in nanoseconds.
+     */
+    void partUploaded(int partSize, long elapsedNanos);
+
+    /**
+     * Called when an attempt to upload a part failed, whether or not the part is retried.
+     *
+     * @param partSize The byte size of the part.
+     */
+    void partFailed(int partSize);
+}
@@ -0,0 +1,401 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.codec.binary.Hex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.blackduck.integration.sca.upload.file.digest.PartDigestAlgorithm;
+import com.blackduck.integration.sca.upload.file.digest.PartDigestAlgorithms;
+import com.blackduck.integration.sca.upload.file.model.FileChecksumType;
+import com.blackduck.integration.sca.upload.file.model.MultipartUploadFileMetadata;
+import com.blackduck.integration.sca.upload.file.model.MultipartUploadPartTable;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * Durable journal of the multipart uploads in progress, stored in a directory below the {@link FileSplitter#UPLOAD_CACHE} directory,
+ * so an upload interrupted by the end of the process can be continued from its missing parts by a later process.
+ * <p>
+ * Each upload file has one journal file. Its first line holds the upload url, the identity of the file and the layout, checksums and tag ids
+ * of its parts, and every following line holds the index of a part acknowledged by Black Duck. The first line is written to a temporary file
+ * and atomically moved into place, and each acknowledged part is appended and flushed to the disk, so a journal left by a killed process
+ * holds at most an incomplete last line, which is ignored.
+ * A journal is only valid for the file state it was written for: a file that changed since is uploaded again.
+ *
+ * @see FileUploader
+ */
+public class UploadJournal {
+    public static final String JOURNAL_DIRECTORY = "journal";
+    public static final String JOURNAL_FILE_EXTENSION = ".journal";
+    private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+    private final Gson gson = new Gson();
+    private final Path journalDirectory;
+
+    /**
+     * Constructor for the upload journal.
+     *
+     * @param baseDirectory The directory in which the {@link FileSplitter#UPLOAD_CACHE} directory is created.
+     */
+    public UploadJournal(Path baseDirectory) {
+        this.journalDirectory = Paths.get(baseDirectory.toString(), FileSplitter.UPLOAD_CACHE, JOURNAL_DIRECTORY);
+    }
+
+    /**
+     * Retrieve the directory containing the journal files.
+     *
+     * @return journal directory.
+     */
+    public Path getJournalDirectory() {
+        return journalDirectory;
+    }
+
+    /**
+     * Retrieve the upload with MD5 part checksums of a file that can be continued.
+     * A journal that is invalid, or that was written for an earlier state of the file, is deleted.
+     *
+     * @param uploadFilePath The path of the file to upload.
+     * @return {@link ResumableUpload} of the file, or empty if the file has no upload to continue.
+     */
+    public Optional<ResumableUpload> find(Path uploadFilePath) {
+        return find(uploadFilePath, PartDigestAlgorithms.MD5);
+    }
+
+    /**
+     * Retrieve the upload of a file that can be continued. A journal that is invalid, that was written for an earlier state of the file,
+     * or whose part checksums were computed with another algorithm, is deleted.
+     *
+     * @param uploadFilePath      The path of the file to upload.
+     * @param partDigestAlgorithm The {@link PartDigestAlgorithm} the journaled part checksums must have been computed with.
+     * @return {@link ResumableUpload} of the file, or empty if the file has no upload to continue.
+     */
+    public Optional<ResumableUpload> find(Path uploadFilePath, PartDigestAlgorithm partDigestAlgorithm) {
+        Path journalPath;
+        try {
+            journalPath = getJournalPath(uploadFilePath);
+        } catch (IOException e) {
+            logger.debug("Could not find the upload journal of {}.", uploadFilePath, e);
+            return Optional.empty();
+        }
+        if (!Files.exists(journalPath)) {
+            return Optional.empty();
+        }
+        try (BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+            JournalHeader journalHeader = gson.fromJson(reader.readLine(), JournalHeader.class);
+            if (journalHeader == null || !journalHeader.isValidFor(createFileKey(uploadFilePath))) {
+                logger.debug("Discarding the upload journal of {} because the file changed since its upload started.", uploadFilePath);
+                delete(journalPath);
+                return Optional.empty();
+            }
+            if (!partDigestAlgorithm.getName().equals(journalHeader.partDigestName)) {
+                logger.debug("Discarding the upload journal of {} because its part checksums are not {} digests.", uploadFilePath, partDigestAlgorithm.getName());
+                delete(journalPath);
+                return Optional.empty();
+            }
+            MultipartUploadFileMetadata fileMetadata = journalHeader.toMetadata(uploadFilePath);
+            BitSet completedParts = new BitSet(fileMetadata.getPartCount());
+            String line;
+            while ((line = reader.readLine()) != null) {
+                readCompletedPart(line, fileMetadata.getPartCount()).ifPresent(completedParts::set);
+            }
+            return Optional.of(new ResumableUpload(journalPath, journalHeader.uploadUrl, fileMetadata, completedParts));
+        } catch (IOException | JsonParseException | IllegalArgumentException e) {
+            logger.debug("Discarding the unreadable upload journal of {}.", uploadFilePath, e);
+            delete(journalPath);
+            return Optional.empty();
+        }
+    }
+
+    // A line cut short by the end of the process is not a part index, and is ignored.
+    private Optional<Integer> readCompletedPart(String line, int partCount) {
+        try {
+            int index = Integer.parseInt(line.trim());
+            return index >= 0 && index < partCount ? Optional.of(index) : Optional.empty();
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Starts the journal of an upload, replacing any journal of the same file.
+     * Only uploads whose parts are held in a {@link MultipartUploadPartTable} can be journaled.
+     *
+     * @param fileMetadata The {@link MultipartUploadFileMetadata} of the upload.
+     * @param uploadUrl    The url of the upload, returned by the start request.
+     * @return the {@link Writer} recording the acknowledged parts, or empty if the upload cannot be journaled.
+     * @throws IOException if the journal could not be written.
+     */
+    Optional<Writer> begin(MultipartUploadFileMetadata fileMetadata, String uploadUrl) throws IOException {
+        Optional<MultipartUploadPartTable> partTable = fileMetadata.getPartTable();
+        if (!partTable.isPresent()) {
+            logger.debug("Not journaling the upload {} because its parts are supplied while it is uploaded.", fileMetadata.getUploadId());
+            return Optional.empty();
+        }
+        Path uploadFilePath = partTable.get().getFilePath();
+        JournalHeader journalHeader = JournalHeader.fromMetadata(createFileKey(uploadFilePath), uploadUrl, fileMetadata, partTable.get());
+        Files.createDirectories(journalDirectory);
+        Path journalPath = getJournalPath(uploadFilePath);
+        Path temporaryPath = Files.createTempFile(journalDirectory, journalPath.getFileName().toString(), TEMPORARY_FILE_EXTENSION);
+        try {
+            try (FileChannel temporaryChannel = FileChannel.open(temporaryPath, StandardOpenOption.WRITE)) {
+                writeFully(temporaryChannel, gson.toJson(journalHeader) + "\n");
+                temporaryChannel.force(true);
+            }
+            moveIntoPlace(temporaryPath, journalPath);
+        } finally {
+            Files.deleteIfExists(temporaryPath);
+        }
+        return Optional.of(new Writer(journalPath));
+    }
+
+    private String createFileKey(Path uploadFilePath) throws IOException {
+        BasicFileAttributes fileAttributes = Files.readAttributes(uploadFilePath, BasicFileAttributes.class);
+        return String.join(
+            "|",
+            uploadFilePath.toRealPath().toString(),
+            String.valueOf(fileAttributes.size()),
+            String.valueOf(fileAttributes.lastModifiedTime().to(TimeUnit.NANOSECONDS)),
+            String.valueOf(fileAttributes.fileKey())
+        );
+    }
+
+    // The journal is named after the path alone, so a new upload of a changed file replaces the journal of its earlier state.
+    private Path getJournalPath(Path uploadFilePath) throws IOException {
+        try {
+            byte[] pathDigest = MessageDigest.getInstance("SHA-256").digest(uploadFilePath.toRealPath().toString().getBytes(StandardCharsets.UTF_8));
+            return journalDirectory.resolve(Hex.encodeHexString(pathDigest) + JOURNAL_FILE_EXTENSION);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("Cannot create the upload journal name: ", e);
+        }
+    }
+
+    private void moveIntoPlace(Path temporaryPath, Path journalPath) throws IOException {
+        try {
+            Files.move(temporaryPath, journalPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporaryPath, journalPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void delete(Path journalPath) {
+        try {
+            Files.deleteIfExists(journalPath);
+        } catch (IOException e) {
+            logger.debug("Could not delete the upload journal {}.", journalPath, e);
+        }
+    }
+
+    private static void writeFully(FileChannel fileChannel, String text) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            fileChannel.write(buffer);
+        }
+    }
+
+    /**
+     * An upload recorded in the journal, which can be continued with {@link FileUploader#resumeMultipartUpload}.
+     */
+    public class ResumableUpload {
+        private final Path journalPath;
+        private final String uploadUrl;
+        private final MultipartUploadFileMetadata fileMetadata;
+        private final BitSet completedParts;
+
+        private ResumableUpload(Path journalPath, String uploadUrl, MultipartUploadFileMetadata fileMetadata, BitSet completedParts) {
+            this.journalPath = journalPath;
+            this.uploadUrl = uploadUrl;
+            this.fileMetadata = fileMetadata;
+            this.completedParts = completedParts;
+        }
+
+        /**
+         * Retrieve the url of the upload, returned by its start request.
+         *
+         * @return upload url.
+         */
+        public String getUploadUrl() {
+            return uploadUrl;
+        }
+
+        /**
+         * Retrieve the metadata of the upload, with the part layout, checksums and tag ids it was started with.
+         *
+         * @return {@link MultipartUploadFileMetadata}
+         */
+        public MultipartUploadFileMetadata getFileMetadata() {
+            return fileMetadata;
+        }
+
+        /**
+         * Retrieve whether a part was acknowledged by Black Duck.
+         *
+         * @param index The index of the part.
+         * @return true if the part does not need to be uploaded again.
+         */
+        public boolean isPartCompleted(int index) {
+            return completedParts.get(index);
+        }
+
+        /**
+         * Retrieve the number of parts acknowledged by Black Duck.
+         *
+         * @return completed part count.
+         */
+        public int getCompletedPartCount() {
+            return completedParts.cardinality();
+        }
+
+        Writer openWriter() {
+            return new Writer(journalPath);
+        }
+    }
+
+    /**
+     * Appends the parts acknowledged by Black Duck to the journal of an upload. Parts may be recorded concurrently by the upload threads.
+     * Failing to record a part only means the part is uploaded again if the upload is continued, so write failures are logged and stop the recording.
+     */
+    class Writer implements Closeable {
+        private final Path journalPath;
+        private FileChannel journalChannel;
+        private boolean failed = false;
+
+        private Writer(Path journalPath) {
+            this.journalPath = journalPath;
+        }
+
+        synchronized void partCompleted(int index) {
+            if (failed) {
+                return;
+            }
+            try {
+                if (journalChannel == null) {
+                    journalChannel = FileChannel.open(journalPath, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                }
+                writeFully(journalChannel, index + "\n");
+                journalChannel.force(false);
+            } catch (IOException e) {
+                failed = true;
+                logger.warn("Could not record part {} in the upload journal {}: {}", index, journalPath, e.getMessage());
+                logger.debug("Cause: ", e);
+            }
+        }
+
+        // Deletes the journal once the upload no longer needs to be continued. The parts completed afterwards are not recorded.
+        synchronized void delete() {
+            failed = true;
+            close();
+            UploadJournal.this.delete(journalPath);
+        }
+
+        @Override
+        public synchronized void close() {
+            if (journalChannel == null) {
+                return;
+            }
+            try {
+                journalChannel.close();
+            } catch (IOException e) {
+                logger.debug("Could not close the upload journal {}.", journalPath, e);
+            }
+            journalChannel = null;
+        }
+    }
+
+    // Serialized first line of a journal. The key identifies the state of the file the upload was started for.
+    private static class JournalHeader {
+        private String key;
+        private String uploadUrl;
+        private String uploadId;
+        private String fileName;
+        private String checksum;
+        private FileChecksumType checksumType;
+        private long fileSize;
+        private int chunkSize;
+        private String partDigestName;
+        private int partDigestLength;
+        private boolean partDigestTrailer;
+        private long[] partOffsets;
+        private int[] partSizes;
+        private String[] partChecksums;
+        private String[] partTagIds;
+
+        private static JournalHeader fromMetadata(String key, String uploadUrl, MultipartUploadFileMetadata fileMetadata, MultipartUploadPartTable partTable) {
+            JournalHeader journalHeader = new JournalHeader();
+            journalHeader.key = key;
+            journalHeader.uploadUrl = uploadUrl;
+            journalHeader.uploadId = fileMetadata.getUploadId().toString();
+            journalHeader.fileName = fileMetadata.getFileName();
+            journalHeader.checksum = fileMetadata.getChecksum();
+            journalHeader.checksumType = fileMetadata.getChecksumType();
+            journalHeader.fileSize = fileMetadata.getFileSize();
+            journalHeader.chunkSize = fileMetadata.getChunkSize();
+            journalHeader.partDigestName = partTable.getDigestName();
+            journalHeader.partDigestLength = partTable.getDigestLength();
+            journalHeader.partDigestTrailer = fileMetadata.isPartDigestTrailer();
+            int partCount = partTable.getPartCount();
+            journalHeader.partOffsets = new long[partCount];
+            journalHeader.partSizes = new int[partCount];
+            journalHeader.partChecksums = new String[partCount];
+            journalHeader.partTagIds = new String[partCount];
+            for (int index = 0; index < partCount; index++) {
+                journalHeader.partOffsets[index] = partTable.getStartByteRange(index);
+                journalHeader.partSizes[index] = partTable.getChunkSize(index);
+                journalHeader.partChecksums[index] = partTable.getEncodedChecksum(index);
+                journalHeader.partTagIds[index] = partTable.getTagId(index).toString();
+            }
+            return journalHeader;
+        }
+
+        private boolean isValidFor(String fileKey) {
+            return fileKey.equals(key)
+                && uploadUrl != null
+                && checksumType != null
+                && partDigestName != null
+                && partOffsets != null
+                && partSizes != null
+                && partChecksums != null
+                && partTagIds != null
+                && partOffsets.length == partSizes.length
+                && partOffsets.length == partChecksums.length
+                && partOffsets.length == partTagIds.length;
+        }
+
+        private MultipartUploadFileMetadata toMetadata(Path uploadFilePath) {
+            MultipartUploadPartTable partTable = new MultipartUploadPartTable(uploadFilePath, partOffsets, partSizes, partDigestName, partDigestLength);
+            for (int index = 0; index < partOffsets.length; index++) {
+                partTable.setDigest(index, Base64.getDecoder().decode(partChecksums[index]));
+                partTable.setTagId(index, UUID.fromString(partTagIds[index]));
+            }
+            return new MultipartUploadFileMetadata(fileName, checksum, checksumType, UUID.fromString(uploadId), fileSize, chunkSize, partTable, partDigestTrailer);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import com.blackduck.integration.sca.upload.file.digest.CompositeChecksum;
+import com.blackduck.integration.sca.upload.file.digest.PartDigest;
+import com.blackduck.integration.sca.upload.file.digest.PartDigestAlgorithm;
+import com.blackduck.integration.sca.upload.file.model.FileChecksumType;
+import com.blackduck.integration.sca.upload.file.model.MultipartUploadFileMetadata;
+import com.blackduck.integration.sca.upload.file.model.MultipartUploadPartTable;
+
+/**
+ * Computes the multipart upload metadata of a file from the bytes written to it, in the order they are written.
+ * The file digest and the digest of the current part are updated with every write, and the digest of a part is completed as soon as
+ * its last byte is written, so the file never has to be read back to be split.
+ */
+class UploadMetadataDigester {
+    private final Path filePath;
+    private final int chunkSize;
+    private final PartDigestAlgorithm partDigestAlgorithm;
+    private final FileChecksumType checksumType;
+    private final MessageDigest fileDigest;
+    private final PartDigest partDigest;
+    private final List<byte[]> partDigests = new ArrayList<>();
+    private long fileSize = 0;
+    private int partBytes = 0;
+    private MultipartUploadFileMetadata fileMetadata;
+
+    UploadMetadataDigester(Path filePath, int chunkSize, PartDigestAlgorithm partDigestAlgorithm, FileChecksumType checksumType) throws IOException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("The chunk size must be positive.");
+        }
+        this.filePath = filePath;
+        this.chunkSize = chunkSize;
+        this.partDigestAlgorithm = partDigestAlgorithm;
+        this.checksumType = checksumType;
+        // The composite checksum is computed from the part digests, so the file digest is only needed for the MD5 checksum.
+        this.fileDigest = checksumType == FileChecksumType.COMPOSITE ? null : createMD5Digest();
+        this.partDigest = partDigestAlgorithm.createDigest();
+    }
+
+    void update(byte[] bytes, int offset, int length) {
+        checkNotFinished();
+        int position = offset;
+        int endOffset = offset + length;
+        while (position < endOffset) {
+            int partLength = Math.min(endOffset - position, chunkSize - partBytes);
+            if (fileDigest != null) {
+                fileDigest.update(bytes, position, partLength);
+            }
+            partDigest.update(bytes, position, partLength);
+            position += partLength;
+            addPartBytes(partLength);
+        }
+    }
+
+    void update(ByteBuffer buffer) {
+        checkNotFinished();
+        while (buffer.hasRemaining()) {
+            int partLength = Math.min(buffer.remaining(), chunkSize - partBytes);
+            ByteBuffer partBuffer = buffer.duplicate();
+            partBuffer.limit(partBuffer.position() + partLength);
+            if (fileDigest != null) {
+                fileDigest.update(partBuffer.duplicate());
+            }
+            partDigest.update(partBuffer);
+            buffer.position(buffer.position() + partLength);
+            addPartBytes(partLength);
+        }
+    }
+
+    private void addPartBytes(int length) {
+        fileSize += length;
+        partBytes += length;
+        if (partBytes == chunkSize) {
+            partDigests.add(partDigest.digest());
+            partBytes = 0;
+        }
+    }
+
+    // Completes the last part and creates the metadata; later calls return the same metadata.
+    MultipartUploadFileMetadata finish() throws IOException {
+        if (fileMetadata != null) {
+            return fileMetadata;
+        }
+        if (partBytes > 0) {
+            partDigests.add(partDigest.digest());
+            partBytes = 0;
+        }
+        MultipartUploadPartTable partTable = MultipartUploadPartTable.createForChunkSize(
+            filePath,
+            fileSize,
+            chunkSize,
+            partDigestAlgorithm.getName(),
+            partDigestAlgorithm.getDigestLength()
+        );
+        for (int index = 0; index < partDigests.size(); index++) {
+            partTable.setDigest(index, partDigests.get(index));
+        }
+        String fileName = filePath.toFile().getName();
+        if (checksumType == FileChecksumType.COMPOSITE) {
+            String compositeChecksum = CompositeChecksum.compute(partTable);
+            fileMetadata = new MultipartUploadFileMetadata(fileName, compositeChecksum, FileChecksumType.COMPOSITE, UUID.randomUUID(), fileSize, chunkSize, partTable, false);
+        } else {
+            String checksum = Base64.getEncoder().encodeToString(fileDigest.digest());
+            fileMetadata = new MultipartUploadFileMetadata(fileName, checksum, UUID.randomUUID(), fileSize, chunkSize, partTable);
+        }
+        return fileMetadata;
+    }
+
+    boolean isFinished() {
+        return fileMetadata != null;
+    }
+
+    MultipartUploadFileMetadata getFileMetadata() {
+        if (fileMetadata == null) {
+            throw new IllegalStateException("The upload metadata is only available once the file has been closed.");
+        }
+        return fileMetadata;
+    }
+
+    private void checkNotFinished() {
+        if (fileMetadata != null) {
+            throw new IllegalStateException("The file was written after its upload metadata was computed.");
+        }
+    }
+
+    private static MessageDigest createMD5Digest() throws IOException {
+        try {
+            return MessageDigest.getInstance("md5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("Cannot compute the MD5 checksum of the file: ", e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.blackduck.integration.sca.upload.client.uploaders.AbstractUploader;
+import com.blackduck.integration.sca.upload.file.digest.PartDigestAlgorithm;
+import com.blackduck.integration.sca.upload.file.digest.PartDigestAlgorithms;
+import com.blackduck.integration.sca.upload.file.model.FileChecksumType;
+import com.blackduck.integration.sca.upload.file.model.MultipartUploadFileMetadata;
+
+/**
+ * {@link OutputStream} computing the multipart upload metadata of a file while the file is written.
+ * Once the stream is closed, {@link #getFileMetadata()} provides the same metadata the {@link FileSplitter} would compute for the file,
+ * which can be passed to {@link AbstractUploader#upload(Path, MultipartUploadFileMetadata)} so the file is not read again before it is uploaded.
+ *
+ * @see UploadMetadataWritableByteChannel
+ */
+public class UploadMetadataOutputStream extends FilterOutputStream {
+    private final UploadMetadataDigester metadataDigester;
+
+    /**
+     * Constructor for an upload metadata output stream computing MD5 checksums.
+     *
+     * @param outputStream The {@link OutputStream} writing the file.
+     * @param filePath     The path of the file the output stream writes.
+     * @param chunkSize    The byte size of the file parts.
+     * @throws IOException If the checksums cannot be computed on this runtime.
+     */
+    public UploadMetadataOutputStream(OutputStream outputStream, Path filePath, int chunkSize) throws IOException {
+        this(outputStream, filePath, chunkSize, PartDigestAlgorithms.MD5, FileChecksumType.MD5);
+    }
+
+    /**
+     * Constructor for the upload metadata output stream.
+     *
+     * @param outputStream        The {@link OutputStream} writing the file.
+     * @param filePath            The path of the file the output stream writes.
+     * @param chunkSize           The byte size of the file parts.
+     * @param partDigestAlgorithm The {@link PartDigestAlgorithm} computing the checksum of each part.
+     * @param checksumType        The {@link FileChecksumType} of the file checksum.
+     * @throws IOException If the checksums cannot be computed on this runtime.
+     */
+    public UploadMetadataOutputStream(
+        OutputStream outputStream,
+        Path filePath,
+        int chunkSize,
+        PartDigestAlgorithm partDigestAlgorithm,
+        FileChecksumType checksumType
+    ) throws IOException {
+        super(outputStream);
+        this.metadataDigester = new UploadMetadataDigester(filePath, chunkSize, partDigestAlgorithm, checksumType);
+    }
+
+    /**
+     * Opens a file for writing, creating it or replacing its content, and computes its upload metadata with MD5 checksums.
+     *
+     * @param filePath  The path of the file to write.
+     * @param chunkSize The byte size of the file parts.
+     * @return {@link UploadMetadataOutputStream} writing the file.
+     * @throws IOException If the file cannot be opened.
+     */
+    public static UploadMetadataOutputStream open(Path filePath, int chunkSize) throws IOException {
+        OutputStream fileOutputStream = Files.newOutputStream(filePath);
+        try {
+            return new UploadMetadataOutputStream(fileOutputStream, filePath, chunkSize);
+        } catch (IOException ex) {
+            fileOutputStream.close();
+            throw ex;
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        metadataDigester.update(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        // Bypasses the byte by byte copy of FilterOutputStream.
+        out.write(bytes, offset, length);
+        metadataDigester.update(bytes, offset, length);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (metadataDigester.isFinished()) {
+            return;
+        }
+        super.close();
+        metadataDigester.finish();
+    }
+
+    /**
+     * Retrieve the multipart upload metadata of the written file.
+     *
+     * @return {@link MultipartUploadFileMetadata}
+     * @throws IllegalStateException If the stream has not been closed.
+     */
+    public MultipartUploadFileMetadata getFileMetadata() {
+        return metadataDigester.getFileMetadata();
+    }
+}
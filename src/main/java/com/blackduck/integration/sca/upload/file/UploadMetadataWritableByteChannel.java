@@ -0,0 +1,119 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.blackduck.integration.sca.upload.client.uploaders.AbstractUploader;
+import com.blackduck.integration.sca.upload.file.digest.PartDigestAlgorithm;
+import com.blackduck.integration.sca.upload.file.digest.PartDigestAlgorithms;
+import com.blackduck.integration.sca.upload.file.model.FileChecksumType;
+import com.blackduck.integration.sca.upload.file.model.MultipartUploadFileMetadata;
+
+/**
+ * {@link WritableByteChannel} computing the multipart upload metadata of a file while the file is written.
+ * Once the channel is closed, {@link #getFileMetadata()} provides the same metadata the {@link FileSplitter} would compute for the file,
+ * which can be passed to {@link AbstractUploader#upload(Path, MultipartUploadFileMetadata)} so the file is not read again before it is uploaded.
+ * The bytes must be written sequentially, so the wrapped channel must not be repositioned while it is written.
+ *
+ * @see UploadMetadataOutputStream
+ */
+public class UploadMetadataWritableByteChannel implements WritableByteChannel {
+    private final WritableByteChannel channel;
+    private final UploadMetadataDigester metadataDigester;
+
+    /**
+     * Constructor for an upload metadata channel computing MD5 checksums.
+     *
+     * @param channel   The {@link WritableByteChannel} writing the file.
+     * @param filePath  The path of the file the channel writes.
+     * @param chunkSize The byte size of the file parts.
+     * @throws IOException If the checksums cannot be computed on this runtime.
+     */
+    public UploadMetadataWritableByteChannel(WritableByteChannel channel, Path filePath, int chunkSize) throws IOException {
+        this(channel, filePath, chunkSize, PartDigestAlgorithms.MD5, FileChecksumType.MD5);
+    }
+
+    /**
+     * Constructor for the upload metadata channel.
+     *
+     * @param channel             The {@link WritableByteChannel} writing the file.
+     * @param filePath            The path of the file the channel writes.
+     * @param chunkSize           The byte size of the file parts.
+     * @param partDigestAlgorithm The {@link PartDigestAlgorithm} computing the checksum of each part.
+     * @param checksumType        The {@link FileChecksumType} of the file checksum.
+     * @throws IOException If the checksums cannot be computed on this runtime.
+     */
+    public UploadMetadataWritableByteChannel(
+        WritableByteChannel channel,
+        Path filePath,
+        int chunkSize,
+        PartDigestAlgorithm partDigestAlgorithm,
+        FileChecksumType checksumType
+    ) throws IOException {
+        this.channel = channel;
+        this.metadataDigester = new UploadMetadataDigester(filePath, chunkSize, partDigestAlgorithm, checksumType);
+    }
+
+    /**
+     * Opens a file for writing, creating it or replacing its content, and computes its upload metadata with MD5 checksums.
+     *
+     * @param filePath  The path of the file to write.
+     * @param chunkSize The byte size of the file parts.
+     * @return {@link UploadMetadataWritableByteChannel} writing the file.
+     * @throws IOException If the file cannot be opened.
+     */
+    public static UploadMetadataWritableByteChannel open(Path filePath, int chunkSize) throws IOException {
+        FileChannel fileChannel = FileChannel.open(filePath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        try {
+            return new UploadMetadataWritableByteChannel(fileChannel, filePath, chunkSize);
+        } catch (IOException ex) {
+            fileChannel.close();
+            throw ex;
+        }
+    }
+
+    @Override
+    public int write(ByteBuffer source) throws IOException {
+        ByteBuffer writtenBytes = source.duplicate();
+        int bytesWritten = channel.write(source);
+        // Only the bytes the channel accepted are part of the file.
+        writtenBytes.limit(writtenBytes.position() + bytesWritten);
+        metadataDigester.update(writtenBytes);
+        return bytesWritten;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (metadataDigester.isFinished()) {
+            return;
+        }
+        channel.close();
+        metadataDigester.finish();
+    }
+
+    /**
+     * Retrieve the multipart upload metadata of the written file.
+     *
+     * @return {@link MultipartUploadFileMetadata}
+     * @throws IllegalStateException If the channel has not been closed.
+     */
+    public MultipartUploadFileMetadata getFileMetadata() {
+        return metadataDigester.getFileMetadata();
+    }
+}
@@ -0,0 +1,348 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file;
+
+import java.util.Optional;
+
+import com.blackduck.integration.sca.upload.rest.BandwidthLimiter;
+import com.blackduck.integration.sca.upload.rest.ExecutorRetryScheduler;
+import com.blackduck.integration.sca.upload.rest.RetryBudget;
+import com.blackduck.integration.sca.upload.rest.RetryPolicy;
+import com.blackduck.integration.sca.upload.rest.RetryScheduler;
+
+/**
+ * The optional settings of a {@link FileUploader}. Every setting left unset keeps its default.
+ * A {@link com.blackduck.integration.sca.upload.client.uploaders.ScassUploader} only uses the buffer pool, the retry policy, the retry scheduler
+ * and the bandwidth limiter.
+ *
+ * @see FileUploader
+ */
+public class UploadOptions {
+    private final BufferPool bufferPool;
+    private final PartUploadListener partUploadListener;
+    private final UploadJournal uploadJournal;
+    private final MultipartUploadFailurePolicy failurePolicy;
+    private final int partFailureBudget;
+    private final RetryPolicy retryPolicy;
+    private final RetryScheduler retryScheduler;
+    private final PartHedgingPolicy hedgingPolicy;
+    private final PartStallPolicy stallPolicy;
+    private final PartConcurrencyPolicy concurrencyPolicy;
+    private final BandwidthLimiter bandwidthLimiter;
+    private final Runnable connectionEvictor;
+
+    /**
+     * Static constructor to instantiate a Builder with the default settings.
+     *
+     * @return builder.
+     */
+    public static Builder createOptions() {
+        return new Builder();
+    }
+
+    /**
+     * Create the options with every setting at its default.
+     *
+     * @return upload options.
+     */
+    public static UploadOptions defaultOptions() {
+        return createOptions().build();
+    }
+
+    private UploadOptions(Builder builder) {
+        this.bufferPool = builder.bufferPool != null ? builder.bufferPool : new BufferPool();
+        this.partUploadListener = builder.partUploadListener;
+        this.uploadJournal = builder.uploadJournal;
+        this.failurePolicy = builder.failurePolicy;
+        this.partFailureBudget = builder.partFailureBudget;
+        this.retryPolicy = builder.retryPolicy;
+        this.retryScheduler = builder.retryScheduler;
+        this.hedgingPolicy = builder.hedgingPolicy;
+        this.stallPolicy = builder.stallPolicy;
+        this.concurrencyPolicy = builder.concurrencyPolicy;
+        this.bandwidthLimiter = builder.bandwidthLimiter;
+        this.connectionEvictor = builder.connectionEvictor;
+    }
+
+    /**
+     * Retrieve the pool providing the buffers file parts are written from.
+     *
+     * @return {@link BufferPool}
+     */
+    public BufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    /**
+     * Retrieve the listener notified of the outcome of each part upload attempt.
+     *
+     * @return {@link PartUploadListener}
+     */
+    public PartUploadListener getPartUploadListener() {
+        return partUploadListener;
+    }
+
+    /**
+     * Retrieve the journal recording multipart uploads so they can be resumed.
+     *
+     * @return {@link UploadJournal}, empty when failed uploads are cancelled.
+     */
+    public Optional<UploadJournal> getUploadJournal() {
+        return Optional.ofNullable(uploadJournal);
+    }
+
+    /**
+     * Retrieve the policy applied to a file part that could not be uploaded after all of its retry attempts.
+     *
+     * @return {@link MultipartUploadFailurePolicy}
+     */
+    public MultipartUploadFailurePolicy getFailurePolicy() {
+        return failurePolicy;
+    }
+
+    /**
+     * Retrieve the number of part failures repaired with the {@link MultipartUploadFailurePolicy#REPAIR} policy before the upload is cancelled.
+     *
+     * @return part failure budget.
+     */
+    public int getPartFailureBudget() {
+        return partFailureBudget;
+    }
+
+    /**
+     * Retrieve the policy deciding the delay before each retry, and whether the retry fits in its {@link RetryBudget}.
+     *
+     * @return {@link RetryPolicy}
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Retrieve the scheduler resubmitting a request when its retry is due.
+     *
+     * @return {@link RetryScheduler}
+     */
+    public RetryScheduler getRetryScheduler() {
+        return retryScheduler;
+    }
+
+    /**
+     * Retrieve the policy deciding when a slow file part upload is hedged by a second request.
+     *
+     * @return {@link PartHedgingPolicy}
+     */
+    public PartHedgingPolicy getHedgingPolicy() {
+        return hedgingPolicy;
+    }
+
+    /**
+     * Retrieve the policy deciding when a stalled file part upload is aborted and retried.
+     *
+     * @return {@link PartStallPolicy}
+     */
+    public PartStallPolicy getStallPolicy() {
+        return stallPolicy;
+    }
+
+    /**
+     * Retrieve the policy deciding whether the number of file parts uploaded concurrently adapts to the server.
+     *
+     * @return {@link PartConcurrencyPolicy}
+     */
+    public PartConcurrencyPolicy getConcurrencyPolicy() {
+        return concurrencyPolicy;
+    }
+
+    /**
+     * Retrieve the limiter the upload bodies are sent at.
+     *
+     * @return {@link BandwidthLimiter}
+     */
+    public BandwidthLimiter getBandwidthLimiter() {
+        return bandwidthLimiter;
+    }
+
+    /**
+     * Retrieve the task closing the pooled connections of the HTTP client before the failed file parts are uploaded again.
+     *
+     * @return connection evictor.
+     */
+    public Runnable getConnectionEvictor() {
+        return connectionEvictor;
+    }
+
+    /**
+     * Builder class used to create an instance of {@link UploadOptions}.
+     */
+    public static class Builder {
+        // Null until set, so every options built without a pool get a pool of their own.
+        private BufferPool bufferPool;
+        private PartUploadListener partUploadListener = PartUploadListener.NONE;
+        private UploadJournal uploadJournal;
+        private MultipartUploadFailurePolicy failurePolicy = MultipartUploadFailurePolicy.CANCEL;
+        private int partFailureBudget = 0;
+        private RetryPolicy retryPolicy = new RetryPolicy(RetryPolicy.DEFAULT_MAXIMUM_BACKOFF, RetryBudget.UNLIMITED);
+        private RetryScheduler retryScheduler = ExecutorRetryScheduler.shared();
+        private PartHedgingPolicy hedgingPolicy = PartHedgingPolicy.DISABLED;
+        private PartStallPolicy stallPolicy = PartStallPolicy.DISABLED;
+        private PartConcurrencyPolicy concurrencyPolicy = PartConcurrencyPolicy.FIXED;
+        private BandwidthLimiter bandwidthLimiter = BandwidthLimiter.global();
+        private Runnable connectionEvictor = () -> {
+        };
+
+        private Builder() {
+        }
+
+        /**
+         * Construct an instance of {@link UploadOptions}.
+         *
+         * @return upload options.
+         * @throws IllegalArgumentException if the part failure budget is negative.
+         */
+        public UploadOptions build() {
+            if (partFailureBudget < 0) {
+                throw new IllegalArgumentException("The part failure budget cannot be negative.");
+            }
+            return new UploadOptions(this);
+        }
+
+        /**
+         * Set the pool providing the buffers file parts are written from. Defaults to a new {@link BufferPool}.
+         *
+         * @param bufferPool The {@link BufferPool}.
+         * @return builder.
+         */
+        public Builder setBufferPool(BufferPool bufferPool) {
+            this.bufferPool = bufferPool;
+            return this;
+        }
+
+        /**
+         * Set the listener notified of the outcome of each part upload attempt, e.g. an {@link AdaptiveChunkSizer}. Defaults to {@link PartUploadListener#NONE}.
+         *
+         * @param partUploadListener The {@link PartUploadListener}.
+         * @return builder.
+         */
+        public Builder setPartUploadListener(PartUploadListener partUploadListener) {
+            this.partUploadListener = partUploadListener;
+            return this;
+        }
+
+        /**
+         * Set the journal recording multipart uploads so they can be resumed. Defaults to none, which cancels failed uploads.
+         *
+         * @param uploadJournal The {@link UploadJournal}, or null to cancel failed uploads.
+         * @return builder.
+         */
+        public Builder setUploadJournal(UploadJournal uploadJournal) {
+            this.uploadJournal = uploadJournal;
+            return this;
+        }
+
+        /**
+         * Set the policy applied to a file part that could not be uploaded after all of its retry attempts. Defaults to {@link MultipartUploadFailurePolicy#CANCEL}.
+         *
+         * @param failurePolicy The {@link MultipartUploadFailurePolicy}.
+         * @return builder.
+         */
+        public Builder setFailurePolicy(MultipartUploadFailurePolicy failurePolicy) {
+            this.failurePolicy = failurePolicy;
+            return this;
+        }
+
+        /**
+         * Set the number of part failures repaired with the {@link MultipartUploadFailurePolicy#REPAIR} policy before the upload is cancelled. Defaults to 0.
+         *
+         * @param partFailureBudget The part failure budget.
+         * @return builder.
+         */
+        public Builder setPartFailureBudget(int partFailureBudget) {
+            this.partFailureBudget = partFailureBudget;
+            return this;
+        }
+
+        /**
+         * Set the policy deciding the delay before each retry, and whether the retry fits in its {@link RetryBudget}. Defaults to an unlimited budget.
+         *
+         * @param retryPolicy The {@link RetryPolicy}.
+         * @return builder.
+         */
+        public Builder setRetryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        /**
+         * Set the scheduler resubmitting a request when its retry is due, and hedging slow file part uploads. Defaults to {@link ExecutorRetryScheduler#shared()}.
+         *
+         * @param retryScheduler The {@link RetryScheduler}.
+         * @return builder.
+         */
+        public Builder setRetryScheduler(RetryScheduler retryScheduler) {
+            this.retryScheduler = retryScheduler;
+            return this;
+        }
+
+        /**
+         * Set the policy deciding when a slow file part upload is hedged by a second request. Defaults to {@link PartHedgingPolicy#DISABLED}.
+         *
+         * @param hedgingPolicy The {@link PartHedgingPolicy}.
+         * @return builder.
+         */
+        public Builder setHedgingPolicy(PartHedgingPolicy hedgingPolicy) {
+            this.hedgingPolicy = hedgingPolicy;
+            return this;
+        }
+
+        /**
+         * Set the policy deciding when a stalled file part upload is aborted and retried. Defaults to {@link PartStallPolicy#DISABLED}.
+         *
+         * @param stallPolicy The {@link PartStallPolicy}.
+         * @return builder.
+         */
+        public Builder setStallPolicy(PartStallPolicy stallPolicy) {
+            this.stallPolicy = stallPolicy;
+            return this;
+        }
+
+        /**
+         * Set the policy deciding whether the number of file parts uploaded concurrently adapts to the server. Defaults to {@link PartConcurrencyPolicy#FIXED}.
+         *
+         * @param concurrencyPolicy The {@link PartConcurrencyPolicy}.
+         * @return builder.
+         */
+        public Builder setConcurrencyPolicy(PartConcurrencyPolicy concurrencyPolicy) {
+            this.concurrencyPolicy = concurrencyPolicy;
+            return this;
+        }
+
+        /**
+         * Set the limiter the upload bodies are sent at. Defaults to the {@link BandwidthLimiter#global()} limiter.
+         *
+         * @param bandwidthLimiter The {@link BandwidthLimiter}.
+         * @return builder.
+         */
+        public Builder setBandwidthLimiter(BandwidthLimiter bandwidthLimiter) {
+            this.bandwidthLimiter = bandwidthLimiter;
+            return this;
+        }
+
+        /**
+         * Set the task closing the pooled connections of the HTTP client before each repair pass, so the failed file parts are not uploaded again
+         * on the connections they failed on. Defaults to a task doing nothing.
+         *
+         * @param connectionEvictor The task closing the pooled connections.
+         * @return builder.
+         */
+        public Builder setConnectionEvictor(Runnable connectionEvictor) {
+            this.connectionEvictor = connectionEvictor;
+            return this;
+        }
+    }
+}
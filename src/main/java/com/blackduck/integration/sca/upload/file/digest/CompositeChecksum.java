@@ -0,0 +1,44 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file.digest;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+import com.blackduck.integration.sca.upload.file.model.FileChecksumType;
+import com.blackduck.integration.sca.upload.file.model.MultipartUploadPartTable;
+
+/**
+ * Computes the {@link FileChecksumType#COMPOSITE} checksum of a file from the digests of its parts.
+ */
+public final class CompositeChecksum {
+    private CompositeChecksum() {
+        // Utility class
+    }
+
+    /**
+     * Computes the composite checksum from the part digests of a table, in part order.
+     *
+     * @param partTable The {@link MultipartUploadPartTable} holding the digest of every part.
+     * @return the Base64 encoded MD5 digest of the concatenated part digests, followed by a dash and the number of parts.
+     * @throws IOException if the MD5 algorithm is not available.
+     */
+    public static String compute(MultipartUploadPartTable partTable) throws IOException {
+        try {
+            MessageDigest compositeDigest = MessageDigest.getInstance("md5");
+            for (int index = 0; index < partTable.getPartCount(); index++) {
+                compositeDigest.update(partTable.getDigest(index));
+            }
+            return String.format("%s-%d", Base64.getEncoder().encodeToString(compositeDigest.digest()), partTable.getPartCount());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("Cannot compute the composite checksum of the file: ", e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file.digest;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.util.zip.Checksum;
+
+/**
+ * {@link PartDigestAlgorithm} computing the CRC32C checksum of each part with {@code java.util.zip.CRC32C}, which the JVM computes with
+ * hardware instructions where available. The class was added in Java 9, so it is looked up at runtime and the algorithm is not available on Java 8.
+ * The digest is the checksum as 4 bytes in big-endian order, as defined for the {@code crc32c} key of RFC 9530.
+ */
+public class Crc32cPartDigestAlgorithm implements PartDigestAlgorithm {
+    public static final String NAME = "crc32c";
+    public static final int DIGEST_LENGTH = 4;
+
+    private static final String CRC32C_CLASS_NAME = "java.util.zip.CRC32C";
+    // Null when the runtime does not provide CRC32C.
+    private static final MethodHandle CONSTRUCTOR = findConstructor();
+    private static final MethodHandle UPDATE_BYTE_BUFFER = findUpdateByteBuffer();
+
+    /**
+     * Retrieve whether CRC32C is available on this runtime.
+     *
+     * @return true on Java 9 or later.
+     */
+    public static boolean isAvailable() {
+        return CONSTRUCTOR != null && UPDATE_BYTE_BUFFER != null;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int getDigestLength() {
+        return DIGEST_LENGTH;
+    }
+
+    @Override
+    public PartDigest createDigest() throws IOException {
+        if (!isAvailable()) {
+            throw new IOException("Cannot validate checksum of the part: CRC32C requires Java 9 or later.");
+        }
+        try {
+            return new Crc32cPartDigest((Checksum) CONSTRUCTOR.invoke());
+        } catch (Throwable e) {
+            throw new IOException("Cannot validate checksum of the part: ", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return NAME;
+    }
+
+    private static MethodHandle findConstructor() {
+        try {
+            Class<?> crc32cClass = Class.forName(CRC32C_CLASS_NAME);
+            return MethodHandles.publicLookup().findConstructor(crc32cClass, MethodType.methodType(void.class));
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle findUpdateByteBuffer() {
+        try {
+            return MethodHandles.publicLookup().findVirtual(Checksum.class, "update", MethodType.methodType(void.class, ByteBuffer.class));
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static class Crc32cPartDigest implements PartDigest {
+        private final Checksum checksum;
+
+        private Crc32cPartDigest(Checksum checksum) {
+            this.checksum = checksum;
+        }
+
+        @Override
+        public void update(byte[] input, int offset, int length) {
+            checksum.update(input, offset, length);
+        }
+
+        @Override
+        public void update(ByteBuffer input) {
+            try {
+                UPDATE_BYTE_BUFFER.invoke(checksum, input);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Could not update the CRC32C checksum.", e);
+            }
+        }
+
+        @Override
+        public byte[] digest() {
+            long value = checksum.getValue();
+            checksum.reset();
+            return new byte[] {
+                (byte) (value >>> 24),
+                (byte) (value >>> 16),
+                (byte) (value >>> 8),
+                (byte) value
+            };
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file.digest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * {@link PartDigestAlgorithm} backed by a {@link MessageDigest} of the Java security providers.
+ */
+public class MessageDigestPartDigestAlgorithm implements PartDigestAlgorithm {
+    private final String name;
+    private final String messageDigestAlgorithm;
+    private final int digestLength;
+
+    /**
+     * Constructor for the algorithm.
+     *
+     * @param name The RFC 9530 hash algorithm key.
+     * @param messageDigestAlgorithm The standard name of the {@link MessageDigest} algorithm.
+     * @param digestLength The length in bytes of the digests.
+     */
+    public MessageDigestPartDigestAlgorithm(String name, String messageDigestAlgorithm, int digestLength) {
+        this.name = name;
+        this.messageDigestAlgorithm = messageDigestAlgorithm;
+        this.digestLength = digestLength;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getDigestLength() {
+        return digestLength;
+    }
+
+    @Override
+    public PartDigest createDigest() throws IOException {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(messageDigestAlgorithm);
+            return new MessageDigestPartDigest(messageDigest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("Cannot validate checksum of the part: ", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private static class MessageDigestPartDigest implements PartDigest {
+        private final MessageDigest messageDigest;
+
+        private MessageDigestPartDigest(MessageDigest messageDigest) {
+            this.messageDigest = messageDigest;
+        }
+
+        @Override
+        public void update(byte[] input, int offset, int length) {
+            messageDigest.update(input, offset, length);
+        }
+
+        @Override
+        public void update(ByteBuffer input) {
+            messageDigest.update(input);
+        }
+
+        @Override
+        public byte[] digest() {
+            return messageDigest.digest();
+        }
+    }
+}
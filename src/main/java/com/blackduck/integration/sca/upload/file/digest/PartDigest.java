@@ -0,0 +1,39 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file.digest;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A running digest of the content of one file part, created by a {@link PartDigestAlgorithm}.
+ * Instances are not thread safe and are reused for consecutive parts, as {@link #digest()} resets the digest.
+ */
+public interface PartDigest {
+    /**
+     * Adds bytes of the part to the digest.
+     *
+     * @param input The array containing the bytes.
+     * @param offset The offset of the first byte in the array.
+     * @param length The number of bytes to add.
+     */
+    void update(byte[] input, int offset, int length);
+
+    /**
+     * Adds the remaining bytes of the buffer to the digest, advancing the buffer position to its limit.
+     *
+     * @param input The buffer containing the bytes.
+     */
+    void update(ByteBuffer input);
+
+    /**
+     * Completes the digest and resets it for the next part.
+     *
+     * @return the digest bytes, {@link PartDigestAlgorithm#getDigestLength()} bytes long.
+     */
+    byte[] digest();
+}
@@ -0,0 +1,40 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file.digest;
+
+import java.io.IOException;
+
+/**
+ * Algorithm computing the digest of each file part. The digest is sent with the part upload in the Content-Digest header,
+ * as defined by RFC 9530, using the name of the algorithm as the header key.
+ *
+ * @see PartDigestAlgorithms
+ */
+public interface PartDigestAlgorithm {
+    /**
+     * Retrieve the RFC 9530 hash algorithm key, e.g. {@code md5} or {@code sha-256}.
+     *
+     * @return algorithm name.
+     */
+    String getName();
+
+    /**
+     * Retrieve the length in bytes of the digests computed by the algorithm.
+     *
+     * @return digest length.
+     */
+    int getDigestLength();
+
+    /**
+     * Creates a new digest.
+     *
+     * @return {@link PartDigest}
+     * @throws IOException If the algorithm is not available on this runtime.
+     */
+    PartDigest createDigest() throws IOException;
+}
@@ -0,0 +1,53 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file.digest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The built-in {@link PartDigestAlgorithm}s.
+ */
+public final class PartDigestAlgorithms {
+    // The part digest sent by default, supported by every Black Duck server accepting multipart uploads.
+    public static final PartDigestAlgorithm MD5 = new MessageDigestPartDigestAlgorithm("md5", "MD5", 16);
+    public static final PartDigestAlgorithm SHA_256 = new MessageDigestPartDigestAlgorithm("sha-256", "SHA-256", 32);
+    public static final PartDigestAlgorithm CRC32C = new Crc32cPartDigestAlgorithm();
+
+    private static final List<PartDigestAlgorithm> ALGORITHMS = Collections.unmodifiableList(Arrays.asList(MD5, SHA_256, CRC32C));
+
+    private PartDigestAlgorithms() {
+        // Utility class
+    }
+
+    /**
+     * Retrieve the built-in algorithms.
+     *
+     * @return {@link List} of {@link PartDigestAlgorithm}.
+     */
+    public static List<PartDigestAlgorithm> getAlgorithms() {
+        return ALGORITHMS;
+    }
+
+    /**
+     * Retrieve a built-in algorithm by its RFC 9530 hash algorithm key, ignoring case.
+     *
+     * @param name The hash algorithm key, e.g. {@code md5}, {@code sha-256} or {@code crc32c}.
+     * @return {@link PartDigestAlgorithm}
+     * @throws IllegalArgumentException If no built-in algorithm has the name.
+     */
+    public static PartDigestAlgorithm fromName(String name) {
+        String normalizedName = name.trim().toLowerCase(Locale.ROOT);
+        return ALGORITHMS.stream()
+            .filter(algorithm -> algorithm.getName().equals(normalizedName))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException(String.format("Unsupported part digest algorithm: %s", name)));
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file.model;
+
+/**
+ * Defines how the whole-file checksum sent in the multipart upload start request is computed.
+ *
+ * @see MultipartUploadFileMetadata#getChecksumType()
+ */
+public enum FileChecksumType {
+    /**
+     * The MD5 digest of the whole file, which is computed by reading the file sequentially.
+     */
+    MD5(null),
+    /**
+     * The MD5 digest of the ordered raw part digests followed by a dash and the number of parts, similar to the entity tag of an S3 multipart upload.
+     * It is computed from the part digests, so the file does not have to be read sequentially before the upload can start.
+     */
+    COMPOSITE("composite");
+
+    // The checksum type announced in the start request, or null when the server assumes it.
+    private final String startRequestValue;
+
+    FileChecksumType(String startRequestValue) {
+        this.startRequestValue = startRequestValue;
+    }
+
+    /**
+     * Retrieve the value announcing the checksum type in the multipart upload start request.
+     *
+     * @return the checksum type value, or null for {@link #MD5}, which servers assume when no type is sent.
+     */
+    public String getStartRequestValue() {
+        return startRequestValue;
+    }
+}
@@ -7,23 +7,41 @@
  */
 package com.blackduck.integration.sca.upload.file.model;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import com.blackduck.integration.sca.upload.file.FileSplitter;
 
 /**
  * Class containing metadata associated with a multipart upload.
+ * The file parts are either provided up front as a list or supplied lazily by a {@link MultipartUploadFilePartSource}.
  *
  * @see MultipartUploadFilePart
+ * @see MultipartUploadFilePartSource
  */
-public class MultipartUploadFileMetadata {
+public class MultipartUploadFileMetadata implements Closeable {
     private final String fileName;
     private final String checksum;
+    private final FileChecksumType checksumType;
     private final UUID uploadId;
     private final long fileSize;
     private final int chunkSize;
     private final List<MultipartUploadFilePart> fileChunks;
+    private final String partDigestName;
+    private final boolean partDigestTrailer;
+    private final int partCount;
+    // Only set when the parts are supplied lazily, null otherwise.
+    private final MultipartUploadFilePartSource filePartSource;
+    // Only set when the parts are stored in a compact table, null otherwise.
+    private final MultipartUploadPartTable partTable;
 
     /**
      * Constructor for the metadata object.
@@ -39,10 +57,145 @@ public class MultipartUploadFileMetadata {
     public MultipartUploadFileMetadata(String fileName, String checksum, UUID uploadId, long fileSize, int chunkSize, List<MultipartUploadFilePart> fileChunks) {
         this.fileName = fileName;
         this.checksum = checksum;
+        this.checksumType = FileChecksumType.MD5;
         this.uploadId = uploadId;
         this.fileSize = fileSize;
         this.chunkSize = chunkSize;
         this.fileChunks = fileChunks;
+        this.partDigestName = MultipartUploadPartTable.DEFAULT_DIGEST_NAME;
+        this.partDigestTrailer = false;
+        this.partCount = -1;
+        this.filePartSource = null;
+        this.partTable = null;
+    }
+
+    /**
+     * Constructor for a metadata object whose file parts are stored in a {@link MultipartUploadPartTable}.
+     *
+     * @see FileSplitter
+     * @param fileName The name of the file to upload.
+     * @param checksum The MD5 checksum of the file to upload.
+     * @param uploadId The {@link UUID} of the metadata object to use within Black Duck.
+     * @param fileSize The size of the file to upload in bytes.
+     * @param chunkSize The chunk size in bytes of the file parts.
+     * @param partTable The {@link MultipartUploadPartTable} containing the file parts.
+     */
+    public MultipartUploadFileMetadata(String fileName, String checksum, UUID uploadId, long fileSize, int chunkSize, MultipartUploadPartTable partTable) {
+        this(fileName, checksum, uploadId, fileSize, chunkSize, partTable, false);
+    }
+
+    /**
+     * Constructor for a metadata object whose file parts are stored in a {@link MultipartUploadPartTable}.
+     *
+     * @see FileSplitter
+     * @param fileName The name of the file to upload.
+     * @param checksum The MD5 checksum of the file to upload.
+     * @param uploadId The {@link UUID} of the metadata object to use within Black Duck.
+     * @param fileSize The size of the file to upload in bytes.
+     * @param chunkSize The chunk size in bytes of the file parts.
+     * @param partTable The {@link MultipartUploadPartTable} containing the file parts.
+     * @param partDigestTrailer True if the part checksums are not in the table but computed while each part is sent, and sent in a trailer field.
+     */
+    public MultipartUploadFileMetadata(
+        String fileName,
+        String checksum,
+        UUID uploadId,
+        long fileSize,
+        int chunkSize,
+        MultipartUploadPartTable partTable,
+        boolean partDigestTrailer
+    ) {
+        this(fileName, checksum, FileChecksumType.MD5, uploadId, fileSize, chunkSize, partTable, partDigestTrailer);
+    }
+
+    /**
+     * Constructor for a metadata object whose file parts are stored in a {@link MultipartUploadPartTable}.
+     *
+     * @see FileSplitter
+     * @param fileName The name of the file to upload.
+     * @param checksum The checksum of the file to upload.
+     * @param checksumType The {@link FileChecksumType} of the checksum.
+     * @param uploadId The {@link UUID} of the metadata object to use within Black Duck.
+     * @param fileSize The size of the file to upload in bytes.
+     * @param chunkSize The chunk size in bytes of the file parts.
+     * @param partTable The {@link MultipartUploadPartTable} containing the file parts.
+     * @param partDigestTrailer True if the part checksums are not in the table but computed while each part is sent, and sent in a trailer field.
+     */
+    public MultipartUploadFileMetadata(
+        String fileName,
+        String checksum,
+        FileChecksumType checksumType,
+        UUID uploadId,
+        long fileSize,
+        int chunkSize,
+        MultipartUploadPartTable partTable,
+        boolean partDigestTrailer
+    ) {
+        this.fileName = fileName;
+        this.checksum = checksum;
+        this.checksumType = checksumType;
+        this.uploadId = uploadId;
+        this.fileSize = fileSize;
+        this.chunkSize = chunkSize;
+        this.fileChunks = partTable.asList();
+        this.partDigestName = partTable.getDigestName();
+        this.partDigestTrailer = partDigestTrailer;
+        this.partCount = -1;
+        this.filePartSource = null;
+        this.partTable = partTable;
+    }
+
+    /**
+     * Constructor for a metadata object whose file parts are supplied lazily.
+     *
+     * @see FileSplitter
+     * @param fileName The name of the file to upload.
+     * @param checksum The MD5 checksum of the file to upload.
+     * @param uploadId The {@link UUID} of the metadata object to use within Black Duck.
+     * @param fileSize The size of the file to upload in bytes.
+     * @param chunkSize The chunk size in bytes of the file parts.
+     * @param partCount The number of file parts the source supplies.
+     * @param filePartSource The {@link MultipartUploadFilePartSource} supplying the file parts in index order.
+     */
+    public MultipartUploadFileMetadata(String fileName, String checksum, UUID uploadId, long fileSize, int chunkSize, int partCount, MultipartUploadFilePartSource filePartSource) {
+        this(fileName, checksum, uploadId, fileSize, chunkSize, partCount, filePartSource, MultipartUploadPartTable.DEFAULT_DIGEST_NAME);
+    }
+
+    /**
+     * Constructor for a metadata object whose file parts are supplied lazily with digests of the given algorithm.
+     *
+     * @see FileSplitter
+     * @param fileName The name of the file to upload.
+     * @param checksum The MD5 checksum of the file to upload.
+     * @param uploadId The {@link UUID} of the metadata object to use within Black Duck.
+     * @param fileSize The size of the file to upload in bytes.
+     * @param chunkSize The chunk size in bytes of the file parts.
+     * @param partCount The number of file parts the source supplies.
+     * @param filePartSource The {@link MultipartUploadFilePartSource} supplying the file parts in index order.
+     * @param partDigestName The RFC 9530 hash algorithm key of the part checksums.
+     */
+    public MultipartUploadFileMetadata(
+        String fileName,
+        String checksum,
+        UUID uploadId,
+        long fileSize,
+        int chunkSize,
+        int partCount,
+        MultipartUploadFilePartSource filePartSource,
+        String partDigestName
+    ) {
+        this.fileName = fileName;
+        this.checksum = checksum;
+        this.checksumType = FileChecksumType.MD5;
+        this.uploadId = uploadId;
+        this.fileSize = fileSize;
+        this.chunkSize = chunkSize;
+        this.fileChunks = Collections.synchronizedList(new ArrayList<>(partCount));
+        this.partDigestName = partDigestName;
+        this.partDigestTrailer = false;
+        this.partCount = partCount;
+        this.filePartSource = filePartSource;
+        this.partTable = null;
     }
 
     /**
@@ -55,14 +208,23 @@ public class MultipartUploadFileMetadata {
     }
 
     /**
-     * Retrieve the MD5 checksum of the file.
+     * Retrieve the checksum of the file, computed as described by {@link #getChecksumType()}.
      *
-     * @return MD5 checksum.
+     * @return checksum.
      */
     public String getChecksum() {
         return checksum;
     }
 
+    /**
+     * Retrieve how the checksum of the file was computed.
+     *
+     * @return {@link FileChecksumType}, {@link FileChecksumType#MD5} unless a composite checksum was requested.
+     */
+    public FileChecksumType getChecksumType() {
+        return checksumType;
+    }
+
     /**
      * Retrieve the id of the metadata object.
      *
@@ -92,6 +254,7 @@ public class MultipartUploadFileMetadata {
 
     /**
      * Retrieve a list of file parts for the file.
+     * When the parts are supplied lazily, the list only contains the parts supplied so far.
      *
      * @return {@link List} of {@link MultipartUploadFilePart}.
      */
@@ -99,6 +262,84 @@ public class MultipartUploadFileMetadata {
         return fileChunks;
     }
 
+    /**
+     * Retrieve the RFC 9530 hash algorithm key of the part checksums, used as the key of the Content-Digest header of each part upload.
+     *
+     * @return part digest name, {@code md5} unless another part digest algorithm was configured.
+     */
+    public String getPartDigestName() {
+        return partDigestName;
+    }
+
+    /**
+     * Retrieve whether the part checksums are computed while each part is sent and delivered in a Content-Digest trailer field.
+     * The checksums of the parts are not known before the upload in that case.
+     *
+     * @return true if the part checksums are sent in a trailer field.
+     */
+    public boolean isPartDigestTrailer() {
+        return partDigestTrailer;
+    }
+
+    /**
+     * Retrieve the compact table containing the file parts.
+     *
+     * @return {@link MultipartUploadPartTable}, empty when the parts are held as a list or supplied lazily.
+     */
+    public Optional<MultipartUploadPartTable> getPartTable() {
+        return Optional.ofNullable(partTable);
+    }
+
+    /**
+     * Retrieve the number of file parts for the file.
+     *
+     * @return number of file parts.
+     */
+    public int getPartCount() {
+        return filePartSource == null ? fileChunks.size() : partCount;
+    }
+
+    /**
+     * Retrieve the source of the file parts in index order.
+     * For parts supplied lazily the source can only be consumed once; every part it returns is also added to {@link #getFileChunks()}.
+     *
+     * @return {@link MultipartUploadFilePartSource} of the file parts.
+     */
+    public MultipartUploadFilePartSource getFilePartSource() {
+        if (filePartSource == null) {
+            Iterator<MultipartUploadFilePart> fileChunkIterator = fileChunks.iterator();
+            return () -> fileChunkIterator.hasNext() ? Optional.of(fileChunkIterator.next()) : Optional.empty();
+        }
+        return new MultipartUploadFilePartSource() {
+            @Override
+            public Optional<MultipartUploadFilePart> nextPart() throws IOException, InterruptedException {
+                return addFileChunk(filePartSource.nextPart());
+            }
+
+            @Override
+            public Optional<MultipartUploadFilePart> nextPart(long timeout, TimeUnit unit) throws IOException, InterruptedException, TimeoutException {
+                return addFileChunk(filePartSource.nextPart(timeout, unit));
+            }
+
+            private Optional<MultipartUploadFilePart> addFileChunk(Optional<MultipartUploadFilePart> nextPart) {
+                nextPart.ifPresent(fileChunks::add);
+                return nextPart;
+            }
+        };
+    }
+
+    /**
+     * Release the resources used to supply the file parts lazily.
+     *
+     * @throws IOException if the part source could not be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (filePartSource != null) {
+            filePartSource.close();
+        }
+    }
+
     @Override
     public String toString() {
         return "MultipartUploadFileMetadata{" +
@@ -107,7 +348,7 @@ public class MultipartUploadFileMetadata {
             ", uploadId='" + uploadId.toString() + '\'' +
             ", fileSize=" + fileSize +
             ", chunkSize=" + chunkSize +
-            ", fileChunks=" + fileChunks.size() +
+            ", fileChunks=" + getPartCount() +
             '}';
     }
 }
\ No newline at end of file
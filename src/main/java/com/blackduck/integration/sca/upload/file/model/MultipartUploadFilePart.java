@@ -12,10 +12,14 @@ import java.util.UUID;
 
 /**
  * Class containing data associated with a multipart upload file part.
+ * A part either holds its own data or is a lightweight view of one row of a {@link MultipartUploadPartTable}.
  *
  * @see MultipartUploadFileMetadata
+ * @see MultipartUploadPartTable
  */
 public class MultipartUploadFilePart {
+    // Null unless this part is a view of a part table, in which case only the index is stored in this object.
+    private final MultipartUploadPartTable partTable;
     private final UUID tagId;
     private final String checksum;
     private final int index;
@@ -34,6 +38,7 @@ public class MultipartUploadFilePart {
      * @param filePath The path on this system where the file is stored.
      */
     public MultipartUploadFilePart(UUID tagId, String checksum, int index, long startByteRange, int chunkSize, Path filePath) {
+        this.partTable = null;
         this.tagId = tagId;
         this.checksum = checksum;
         this.index = index;
@@ -42,22 +47,38 @@ public class MultipartUploadFilePart {
         this.filePath = filePath;
     }
 
+    /**
+     * Constructor for a view of a part stored in a {@link MultipartUploadPartTable}.
+     *
+     * @param partTable The table containing the part.
+     * @param index The position of the file part relative to all parts of the file.
+     */
+    MultipartUploadFilePart(MultipartUploadPartTable partTable, int index) {
+        this.partTable = partTable;
+        this.tagId = null;
+        this.checksum = null;
+        this.index = index;
+        this.startByteRange = 0;
+        this.chunkSize = 0;
+        this.filePath = null;
+    }
+
     /**
      * Retrieve the tag id of the file part.
      *
      * @return {@link UUID}.
      */
     public UUID getTagId() {
-        return tagId;
+        return partTable == null ? tagId : partTable.getTagId(index);
     }
 
     /**
-     * Retrieve MD5 checksum of the file part
+     * Retrieve the Base64 encoded checksum of the file part, computed with the part digest algorithm of the upload
      *
      * @return checksum.
      */
     public String getChecksum() {
-        return checksum;
+        return partTable == null ? checksum : partTable.getEncodedChecksum(index);
     }
 
     /**
@@ -75,7 +96,7 @@ public class MultipartUploadFilePart {
      * @return start byte range.
      */
     public long getStartByteRange() {
-        return startByteRange;
+        return partTable == null ? startByteRange : partTable.getStartByteRange(index);
     }
 
     /**
@@ -84,7 +105,7 @@ public class MultipartUploadFilePart {
      * @return chunk size.
      */
     public int getChunkSize() {
-        return chunkSize;
+        return partTable == null ? chunkSize : partTable.getChunkSize(index);
     }
 
     /**
@@ -93,18 +114,18 @@ public class MultipartUploadFilePart {
      * @return file path.
      */
     public Path getFilePath() {
-        return filePath;
+        return partTable == null ? filePath : partTable.getFilePath();
     }
 
     @Override
     public String toString() {
         return "MultipartUploadFilePart{" +
-            "tagId=" + tagId +
-            ", checksum='" + checksum + '\'' +
+            "tagId=" + getTagId() +
+            ", checksum='" + getChecksum() + '\'' +
             ", index=" + index +
-            ", startByteRange=" + startByteRange +
-            ", chunkSize=" + chunkSize +
-            ", filePath=" + filePath +
+            ", startByteRange=" + getStartByteRange() +
+            ", chunkSize=" + getChunkSize() +
+            ", filePath=" + getFilePath() +
             '}';
     }
 }
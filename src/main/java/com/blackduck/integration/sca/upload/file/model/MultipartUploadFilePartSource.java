@@ -0,0 +1,56 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Supplies the file parts of a multipart upload in index order as they become available.
+ *
+ * @see MultipartUploadFileMetadata
+ * @see MultipartUploadFilePart
+ */
+public interface MultipartUploadFilePartSource extends Closeable {
+    /**
+     * Retrieve the next file part, waiting until its checksum has been computed.
+     *
+     * @return the next {@link MultipartUploadFilePart}, or empty once all parts have been supplied.
+     * @throws IOException if the part could not be read or its checksum could not be computed.
+     * @throws InterruptedException if the thread was interrupted while waiting for the part.
+     */
+    Optional<MultipartUploadFilePart> nextPart() throws IOException, InterruptedException;
+
+    /**
+     * Retrieve the next file part, waiting at most the timeout until its checksum has been computed.
+     * By default a source is not expected to wait for its parts, so the part is retrieved with {@link #nextPart()}.
+     *
+     * @param timeout The longest time to wait for the part.
+     * @param unit The {@link TimeUnit} of the timeout.
+     * @return the next {@link MultipartUploadFilePart}, or empty once all parts have been supplied.
+     * @throws IOException if the part could not be read or its checksum could not be computed.
+     * @throws InterruptedException if the thread was interrupted while waiting for the part.
+     * @throws TimeoutException if the checksum of the part was not computed before the timeout.
+     */
+    default Optional<MultipartUploadFilePart> nextPart(long timeout, TimeUnit unit) throws IOException, InterruptedException, TimeoutException {
+        return nextPart();
+    }
+
+    /**
+     * Release any resources held to produce the remaining parts.
+     *
+     * @throws IOException if the resources could not be released.
+     */
+    @Override
+    default void close() throws IOException {
+        // Nothing to release by default.
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.file.model;
+
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.Base64;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.UUID;
+
+/**
+ * Compact table of the file parts of a multipart upload.
+ * The offsets, sizes, raw part digests and tag ids of all parts are kept in primitive arrays, and the file path is stored once.
+ * {@link MultipartUploadFilePart} objects are only created as lightweight views when a part is accessed, and the Base64 checksum
+ * is only encoded when the view is asked for it.
+ *
+ * @see MultipartUploadFilePart
+ * @see MultipartUploadFileMetadata
+ */
+public class MultipartUploadPartTable {
+    public static final String DEFAULT_DIGEST_NAME = "md5";
+    public static final int DIGEST_LENGTH = 16;
+
+    private final Path filePath;
+    private final String digestName;
+    private final int digestLength;
+    private final long[] startByteRanges;
+    private final int[] chunkSizes;
+    private final byte[] digests;
+    // The most and least significant bits of each tag id, two longs per part.
+    private final long[] tagIdBits;
+
+    /**
+     * Constructor for a part table with an explicit layout holding MD5 digests. The digests are empty until set with {@link #setDigest(int, byte[])}.
+     *
+     * @param filePath The path on this system where the file is stored.
+     * @param startByteRanges The byte index at which each part begins.
+     * @param chunkSizes The byte size of each part.
+     */
+    public MultipartUploadPartTable(Path filePath, long[] startByteRanges, int[] chunkSizes) {
+        this(filePath, startByteRanges, chunkSizes, DEFAULT_DIGEST_NAME, DIGEST_LENGTH);
+    }
+
+    /**
+     * Constructor for a part table with an explicit layout. The digests are empty until set with {@link #setDigest(int, byte[])}.
+     *
+     * @param filePath The path on this system where the file is stored.
+     * @param startByteRanges The byte index at which each part begins.
+     * @param chunkSizes The byte size of each part.
+     * @param digestName The RFC 9530 hash algorithm key of the part digests.
+     * @param digestLength The byte length of each part digest.
+     */
+    public MultipartUploadPartTable(Path filePath, long[] startByteRanges, int[] chunkSizes, String digestName, int digestLength) {
+        if (startByteRanges.length != chunkSizes.length) {
+            throw new IllegalArgumentException("Every part needs a start byte range and a chunk size.");
+        }
+        this.filePath = filePath;
+        this.startByteRanges = startByteRanges;
+        this.chunkSizes = chunkSizes;
+        this.digestName = digestName;
+        this.digestLength = digestLength;
+        this.digests = new byte[startByteRanges.length * digestLength];
+        this.tagIdBits = new long[startByteRanges.length * 2];
+        for (int index = 0; index < startByteRanges.length; index++) {
+            UUID tagId = UUID.randomUUID();
+            tagIdBits[index * 2] = tagId.getMostSignificantBits();
+            tagIdBits[index * 2 + 1] = tagId.getLeastSignificantBits();
+        }
+    }
+
+    /**
+     * Creates a part table holding MD5 digests, splitting a file into parts of the chunk size, where only the last part may be smaller.
+     *
+     * @param filePath The path on this system where the file is stored.
+     * @param fileSize The size of the file in bytes.
+     * @param chunkSize The byte size of each part.
+     * @return the {@link MultipartUploadPartTable} for the file.
+     */
+    public static MultipartUploadPartTable createForChunkSize(Path filePath, long fileSize, int chunkSize) {
+        return createForChunkSize(filePath, fileSize, chunkSize, DEFAULT_DIGEST_NAME, DIGEST_LENGTH);
+    }
+
+    /**
+     * Creates a part table splitting a file into parts of the chunk size, where only the last part may be smaller.
+     *
+     * @param filePath The path on this system where the file is stored.
+     * @param fileSize The size of the file in bytes.
+     * @param chunkSize The byte size of each part.
+     * @param digestName The RFC 9530 hash algorithm key of the part digests.
+     * @param digestLength The byte length of each part digest.
+     * @return the {@link MultipartUploadPartTable} for the file.
+     */
+    public static MultipartUploadPartTable createForChunkSize(Path filePath, long fileSize, int chunkSize, String digestName, int digestLength) {
+        int partCount = (int) Math.ceil((double) fileSize / chunkSize);
+        long[] startByteRanges = new long[partCount];
+        int[] chunkSizes = new int[partCount];
+        long startOffset = 0;
+        for (int index = 0; index < partCount; index++) {
+            startByteRanges[index] = startOffset;
+            chunkSizes[index] = (int) Math.min(chunkSize, fileSize - startOffset);
+            startOffset += chunkSizes[index];
+        }
+        return new MultipartUploadPartTable(filePath, startByteRanges, chunkSizes, digestName, digestLength);
+    }
+
+    /**
+     * Retrieve the number of parts in the table.
+     *
+     * @return part count.
+     */
+    public int getPartCount() {
+        return startByteRanges.length;
+    }
+
+    /**
+     * Retrieve the path to the file.
+     *
+     * @return file path.
+     */
+    public Path getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Retrieve the RFC 9530 hash algorithm key of the part digests, e.g. {@code md5}.
+     *
+     * @return digest name.
+     */
+    public String getDigestName() {
+        return digestName;
+    }
+
+    /**
+     * Retrieve the byte length of each part digest.
+     *
+     * @return digest length.
+     */
+    public int getDigestLength() {
+        return digestLength;
+    }
+
+    /**
+     * Retrieve the byte index at which a part begins.
+     *
+     * @param index The index of the part.
+     * @return start byte range.
+     */
+    public long getStartByteRange(int index) {
+        return startByteRanges[index];
+    }
+
+    /**
+     * Retrieve the byte size of a part.
+     *
+     * @param index The index of the part.
+     * @return chunk size.
+     */
+    public int getChunkSize(int index) {
+        return chunkSizes[index];
+    }
+
+    /**
+     * Retrieve the tag id of a part.
+     *
+     * @param index The index of the part.
+     * @return {@link UUID}.
+     */
+    public UUID getTagId(int index) {
+        return new UUID(tagIdBits[index * 2], tagIdBits[index * 2 + 1]);
+    }
+
+    /**
+     * Replaces the tag id of a part, e.g. to continue an upload whose parts were tagged by an earlier process.
+     *
+     * @param index The index of the part.
+     * @param tagId The tag id of the part.
+     */
+    public void setTagId(int index, UUID tagId) {
+        tagIdBits[index * 2] = tagId.getMostSignificantBits();
+        tagIdBits[index * 2 + 1] = tagId.getLeastSignificantBits();
+    }
+
+    /**
+     * Stores the raw digest of a part.
+     *
+     * @param index The index of the part.
+     * @param digest The digest of the part, {@link #getDigestLength()} bytes long.
+     */
+    public void setDigest(int index, byte[] digest) {
+        if (digest.length != digestLength) {
+            throw new IllegalArgumentException(String.format("Expected a digest of %d bytes but was %d bytes.", digestLength, digest.length));
+        }
+        System.arraycopy(digest, 0, digests, index * digestLength, digestLength);
+    }
+
+    /**
+     * Retrieve a copy of the raw digest of a part.
+     *
+     * @param index The index of the part.
+     * @return digest bytes.
+     */
+    public byte[] getDigest(int index) {
+        byte[] digest = new byte[digestLength];
+        System.arraycopy(digests, index * digestLength, digest, 0, digestLength);
+        return digest;
+    }
+
+    /**
+     * Retrieve the Base64 encoded checksum of a part, encoded on each call.
+     *
+     * @param index The index of the part.
+     * @return checksum.
+     */
+    public String getEncodedChecksum(int index) {
+        return Base64.getEncoder().encodeToString(getDigest(index));
+    }
+
+    /**
+     * Retrieve a view of a part.
+     *
+     * @param index The index of the part.
+     * @return {@link MultipartUploadFilePart} backed by this table.
+     */
+    public MultipartUploadFilePart getPart(int index) {
+        if (index < 0 || index >= startByteRanges.length) {
+            throw new IndexOutOfBoundsException(String.format("Part index %d is outside of the %d parts.", index, startByteRanges.length));
+        }
+        return new MultipartUploadFilePart(this, index);
+    }
+
+    /**
+     * Retrieve an unmodifiable list view of the parts, creating each {@link MultipartUploadFilePart} view when it is accessed.
+     *
+     * @return {@link List} of {@link MultipartUploadFilePart}.
+     */
+    public List<MultipartUploadFilePart> asList() {
+        return new PartListView();
+    }
+
+    private class PartListView extends AbstractList<MultipartUploadFilePart> implements RandomAccess {
+        @Override
+        public MultipartUploadFilePart get(int index) {
+            return getPart(index);
+        }
+
+        @Override
+        public int size() {
+            return getPartCount();
+        }
+    }
+}
@@ -17,25 +17,32 @@ public class UploadPartResponse {
     private final String httpStatusMessage;
     private final boolean hasResponse;
     private final Response response;
+    private final Exception transportException;
 
     private UploadPartResponse(
         final int httpStatusCode,
         final String httpStatusMessage,
         final boolean hasResponse,
-        final Response response
+        final Response response,
+        final Exception transportException
     ) {
         this.httpStatusCode = httpStatusCode;
         this.httpStatusMessage = httpStatusMessage;
         this.hasResponse = hasResponse;
         this.response = response;
+        this.transportException = transportException;
     }
 
     public static UploadPartResponse fromException(IntegrationRestException integrationRestException) {
-        return new UploadPartResponse(integrationRestException.getHttpStatusCode(), integrationRestException.getHttpStatusMessage(), false, null);
+        return new UploadPartResponse(integrationRestException.getHttpStatusCode(), integrationRestException.getHttpStatusMessage(), false, null, null);
     }
 
     public static UploadPartResponse fromResponse(Response response) {
-        return new UploadPartResponse(response.getStatusCode(), response.getStatusMessage(), true, response);
+        return new UploadPartResponse(response.getStatusCode(), response.getStatusMessage(), true, response, null);
+    }
+
+    public static UploadPartResponse fromTransportException(Exception transportException) {
+        return new UploadPartResponse(-1, transportException.getMessage(), false, null, transportException);
     }
 
     public int getHttpStatusCode() {
@@ -53,4 +60,8 @@ public class UploadPartResponse {
     public Optional<Response> getResponse() {
         return Optional.ofNullable(response);
     }
+
+    public Optional<Exception> getTransportException() {
+        return Optional.ofNullable(transportException);
+    }
 }
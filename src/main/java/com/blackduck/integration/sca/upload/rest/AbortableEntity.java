@@ -0,0 +1,30 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.rest;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpEntity;
+
+/**
+ * A repeatable {@link HttpEntity} whose request can be aborted while it is sent or while it waits for its response.
+ * The {@link AbortableRequestExecutor} binds the entity to the connection of its request until the response is received, so the entity can
+ * shut the connection down, which fails the request at once wherever it is blocked.
+ */
+public interface AbortableEntity extends HttpEntity {
+    /**
+     * Called before the request of the entity is sent on the connection.
+     *
+     * @param connection The connection the request is sent on.
+     */
+    void bind(HttpClientConnection connection);
+
+    /**
+     * Called once the response of the request is received, or the request failed.
+     */
+    void unbind();
+}
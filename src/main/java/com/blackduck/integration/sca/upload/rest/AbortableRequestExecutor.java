@@ -0,0 +1,45 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.rest;
+
+import java.io.IOException;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+/**
+ * {@link HttpRequestExecutor} able to abort the request of an {@link AbortableEntity}.
+ * The entity is bound to the connection of its request until the response is received, so aborting the entity shuts the connection down.
+ * A request blocked writing its body or waiting for its response then fails at once, instead of when the socket times out.
+ * Every other request is sent unchanged.
+ * <p>
+ * Set it on the client with {@link org.apache.http.impl.client.HttpClientBuilder#setRequestExecutor(HttpRequestExecutor)}.
+ */
+public class AbortableRequestExecutor extends HttpRequestExecutor {
+    @Override
+    public HttpResponse execute(HttpRequest request, HttpClientConnection connection, HttpContext context) throws IOException, HttpException {
+        // The HTTP client only wraps the entities that are not repeatable, so an abortable entity reaches the executor as it is.
+        HttpEntity entity = request instanceof HttpEntityEnclosingRequest ? ((HttpEntityEnclosingRequest) request).getEntity() : null;
+        if (!(entity instanceof AbortableEntity)) {
+            return super.execute(request, connection, context);
+        }
+        AbortableEntity abortableEntity = (AbortableEntity) entity;
+        abortableEntity.bind(connection);
+        try {
+            return super.execute(request, connection, context);
+        } finally {
+            abortableEntity.unbind();
+        }
+    }
+}
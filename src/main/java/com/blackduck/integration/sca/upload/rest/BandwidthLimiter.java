@@ -0,0 +1,195 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.rest;
+
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket limiting the rate at which request bodies are sent. Bytes saved up while the bucket is idle can be sent in a burst, up to the
+ * burst size, and every other byte waits for its share of the rate. The writers reserve their bytes in the order they ask for them, and a
+ * throttled stream asks for at most a block at a time, so concurrent uploads take turns and share the rate evenly.
+ * <p>
+ * The {@link #global()} limiter is shared by the uploaders of the whole process, so concurrent uploads stay within one rate together.
+ * It does not limit anything until a rate is set, and the rate can be changed while uploads are running: writers waiting for their bytes
+ * are woken and wait for the new rate instead.
+ */
+public class BandwidthLimiter {
+    // The default number of bytes that can be sent in a burst after the uploads were idle.
+    public static final long DEFAULT_BURST_SIZE = 1024L * 1024L;
+
+    private static final BandwidthLimiter GLOBAL = new BandwidthLimiter(0L, DEFAULT_BURST_SIZE);
+
+    private final LongSupplier nanoClock;
+    private volatile long bytesPerSecond;
+    private long burstSize;
+    private double storedBytes;
+    // The bytes reserved beyond the burst so far, and how many of them the rate had paid for at paidNanos.
+    // A writer waits until the paid bytes reach the reserved bytes as of its reservation.
+    private double reservedBytes;
+    private double paidBytes;
+    private long paidNanos;
+
+    /**
+     * Constructor for a bandwidth limiter, initially allowed a full burst.
+     *
+     * @param bytesPerSecond The rate in bytes per second. A rate of 0 does not limit the bandwidth.
+     * @param burstSize The number of bytes that can be sent in a burst after the bandwidth was not used.
+     */
+    public BandwidthLimiter(long bytesPerSecond, long burstSize) {
+        this(bytesPerSecond, burstSize, System::nanoTime);
+    }
+
+    BandwidthLimiter(long bytesPerSecond, long burstSize, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.bytesPerSecond = Math.max(0L, bytesPerSecond);
+        this.burstSize = Math.max(0L, burstSize);
+        this.storedBytes = this.burstSize;
+        this.paidNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Retrieve the bandwidth limiter shared by the uploaders of this process.
+     *
+     * @return the global {@link BandwidthLimiter}.
+     */
+    public static BandwidthLimiter global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Replace the rate and burst size. The bytes already waiting for the old rate are charged at the new rate, and the writers waiting
+     * for them are woken to wait for the new rate.
+     *
+     * @param bytesPerSecond The rate in bytes per second. A rate of 0 does not limit the bandwidth.
+     * @param burstSize The number of bytes that can be sent in a burst after the bandwidth was not used.
+     */
+    public synchronized void setRate(long bytesPerSecond, long burstSize) {
+        long newBytesPerSecond = Math.max(0L, bytesPerSecond);
+        refill(nanoClock.getAsLong());
+        if (this.bytesPerSecond <= 0L || newBytesPerSecond <= 0L) {
+            // Bytes are not owed to an unlimited rate.
+            paidBytes = reservedBytes;
+        }
+        this.bytesPerSecond = newBytesPerSecond;
+        this.burstSize = Math.max(0L, burstSize);
+        storedBytes = Math.min(storedBytes, this.burstSize);
+        notifyAll();
+    }
+
+    /**
+     * Retrieve the rate in bytes per second.
+     *
+     * @return rate, or 0 if the bandwidth is not limited.
+     */
+    public long getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    /**
+     * Retrieve the number of bytes that can be sent in a burst.
+     *
+     * @return burst size.
+     */
+    public synchronized long getBurstSize() {
+        return burstSize;
+    }
+
+    /**
+     * Determine whether the bandwidth is limited.
+     *
+     * @return true if a rate is set.
+     */
+    public boolean isLimited() {
+        return bytesPerSecond > 0L;
+    }
+
+    /**
+     * Waits until the bytes can be sent at the rate.
+     *
+     * @param bytes The number of bytes about to be sent.
+     * @throws InterruptedIOException If the thread is interrupted while waiting.
+     */
+    public void acquire(long bytes) throws InterruptedIOException {
+        if (!isLimited() || bytes <= 0L) {
+            return;
+        }
+        try {
+            await(charge(bytes));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            InterruptedIOException interruptedIOException = new InterruptedIOException("Interrupted while waiting for upload bandwidth.");
+            interruptedIOException.initCause(e);
+            throw interruptedIOException;
+        }
+    }
+
+    /**
+     * Wraps a stream so every byte written to it is sent at the rate of this limiter.
+     *
+     * @param outputStream The stream to throttle.
+     * @return the throttled {@link OutputStream}.
+     */
+    public OutputStream throttle(OutputStream outputStream) {
+        return new ThrottledOutputStream(outputStream, this);
+    }
+
+    // Reserves the bytes, first from the burst and then from the rate, and returns the time to wait before sending them.
+    synchronized long reserve(long bytes) {
+        return getWaitNanos(charge(bytes));
+    }
+
+    // Reserves the bytes, first from the burst and then from the rate, and returns the reserved bytes the rate must have paid before sending them.
+    private synchronized double charge(long bytes) {
+        if (bytesPerSecond <= 0L) {
+            return 0.0;
+        }
+        refill(nanoClock.getAsLong());
+        double burstBytes = Math.min(bytes, storedBytes);
+        storedBytes -= burstBytes;
+        reservedBytes += bytes - burstBytes;
+        return reservedBytes;
+    }
+
+    // The wait is computed again whenever the thread wakes up, so a rate changed in the meantime applies to it.
+    private synchronized void await(double reservedBytesToPay) throws InterruptedException {
+        long waitNanos;
+        while ((waitNanos = getWaitNanos(reservedBytesToPay)) > 0L) {
+            TimeUnit.NANOSECONDS.timedWait(this, waitNanos);
+        }
+    }
+
+    private long getWaitNanos(double reservedBytesToPay) {
+        if (bytesPerSecond <= 0L) {
+            return 0L;
+        }
+        refill(nanoClock.getAsLong());
+        return Math.max(0L, toNanos(reservedBytesToPay - paidBytes, bytesPerSecond));
+    }
+
+    // The rate pays for the reserved bytes, and what it pays while nothing is reserved is saved up as bytes for a burst.
+    private void refill(long nowNanos) {
+        if (nowNanos <= paidNanos) {
+            return;
+        }
+        if (bytesPerSecond > 0L) {
+            paidBytes += (double) (nowNanos - paidNanos) * bytesPerSecond / TimeUnit.SECONDS.toNanos(1);
+            if (paidBytes > reservedBytes) {
+                storedBytes = Math.min(burstSize, storedBytes + paidBytes - reservedBytes);
+                paidBytes = reservedBytes;
+            }
+        }
+        paidNanos = nowNanos;
+    }
+
+    private static long toNanos(double bytes, long bytesPerSecond) {
+        return (long) (bytes * TimeUnit.SECONDS.toNanos(1) / bytesPerSecond);
+    }
+}
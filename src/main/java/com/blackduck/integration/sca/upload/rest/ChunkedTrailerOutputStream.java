@@ -0,0 +1,76 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.rest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.apache.http.Header;
+
+/**
+ * Writes a request body with the chunked transfer coding, ending it with the last chunk followed by trailer fields.
+ * Every write becomes one chunk, so callers should write in large blocks. Closing the stream does not close the underlying stream.
+ */
+class ChunkedTrailerOutputStream extends OutputStream {
+    private static final byte[] CRLF = { '\r', '\n' };
+
+    private final OutputStream outputStream;
+    private boolean finished = false;
+
+    ChunkedTrailerOutputStream(OutputStream outputStream) {
+        this.outputStream = outputStream;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (finished) {
+            throw new IOException("Cannot write to a chunked body after its last chunk.");
+        }
+        if (len == 0) {
+            // An empty chunk would be read as the last chunk.
+            return;
+        }
+        outputStream.write(Integer.toHexString(len).getBytes(StandardCharsets.US_ASCII));
+        outputStream.write(CRLF);
+        outputStream.write(b, off, len);
+        outputStream.write(CRLF);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        outputStream.flush();
+    }
+
+    /**
+     * Writes the last chunk and the trailer fields, ending the body.
+     *
+     * @param trailers The trailer fields to send after the last chunk.
+     * @throws IOException if the underlying stream could not be written.
+     */
+    void finish(List<Header> trailers) throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        outputStream.write('0');
+        outputStream.write(CRLF);
+        for (Header trailer : trailers) {
+            outputStream.write(String.format("%s: %s", trailer.getName(), trailer.getValue()).getBytes(StandardCharsets.US_ASCII));
+            outputStream.write(CRLF);
+        }
+        outputStream.write(CRLF);
+        outputStream.flush();
+    }
+}
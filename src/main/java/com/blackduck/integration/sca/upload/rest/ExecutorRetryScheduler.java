@@ -0,0 +1,60 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.rest;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RetryScheduler} running the retries on a {@link ScheduledExecutorService}.
+ * The {@link #shared()} scheduler holds a single daemon thread, which only resubmits the retries, so it serves every upload of the process.
+ */
+public class ExecutorRetryScheduler implements RetryScheduler {
+    private final ScheduledExecutorService scheduledExecutorService;
+
+    /**
+     * Constructor for the retry scheduler.
+     *
+     * @param scheduledExecutorService The {@link ScheduledExecutorService} running the retries when they are due.
+     */
+    public ExecutorRetryScheduler(ScheduledExecutorService scheduledExecutorService) {
+        this.scheduledExecutorService = scheduledExecutorService;
+    }
+
+    /**
+     * Retrieve the retry scheduler shared by the uploaders of this process.
+     *
+     * @return the shared {@link ExecutorRetryScheduler}.
+     */
+    public static ExecutorRetryScheduler shared() {
+        return SharedSchedulerHolder.SHARED;
+    }
+
+    @Override
+    public void schedule(Runnable task, long delayMillis) {
+        if (delayMillis <= 0) {
+            task.run();
+            return;
+        }
+        scheduledExecutorService.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Created on first use, so the thread is only started in processes that retry.
+    private static class SharedSchedulerHolder {
+        private static final ExecutorRetryScheduler SHARED = new ExecutorRetryScheduler(createSharedExecutorService());
+
+        private static ScheduledExecutorService createSharedExecutorService() {
+            return Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "upload-retry-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
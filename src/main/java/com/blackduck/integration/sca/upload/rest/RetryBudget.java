@@ -0,0 +1,97 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.rest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket limiting the rate of request retries. Every retry takes a token, and the bucket is refilled at a fixed rate up to its capacity,
+ * so a burst of failures can be retried, but a server that keeps failing is only retried at the refill rate.
+ * <p>
+ * The {@link #global()} budget is shared by the uploaders of the whole process, so that many concurrent uploads against a struggling server
+ * back off together instead of multiplying its load.
+ */
+public class RetryBudget {
+    // The default number of retries that can be made in a burst.
+    public static final int DEFAULT_CAPACITY = 100;
+    // The default number of retries the budget regains every second.
+    public static final double DEFAULT_REFILL_PER_SECOND = 10.0;
+    /**
+     * Budget that never runs out, for uploaders that are not limited by a shared budget.
+     */
+    public static final RetryBudget UNLIMITED = new RetryBudget(Integer.MAX_VALUE, Double.POSITIVE_INFINITY);
+
+    private static final RetryBudget GLOBAL = new RetryBudget(DEFAULT_CAPACITY, DEFAULT_REFILL_PER_SECOND);
+
+    private final double capacity;
+    private final double refillPerNano;
+    private final LongSupplier nanoClock;
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * Constructor for a retry budget, initially full.
+     *
+     * @param capacity The maximum number of retries that can be made in a burst.
+     * @param refillPerSecond The number of retries the budget regains every second.
+     */
+    public RetryBudget(int capacity, double refillPerSecond) {
+        this(capacity, refillPerSecond, System::nanoTime);
+    }
+
+    RetryBudget(int capacity, double refillPerSecond, LongSupplier nanoClock) {
+        if (capacity <= 0 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("The retry budget capacity and refill rate must be positive.");
+        }
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Retrieve the retry budget shared by the uploaders of this process.
+     *
+     * @return the global {@link RetryBudget}.
+     */
+    public static RetryBudget global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Takes a token for a retry if one is available.
+     *
+     * @return true if the retry may be made, false if the budget is exhausted.
+     */
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens < 1.0) {
+            return false;
+        }
+        tokens -= 1.0;
+        return true;
+    }
+
+    /**
+     * Retrieve the number of retries that can currently be made.
+     *
+     * @return available tokens.
+     */
+    public synchronized double getAvailableTokens() {
+        refill();
+        return tokens;
+    }
+
+    private void refill() {
+        long nowNanos = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (nowNanos - lastRefillNanos) * refillPerNano);
+        lastRefillNanos = nowNanos;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.rest;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.utils.DateUtils;
+
+import com.blackduck.integration.sca.upload.util.HttpHeaderUtils;
+
+/**
+ * Decides how long to wait before retrying a failed request, and whether the retry fits in the {@link RetryBudget}.
+ * <p>
+ * Retry delays grow with decorrelated jitter: each delay is drawn at random between the initial interval and three times the previous delay,
+ * and capped at the maximum backoff, so clients that failed together do not retry together. A delay requested by the server with a
+ * Retry-After or RateLimit header is honored when it is longer than the jittered delay.
+ */
+public class RetryPolicy {
+    public static final String RATE_LIMIT_HEADER = "RateLimit";
+    public static final String RATE_LIMIT_RESET_HEADER = "RateLimit-Reset";
+    // The default maximum delay between two attempts of a request, in milliseconds.
+    public static final long DEFAULT_MAXIMUM_BACKOFF = 60_000L;
+    // A server requested delay is honored up to this many milliseconds, so a misconfigured server cannot stall an upload for hours.
+    public static final long MAXIMUM_SERVER_DELAY = TimeUnit.MINUTES.toMillis(10);
+    private static final String RATE_LIMIT_RESET_PARAMETER = "reset=";
+
+    private final long maximumBackoff;
+    private final RetryBudget retryBudget;
+
+    /**
+     * Constructor for the retry policy.
+     *
+     * @param maximumBackoff The maximum delay in milliseconds between two attempts of a request, unless the server requests a longer delay.
+     * @param retryBudget The {@link RetryBudget} every retry is taken from, e.g. {@link RetryBudget#global()}.
+     */
+    public RetryPolicy(long maximumBackoff, RetryBudget retryBudget) {
+        this.maximumBackoff = maximumBackoff;
+        this.retryBudget = retryBudget;
+    }
+
+    /**
+     * Retrieve the maximum delay between two attempts of a request.
+     *
+     * @return maximum backoff in milliseconds.
+     */
+    public long getMaximumBackoff() {
+        return maximumBackoff;
+    }
+
+    /**
+     * Retrieve the budget every retry is taken from.
+     *
+     * @return {@link RetryBudget}
+     */
+    public RetryBudget getRetryBudget() {
+        return retryBudget;
+    }
+
+    /**
+     * Takes a retry from the budget.
+     *
+     * @return true if the request may be retried, false if the retry budget is exhausted.
+     */
+    public boolean tryAcquireRetry() {
+        return retryBudget.tryAcquire();
+    }
+
+    /**
+     * Computes the delay before the next attempt of a request.
+     *
+     * @param initialInterval The delay in milliseconds before the first retry. An interval of 0 retries without waiting, unless the server requests a delay.
+     * @param previousDelay The delay in milliseconds before the previous attempt, 0 before the first retry.
+     * @param responseHeaders The headers of the failed response, or an empty map if no response was received.
+     * @return delay in milliseconds.
+     */
+    public long nextDelay(long initialInterval, long previousDelay, Map<String, String> responseHeaders) {
+        long jitteredDelay = 0;
+        if (initialInterval > 0) {
+            long upperBound = Math.max(initialInterval, previousDelay) * 3;
+            jitteredDelay = Math.min(maximumBackoff, ThreadLocalRandom.current().nextLong(initialInterval, upperBound + 1));
+        }
+        long serverDelay = getServerDelay(responseHeaders).map(delay -> Math.min(delay, MAXIMUM_SERVER_DELAY)).orElse(0L);
+        return Math.max(jitteredDelay, serverDelay);
+    }
+
+    /**
+     * Retrieve the delay requested by the server with a Retry-After header, as a number of seconds or an HTTP date,
+     * or with the reset time of a RateLimit-Reset or RateLimit header.
+     *
+     * @param responseHeaders The headers of the response.
+     * @return requested delay in milliseconds, or empty if the server did not request a delay.
+     */
+    public Optional<Long> getServerDelay(Map<String, String> responseHeaders) {
+        Optional<Long> retryAfter = Optional.ofNullable(HttpHeaderUtils.getHeaderCaseInsensitive(responseHeaders, HttpHeaders.RETRY_AFTER))
+            .flatMap(this::parseRetryAfter);
+        if (retryAfter.isPresent()) {
+            return retryAfter;
+        }
+        Optional<Long> rateLimitReset = Optional.ofNullable(HttpHeaderUtils.getHeaderCaseInsensitive(responseHeaders, RATE_LIMIT_RESET_HEADER))
+            .flatMap(this::parseSeconds);
+        if (rateLimitReset.isPresent()) {
+            return rateLimitReset;
+        }
+        return Optional.ofNullable(HttpHeaderUtils.getHeaderCaseInsensitive(responseHeaders, RATE_LIMIT_HEADER))
+            .flatMap(this::parseRateLimitReset);
+    }
+
+    private Optional<Long> parseRetryAfter(String retryAfter) {
+        Optional<Long> seconds = parseSeconds(retryAfter);
+        if (seconds.isPresent()) {
+            return seconds;
+        }
+        Date retryDate = DateUtils.parseDate(retryAfter.trim());
+        if (retryDate == null) {
+            return Optional.empty();
+        }
+        return Optional.of(Math.max(0L, retryDate.getTime() - System.currentTimeMillis()));
+    }
+
+    // e.g. "limit=100, remaining=0, reset=30"
+    private Optional<Long> parseRateLimitReset(String rateLimit) {
+        for (String parameter : rateLimit.split("[,;]")) {
+            String trimmedParameter = parameter.trim();
+            if (trimmedParameter.startsWith(RATE_LIMIT_RESET_PARAMETER)) {
+                return parseSeconds(trimmedParameter.substring(RATE_LIMIT_RESET_PARAMETER.length()));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Optional<Long> parseSeconds(String seconds) {
+        try {
+            long parsedSeconds = Long.parseLong(seconds.trim());
+            return parsedSeconds < 0 ? Optional.empty() : Optional.of(TimeUnit.SECONDS.toMillis(parsedSeconds));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.rest;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Runs the retries of requests once their delay has passed. Uploaders schedule a retry instead of sleeping, so the thread of a failed
+ * request is free for other requests during the delay. The scheduler is the clock of the retries: an implementation that does not
+ * wait lets retry behavior be tested without real delays.
+ *
+ * @see ExecutorRetryScheduler
+ */
+public interface RetryScheduler {
+    /**
+     * Runs a task once the delay has passed. The task must not block, since it may run on a thread shared by all uploads.
+     *
+     * @param task The task to run, e.g. resubmitting a request.
+     * @param delayMillis The delay in milliseconds. A task with no delay may run in the calling thread.
+     */
+    void schedule(Runnable task, long delayMillis);
+
+    /**
+     * Waits for the delay to pass, for callers that have nothing else to do until the retry.
+     *
+     * @param delayMillis The delay in milliseconds.
+     * @throws InterruptedException If the thread was interrupted while waiting.
+     */
+    default void await(long delayMillis) throws InterruptedException {
+        CountDownLatch delayPassed = new CountDownLatch(1);
+        schedule(delayPassed::countDown, delayMillis);
+        delayPassed.await();
+    }
+}
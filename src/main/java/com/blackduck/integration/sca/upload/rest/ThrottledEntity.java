@@ -0,0 +1,37 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.rest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+
+/**
+ * {@link HttpEntity} sending the content of another entity at the rate of a {@link BandwidthLimiter}.
+ */
+public class ThrottledEntity extends HttpEntityWrapper {
+    private final BandwidthLimiter bandwidthLimiter;
+
+    /**
+     * Constructor for the throttled entity.
+     *
+     * @param wrappedEntity The entity whose content is sent.
+     * @param bandwidthLimiter The {@link BandwidthLimiter} the content is sent at.
+     */
+    public ThrottledEntity(HttpEntity wrappedEntity, BandwidthLimiter bandwidthLimiter) {
+        super(wrappedEntity);
+        this.bandwidthLimiter = bandwidthLimiter;
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        super.writeTo(bandwidthLimiter.throttle(outputStream));
+    }
+}
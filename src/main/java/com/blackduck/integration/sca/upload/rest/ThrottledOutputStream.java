@@ -0,0 +1,45 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.rest;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * {@link OutputStream} waiting for the {@link BandwidthLimiter} before each write. Large writes are split into blocks, so a writer never
+ * reserves much more than its share of the rate at once and concurrent writers take turns.
+ */
+class ThrottledOutputStream extends FilterOutputStream {
+    static final int MAXIMUM_BLOCK_SIZE = 64 * 1024;
+
+    private final BandwidthLimiter bandwidthLimiter;
+
+    ThrottledOutputStream(OutputStream outputStream, BandwidthLimiter bandwidthLimiter) {
+        super(outputStream);
+        this.bandwidthLimiter = bandwidthLimiter;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        bandwidthLimiter.acquire(1L);
+        out.write(b);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        int position = offset;
+        int endOffset = offset + length;
+        while (position < endOffset) {
+            int blockLength = Math.min(MAXIMUM_BLOCK_SIZE, endOffset - position);
+            bandwidthLimiter.acquire(blockLength);
+            out.write(bytes, position, blockLength);
+            position += blockLength;
+        }
+    }
+}
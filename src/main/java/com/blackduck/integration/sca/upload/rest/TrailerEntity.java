@@ -0,0 +1,26 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.rest;
+
+import java.util.List;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+
+/**
+ * A chunked {@link HttpEntity} whose trailer fields are only known once its content has been written, e.g. a digest computed while the content is sent.
+ * The trailer fields are written after the last chunk of the request body by the {@link TrailerRequestExecutor}.
+ */
+public interface TrailerEntity extends HttpEntity {
+    /**
+     * Retrieve the trailer fields of the content written by the last call to {@link #writeTo(java.io.OutputStream)}.
+     *
+     * @return {@link List} of {@link Header} trailer fields.
+     */
+    List<Header> getTrailers();
+}
@@ -0,0 +1,70 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.rest;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.conn.ManagedHttpClientConnection;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpCoreContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+/**
+ * {@link HttpRequestExecutor} able to send the trailer fields of a {@link TrailerEntity}.
+ * The HTTP client only ends a chunked body with an empty trailer, so the body of a {@link TrailerEntity} is written to the connection
+ * socket with the chunked transfer coding by this executor, followed by the trailer fields the entity computed while it was written.
+ * Every other request is sent as by the {@link AbortableRequestExecutor}, which also lets the request of a {@link TrailerEntity} that is an
+ * {@link AbortableEntity} be aborted.
+ * <p>
+ * Set it on the client with {@link org.apache.http.impl.client.HttpClientBuilder#setRequestExecutor(HttpRequestExecutor)}.
+ */
+public class TrailerRequestExecutor extends AbortableRequestExecutor {
+    // Buffers the chunk framing, which is written separately from each chunk of data.
+    private static final int SOCKET_BUFFER_SIZE = 8 * 1024;
+
+    @Override
+    protected HttpResponse doSendRequest(HttpRequest request, HttpClientConnection connection, HttpContext context) throws IOException, HttpException {
+        if (!isTrailerRequest(request, connection)) {
+            return super.doSendRequest(request, connection, context);
+        }
+        context.setAttribute(HttpCoreContext.HTTP_CONNECTION, connection);
+        context.setAttribute(HttpCoreContext.HTTP_REQ_SENT, Boolean.FALSE);
+
+        connection.sendRequestHeader(request);
+        // The header is buffered by the connection, so it must be sent before the body is written to the socket.
+        connection.flush();
+        TrailerEntity entity = (TrailerEntity) ((HttpEntityEnclosingRequest) request).getEntity();
+        Socket socket = ((ManagedHttpClientConnection) connection).getSocket();
+        OutputStream socketOutputStream = new BufferedOutputStream(socket.getOutputStream(), SOCKET_BUFFER_SIZE);
+        ChunkedTrailerOutputStream chunkedOutputStream = new ChunkedTrailerOutputStream(socketOutputStream);
+        entity.writeTo(chunkedOutputStream);
+        chunkedOutputStream.finish(entity.getTrailers());
+
+        context.setAttribute(HttpCoreContext.HTTP_REQ_SENT, Boolean.TRUE);
+        return null;
+    }
+
+    // Requests waiting for a 100-continue response are left to the default executor, which sends them without trailer fields.
+    private boolean isTrailerRequest(HttpRequest request, HttpClientConnection connection) {
+        if (!(request instanceof HttpEntityEnclosingRequest) || !(connection instanceof ManagedHttpClientConnection)) {
+            return false;
+        }
+        HttpEntityEnclosingRequest entityEnclosingRequest = (HttpEntityEnclosingRequest) request;
+        HttpEntity entity = entityEnclosingRequest.getEntity();
+        return entity instanceof TrailerEntity && entity.isChunked() && !entityEnclosingRequest.expectContinue();
+    }
+}
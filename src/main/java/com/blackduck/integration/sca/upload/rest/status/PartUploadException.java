@@ -0,0 +1,40 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.rest.status;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.blackduck.integration.exception.IntegrationException;
+
+/**
+ * Thrown to indicate that a multipart upload did not complete because file parts could not be uploaded.
+ */
+public class PartUploadException extends IntegrationException implements Serializable {
+    private static final long serialVersionUID = -6184305416373618190L;
+    private final List<PartUploadFailure> partFailures;
+
+    /**
+     * Constructs a new exception with the failed part uploads.
+     * @param message      the detail message.
+     * @param partFailures A list of the part uploads that failed, in the order they failed.
+     */
+    public PartUploadException(String message, List<PartUploadFailure> partFailures) {
+        super(message);
+        this.partFailures = new ArrayList<>(partFailures);
+    }
+
+    /**
+     * Retrieves the part uploads that failed, in the order they failed. A part repaired in a later pass is included with its earlier failures.
+     * @return {@link List} of the part upload failures.
+     */
+    public List<PartUploadFailure> getPartFailures() {
+        return partFailures;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * blackduck-upload-common
+ *
+ * Copyright (c) 2024 Black Duck Software, Inc.
+ *
+ * Use subject to the terms and conditions of the Black Duck Software End User Software License and Maintenance Agreement. All rights reserved worldwide.
+ */
+package com.blackduck.integration.sca.upload.rest.status;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Describes a failed upload of a file part in a multipart upload: the part, the pass of the upload in which it failed, and the HTTP status of its last attempt.
+ */
+public class PartUploadFailure implements Serializable {
+    private static final long serialVersionUID = 3325160787196624383L;
+    private final int partIndex;
+    private final long startByteRange;
+    private final int chunkSize;
+    private final int pass;
+    private final int attempts;
+    private final int statusCode;
+    private final String statusMessage;
+
+    /**
+     * Constructor for the failure of a part upload.
+     *
+     * @param partIndex      The index of the part.
+     * @param startByteRange The byte index at which the part begins.
+     * @param chunkSize      The byte size of the part.
+     * @param pass           The pass of the upload in which the part failed, 0 for the first pass and greater for the repair passes.
+     * @param attempts       The number of requests made for the part in this pass.
+     * @param statusCode     The HTTP status code of the last attempt, or -1 if no response was received.
+     * @param statusMessage  The HTTP status message of the last attempt, or a description of the error if no response was received.
+     */
+    public PartUploadFailure(int partIndex, long startByteRange, int chunkSize, int pass, int attempts, int statusCode, String statusMessage) {
+        this.partIndex = partIndex;
+        this.startByteRange = startByteRange;
+        this.chunkSize = chunkSize;
+        this.pass = pass;
+        this.attempts = attempts;
+        this.statusCode = statusCode;
+        this.statusMessage = statusMessage;
+    }
+
+    /**
+     * Retrieve the index of the part.
+     * @return The part index.
+     */
+    public int getPartIndex() {
+        return partIndex;
+    }
+
+    /**
+     * Retrieve the byte index at which the part begins.
+     * @return The start byte range.
+     */
+    public long getStartByteRange() {
+        return startByteRange;
+    }
+
+    /**
+     * Retrieve the byte size of the part.
+     * @return The chunk size.
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Retrieve the pass of the upload in which the part failed.
+     * @return 0 for the first pass, greater for the repair passes.
+     */
+    public int getPass() {
+        return pass;
+    }
+
+    /**
+     * Retrieve the number of requests made for the part in the pass.
+     * @return The number of attempts.
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Retrieve the HTTP status code of the last attempt.
+     * @return The HTTP status code, or -1 if no response was received.
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Retrieve the HTTP status message of the last attempt.
+     * @return The HTTP status message, or a description of the error if no response was received.
+     */
+    public String getStatusMessage() {
+        return statusMessage;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        PartUploadFailure that = (PartUploadFailure) o;
+        return partIndex == that.partIndex && startByteRange == that.startByteRange && chunkSize == that.chunkSize && pass == that.pass && attempts == that.attempts
+            && statusCode == that.statusCode && Objects.equals(statusMessage, that.statusMessage);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(partIndex, startByteRange, chunkSize, pass, attempts, statusCode, statusMessage);
+    }
+
+    @Override
+    public String toString() {
+        return "PartUploadFailure{" +
+            "partIndex=" + partIndex +
+            ", startByteRange=" + startByteRange +
+            ", chunkSize=" + chunkSize +
+            ", pass=" + pass +
+            ", attempts=" + attempts +
+            ", statusCode=" + statusCode +
+            ", statusMessage='" + statusMessage + '\'' +
+            '}';
+    }
+}
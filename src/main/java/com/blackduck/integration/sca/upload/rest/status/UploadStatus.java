@@ -8,6 +8,8 @@
 package com.blackduck.integration.sca.upload.rest.status;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -72,6 +74,18 @@ public abstract class UploadStatus implements Serializable {
         return Optional.ofNullable(exception);
     }
 
+    /**
+     * Retrieve the failed part uploads of a multipart upload that terminated because file parts could not be uploaded.
+     * @return The part upload failures, empty if the upload did not fail because of its parts.
+     */
+    public List<PartUploadFailure> getPartFailures() {
+        return getException()
+            .filter(PartUploadException.class::isInstance)
+            .map(PartUploadException.class::cast)
+            .map(PartUploadException::getPartFailures)
+            .orElse(Collections.emptyList());
+    }
+
     /**
      * Determine if the status contains content as a result of performing a multipart upload.
      * @return True if the status contains content from the multipart upload, false otherwise.
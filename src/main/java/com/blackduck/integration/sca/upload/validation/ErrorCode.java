@@ -21,7 +21,8 @@ public enum ErrorCode {
 
     UPLOAD_START_ERROR("Error starting multipart upload"),
     UPLOAD_PART_ERROR("Error uploading file part"),
-    MISSING_REQUIRED_PROPERTY_ERROR("Required property not found");
+    MISSING_REQUIRED_PROPERTY_ERROR("Required property not found"),
+    INVALID_PROPERTY_ERROR("Property value not supported");
 
     private final String description;
     
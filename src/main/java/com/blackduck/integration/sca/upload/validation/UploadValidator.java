@@ -9,6 +9,7 @@ package com.blackduck.integration.sca.upload.validation;
 
 import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -38,8 +39,52 @@ public class UploadValidator {
     public static final int DEFAULT_MULTIPART_UPLOAD_PART_RETRY_ATTEMPTS = 5;
     // The default initial interval to wait in between retry attempts for uploading a part.
     public static final long DEFAULT_MULTIPART_UPLOAD_PART_RETRY_INITIAL_INTERVAL = 1000L;
+    // The default longest interval to wait in between retry attempts for uploading a part is 1 minute.
+    public static final long DEFAULT_MULTIPART_UPLOAD_PART_RETRY_MAX_INTERVAL = 60000L;
+    // The default percentile of the part upload durations after which a part still uploading is hedged.
+    public static final double DEFAULT_MULTIPART_UPLOAD_PART_HEDGE_PERCENTILE = 95.0;
+    // The default share of the file size that hedged part requests may send. A value of 0 disables hedging.
+    public static final double DEFAULT_MULTIPART_UPLOAD_PART_HEDGE_BANDWIDTH_FRACTION = 0.0;
+    // The default minimum throughput of a part request in bytes per second. A value of 0 disables stall detection.
+    public static final long DEFAULT_MULTIPART_UPLOAD_PART_MINIMUM_THROUGHPUT = 0L;
+    // The default window the throughput of a part request is measured over is 30 seconds.
+    public static final long DEFAULT_MULTIPART_UPLOAD_PART_STALL_WINDOW = 30000L;
     // The default timeout value when performing part uploads.
     public static final int DEFAULT_MULTIPART_UPLOAD_TIMEOUT_MINUTES = 10;
+    // The default number of parts uploaded concurrently. A value of 1 uploads parts one at a time in order, which GCS backed servers require.
+    public static final int DEFAULT_MULTIPART_UPLOAD_PART_CONCURRENCY = 1;
+    // The default lowest limit of adaptive part concurrency. A value of 0 keeps the concurrency fixed.
+    public static final int DEFAULT_MULTIPART_UPLOAD_PART_CONCURRENCY_MINIMUM = 0;
+    // The default limit adaptive part concurrency starts from. A value of 0 starts from the part concurrency.
+    public static final int DEFAULT_MULTIPART_UPLOAD_PART_CONCURRENCY_INITIAL = 0;
+    // The default number of part failures repaired before a multipart upload is cancelled, when failed parts are repaired.
+    public static final int DEFAULT_MULTIPART_UPLOAD_PART_FAILURE_BUDGET = 10;
+    // The default number of threads hashing file parts in parallel. A value of 0 uses the common fork/join pool.
+    public static final int DEFAULT_UPLOAD_SPLIT_PARALLELISM = 0;
+    // The default number of parts a file is divided into when the chunk size is chosen automatically.
+    public static final int DEFAULT_UPLOAD_TARGET_PART_COUNT = 100;
+    // The default maximum size of the checksum cache is 64 MB, enough for the checksums of several files at the maximum supported size.
+    public static final long DEFAULT_UPLOAD_CHECKSUM_CACHE_MAX_SIZE = 1024L * 1024L * 64L;
+    // The default buffer pool size classes, the part write block, the file read block and the default chunk size.
+    public static final List<Integer> DEFAULT_UPLOAD_BUFFER_POOL_SIZE_CLASSES = Collections.unmodifiableList(
+        Arrays.asList(
+            1024 * 256,
+            1024 * 1024,
+            DEFAULT_UPLOAD_CHUNK_SIZE
+        )
+    );
+    // The default maximum size of the buffers kept for reuse is 128 MB.
+    public static final long DEFAULT_UPLOAD_BUFFER_POOL_MAX_SIZE = 1024L * 1024L * 128L;
+    // The default upload bandwidth limit. A value of 0 does not limit the bandwidth.
+    public static final long DEFAULT_UPLOAD_BANDWIDTH_LIMIT = 0L;
+    // The default number of bytes sent in a burst when the upload bandwidth is limited is 1 MB.
+    public static final long DEFAULT_UPLOAD_BANDWIDTH_BURST = 1024L * 1024L;
+    // The default maximum number of connections pooled by the uploaders of a factory.
+    public static final int DEFAULT_UPLOAD_CONNECTION_POOL_MAX_TOTAL = 64;
+    // The default maximum number of connections pooled to one server by the uploaders of a factory.
+    public static final int DEFAULT_UPLOAD_CONNECTION_POOL_MAX_PER_ROUTE = 16;
+    // The default time a pooled connection is reused is 5 minutes.
+    public static final long DEFAULT_UPLOAD_CONNECTION_TIME_TO_LIVE = 300000L;
     // The response status codes to perform a retry upload against.
     public static final Set<Integer> MULTIPART_UPLOAD_PART_RETRY_STATUS_CODES = new HashSet<>(
         Arrays.asList(
@@ -51,6 +96,15 @@ public class UploadValidator {
         )
     );
 
+    // The response status codes with which a server under load asks for fewer parts to be uploaded concurrently.
+    public static final Set<Integer> MULTIPART_UPLOAD_PART_BACKPRESSURE_STATUS_CODES = new HashSet<>(
+        Arrays.asList(
+            HttpStatus.SC_TOO_MANY_REQUESTS,
+            HttpStatus.SC_SERVICE_UNAVAILABLE,
+            HttpStatus.SC_GATEWAY_TIMEOUT
+        )
+    );
+
     private final UploadStateManager uploadStateManager;
 
     private final long multipartUploadThreshold;
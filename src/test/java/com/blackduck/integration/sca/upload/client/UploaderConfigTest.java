@@ -7,6 +7,10 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import java.util.Properties;
 
 import org.apache.commons.lang3.RandomStringUtils;
@@ -16,6 +20,10 @@ import org.junit.jupiter.api.Test;
 import com.blackduck.integration.exception.IntegrationException;
 import com.blackduck.integration.rest.HttpUrl;
 import com.blackduck.integration.rest.proxy.ProxyInfo;
+import com.blackduck.integration.sca.upload.file.FileSplitMode;
+import com.blackduck.integration.sca.upload.file.MultipartUploadFailurePolicy;
+import com.blackduck.integration.sca.upload.file.digest.PartDigestAlgorithms;
+import com.blackduck.integration.sca.upload.file.model.FileChecksumType;
 import com.blackduck.integration.sca.upload.rest.BlackDuckHttpClient;
 import com.blackduck.integration.sca.upload.validation.UploadValidator;
 
@@ -27,6 +35,28 @@ class UploaderConfigTest {
     private static final String HTTP_URL_STRING = "https://somewhere.com";
     private static final String API_TOKEN = "ThisTsNotAValidToken";
     private static final Long MULTIPART_UPLOAD_THRESHOLD = 1024 * 1024 * 5L;
+    private static final int MULTIPART_UPLOAD_PART_CONCURRENCY = 8;
+    private static final int UPLOAD_SPLIT_PARALLELISM = 4;
+    private static final String UPLOAD_CHECKSUM_CACHE_DIRECTORY = "build/resources/test/output";
+    private static final long UPLOAD_CHECKSUM_CACHE_MAX_SIZE = 1024L * 1024L;
+    private static final List<Integer> UPLOAD_BUFFER_POOL_SIZE_CLASSES = Arrays.asList(1024 * 64, 1024 * 1024);
+    private static final long UPLOAD_BUFFER_POOL_MAX_SIZE = 1024L * 1024L * 16L;
+    private static final int UPLOAD_TARGET_PART_COUNT = 50;
+    private static final String UPLOAD_JOURNAL_DIRECTORY = "build/resources/test/output";
+    private static final MultipartUploadFailurePolicy MULTIPART_UPLOAD_FAILURE_POLICY = MultipartUploadFailurePolicy.REPAIR;
+    private static final int MULTIPART_UPLOAD_PART_FAILURE_BUDGET = 3;
+    private static final long MULTIPART_UPLOAD_PART_RETRY_MAX_INTERVAL = 30000L;
+    private static final double MULTIPART_UPLOAD_PART_HEDGE_PERCENTILE = 90.0;
+    private static final double MULTIPART_UPLOAD_PART_HEDGE_BANDWIDTH_FRACTION = 0.1;
+    private static final long MULTIPART_UPLOAD_PART_MINIMUM_THROUGHPUT = 16384L;
+    private static final long MULTIPART_UPLOAD_PART_STALL_WINDOW = 10000L;
+    private static final int MULTIPART_UPLOAD_PART_CONCURRENCY_MINIMUM = 2;
+    private static final int MULTIPART_UPLOAD_PART_CONCURRENCY_INITIAL = 4;
+    private static final long UPLOAD_BANDWIDTH_LIMIT = 1024L * 1024L;
+    private static final long UPLOAD_BANDWIDTH_BURST = 256L * 1024L;
+    private static final int UPLOAD_CONNECTION_POOL_MAX_TOTAL = 32;
+    private static final int UPLOAD_CONNECTION_POOL_MAX_PER_ROUTE = 8;
+    private static final long UPLOAD_CONNECTION_TIME_TO_LIVE = 60000L;
 
     private HttpUrl httpUrl;
     private String testPropertiesFile;
@@ -53,7 +83,34 @@ class UploaderConfigTest {
             .setMultipartUploadThreshold(MULTIPART_UPLOAD_THRESHOLD)
             .setMultipartUploadPartRetryAttempts(UploadValidator.DEFAULT_MULTIPART_UPLOAD_PART_RETRY_ATTEMPTS)
             .setMultipartUploadPartRetryInitialInterval(UploadValidator.DEFAULT_MULTIPART_UPLOAD_PART_RETRY_INITIAL_INTERVAL)
-            .setMultipartUploadTimeoutInMinutes(UploadValidator.DEFAULT_MULTIPART_UPLOAD_TIMEOUT_MINUTES);
+            .setMultipartUploadTimeoutInMinutes(UploadValidator.DEFAULT_MULTIPART_UPLOAD_TIMEOUT_MINUTES)
+            .setMultipartUploadPartConcurrency(MULTIPART_UPLOAD_PART_CONCURRENCY)
+            .setUploadSplitMode(FileSplitMode.PER_PART)
+            .setUploadSplitParallelism(UPLOAD_SPLIT_PARALLELISM)
+            .setUploadChecksumCacheDirectory(UPLOAD_CHECKSUM_CACHE_DIRECTORY)
+            .setUploadChecksumCacheMaxSize(UPLOAD_CHECKSUM_CACHE_MAX_SIZE)
+            .setUploadBufferPoolSizeClasses(UPLOAD_BUFFER_POOL_SIZE_CLASSES)
+            .setUploadBufferPoolMaxSize(UPLOAD_BUFFER_POOL_MAX_SIZE)
+            .setUploadMemoryMapped(true)
+            .setUploadPartDigestAlgorithm(PartDigestAlgorithms.SHA_256)
+            .setUploadChecksumType(FileChecksumType.COMPOSITE)
+            .setUploadChunkSizeAuto(true)
+            .setUploadTargetPartCount(UPLOAD_TARGET_PART_COUNT)
+            .setUploadJournalDirectory(UPLOAD_JOURNAL_DIRECTORY)
+            .setMultipartUploadFailurePolicy(MULTIPART_UPLOAD_FAILURE_POLICY)
+            .setMultipartUploadPartFailureBudget(MULTIPART_UPLOAD_PART_FAILURE_BUDGET)
+            .setMultipartUploadPartRetryMaxInterval(MULTIPART_UPLOAD_PART_RETRY_MAX_INTERVAL)
+            .setMultipartUploadPartHedgePercentile(MULTIPART_UPLOAD_PART_HEDGE_PERCENTILE)
+            .setMultipartUploadPartHedgeBandwidthFraction(MULTIPART_UPLOAD_PART_HEDGE_BANDWIDTH_FRACTION)
+            .setMultipartUploadPartMinimumThroughput(MULTIPART_UPLOAD_PART_MINIMUM_THROUGHPUT)
+            .setMultipartUploadPartStallWindow(MULTIPART_UPLOAD_PART_STALL_WINDOW)
+            .setMultipartUploadPartConcurrencyMinimum(MULTIPART_UPLOAD_PART_CONCURRENCY_MINIMUM)
+            .setMultipartUploadPartConcurrencyInitial(MULTIPART_UPLOAD_PART_CONCURRENCY_INITIAL)
+            .setUploadBandwidthLimit(UPLOAD_BANDWIDTH_LIMIT)
+            .setUploadBandwidthBurst(UPLOAD_BANDWIDTH_BURST)
+            .setUploadConnectionPoolMaxTotal(UPLOAD_CONNECTION_POOL_MAX_TOTAL)
+            .setUploadConnectionPoolMaxPerRoute(UPLOAD_CONNECTION_POOL_MAX_PER_ROUTE)
+            .setUploadConnectionTimeToLive(UPLOAD_CONNECTION_TIME_TO_LIVE);
 
         UploaderConfig uploaderConfig = assertDoesNotThrow(uploaderConfigBuilder::build);
         assertEquals(PROXY_INFO, uploaderConfig.getProxyInfo());
@@ -66,6 +123,33 @@ class UploaderConfigTest {
         assertEquals(UploadValidator.DEFAULT_MULTIPART_UPLOAD_PART_RETRY_ATTEMPTS, uploaderConfig.getMultipartUploadPartRetryAttempts());
         assertEquals(UploadValidator.DEFAULT_MULTIPART_UPLOAD_PART_RETRY_INITIAL_INTERVAL, uploaderConfig.getMultipartUploadPartRetryInitialInterval());
         assertEquals(UploadValidator.DEFAULT_MULTIPART_UPLOAD_TIMEOUT_MINUTES, uploaderConfig.getMultipartUploadTimeoutInMinutes());
+        assertEquals(MULTIPART_UPLOAD_PART_CONCURRENCY, uploaderConfig.getMultipartUploadPartConcurrency());
+        assertEquals(FileSplitMode.PER_PART, uploaderConfig.getUploadSplitMode());
+        assertEquals(UPLOAD_SPLIT_PARALLELISM, uploaderConfig.getUploadSplitParallelism());
+        assertEquals(Optional.of(Paths.get(UPLOAD_CHECKSUM_CACHE_DIRECTORY)), uploaderConfig.getUploadChecksumCacheDirectory());
+        assertEquals(UPLOAD_CHECKSUM_CACHE_MAX_SIZE, uploaderConfig.getUploadChecksumCacheMaxSize());
+        assertEquals(UPLOAD_BUFFER_POOL_SIZE_CLASSES, uploaderConfig.getUploadBufferPoolSizeClasses());
+        assertEquals(UPLOAD_BUFFER_POOL_MAX_SIZE, uploaderConfig.getUploadBufferPoolMaxSize());
+        assertTrue(uploaderConfig.isUploadMemoryMapped());
+        assertEquals(PartDigestAlgorithms.SHA_256, uploaderConfig.getUploadPartDigestAlgorithm());
+        assertEquals(FileChecksumType.COMPOSITE, uploaderConfig.getUploadChecksumType());
+        assertTrue(uploaderConfig.isUploadChunkSizeAuto());
+        assertEquals(UPLOAD_TARGET_PART_COUNT, uploaderConfig.getUploadTargetPartCount());
+        assertEquals(Optional.of(Paths.get(UPLOAD_JOURNAL_DIRECTORY)), uploaderConfig.getUploadJournalDirectory());
+        assertEquals(MULTIPART_UPLOAD_FAILURE_POLICY, uploaderConfig.getMultipartUploadFailurePolicy());
+        assertEquals(MULTIPART_UPLOAD_PART_FAILURE_BUDGET, uploaderConfig.getMultipartUploadPartFailureBudget());
+        assertEquals(MULTIPART_UPLOAD_PART_RETRY_MAX_INTERVAL, uploaderConfig.getMultipartUploadPartRetryMaxInterval());
+        assertEquals(MULTIPART_UPLOAD_PART_HEDGE_PERCENTILE, uploaderConfig.getMultipartUploadPartHedgePercentile());
+        assertEquals(MULTIPART_UPLOAD_PART_HEDGE_BANDWIDTH_FRACTION, uploaderConfig.getMultipartUploadPartHedgeBandwidthFraction());
+        assertEquals(MULTIPART_UPLOAD_PART_MINIMUM_THROUGHPUT, uploaderConfig.getMultipartUploadPartMinimumThroughput());
+        assertEquals(MULTIPART_UPLOAD_PART_STALL_WINDOW, uploaderConfig.getMultipartUploadPartStallWindow());
+        assertEquals(MULTIPART_UPLOAD_PART_CONCURRENCY_MINIMUM, uploaderConfig.getMultipartUploadPartConcurrencyMinimum());
+        assertEquals(MULTIPART_UPLOAD_PART_CONCURRENCY_INITIAL, uploaderConfig.getMultipartUploadPartConcurrencyInitial());
+        assertEquals(UPLOAD_BANDWIDTH_LIMIT, uploaderConfig.getUploadBandwidthLimit());
+        assertEquals(UPLOAD_BANDWIDTH_BURST, uploaderConfig.getUploadBandwidthBurst());
+        assertEquals(UPLOAD_CONNECTION_POOL_MAX_TOTAL, uploaderConfig.getUploadConnectionPoolMaxTotal());
+        assertEquals(UPLOAD_CONNECTION_POOL_MAX_PER_ROUTE, uploaderConfig.getUploadConnectionPoolMaxPerRoute());
+        assertEquals(UPLOAD_CONNECTION_TIME_TO_LIVE, uploaderConfig.getUploadConnectionTimeToLive());
     }
 
     @Test
@@ -110,6 +194,116 @@ class UploaderConfigTest {
         assertEquals(UploadValidator.DEFAULT_MULTIPART_UPLOAD_PART_RETRY_ATTEMPTS, uploaderConfig.getMultipartUploadPartRetryAttempts());
         assertEquals(UploadValidator.DEFAULT_MULTIPART_UPLOAD_PART_RETRY_INITIAL_INTERVAL, uploaderConfig.getMultipartUploadPartRetryInitialInterval());
         assertEquals(UploadValidator.DEFAULT_MULTIPART_UPLOAD_TIMEOUT_MINUTES, uploaderConfig.getMultipartUploadTimeoutInMinutes());
+        assertEquals(UploadValidator.DEFAULT_MULTIPART_UPLOAD_PART_CONCURRENCY, uploaderConfig.getMultipartUploadPartConcurrency());
+        assertEquals(FileSplitMode.SINGLE_PASS, uploaderConfig.getUploadSplitMode());
+        assertEquals(UploadValidator.DEFAULT_UPLOAD_SPLIT_PARALLELISM, uploaderConfig.getUploadSplitParallelism());
+        assertFalse(uploaderConfig.getUploadChecksumCacheDirectory().isPresent());
+        assertEquals(UploadValidator.DEFAULT_UPLOAD_CHECKSUM_CACHE_MAX_SIZE, uploaderConfig.getUploadChecksumCacheMaxSize());
+        assertEquals(UploadValidator.DEFAULT_UPLOAD_BUFFER_POOL_SIZE_CLASSES, uploaderConfig.getUploadBufferPoolSizeClasses());
+        assertEquals(UploadValidator.DEFAULT_UPLOAD_BUFFER_POOL_MAX_SIZE, uploaderConfig.getUploadBufferPoolMaxSize());
+        assertFalse(uploaderConfig.isUploadMemoryMapped());
+        assertEquals(PartDigestAlgorithms.MD5, uploaderConfig.getUploadPartDigestAlgorithm());
+        assertEquals(FileChecksumType.MD5, uploaderConfig.getUploadChecksumType());
+        assertFalse(uploaderConfig.isUploadChunkSizeAuto());
+        assertEquals(UploadValidator.DEFAULT_UPLOAD_TARGET_PART_COUNT, uploaderConfig.getUploadTargetPartCount());
+        assertFalse(uploaderConfig.getUploadJournalDirectory().isPresent());
+        assertEquals(MultipartUploadFailurePolicy.CANCEL, uploaderConfig.getMultipartUploadFailurePolicy());
+        assertEquals(UploadValidator.DEFAULT_MULTIPART_UPLOAD_PART_FAILURE_BUDGET, uploaderConfig.getMultipartUploadPartFailureBudget());
+        assertEquals(UploadValidator.DEFAULT_MULTIPART_UPLOAD_PART_RETRY_MAX_INTERVAL, uploaderConfig.getMultipartUploadPartRetryMaxInterval());
+        assertEquals(UploadValidator.DEFAULT_MULTIPART_UPLOAD_PART_HEDGE_PERCENTILE, uploaderConfig.getMultipartUploadPartHedgePercentile());
+        assertEquals(UploadValidator.DEFAULT_MULTIPART_UPLOAD_PART_HEDGE_BANDWIDTH_FRACTION, uploaderConfig.getMultipartUploadPartHedgeBandwidthFraction());
+        assertEquals(UploadValidator.DEFAULT_MULTIPART_UPLOAD_PART_MINIMUM_THROUGHPUT, uploaderConfig.getMultipartUploadPartMinimumThroughput());
+        assertEquals(UploadValidator.DEFAULT_MULTIPART_UPLOAD_PART_STALL_WINDOW, uploaderConfig.getMultipartUploadPartStallWindow());
+        assertEquals(UploadValidator.DEFAULT_MULTIPART_UPLOAD_PART_CONCURRENCY_MINIMUM, uploaderConfig.getMultipartUploadPartConcurrencyMinimum());
+        assertEquals(UploadValidator.DEFAULT_MULTIPART_UPLOAD_PART_CONCURRENCY_INITIAL, uploaderConfig.getMultipartUploadPartConcurrencyInitial());
+        assertEquals(UploadValidator.DEFAULT_UPLOAD_BANDWIDTH_LIMIT, uploaderConfig.getUploadBandwidthLimit());
+        assertEquals(UploadValidator.DEFAULT_UPLOAD_BANDWIDTH_BURST, uploaderConfig.getUploadBandwidthBurst());
+        assertEquals(UploadValidator.DEFAULT_UPLOAD_CONNECTION_POOL_MAX_TOTAL, uploaderConfig.getUploadConnectionPoolMaxTotal());
+        assertEquals(UploadValidator.DEFAULT_UPLOAD_CONNECTION_POOL_MAX_PER_ROUTE, uploaderConfig.getUploadConnectionPoolMaxPerRoute());
+        assertEquals(UploadValidator.DEFAULT_UPLOAD_CONNECTION_TIME_TO_LIVE, uploaderConfig.getUploadConnectionTimeToLive());
+    }
+
+    @Test
+    void testBuildValidationCompositeChecksumWithStreamingSplitMode() {
+        UploaderConfig.Builder uploaderConfigBuilder = createRequiredConfig()
+            .setUploadSplitMode(FileSplitMode.STREAMING)
+            .setUploadChecksumType(FileChecksumType.COMPOSITE);
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertTrue(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_UPLOAD_CHECKSUM_TYPE.getPropertyKey()));
+    }
+
+    @Test
+    void testBuildValidationCompositeChecksumWithTrailerSplitMode() {
+        UploaderConfig.Builder uploaderConfigBuilder = createRequiredConfig()
+            .setUploadSplitMode(FileSplitMode.TRAILER)
+            .setUploadChecksumType(FileChecksumType.COMPOSITE);
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertTrue(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_UPLOAD_CHECKSUM_TYPE.getPropertyKey()));
+    }
+
+    @Test
+    void testBuildValidationMemoryMappedWithStreamingSplitMode() {
+        UploaderConfig.Builder uploaderConfigBuilder = createRequiredConfig()
+            .setUploadSplitMode(FileSplitMode.STREAMING)
+            .setUploadMemoryMapped(true);
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertTrue(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_UPLOAD_MEMORY_MAPPED.getPropertyKey()));
+    }
+
+    @Test
+    void testBuildValidationMultipartUploadPartConcurrencyBelowMinimum() {
+        UploaderConfig.Builder uploaderConfigBuilder = createRequiredConfig().setMultipartUploadPartConcurrency(0);
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertTrue(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_CONCURRENCY.getPropertyKey()));
+    }
+
+    @Test
+    void testBuildValidationMultipartUploadPartFailureBudgetNegative() {
+        UploaderConfig.Builder uploaderConfigBuilder = createRequiredConfig().setMultipartUploadPartFailureBudget(-1);
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertTrue(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_FAILURE_BUDGET.getPropertyKey()));
+    }
+
+    @Test
+    void testBuildValidationUploadTargetPartCountBelowMinimum() {
+        UploaderConfig.Builder uploaderConfigBuilder = createRequiredConfig().setUploadTargetPartCount(0);
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertTrue(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_UPLOAD_TARGET_PART_COUNT.getPropertyKey()));
+    }
+
+    @Test
+    void testBuildValidationUploadConnectionPoolMaxTotalBelowMinimum() {
+        UploaderConfig.Builder uploaderConfigBuilder = createRequiredConfig().setUploadConnectionPoolMaxTotal(0);
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertTrue(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_UPLOAD_CONNECTION_POOL_MAX_TOTAL.getPropertyKey()));
+    }
+
+    @Test
+    void testBuildValidationUploadConnectionPoolMaxPerRouteBelowMinimum() {
+        UploaderConfig.Builder uploaderConfigBuilder = createRequiredConfig().setUploadConnectionPoolMaxPerRoute(0);
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertTrue(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_UPLOAD_CONNECTION_POOL_MAX_PER_ROUTE.getPropertyKey()));
+    }
+
+    @Test
+    void testBuildValidationMultipartUploadPartHedgePercentileNegative() {
+        UploaderConfig.Builder uploaderConfigBuilder = createRequiredConfig().setMultipartUploadPartHedgePercentile(-1.0);
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertTrue(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_HEDGE_PERCENTILE.getPropertyKey()));
+    }
+
+    @Test
+    void testBuildValidationMultipartUploadPartHedgePercentileAboveMaximum() {
+        UploaderConfig.Builder uploaderConfigBuilder = createRequiredConfig().setMultipartUploadPartHedgePercentile(100.5);
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertTrue(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_HEDGE_PERCENTILE.getPropertyKey()));
+    }
+
+    @Test
+    void testBuildValidationMultipartUploadPartHedgeBandwidthFractionNegative() {
+        UploaderConfig.Builder uploaderConfigBuilder = createRequiredConfig().setMultipartUploadPartHedgeBandwidthFraction(-0.1);
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertTrue(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_HEDGE_BANDWIDTH_FRACTION.getPropertyKey()));
     }
 
     @Test
@@ -181,4 +375,200 @@ class UploaderConfigTest {
         assertFalse(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_TIMEOUT_MINUTES.getPropertyKey()));
 
     }
+
+    @Test
+    void testOptionalBuildValidationMultipartUploadPartConcurrency() {
+        UploaderConfig.Builder uploaderConfigBuilder = assertDoesNotThrow(() -> UploaderConfig.createConfigFromFile(PROXY_INFO, testPropertiesFile));
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertFalse(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_CONCURRENCY.getPropertyKey()));
+    }
+
+    @Test
+    void testOptionalBuildValidationUploadSplitMode() {
+        UploaderConfig.Builder uploaderConfigBuilder = assertDoesNotThrow(() -> UploaderConfig.createConfigFromFile(PROXY_INFO, testPropertiesFile));
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertFalse(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_UPLOAD_SPLIT_MODE.getPropertyKey()));
+    }
+
+    @Test
+    void testOptionalBuildValidationUploadSplitParallelism() {
+        UploaderConfig.Builder uploaderConfigBuilder = assertDoesNotThrow(() -> UploaderConfig.createConfigFromFile(PROXY_INFO, testPropertiesFile));
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertFalse(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_UPLOAD_SPLIT_PARALLELISM.getPropertyKey()));
+    }
+
+    @Test
+    void testOptionalBuildValidationUploadChecksumCacheDirectory() {
+        UploaderConfig.Builder uploaderConfigBuilder = assertDoesNotThrow(() -> UploaderConfig.createConfigFromFile(PROXY_INFO, testPropertiesFile));
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertFalse(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_UPLOAD_CHECKSUM_CACHE_DIRECTORY.getPropertyKey()));
+    }
+
+    @Test
+    void testOptionalBuildValidationUploadChecksumCacheMaxSize() {
+        UploaderConfig.Builder uploaderConfigBuilder = assertDoesNotThrow(() -> UploaderConfig.createConfigFromFile(PROXY_INFO, testPropertiesFile));
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertFalse(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_UPLOAD_CHECKSUM_CACHE_MAX_SIZE.getPropertyKey()));
+    }
+
+    @Test
+    void testOptionalBuildValidationUploadBufferPoolSizeClasses() {
+        UploaderConfig.Builder uploaderConfigBuilder = assertDoesNotThrow(() -> UploaderConfig.createConfigFromFile(PROXY_INFO, testPropertiesFile));
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertFalse(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_UPLOAD_BUFFER_POOL_SIZE_CLASSES.getPropertyKey()));
+    }
+
+    @Test
+    void testOptionalBuildValidationUploadBufferPoolMaxSize() {
+        UploaderConfig.Builder uploaderConfigBuilder = assertDoesNotThrow(() -> UploaderConfig.createConfigFromFile(PROXY_INFO, testPropertiesFile));
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertFalse(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_UPLOAD_BUFFER_POOL_MAX_SIZE.getPropertyKey()));
+    }
+
+    @Test
+    void testOptionalBuildValidationUploadMemoryMapped() {
+        UploaderConfig.Builder uploaderConfigBuilder = assertDoesNotThrow(() -> UploaderConfig.createConfigFromFile(PROXY_INFO, testPropertiesFile));
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertFalse(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_UPLOAD_MEMORY_MAPPED.getPropertyKey()));
+    }
+
+    @Test
+    void testOptionalBuildValidationUploadPartDigestAlgorithm() {
+        UploaderConfig.Builder uploaderConfigBuilder = assertDoesNotThrow(() -> UploaderConfig.createConfigFromFile(PROXY_INFO, testPropertiesFile));
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertFalse(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_UPLOAD_PART_DIGEST_ALGORITHM.getPropertyKey()));
+    }
+
+    @Test
+    void testOptionalBuildValidationUploadChecksumType() {
+        UploaderConfig.Builder uploaderConfigBuilder = assertDoesNotThrow(() -> UploaderConfig.createConfigFromFile(PROXY_INFO, testPropertiesFile));
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertFalse(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_UPLOAD_CHECKSUM_TYPE.getPropertyKey()));
+    }
+
+    @Test
+    void testOptionalBuildValidationUploadChunkSizeAuto() {
+        UploaderConfig.Builder uploaderConfigBuilder = assertDoesNotThrow(() -> UploaderConfig.createConfigFromFile(PROXY_INFO, testPropertiesFile));
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertFalse(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_UPLOAD_CHUNK_SIZE_AUTO.getPropertyKey()));
+    }
+
+    @Test
+    void testOptionalBuildValidationUploadTargetPartCount() {
+        UploaderConfig.Builder uploaderConfigBuilder = assertDoesNotThrow(() -> UploaderConfig.createConfigFromFile(PROXY_INFO, testPropertiesFile));
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertFalse(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_UPLOAD_TARGET_PART_COUNT.getPropertyKey()));
+    }
+
+    @Test
+    void testOptionalBuildValidationUploadJournalDirectory() {
+        UploaderConfig.Builder uploaderConfigBuilder = assertDoesNotThrow(() -> UploaderConfig.createConfigFromFile(PROXY_INFO, testPropertiesFile));
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertFalse(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_UPLOAD_JOURNAL_DIRECTORY.getPropertyKey()));
+    }
+
+    @Test
+    void testOptionalBuildValidationMultipartUploadFailurePolicy() {
+        UploaderConfig.Builder uploaderConfigBuilder = assertDoesNotThrow(() -> UploaderConfig.createConfigFromFile(PROXY_INFO, testPropertiesFile));
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertFalse(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_FAILURE_POLICY.getPropertyKey()));
+    }
+
+    @Test
+    void testOptionalBuildValidationMultipartUploadPartFailureBudget() {
+        UploaderConfig.Builder uploaderConfigBuilder = assertDoesNotThrow(() -> UploaderConfig.createConfigFromFile(PROXY_INFO, testPropertiesFile));
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertFalse(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_FAILURE_BUDGET.getPropertyKey()));
+    }
+
+    @Test
+    void testOptionalBuildValidationMultipartUploadPartRetryMaxInterval() {
+        UploaderConfig.Builder uploaderConfigBuilder = assertDoesNotThrow(() -> UploaderConfig.createConfigFromFile(PROXY_INFO, testPropertiesFile));
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertFalse(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_RETRY_MAX_INTERVAL.getPropertyKey()));
+    }
+
+    @Test
+    void testOptionalBuildValidationMultipartUploadPartHedgePercentile() {
+        UploaderConfig.Builder uploaderConfigBuilder = assertDoesNotThrow(() -> UploaderConfig.createConfigFromFile(PROXY_INFO, testPropertiesFile));
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertFalse(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_HEDGE_PERCENTILE.getPropertyKey()));
+    }
+
+    @Test
+    void testOptionalBuildValidationMultipartUploadPartHedgeBandwidthFraction() {
+        UploaderConfig.Builder uploaderConfigBuilder = assertDoesNotThrow(() -> UploaderConfig.createConfigFromFile(PROXY_INFO, testPropertiesFile));
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertFalse(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_HEDGE_BANDWIDTH_FRACTION.getPropertyKey()));
+    }
+
+    @Test
+    void testOptionalBuildValidationMultipartUploadPartMinimumThroughput() {
+        UploaderConfig.Builder uploaderConfigBuilder = assertDoesNotThrow(() -> UploaderConfig.createConfigFromFile(PROXY_INFO, testPropertiesFile));
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertFalse(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_MINIMUM_THROUGHPUT.getPropertyKey()));
+    }
+
+    @Test
+    void testOptionalBuildValidationMultipartUploadPartStallWindow() {
+        UploaderConfig.Builder uploaderConfigBuilder = assertDoesNotThrow(() -> UploaderConfig.createConfigFromFile(PROXY_INFO, testPropertiesFile));
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertFalse(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_STALL_WINDOW.getPropertyKey()));
+    }
+
+    @Test
+    void testOptionalBuildValidationMultipartUploadPartConcurrencyMinimum() {
+        UploaderConfig.Builder uploaderConfigBuilder = assertDoesNotThrow(() -> UploaderConfig.createConfigFromFile(PROXY_INFO, testPropertiesFile));
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertFalse(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_CONCURRENCY_MINIMUM.getPropertyKey()));
+    }
+
+    @Test
+    void testOptionalBuildValidationMultipartUploadPartConcurrencyInitial() {
+        UploaderConfig.Builder uploaderConfigBuilder = assertDoesNotThrow(() -> UploaderConfig.createConfigFromFile(PROXY_INFO, testPropertiesFile));
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertFalse(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_MULTIPART_UPLOAD_PART_CONCURRENCY_INITIAL.getPropertyKey()));
+    }
+
+    @Test
+    void testOptionalBuildValidationUploadBandwidthLimit() {
+        UploaderConfig.Builder uploaderConfigBuilder = assertDoesNotThrow(() -> UploaderConfig.createConfigFromFile(PROXY_INFO, testPropertiesFile));
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertFalse(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_UPLOAD_BANDWIDTH_LIMIT.getPropertyKey()));
+    }
+
+    @Test
+    void testOptionalBuildValidationUploadBandwidthBurst() {
+        UploaderConfig.Builder uploaderConfigBuilder = assertDoesNotThrow(() -> UploaderConfig.createConfigFromFile(PROXY_INFO, testPropertiesFile));
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertFalse(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_UPLOAD_BANDWIDTH_BURST.getPropertyKey()));
+    }
+
+    @Test
+    void testOptionalBuildValidationUploadConnectionPoolMaxTotal() {
+        UploaderConfig.Builder uploaderConfigBuilder = assertDoesNotThrow(() -> UploaderConfig.createConfigFromFile(PROXY_INFO, testPropertiesFile));
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertFalse(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_UPLOAD_CONNECTION_POOL_MAX_TOTAL.getPropertyKey()));
+    }
+
+    @Test
+    void testOptionalBuildValidationUploadConnectionPoolMaxPerRoute() {
+        UploaderConfig.Builder uploaderConfigBuilder = assertDoesNotThrow(() -> UploaderConfig.createConfigFromFile(PROXY_INFO, testPropertiesFile));
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertFalse(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_UPLOAD_CONNECTION_POOL_MAX_PER_ROUTE.getPropertyKey()));
+    }
+
+    @Test
+    void testOptionalBuildValidationUploadConnectionTimeToLive() {
+        UploaderConfig.Builder uploaderConfigBuilder = assertDoesNotThrow(() -> UploaderConfig.createConfigFromFile(PROXY_INFO, testPropertiesFile));
+        IntegrationException integrationException = assertThrows(IntegrationException.class, uploaderConfigBuilder::build);
+        assertFalse(integrationException.getMessage().contains(EnvironmentProperties.BLACKDUCK_UPLOAD_CONNECTION_TIME_TO_LIVE.getPropertyKey()));
+    }
+
+    private UploaderConfig.Builder createRequiredConfig() {
+        return UploaderConfig.createConfig(PROXY_INFO)
+            .setAlwaysTrustServerCertificate(ALWAYS_TRUST_CERT)
+            .setBlackDuckUrl(httpUrl)
+            .setApiToken(API_TOKEN);
+    }
 }
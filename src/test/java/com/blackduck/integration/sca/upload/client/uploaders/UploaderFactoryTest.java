@@ -51,6 +51,21 @@ public class UploaderFactoryTest {
     void testCreateContainerUploader() {
         assertNotNull(uploaderFactory.createContainerUploader(DUMMY_PREFIX_URL));
     }
+
+    @Test
+    void testCloseTrustingFactory() {
+        UploaderConfig.Builder uploaderConfigBuilder = UploaderConfig.createConfigFromProperties(ProxyInfo.NO_PROXY_INFO, new Properties());
+        uploaderConfigBuilder
+            .setBlackDuckTimeoutInSeconds(13)
+            .setAlwaysTrustServerCertificate(true)
+            .setBlackDuckUrl("https://somewhere.com")
+            .setApiToken("ThisTsNotAValidToken");
+        UploaderConfig uploaderConfig = assertDoesNotThrow(uploaderConfigBuilder::build);
+        UploaderFactory trustingUploaderFactory = new UploaderFactory(uploaderConfig, intLogger, new Gson());
+        assertNotNull(trustingUploaderFactory.createBdbaUploader(DUMMY_PREFIX_URL));
+        assertNotNull(trustingUploaderFactory.createScassUploaderWithProxyInfo());
+        assertDoesNotThrow(trustingUploaderFactory::close);
+    }
     //
     //    @Test
     //    void testCreateReversingLabUploader() {
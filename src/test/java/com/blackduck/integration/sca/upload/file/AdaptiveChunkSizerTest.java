@@ -0,0 +1,66 @@
+package com.blackduck.integration.sca.upload.file;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.blackduck.integration.sca.upload.validation.UploadValidator;
+
+class AdaptiveChunkSizerTest {
+    private static final int MEGABYTE = 1024 * 1024;
+    private static final long GIGABYTE = 1024L * MEGABYTE;
+
+    @Test
+    void testChunkSizeFromFileSize() {
+        AdaptiveChunkSizer adaptiveChunkSizer = new AdaptiveChunkSizer(100);
+        // Sizes are rounded up to whole megabytes.
+        assertEquals(1024 * MEGABYTE, adaptiveChunkSizer.getChunkSize(100 * GIGABYTE));
+        assertEquals(11 * MEGABYTE, adaptiveChunkSizer.getChunkSize(GIGABYTE));
+        assertEquals(UploadValidator.MINIMUM_UPLOAD_CHUNK_SIZE, adaptiveChunkSizer.getChunkSize(100L * MEGABYTE));
+        assertEquals(UploadValidator.MAXIMUM_UPLOAD_CHUNK_SIZE, new AdaptiveChunkSizer(1).getChunkSize(100 * GIGABYTE));
+    }
+
+    @Test
+    void testSlowPartsLimitChunkSize() {
+        AdaptiveChunkSizer adaptiveChunkSizer = new AdaptiveChunkSizer(100, 30_000L);
+        // 1 MB per second uploads 30 MB within the target part duration.
+        adaptiveChunkSizer.partUploaded(5 * MEGABYTE, TimeUnit.SECONDS.toNanos(5));
+        assertEquals(MEGABYTE, adaptiveChunkSizer.getThroughput(), 0.001);
+        assertEquals(30 * MEGABYTE, adaptiveChunkSizer.getChunkSize(100 * GIGABYTE));
+        // The measured throughput never makes parts larger than the target part count requires.
+        assertEquals(11 * MEGABYTE, adaptiveChunkSizer.getChunkSize(GIGABYTE));
+    }
+
+    @Test
+    void testFailuresShrinkChunkSize() {
+        AdaptiveChunkSizer adaptiveChunkSizer = new AdaptiveChunkSizer(100);
+        int initialChunkSize = adaptiveChunkSizer.getChunkSize(100 * GIGABYTE);
+        adaptiveChunkSizer.partFailed(initialChunkSize);
+        adaptiveChunkSizer.partFailed(initialChunkSize);
+        int failedChunkSize = adaptiveChunkSizer.getChunkSize(100 * GIGABYTE);
+        assertTrue(failedChunkSize < initialChunkSize);
+
+        for (int attempt = 0; attempt < 50; attempt++) {
+            adaptiveChunkSizer.partFailed(initialChunkSize);
+        }
+        // Parts shrink to at most a quarter of their size.
+        assertEquals(256 * MEGABYTE, adaptiveChunkSizer.getChunkSize(100 * GIGABYTE));
+
+        // Successful uploads lower the error rate again.
+        for (int attempt = 0; attempt < 50; attempt++) {
+            adaptiveChunkSizer.partUploaded(initialChunkSize, TimeUnit.SECONDS.toNanos(1));
+        }
+        assertTrue(adaptiveChunkSizer.getErrorRate() < 0.001);
+        assertEquals(initialChunkSize, adaptiveChunkSizer.getChunkSize(100 * GIGABYTE));
+    }
+
+    @Test
+    void testInvalidTargets() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveChunkSizer(0));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveChunkSizer(10, 0));
+    }
+}
@@ -0,0 +1,81 @@
+package com.blackduck.integration.sca.upload.file;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+class BufferPoolTest {
+    private static final int SMALL_SIZE_CLASS = 1024;
+    private static final int LARGE_SIZE_CLASS = 1024 * 16;
+
+    @Test
+    void testSmallestFittingSizeClassIsUsed() {
+        BufferPool bufferPool = new BufferPool(Arrays.asList(LARGE_SIZE_CLASS, SMALL_SIZE_CLASS), LARGE_SIZE_CLASS * 4L);
+        assertArrayEquals(new int[] { SMALL_SIZE_CLASS, LARGE_SIZE_CLASS }, bufferPool.getSizeClasses());
+        try (BufferPool.Buffer smallBuffer = bufferPool.acquire(10);
+            BufferPool.Buffer largeBuffer = bufferPool.acquire(SMALL_SIZE_CLASS + 1);
+            BufferPool.Buffer unpooledBuffer = bufferPool.acquire(LARGE_SIZE_CLASS + 1)) {
+            assertEquals(SMALL_SIZE_CLASS, smallBuffer.array().length);
+            assertEquals(LARGE_SIZE_CLASS, largeBuffer.array().length);
+            assertEquals(LARGE_SIZE_CLASS + 1, unpooledBuffer.array().length);
+        }
+        // Requests larger than the largest size class are not kept for reuse.
+        assertEquals(SMALL_SIZE_CLASS + LARGE_SIZE_CLASS, bufferPool.getPooledBytes());
+    }
+
+    @Test
+    void testReleasedBufferIsReused() {
+        BufferPool bufferPool = new BufferPool(Collections.singletonList(SMALL_SIZE_CLASS), SMALL_SIZE_CLASS * 4L);
+        BufferPool.Buffer firstBuffer = bufferPool.acquire(SMALL_SIZE_CLASS);
+        byte[] firstArray = firstBuffer.array();
+        firstBuffer.close();
+        // Releasing a buffer twice must not hand it out to two users.
+        firstBuffer.close();
+        assertEquals(SMALL_SIZE_CLASS, bufferPool.getPooledBytes());
+
+        try (BufferPool.Buffer reusedBuffer = bufferPool.acquire(SMALL_SIZE_CLASS);
+            BufferPool.Buffer newBuffer = bufferPool.acquire(SMALL_SIZE_CLASS)) {
+            assertSame(firstArray, reusedBuffer.array());
+            assertNotSame(firstArray, newBuffer.array());
+            assertEquals(0, bufferPool.getPooledBytes());
+        }
+    }
+
+    @Test
+    void testPooledBytesAreCapped() {
+        BufferPool bufferPool = new BufferPool(Collections.singletonList(SMALL_SIZE_CLASS), SMALL_SIZE_CLASS * 2L);
+        BufferPool.Buffer[] buffers = new BufferPool.Buffer[5];
+        for (int index = 0; index < buffers.length; index++) {
+            buffers[index] = bufferPool.acquire(SMALL_SIZE_CLASS);
+        }
+        for (BufferPool.Buffer buffer : buffers) {
+            buffer.close();
+        }
+        assertEquals(SMALL_SIZE_CLASS * 2L, bufferPool.getPooledBytes());
+    }
+
+    @Test
+    void testByteBufferViewHasRequestedCapacity() {
+        BufferPool bufferPool = new BufferPool(Collections.singletonList(SMALL_SIZE_CLASS), SMALL_SIZE_CLASS);
+        try (BufferPool.Buffer buffer = bufferPool.acquire(100)) {
+            ByteBuffer byteBuffer = buffer.byteBuffer(100);
+            assertEquals(100, byteBuffer.capacity());
+            assertSame(buffer.array(), byteBuffer.array());
+            assertEquals(0, byteBuffer.arrayOffset());
+        }
+    }
+
+    @Test
+    void testInvalidSizeClasses() {
+        assertThrows(IllegalArgumentException.class, () -> new BufferPool(Collections.emptyList(), SMALL_SIZE_CLASS));
+        assertThrows(IllegalArgumentException.class, () -> new BufferPool(Arrays.asList(0, SMALL_SIZE_CLASS), SMALL_SIZE_CLASS));
+    }
+}
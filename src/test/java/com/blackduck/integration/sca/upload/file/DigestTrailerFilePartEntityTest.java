@@ -0,0 +1,199 @@
+package com.blackduck.integration.sca.upload.file;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.blackduck.integration.sca.upload.file.digest.PartDigestAlgorithms;
+import com.blackduck.integration.sca.upload.generator.RandomByteContentFileGenerator;
+import com.blackduck.integration.sca.upload.rest.TrailerRequestExecutor;
+
+class DigestTrailerFilePartEntityTest {
+    private static final int FILE_SIZE = FilePartEntity.WRITE_BLOCK_SIZE * 4;
+    private Path generatedSampleFilePath;
+    private byte[] fileContent;
+    private TrailerCheckingServer server;
+
+    @BeforeEach
+    void init() throws IOException {
+        RandomByteContentFileGenerator randomByteContentFileGenerator = new RandomByteContentFileGenerator();
+        generatedSampleFilePath = randomByteContentFileGenerator.generateFile(FILE_SIZE, ".bin").orElseThrow(() -> new IOException("Could not generate file"));
+        fileContent = Files.readAllBytes(generatedSampleFilePath);
+        server = new TrailerCheckingServer();
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        server.close();
+        Files.deleteIfExists(generatedSampleFilePath);
+    }
+
+    @Test
+    void testDigestIsSentInTrailer() throws Exception {
+        long startOffset = 12345;
+        int contentLength = FilePartEntity.WRITE_BLOCK_SIZE * 2 + 99;
+        byte[] expectedContent = Arrays.copyOfRange(fileContent, (int) startOffset, (int) startOffset + contentLength);
+
+        try (FileChannel fileChannel = FileChannel.open(generatedSampleFilePath, StandardOpenOption.READ);
+            CloseableHttpClient httpClient = HttpClients.custom().setRequestExecutor(new TrailerRequestExecutor()).build()) {
+            DigestTrailerFilePartEntity entity = new DigestTrailerFilePartEntity(
+                fileChannel,
+                new BufferPool(),
+                startOffset,
+                contentLength,
+                ContentType.APPLICATION_OCTET_STREAM,
+                PartDigestAlgorithms.SHA_256
+            );
+            // Two requests on the same connection, so a framing error in the first request also breaks the second one.
+            for (int attempt = 0; attempt < 2; attempt++) {
+                HttpPut request = new HttpPut(server.getUrl());
+                request.setHeader(FileUploader.TRAILER_HEADER, FileUploader.CONTENT_DIGEST_HEADER);
+                request.setEntity(entity);
+                try (CloseableHttpResponse response = httpClient.execute(request)) {
+                    assertEquals(200, response.getStatusLine().getStatusCode());
+                }
+            }
+        }
+
+        List<ReceivedRequest> receivedRequests = server.getReceivedRequests();
+        assertEquals(2, receivedRequests.size());
+        String expectedDigest = String.format("sha-256=:%s:", Base64.getEncoder().encodeToString(DigestUtils.sha256(expectedContent)));
+        for (ReceivedRequest receivedRequest : receivedRequests) {
+            assertEquals("chunked", receivedRequest.headers.get("transfer-encoding"));
+            assertFalse(receivedRequest.headers.containsKey("content-digest"));
+            assertArrayEquals(expectedContent, receivedRequest.body);
+            assertEquals(expectedDigest, receivedRequest.trailers.get("content-digest"));
+        }
+    }
+
+    private static class ReceivedRequest {
+        private final Map<String, String> headers;
+        private final byte[] body;
+        private final Map<String, String> trailers;
+
+        private ReceivedRequest(Map<String, String> headers, byte[] body, Map<String, String> trailers) {
+            this.headers = headers;
+            this.body = body;
+            this.trailers = trailers;
+        }
+    }
+
+    // A stand-in for the upload endpoint accepting chunked requests on one keep-alive connection.
+    // A request is answered with 200 only if its Content-Digest trailer matches the SHA-256 digest of the received body.
+    private static class TrailerCheckingServer implements AutoCloseable {
+        private final ServerSocket serverSocket;
+        private final List<ReceivedRequest> receivedRequests = Collections.synchronizedList(new ArrayList<>());
+        private final Thread thread;
+
+        private TrailerCheckingServer() throws IOException {
+            serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+            thread = new Thread(this::serve, "trailer-checking-server");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private String getUrl() {
+            return String.format("http://%s:%d/upload", serverSocket.getInetAddress().getHostAddress(), serverSocket.getLocalPort());
+        }
+
+        private List<ReceivedRequest> getReceivedRequests() {
+            return receivedRequests;
+        }
+
+        private void serve() {
+            try (Socket socket = serverSocket.accept();
+                InputStream inputStream = new BufferedInputStream(socket.getInputStream());
+                OutputStream outputStream = socket.getOutputStream()) {
+                String requestLine;
+                while ((requestLine = readLine(inputStream)) != null && !requestLine.isEmpty()) {
+                    Map<String, String> headers = readFields(inputStream);
+                    byte[] body = readChunkedBody(inputStream);
+                    Map<String, String> trailers = readFields(inputStream);
+                    receivedRequests.add(new ReceivedRequest(headers, body, trailers));
+
+                    String expectedDigest = String.format("sha-256=:%s:", Base64.getEncoder().encodeToString(DigestUtils.sha256(body)));
+                    String status = expectedDigest.equals(trailers.get("content-digest")) ? "200 OK" : "400 Bad Request";
+                    outputStream.write(String.format("HTTP/1.1 %s\r\nContent-Length: 0\r\n\r\n", status).getBytes(StandardCharsets.US_ASCII));
+                    outputStream.flush();
+                }
+            } catch (IOException e) {
+                // The client closed the connection.
+            }
+        }
+
+        private byte[] readChunkedBody(InputStream inputStream) throws IOException {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            int chunkSize;
+            while ((chunkSize = Integer.parseInt(readLine(inputStream).trim(), 16)) > 0) {
+                byte[] chunk = new byte[chunkSize];
+                int offset = 0;
+                while (offset < chunkSize) {
+                    offset += inputStream.read(chunk, offset, chunkSize - offset);
+                }
+                body.write(chunk);
+                readLine(inputStream);
+            }
+            return body.toByteArray();
+        }
+
+        private Map<String, String> readFields(InputStream inputStream) throws IOException {
+            Map<String, String> fields = new HashMap<>();
+            String line;
+            while ((line = readLine(inputStream)) != null && !line.isEmpty()) {
+                int separatorIndex = line.indexOf(':');
+                fields.put(line.substring(0, separatorIndex).trim().toLowerCase(Locale.ROOT), line.substring(separatorIndex + 1).trim());
+            }
+            return fields;
+        }
+
+        private String readLine(InputStream inputStream) throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int b;
+            while ((b = inputStream.read()) != -1) {
+                if (b == '\n') {
+                    String value = line.toString(StandardCharsets.US_ASCII.name());
+                    return value.endsWith("\r") ? value.substring(0, value.length() - 1) : value;
+                }
+                line.write(b);
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+        }
+    }
+}
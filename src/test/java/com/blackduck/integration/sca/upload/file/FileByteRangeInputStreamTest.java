@@ -0,0 +1,103 @@
+package com.blackduck.integration.sca.upload.file;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.blackduck.integration.sca.upload.generator.RandomByteContentFileGenerator;
+
+class FileByteRangeInputStreamTest {
+    private static final int PART_SIZE = 1024 * 1024;
+    private static final int PART_COUNT = 8;
+    private Path generatedSampleFilePath;
+    private byte[] fileContent;
+
+    @BeforeEach
+    void init() throws IOException {
+        RandomByteContentFileGenerator randomByteContentFileGenerator = new RandomByteContentFileGenerator();
+        generatedSampleFilePath = randomByteContentFileGenerator.generateFile((long) PART_SIZE * PART_COUNT, ".bin").orElseThrow(() -> new IOException("Could not generate file"));
+        fileContent = Files.readAllBytes(generatedSampleFilePath);
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        Files.deleteIfExists(generatedSampleFilePath);
+    }
+
+    @Test
+    void testConcurrentRangesShareOneChannel() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(PART_COUNT);
+        try (FileChannel fileChannel = FileChannel.open(generatedSampleFilePath, StandardOpenOption.READ)) {
+            List<Future<byte[]>> readParts = new ArrayList<>();
+            for (int index = 0; index < PART_COUNT; index++) {
+                long startOffset = (long) index * PART_SIZE;
+                readParts.add(executorService.submit(() -> readFully(new FileByteRangeInputStream(fileChannel, startOffset, PART_SIZE))));
+            }
+            for (int index = 0; index < PART_COUNT; index++) {
+                assertArrayEquals(Arrays.copyOfRange(fileContent, index * PART_SIZE, (index + 1) * PART_SIZE), readParts.get(index).get());
+            }
+            // Closing a stream over a shared channel leaves the channel open for the other parts.
+            assertTrue(fileChannel.isOpen());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void testSkipMarkAndReset() throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(generatedSampleFilePath, StandardOpenOption.READ);
+            FileByteRangeInputStream inputStream = new FileByteRangeInputStream(fileChannel, PART_SIZE, 100)) {
+            assertEquals(0, inputStream.skip(-5));
+            assertEquals(10, inputStream.skip(10));
+            assertEquals(fileContent[PART_SIZE + 10] & 0xFF, inputStream.read());
+            inputStream.mark(0);
+            // Skipping stops at the end of the range, and reports the bytes actually skipped.
+            assertEquals(89, inputStream.skip(1000));
+            assertEquals(0, inputStream.available());
+            assertEquals(-1, inputStream.read());
+
+            inputStream.reset();
+            assertEquals(89, inputStream.available());
+            assertArrayEquals(Arrays.copyOfRange(fileContent, PART_SIZE + 11, PART_SIZE + 100), readFully(inputStream));
+        }
+    }
+
+    @Test
+    void testResetWithoutMarkRestartsRange() throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(generatedSampleFilePath, StandardOpenOption.READ);
+            FileByteRangeInputStream inputStream = new FileByteRangeInputStream(fileChannel, 5, 20)) {
+            byte[] firstRead = readFully(inputStream);
+            inputStream.reset();
+            assertArrayEquals(firstRead, readFully(inputStream));
+            assertArrayEquals(Arrays.copyOfRange(fileContent, 5, 25), firstRead);
+        }
+    }
+
+    private byte[] readFully(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int bytesRead;
+        while ((bytesRead = inputStream.read(buffer, 0, buffer.length)) != -1) {
+            outputStream.write(buffer, 0, bytesRead);
+        }
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,158 @@
+package com.blackduck.integration.sca.upload.file;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.blackduck.integration.sca.upload.file.digest.PartDigestAlgorithms;
+import com.blackduck.integration.sca.upload.file.model.MultipartUploadFileMetadata;
+import com.blackduck.integration.sca.upload.file.model.MultipartUploadFilePart;
+import com.blackduck.integration.sca.upload.generator.RandomByteContentFileGenerator;
+
+class FileChecksumCacheTest {
+    private static final int CHUNK_SIZE = 1024 * 1024 * 5; // 5MB
+    private static final long MAXIMUM_CACHE_SIZE = 1024L * 1024L;
+    private final Path outputDirectory = Path.of("build/resources/test/output/checksum-cache-test");
+    private Path generatedSampleFilePath;
+
+    @BeforeEach
+    void init() throws IOException {
+        RandomByteContentFileGenerator randomByteContentFileGenerator = new RandomByteContentFileGenerator();
+        generatedSampleFilePath = randomByteContentFileGenerator.generateFile(CHUNK_SIZE * 3L + 100L, ".bin").orElseThrow(() -> new IOException("Could not generate file"));
+        Files.createDirectories(outputDirectory);
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        FileUtils.deleteDirectory(outputDirectory.toFile());
+    }
+
+    @Test
+    void testSplitFileUsesCachedChecksums() throws IOException {
+        FileChecksumCache checksumCache = new FileChecksumCache(outputDirectory, MAXIMUM_CACHE_SIZE);
+        FileSplitter fileSplitter = new FileSplitter(FileSplitterOptions.createOptions().setSplitMode(FileSplitMode.SINGLE_PASS).setChecksumCache(checksumCache).build());
+        MultipartUploadFileMetadata computedMetadata = fileSplitter.splitFile(generatedSampleFilePath, CHUNK_SIZE);
+        assertEquals(1, listEntries(checksumCache).size());
+
+        // Replace the content but keep the size and modification time, so only a cache hit can still report the original checksums.
+        FileTime lastModifiedTime = Files.getLastModifiedTime(generatedSampleFilePath);
+        byte[] replacementContent = new byte[(int) Files.size(generatedSampleFilePath)];
+        new Random().nextBytes(replacementContent);
+        Files.write(generatedSampleFilePath, replacementContent);
+        Files.setLastModifiedTime(generatedSampleFilePath, lastModifiedTime);
+
+        MultipartUploadFileMetadata cachedMetadata = fileSplitter.splitFile(generatedSampleFilePath, CHUNK_SIZE);
+        assertEquals(computedMetadata.getChecksum(), cachedMetadata.getChecksum());
+        assertEquals(computedMetadata.getFileSize(), cachedMetadata.getFileSize());
+        assertEquals(computedMetadata.getChunkSize(), cachedMetadata.getChunkSize());
+        assertNotEquals(computedMetadata.getUploadId(), cachedMetadata.getUploadId());
+        assertEquals(computedMetadata.getFileChunks().size(), cachedMetadata.getFileChunks().size());
+        for (int index = 0; index < computedMetadata.getFileChunks().size(); index++) {
+            MultipartUploadFilePart computedPart = computedMetadata.getFileChunks().get(index);
+            MultipartUploadFilePart cachedPart = cachedMetadata.getFileChunks().get(index);
+            assertEquals(computedPart.getIndex(), cachedPart.getIndex());
+            assertEquals(computedPart.getStartByteRange(), cachedPart.getStartByteRange());
+            assertEquals(computedPart.getChunkSize(), cachedPart.getChunkSize());
+            assertEquals(computedPart.getChecksum(), cachedPart.getChecksum());
+            assertEquals(generatedSampleFilePath, cachedPart.getFilePath());
+        }
+        assertNotEquals(computedMetadata.getChecksum(), new FileSplitter().splitFile(generatedSampleFilePath, CHUNK_SIZE).getChecksum());
+    }
+
+    @Test
+    void testEntryOfOtherPartDigestAlgorithmIsNotFound() throws IOException {
+        FileChecksumCache checksumCache = new FileChecksumCache(outputDirectory, MAXIMUM_CACHE_SIZE);
+        new FileSplitter(FileSplitterOptions.createOptions().setSplitMode(FileSplitMode.SINGLE_PASS).setChecksumCache(checksumCache).build()).splitFile(generatedSampleFilePath, CHUNK_SIZE);
+
+        assertTrue(checksumCache.find(generatedSampleFilePath, CHUNK_SIZE, PartDigestAlgorithms.MD5).isPresent());
+        assertFalse(checksumCache.find(generatedSampleFilePath, CHUNK_SIZE, PartDigestAlgorithms.SHA_256).isPresent());
+    }
+
+    @Test
+    void testModifiedFileIsNotFound() throws IOException {
+        FileChecksumCache checksumCache = new FileChecksumCache(outputDirectory, MAXIMUM_CACHE_SIZE);
+        new FileSplitter(FileSplitterOptions.createOptions().setSplitMode(FileSplitMode.SINGLE_PASS).setChecksumCache(checksumCache).build()).splitFile(generatedSampleFilePath, CHUNK_SIZE);
+        assertTrue(checksumCache.find(generatedSampleFilePath, CHUNK_SIZE).isPresent());
+        assertFalse(checksumCache.find(generatedSampleFilePath, CHUNK_SIZE * 2).isPresent());
+
+        Files.setLastModifiedTime(generatedSampleFilePath, FileTime.fromMillis(Files.getLastModifiedTime(generatedSampleFilePath).toMillis() - 60000L));
+        assertFalse(checksumCache.find(generatedSampleFilePath, CHUNK_SIZE).isPresent());
+    }
+
+    @Test
+    void testCorruptEntryIsIgnored() throws IOException {
+        FileChecksumCache checksumCache = new FileChecksumCache(outputDirectory, MAXIMUM_CACHE_SIZE);
+        FileSplitter fileSplitter = new FileSplitter(FileSplitterOptions.createOptions().setSplitMode(FileSplitMode.SINGLE_PASS).setChecksumCache(checksumCache).build());
+        MultipartUploadFileMetadata computedMetadata = fileSplitter.splitFile(generatedSampleFilePath, CHUNK_SIZE);
+        for (Path entryPath : listEntries(checksumCache)) {
+            Files.write(entryPath, "{\"key\":".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertFalse(checksumCache.find(generatedSampleFilePath, CHUNK_SIZE).isPresent());
+        assertEquals(computedMetadata.getChecksum(), fileSplitter.splitFile(generatedSampleFilePath, CHUNK_SIZE).getChecksum());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() throws IOException {
+        RandomByteContentFileGenerator randomByteContentFileGenerator = new RandomByteContentFileGenerator();
+        Path secondFilePath = randomByteContentFileGenerator.generateFile(CHUNK_SIZE * 3L + 200L, ".bin").orElseThrow(() -> new IOException("Could not generate file"));
+        Path thirdFilePath = randomByteContentFileGenerator.generateFile(CHUNK_SIZE * 3L + 300L, ".bin").orElseThrow(() -> new IOException("Could not generate file"));
+
+        FileChecksumCache unboundedCache = new FileChecksumCache(outputDirectory, MAXIMUM_CACHE_SIZE);
+        new FileSplitter(FileSplitterOptions.createOptions().setSplitMode(FileSplitMode.SINGLE_PASS).setChecksumCache(unboundedCache).build()).splitFile(generatedSampleFilePath, CHUNK_SIZE);
+        new FileSplitter(FileSplitterOptions.createOptions().setSplitMode(FileSplitMode.SINGLE_PASS).setChecksumCache(unboundedCache).build()).splitFile(secondFilePath, CHUNK_SIZE);
+        List<Path> entries = listEntries(unboundedCache);
+        assertEquals(2, entries.size());
+        // Age both entries, then use the first one so the second becomes the least recently used.
+        for (Path entryPath : entries) {
+            Files.setLastModifiedTime(entryPath, FileTime.fromMillis(System.currentTimeMillis() - 60000L));
+        }
+        assertTrue(unboundedCache.find(generatedSampleFilePath, CHUNK_SIZE).isPresent());
+
+        long entrySize = Files.size(entries.get(0));
+        // Room for two entries of this size, so storing a third evicts exactly one.
+        FileChecksumCache boundedCache = new FileChecksumCache(outputDirectory, entrySize * 2 + entrySize / 2);
+        new FileSplitter(FileSplitterOptions.createOptions().setSplitMode(FileSplitMode.SINGLE_PASS).setChecksumCache(boundedCache).build()).splitFile(thirdFilePath, CHUNK_SIZE);
+
+        assertEquals(2, listEntries(boundedCache).size());
+        assertTrue(boundedCache.find(generatedSampleFilePath, CHUNK_SIZE).isPresent());
+        assertFalse(boundedCache.find(secondFilePath, CHUNK_SIZE).isPresent());
+        assertTrue(boundedCache.find(thirdFilePath, CHUNK_SIZE).isPresent());
+    }
+
+    @Test
+    void testStreamingSplitIsNotCached() throws IOException {
+        FileChecksumCache checksumCache = new FileChecksumCache(outputDirectory, MAXIMUM_CACHE_SIZE);
+        try (MultipartUploadFileMetadata ignored = new FileSplitter(FileSplitterOptions.createOptions().setSplitMode(FileSplitMode.STREAMING).setChecksumCache(checksumCache).build())
+            .splitFile(generatedSampleFilePath, CHUNK_SIZE)) {
+            Optional<MultipartUploadFileMetadata> cachedMetadata = checksumCache.find(generatedSampleFilePath, CHUNK_SIZE);
+            assertFalse(cachedMetadata.isPresent());
+        }
+    }
+
+    private List<Path> listEntries(FileChecksumCache checksumCache) throws IOException {
+        if (!Files.exists(checksumCache.getCacheDirectory())) {
+            return List.of();
+        }
+        try (Stream<Path> cacheFiles = Files.list(checksumCache.getCacheDirectory())) {
+            return cacheFiles.filter(path -> path.getFileName().toString().endsWith(FileChecksumCache.ENTRY_FILE_EXTENSION)).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.blackduck.integration.sca.upload.file;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.entity.ContentType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.blackduck.integration.sca.upload.generator.RandomByteContentFileGenerator;
+
+class FilePartEntityTest {
+    private static final int FILE_SIZE = FilePartEntity.WRITE_BLOCK_SIZE * 5;
+    private Path generatedSampleFilePath;
+    private byte[] fileContent;
+
+    @BeforeEach
+    void init() throws IOException {
+        RandomByteContentFileGenerator randomByteContentFileGenerator = new RandomByteContentFileGenerator();
+        generatedSampleFilePath = randomByteContentFileGenerator.generateFile(FILE_SIZE, ".bin").orElseThrow(() -> new IOException("Could not generate file"));
+        fileContent = Files.readAllBytes(generatedSampleFilePath);
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        Files.deleteIfExists(generatedSampleFilePath);
+    }
+
+    @Test
+    void testEntityIsRepeatable() throws IOException {
+        long startOffset = 1000;
+        long contentLength = FilePartEntity.WRITE_BLOCK_SIZE * 3L + 17;
+        byte[] expectedContent = Arrays.copyOfRange(fileContent, (int) startOffset, (int) (startOffset + contentLength));
+        try (FileChannel fileChannel = FileChannel.open(generatedSampleFilePath, StandardOpenOption.READ)) {
+            FilePartEntity entity = new FilePartEntity(fileChannel, new BufferPool(), startOffset, contentLength, ContentType.APPLICATION_OCTET_STREAM);
+            assertTrue(entity.isRepeatable());
+            assertFalse(entity.isStreaming());
+            assertEquals(contentLength, entity.getContentLength());
+
+            for (int attempt = 0; attempt < 2; attempt++) {
+                BlockCountingOutputStream outputStream = new BlockCountingOutputStream();
+                entity.writeTo(outputStream);
+                assertArrayEquals(expectedContent, outputStream.toByteArray());
+                // Three full blocks and the remainder.
+                assertEquals(4, outputStream.writeCount);
+            }
+            try (InputStream content = entity.getContent()) {
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+                int bytesRead;
+                while ((bytesRead = content.read(buffer)) != -1) {
+                    outputStream.write(buffer, 0, bytesRead);
+                }
+                assertArrayEquals(expectedContent, outputStream.toByteArray());
+            }
+        }
+    }
+
+    @Test
+    void testTruncatedFileFails() throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(generatedSampleFilePath, StandardOpenOption.READ)) {
+            FilePartEntity entity = new FilePartEntity(fileChannel, new BufferPool(), FILE_SIZE - 10L, 20, ContentType.APPLICATION_OCTET_STREAM);
+            assertThrows(PartFileChangedException.class, () -> entity.writeTo(new ByteArrayOutputStream()));
+        }
+    }
+
+    @Test
+    void testAbortShutsDownBoundConnection() throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(generatedSampleFilePath, StandardOpenOption.READ)) {
+            FilePartEntity entity = new FilePartEntity(fileChannel, new BufferPool(), 0L, FILE_SIZE, ContentType.APPLICATION_OCTET_STREAM);
+            HttpClientConnection connection = Mockito.mock(HttpClientConnection.class);
+            entity.bind(connection);
+            entity.abort("stalled");
+            Mockito.verify(connection).shutdown();
+            entity.unbind();
+
+            // A request aborted before it is sent fails as soon as its connection is bound.
+            HttpClientConnection nextConnection = Mockito.mock(HttpClientConnection.class);
+            entity.bind(nextConnection);
+            Mockito.verify(nextConnection).shutdown();
+            assertTrue(entity.isAborted());
+        }
+    }
+
+    private static class BlockCountingOutputStream extends ByteArrayOutputStream {
+        private int writeCount = 0;
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            writeCount++;
+            super.write(b, off, len);
+        }
+    }
+}
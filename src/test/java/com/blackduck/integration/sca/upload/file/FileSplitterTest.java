@@ -12,10 +12,14 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.security.MessageDigest;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
 
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FileUtils;
@@ -26,8 +30,14 @@ import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.blackduck.integration.sca.upload.file.digest.PartDigest;
+import com.blackduck.integration.sca.upload.file.digest.PartDigestAlgorithm;
+import com.blackduck.integration.sca.upload.file.digest.PartDigestAlgorithms;
+import com.blackduck.integration.sca.upload.file.model.FileChecksumType;
 import com.blackduck.integration.sca.upload.file.model.MultipartUploadFileMetadata;
 import com.blackduck.integration.sca.upload.file.model.MultipartUploadFilePart;
+import com.blackduck.integration.sca.upload.file.model.MultipartUploadFilePartSource;
+import com.blackduck.integration.sca.upload.file.model.MultipartUploadPartTable;
 import com.blackduck.integration.sca.upload.generator.RandomByteContentFileGenerator;
 
 class FileSplitterTest {
@@ -133,6 +143,270 @@ class FileSplitterTest {
         }
     }
 
+    @Test
+    void splitFileSinglePassMatchesPerPartTest() throws IOException {
+        RandomByteContentFileGenerator randomByteContentFileGenerator = new RandomByteContentFileGenerator();
+        // Not a multiple of the chunk size so the final part is a partial one.
+        long fileSize = chunkSize * 3L + 12345L;
+        Path samplePath = randomByteContentFileGenerator.generateFile(fileSize, ".txt").orElseThrow(() -> new IOException("Could not generate file"));
+
+        MultipartUploadFileMetadata perPartMetadata = new FileSplitter(FileSplitMode.PER_PART).splitFile(samplePath, chunkSize);
+        MultipartUploadFileMetadata singlePassMetadata = new FileSplitter(FileSplitMode.SINGLE_PASS).splitFile(samplePath, chunkSize);
+
+        assertEquals(4, singlePassMetadata.getFileChunks().size());
+        assertSameSplit(perPartMetadata, singlePassMetadata);
+        validateChunks(singlePassMetadata, chunkSize);
+    }
+
+    @Test
+    void splitFileParallelMatchesSinglePassTest() throws IOException {
+        RandomByteContentFileGenerator randomByteContentFileGenerator = new RandomByteContentFileGenerator();
+        long fileSize = chunkSize * 7L + 54321L;
+        Path samplePath = randomByteContentFileGenerator.generateFile(fileSize, ".txt").orElseThrow(() -> new IOException("Could not generate file"));
+
+        MultipartUploadFileMetadata singlePassMetadata = new FileSplitter(FileSplitMode.SINGLE_PASS).splitFile(samplePath, chunkSize);
+        MultipartUploadFileMetadata boundedPoolMetadata = new FileSplitter(FileSplitterOptions.createOptions().setSplitMode(FileSplitMode.PARALLEL).setParallelism(4).build()).splitFile(samplePath, chunkSize);
+        MultipartUploadFileMetadata commonPoolMetadata = new FileSplitter(FileSplitMode.PARALLEL).splitFile(samplePath, chunkSize);
+
+        assertEquals(8, boundedPoolMetadata.getFileChunks().size());
+        assertSameSplit(singlePassMetadata, boundedPoolMetadata);
+        assertSameSplit(singlePassMetadata, commonPoolMetadata);
+        validateChunks(boundedPoolMetadata, chunkSize);
+    }
+
+    @Test
+    void splitFileParallelDoesNotExistTest() {
+        FileSplitter fileSplitter = new FileSplitter(FileSplitterOptions.createOptions().setSplitMode(FileSplitMode.PARALLEL).setParallelism(2).build());
+
+        Path testPath = Path.of("./this/path/should/not/exist/");
+        assertThrows(FileNotFoundException.class, () -> fileSplitter.splitFile(testPath, chunkSize));
+    }
+
+    @Test
+    void splitFileStreamingMatchesSinglePassTest() throws IOException, InterruptedException {
+        RandomByteContentFileGenerator randomByteContentFileGenerator = new RandomByteContentFileGenerator();
+        // More parts than the pipeline queues hold, so the hashing stage has to wait for parts to be taken.
+        long fileSize = chunkSize * 11L + 777L;
+        Path samplePath = randomByteContentFileGenerator.generateFile(fileSize, ".txt").orElseThrow(() -> new IOException("Could not generate file"));
+
+        MultipartUploadFileMetadata singlePassMetadata = new FileSplitter(FileSplitMode.SINGLE_PASS).splitFile(samplePath, chunkSize);
+        try (MultipartUploadFileMetadata streamingMetadata = new FileSplitter(FileSplitMode.STREAMING).splitFile(samplePath, chunkSize)) {
+            assertEquals(12, streamingMetadata.getPartCount());
+            assertTrue(streamingMetadata.getFileChunks().isEmpty());
+
+            MultipartUploadFilePartSource filePartSource = streamingMetadata.getFilePartSource();
+            while (filePartSource.nextPart().isPresent()) {
+                // Drains the pipeline, every part supplied is recorded in the metadata.
+            }
+            assertSameSplit(singlePassMetadata, streamingMetadata);
+            validateChunks(streamingMetadata, chunkSize);
+        }
+    }
+
+    @Test
+    void splitFileStreamingForwardsHashingFailureTest() throws IOException {
+        RandomByteContentFileGenerator randomByteContentFileGenerator = new RandomByteContentFileGenerator();
+        Path samplePath = randomByteContentFileGenerator.generateFile(chunkSize * 2L, ".txt").orElseThrow(() -> new IOException("Could not generate file"));
+        PartDigestAlgorithm failingAlgorithm = new PartDigestAlgorithm() {
+            @Override
+            public String getName() {
+                return "md5";
+            }
+
+            @Override
+            public int getDigestLength() {
+                return 16;
+            }
+
+            @Override
+            public PartDigest createDigest() {
+                throw new IllegalStateException("Digest not available");
+            }
+        };
+        FileSplitter fileSplitter = new FileSplitter(FileSplitterOptions.createOptions()
+            .setSplitMode(FileSplitMode.STREAMING)
+            .setPartDigestAlgorithm(failingAlgorithm)
+            .build());
+
+        try (MultipartUploadFileMetadata streamingMetadata = fileSplitter.splitFile(samplePath, chunkSize)) {
+            // The hashing stage failed with a runtime exception, which reaches the upload stage instead of leaving it waiting for the part.
+            IOException exception = assertThrows(IOException.class, () -> streamingMetadata.getFilePartSource().nextPart(10, TimeUnit.SECONDS));
+            assertTrue(exception.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    void splitFileMemoryMappedMatchesSinglePassTest() throws IOException {
+        RandomByteContentFileGenerator randomByteContentFileGenerator = new RandomByteContentFileGenerator();
+        // Parts larger than a mapping window, so each part is hashed from more than one window.
+        int largeChunkSize = FileSplitter.MAPPED_WINDOW_SIZE + chunkSize;
+        long fileSize = largeChunkSize * 2L + 4321L;
+        Path samplePath = randomByteContentFileGenerator.generateFile(fileSize, ".txt").orElseThrow(() -> new IOException("Could not generate file"));
+
+        MultipartUploadFileMetadata singlePassMetadata = new FileSplitter(FileSplitMode.SINGLE_PASS).splitFile(samplePath, largeChunkSize);
+        FileSplitter mappedSinglePassSplitter = new FileSplitter(FileSplitterOptions.createOptions().setSplitMode(FileSplitMode.SINGLE_PASS).setMemoryMapped(true).build());
+        FileSplitter mappedParallelSplitter = new FileSplitter(FileSplitterOptions.createOptions()
+            .setSplitMode(FileSplitMode.PARALLEL)
+            .setParallelism(2)
+            .setMemoryMapped(true)
+            .build());
+
+        assertTrue(mappedSinglePassSplitter.isMemoryMapped());
+        assertSameSplit(singlePassMetadata, mappedSinglePassSplitter.splitFile(samplePath, largeChunkSize));
+        assertSameSplit(singlePassMetadata, mappedParallelSplitter.splitFile(samplePath, largeChunkSize));
+    }
+
+    @Test
+    void splitFileTrailerComputesOnlyFileChecksumTest() throws IOException {
+        RandomByteContentFileGenerator randomByteContentFileGenerator = new RandomByteContentFileGenerator();
+        long fileSize = chunkSize * 2L + 55L;
+        Path samplePath = randomByteContentFileGenerator.generateFile(fileSize, ".txt").orElseThrow(() -> new IOException("Could not generate file"));
+
+        MultipartUploadFileMetadata singlePassMetadata = new FileSplitter(FileSplitMode.SINGLE_PASS).splitFile(samplePath, chunkSize);
+        MultipartUploadFileMetadata trailerMetadata = new FileSplitter(FileSplitMode.TRAILER).splitFile(samplePath, chunkSize);
+
+        assertFalse(singlePassMetadata.isPartDigestTrailer());
+        assertTrue(trailerMetadata.isPartDigestTrailer());
+        assertEquals(singlePassMetadata.getChecksum(), trailerMetadata.getChecksum());
+        assertEquals(singlePassMetadata.getFileChunks().size(), trailerMetadata.getFileChunks().size());
+        for (int index = 0; index < singlePassMetadata.getFileChunks().size(); index++) {
+            assertEquals(singlePassMetadata.getFileChunks().get(index).getStartByteRange(), trailerMetadata.getFileChunks().get(index).getStartByteRange());
+            assertEquals(singlePassMetadata.getFileChunks().get(index).getChunkSize(), trailerMetadata.getFileChunks().get(index).getChunkSize());
+        }
+    }
+
+    @Test
+    void splitFilePartDigestAlgorithmTest() throws IOException {
+        RandomByteContentFileGenerator randomByteContentFileGenerator = new RandomByteContentFileGenerator();
+        long fileSize = chunkSize * 2L + 777L;
+        Path samplePath = randomByteContentFileGenerator.generateFile(fileSize, ".txt").orElseThrow(() -> new IOException("Could not generate file"));
+        byte[] fileContent = Files.readAllBytes(samplePath);
+        String fileChecksum = Base64.getEncoder().encodeToString(DigestUtils.md5(fileContent));
+
+        for (PartDigestAlgorithm partDigestAlgorithm : Arrays.asList(PartDigestAlgorithms.SHA_256, PartDigestAlgorithms.CRC32C)) {
+            for (FileSplitMode splitMode : Arrays.asList(FileSplitMode.PER_PART, FileSplitMode.SINGLE_PASS, FileSplitMode.PARALLEL)) {
+                for (boolean memoryMapped : new boolean[] { false, true }) {
+                    FileSplitter fileSplitter = new FileSplitter(FileSplitterOptions.createOptions()
+                        .setSplitMode(splitMode)
+                        .setParallelism(2)
+                        .setMemoryMapped(memoryMapped)
+                        .setPartDigestAlgorithm(partDigestAlgorithm)
+                        .build());
+                    MultipartUploadFileMetadata multipartUploadFileMetadata = fileSplitter.splitFile(samplePath, chunkSize);
+
+                    // The file checksum is always MD5, only the part checksums use the configured algorithm.
+                    assertEquals(fileChecksum, multipartUploadFileMetadata.getChecksum());
+                    assertEquals(partDigestAlgorithm.getName(), multipartUploadFileMetadata.getPartDigestName());
+                    for (MultipartUploadFilePart part : multipartUploadFileMetadata.getFileChunks()) {
+                        int startOffset = (int) part.getStartByteRange();
+                        byte[] partContent = Arrays.copyOfRange(fileContent, startOffset, startOffset + part.getChunkSize());
+                        assertEquals(expectedPartChecksum(partDigestAlgorithm, partContent), part.getChecksum());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void splitFileCompositeChecksumTest() throws IOException {
+        RandomByteContentFileGenerator randomByteContentFileGenerator = new RandomByteContentFileGenerator();
+        long fileSize = chunkSize * 2L + 321L;
+        Path samplePath = randomByteContentFileGenerator.generateFile(fileSize, ".txt").orElseThrow(() -> new IOException("Could not generate file"));
+        byte[] fileContent = Files.readAllBytes(samplePath);
+
+        // The composite checksum is the MD5 digest of the concatenated part MD5 digests, followed by the part count.
+        MessageDigest compositeDigest = DigestUtils.getMd5Digest();
+        for (int startOffset = 0; startOffset < fileContent.length; startOffset += chunkSize) {
+            compositeDigest.update(DigestUtils.md5(Arrays.copyOfRange(fileContent, startOffset, Math.min(startOffset + chunkSize, fileContent.length))));
+        }
+        String expectedChecksum = Base64.getEncoder().encodeToString(compositeDigest.digest()) + "-3";
+
+        MultipartUploadFileMetadata md5Metadata = new FileSplitter(FileSplitMode.SINGLE_PASS).splitFile(samplePath, chunkSize);
+        assertEquals(FileChecksumType.MD5, md5Metadata.getChecksumType());
+        for (FileSplitMode splitMode : Arrays.asList(FileSplitMode.PER_PART, FileSplitMode.SINGLE_PASS, FileSplitMode.PARALLEL)) {
+            for (boolean memoryMapped : new boolean[] { false, true }) {
+                FileSplitter fileSplitter = new FileSplitter(FileSplitterOptions.createOptions()
+                    .setSplitMode(splitMode)
+                    .setParallelism(2)
+                    .setMemoryMapped(memoryMapped)
+                    .setPartDigestAlgorithm(PartDigestAlgorithms.MD5)
+                    .setChecksumType(FileChecksumType.COMPOSITE)
+                    .build());
+                MultipartUploadFileMetadata compositeMetadata = fileSplitter.splitFile(samplePath, chunkSize);
+
+                assertEquals(FileChecksumType.COMPOSITE, compositeMetadata.getChecksumType());
+                assertEquals(expectedChecksum, compositeMetadata.getChecksum());
+                for (int index = 0; index < md5Metadata.getFileChunks().size(); index++) {
+                    assertEquals(md5Metadata.getFileChunks().get(index).getChecksum(), compositeMetadata.getFileChunks().get(index).getChecksum());
+                }
+            }
+        }
+
+        // Parts are not hashed before a streaming upload starts, so the streaming modes cannot compute the composite checksum.
+        for (FileSplitMode splitMode : Arrays.asList(FileSplitMode.STREAMING, FileSplitMode.TRAILER)) {
+            FileSplitterOptions.Builder optionsBuilder = FileSplitterOptions.createOptions()
+                .setSplitMode(splitMode)
+                .setChecksumType(FileChecksumType.COMPOSITE);
+            assertThrows(IllegalArgumentException.class, optionsBuilder::build);
+        }
+    }
+
+    @Test
+    void streamingSplitRejectsMemoryMappingTest() {
+        FileSplitterOptions.Builder optionsBuilder = FileSplitterOptions.createOptions()
+            .setSplitMode(FileSplitMode.STREAMING)
+            .setMemoryMapped(true);
+        assertThrows(IllegalArgumentException.class, optionsBuilder::build);
+    }
+
+    @Test
+    void splitFilePartTableViewsTest() throws IOException {
+        RandomByteContentFileGenerator randomByteContentFileGenerator = new RandomByteContentFileGenerator();
+        long fileSize = chunkSize * 2L + 99L;
+        Path samplePath = randomByteContentFileGenerator.generateFile(fileSize, ".txt").orElseThrow(() -> new IOException("Could not generate file"));
+
+        MultipartUploadFileMetadata multipartUploadFileMetadata = new FileSplitter(FileSplitMode.SINGLE_PASS).splitFile(samplePath, chunkSize);
+        MultipartUploadPartTable partTable = multipartUploadFileMetadata.getPartTable().orElseThrow(() -> new IOException("Expected a part table"));
+
+        assertEquals(3, partTable.getPartCount());
+        assertEquals(99, partTable.getChunkSize(2));
+        for (int index = 0; index < partTable.getPartCount(); index++) {
+            MultipartUploadFilePart part = multipartUploadFileMetadata.getFileChunks().get(index);
+            assertEquals(index, part.getIndex());
+            assertEquals(partTable.getStartByteRange(index), part.getStartByteRange());
+            assertEquals(partTable.getChunkSize(index), part.getChunkSize());
+            assertEquals(Base64.getEncoder().encodeToString(partTable.getDigest(index)), part.getChecksum());
+            // Views are created on access, but always report the same tag id for a part.
+            assertEquals(part.getTagId(), partTable.getPart(index).getTagId());
+            assertEquals(samplePath, part.getFilePath());
+        }
+    }
+
+    private String expectedPartChecksum(PartDigestAlgorithm partDigestAlgorithm, byte[] partContent) {
+        if (partDigestAlgorithm == PartDigestAlgorithms.SHA_256) {
+            return Base64.getEncoder().encodeToString(DigestUtils.sha256(partContent));
+        }
+        CRC32C crc32c = new CRC32C();
+        crc32c.update(partContent);
+        return Base64.getEncoder().encodeToString(ByteBuffer.allocate(4).putInt((int) crc32c.getValue()).array());
+    }
+
+    private void assertSameSplit(MultipartUploadFileMetadata expected, MultipartUploadFileMetadata actual) {
+        assertEquals(expected.getFileName(), actual.getFileName());
+        assertEquals(expected.getChecksum(), actual.getChecksum());
+        assertEquals(expected.getFileSize(), actual.getFileSize());
+        assertEquals(expected.getChunkSize(), actual.getChunkSize());
+        assertEquals(expected.getFileChunks().size(), actual.getFileChunks().size());
+        for (int index = 0; index < expected.getFileChunks().size(); index++) {
+            MultipartUploadFilePart expectedPart = expected.getFileChunks().get(index);
+            MultipartUploadFilePart actualPart = actual.getFileChunks().get(index);
+            assertEquals(expectedPart.getIndex(), actualPart.getIndex());
+            assertEquals(expectedPart.getStartByteRange(), actualPart.getStartByteRange());
+            assertEquals(expectedPart.getChunkSize(), actualPart.getChunkSize());
+            assertEquals(expectedPart.getChecksum(), actualPart.getChecksum());
+        }
+    }
+
     private void validateChunks(MultipartUploadFileMetadata multipartUploadFileMetadata, int chunkSize) throws IOException {
         File reassembledFile = assertDoesNotThrow(() -> File.createTempFile(
             RandomStringUtils.randomAlphanumeric(10),
@@ -1,14 +1,28 @@
 package com.blackduck.integration.sca.upload.file;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.net.SocketException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.http.HttpClientConnection;
 import org.apache.http.HttpHeaders;
 import org.apache.http.HttpStatus;
 import org.junit.jupiter.api.BeforeAll;
@@ -17,17 +31,28 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.mockito.stubbing.OngoingStubbing;
 
 import com.blackduck.integration.exception.IntegrationException;
+import com.blackduck.integration.function.ThrowingFunction;
 import com.blackduck.integration.properties.TestPropertiesManager;
 import com.blackduck.integration.rest.HttpUrl;
+import com.blackduck.integration.rest.body.EntityBodyContent;
+import com.blackduck.integration.rest.body.StringBodyContent;
+import com.blackduck.integration.rest.exception.IntegrationRestException;
 import com.blackduck.integration.rest.request.Request;
 import com.blackduck.integration.rest.response.Response;
+import com.blackduck.integration.sca.upload.file.digest.PartDigestAlgorithms;
+import com.blackduck.integration.sca.upload.file.model.FileChecksumType;
 import com.blackduck.integration.sca.upload.file.model.MultipartUploadFileMetadata;
 import com.blackduck.integration.sca.upload.generator.RandomByteContentFileGenerator;
+import com.blackduck.integration.sca.upload.rest.AbortableEntity;
 import com.blackduck.integration.sca.upload.rest.BlackDuckHttpClient;
+import com.blackduck.integration.sca.upload.rest.RetryBudget;
+import com.blackduck.integration.sca.upload.rest.RetryPolicy;
+import com.blackduck.integration.sca.upload.rest.RetryScheduler;
 import com.blackduck.integration.sca.upload.rest.model.ContentTypes;
 import com.blackduck.integration.sca.upload.rest.model.request.MultipartUploadStartRequest;
 import com.blackduck.integration.sca.upload.rest.status.BinaryUploadStatus;
@@ -35,12 +60,14 @@ import com.blackduck.integration.sca.upload.rest.status.MutableResponseStatus;
 import com.blackduck.integration.sca.upload.test.TestPropertyKey;
 import com.blackduck.integration.sca.upload.validation.UploadValidator;
 import com.google.gson.Gson;
+import com.google.gson.JsonObject;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 class FileUploaderTest {
     private static final TestPropertiesManager testPropertiesManager = TestPropertyKey.getPropertiesManager();
     private static final int CHUNK_SIZE = 1024 * 1024 * 5; // 5MB
 
+    private static Path generatedSampleFilePath;
     private static MultipartUploadFileMetadata metaData;
     private final UploadRequestPaths uploadRequestPaths = new UploadRequestPaths("/api/uploads/");
 
@@ -53,7 +80,7 @@ class FileUploaderTest {
     void initAll() throws IOException {
         RandomByteContentFileGenerator randomByteContentFileGenerator = new RandomByteContentFileGenerator();
         long fileSize = 1024 * 1024 * 100L;
-        Path generatedSampleFilePath = randomByteContentFileGenerator.generateFile(fileSize, ".bin").orElseThrow(() -> new IOException("Could not generate file"));
+        generatedSampleFilePath = randomByteContentFileGenerator.generateFile(fileSize, ".bin").orElseThrow(() -> new IOException("Could not generate file"));
         metaData = new FileSplitter().splitFile(generatedSampleFilePath, CHUNK_SIZE);
     }
 
@@ -129,6 +156,193 @@ class FileUploaderTest {
         Mockito.verify(mockHttpClient, Mockito.times(retryAttempts + 20)).execute(Mockito.any(Request.class));
     }
 
+    @Test
+    void testMultipartUploadPartsRetriesTransportFailure() throws Exception {
+        Mockito.when(mockHttpClient.execute(Mockito.any(Request.class)))
+            .thenThrow(new IntegrationException("Connection reset", new SocketException("Connection reset")))
+            .thenReturn(mockSuccessResponse);
+        FileUploader fileUploader = new FileUploader(mockHttpClient, uploadRequestPaths, 1, 0, 10);
+        Map<Integer, String> partsMap = fileUploader.multipartUploadParts(mutableResponseStatus, metaData, "https://invalid");
+        // The reset connection is retried instead of cancelling the upload
+        assertEquals(20, partsMap.size());
+        assertEquals(1L, fileUploader.getPartFailureCounts().get(PartUploadFailureClass.CONNECTION));
+        Mockito.verify(mockHttpClient, Mockito.times(21)).execute(Mockito.any(Request.class));
+    }
+
+    @Test
+    void testMultipartUploadPartsRetriesStalledRequest() throws Exception {
+        // The first request never sends its part, and only fails once the watchdog shuts its connection down.
+        CountDownLatch connectionShutdown = new CountDownLatch(1);
+        HttpClientConnection connection = Mockito.mock(HttpClientConnection.class);
+        Mockito.doAnswer(invocation -> {
+            connectionShutdown.countDown();
+            return null;
+        }).when(connection).shutdown();
+        Mockito.when(mockHttpClient.execute(Mockito.any(Request.class)))
+            .thenAnswer(invocation -> {
+                Request request = invocation.getArgument(0);
+                AbortableEntity entity = (AbortableEntity) ((EntityBodyContent) request.getBodyContent()).getEntity();
+                entity.bind(connection);
+                try {
+                    connectionShutdown.await();
+                } finally {
+                    entity.unbind();
+                }
+                throw new IntegrationException("Socket closed", new SocketException("Socket closed"));
+            })
+            .thenReturn(mockSuccessResponse);
+        UploadOptions uploadOptions = UploadOptions.createOptions()
+            .setStallPolicy(new PartStallPolicy(1L, 500L))
+            .build();
+        FileUploader fileUploader = new FileUploader(mockHttpClient, uploadRequestPaths, 1, 0, 10, 1, uploadOptions);
+        Map<Integer, String> partsMap = fileUploader.multipartUploadParts(mutableResponseStatus, metaData, "https://invalid");
+        // The aborted request is retried like a timeout instead of holding the upload thread until the socket times out
+        assertEquals(20, partsMap.size());
+        assertEquals(1L, fileUploader.getPartFailureCounts().get(PartUploadFailureClass.TIMEOUT));
+        Mockito.verify(connection).shutdown();
+        Mockito.verify(mockHttpClient, Mockito.times(21)).execute(Mockito.any(Request.class));
+    }
+
+    @Test
+    void testMultipartUploadPartsConcurrentSucceeds() throws Exception {
+        chainFailureResponses(3);
+        Mockito.when(mockFailureResponse.getStatusCode()).thenReturn(HttpStatus.SC_SERVICE_UNAVAILABLE);
+        // Upload 4 parts at a time
+        FileUploader fileUploader = new FileUploader(mockHttpClient, uploadRequestPaths, 3, 0, 10, 4);
+        Map<Integer, String> partsMap = fileUploader.multipartUploadParts(mutableResponseStatus, metaData, "https://invalid");
+        // All parts returns
+        assertEquals(20, partsMap.size());
+        Mockito.verify(mockHttpClient, Mockito.times(23)).execute(Mockito.any(Request.class));
+    }
+
+    @Test
+    void testMultipartUploadPartsRetriesAreScheduled() throws Exception {
+        chainFailureResponses(3);
+        Mockito.when(mockFailureResponse.getStatusCode()).thenReturn(HttpStatus.SC_SERVICE_UNAVAILABLE);
+        List<Long> retryDelays = Collections.synchronizedList(new ArrayList<>());
+        // Runs the retries as soon as they are scheduled, so a retry interval of one minute does not slow the test down.
+        RetryScheduler retryScheduler = (task, delayMillis) -> {
+            retryDelays.add(delayMillis);
+            task.run();
+        };
+        UploadOptions uploadOptions = UploadOptions.createOptions()
+            .setRetryPolicy(new RetryPolicy(60_000L, RetryBudget.UNLIMITED))
+            .setRetryScheduler(retryScheduler)
+            .build();
+        FileUploader fileUploader = new FileUploader(mockHttpClient, uploadRequestPaths, 3, 60_000L, 10, 4, uploadOptions);
+        Map<Integer, String> partsMap = fileUploader.multipartUploadParts(mutableResponseStatus, metaData, "https://invalid");
+        assertEquals(20, partsMap.size());
+        assertEquals(3, retryDelays.size());
+        assertTrue(retryDelays.stream().allMatch(delay -> delay >= 60_000L));
+        Mockito.verify(mockHttpClient, Mockito.times(23)).execute(Mockito.any(Request.class));
+    }
+
+    @Test
+    void testMultipartUploadPartsWaitsForHedgedRequest() throws Exception {
+        AtomicReference<Runnable> hedgeTask = new AtomicReference<>();
+        AtomicReference<Thread> hedgedThread = new AtomicReference<>();
+        AtomicReference<String> hedgedRange = new AtomicReference<>();
+        CountDownLatch hedgeSent = new CountDownLatch(1);
+        CountDownLatch attemptFailed = new CountDownLatch(1);
+        // Only hedges are scheduled without retries. The first hedge is kept, so the request of its part decides when it runs.
+        RetryScheduler retryScheduler = (task, delayMillis) -> {
+            if (hedgeTask.compareAndSet(null, task)) {
+                hedgedThread.set(Thread.currentThread());
+            }
+        };
+        Mockito.when(mockFailureResponse.getStatusCode()).thenReturn(HttpStatus.SC_BAD_REQUEST);
+        Mockito.when(mockHttpClient.execute(Mockito.any(Request.class))).thenAnswer(invocation -> {
+            Request request = invocation.getArgument(0);
+            String range = request.getHeaders().get(HttpHeaders.CONTENT_RANGE);
+            if (range != null && range.equals(hedgedRange.get())) {
+                // The hedged request succeeds once the request it hedges failed and waits for it.
+                hedgeSent.countDown();
+                attemptFailed.await();
+                return awaitTimedWaiting(hedgedThread.get()) ? mockSuccessResponse : mockFailureResponse;
+            }
+            if (Thread.currentThread() == hedgedThread.get() && hedgedRange.compareAndSet(null, range)) {
+                hedgeTask.get().run();
+                hedgeSent.await();
+                attemptFailed.countDown();
+                return mockFailureResponse;
+            }
+            return mockSuccessResponse;
+        });
+        // The budget allows a single hedged part.
+        UploadOptions uploadOptions = UploadOptions.createOptions()
+            .setHedgingPolicy(new PartHedgingPolicy(50.0, 1.5 * CHUNK_SIZE / metaData.getFileSize()))
+            .setRetryScheduler(retryScheduler)
+            .build();
+        FileUploader fileUploader = new FileUploader(mockHttpClient, uploadRequestPaths, 0, 0, 10, 2, uploadOptions);
+        Map<Integer, String> partsMap = fileUploader.multipartUploadParts(mutableResponseStatus, metaData, "https://invalid");
+        // The failed request waits for its hedged request, which uploads the part, so the upload is not cancelled.
+        assertEquals(20, partsMap.size());
+        Mockito.verify(mockHttpClient, Mockito.times(21)).execute(Mockito.any(Request.class));
+    }
+
+    @Test
+    void testMultipartUploadPartsConcurrentFailureCancelsOnce() throws Exception {
+        Mockito.when(mockHttpClient.execute(Mockito.any(Request.class))).thenReturn(mockFailureResponse);
+        Mockito.when(mockFailureResponse.getStatusCode()).thenReturn(HttpStatus.SC_BAD_REQUEST);
+        FileUploader fileUploader = new FileUploader(mockHttpClient, uploadRequestPaths, 0, 0, 10, 4);
+        Map<Integer, String> partsMap = fileUploader.multipartUploadParts(mutableResponseStatus, metaData, "https://invalid");
+        assertEquals(0, partsMap.size());
+        // At most one request per upload thread can be in flight when the cancel request is sent
+        Mockito.verify(mockHttpClient, Mockito.atMost(5)).execute(Mockito.any(Request.class));
+    }
+
+    @Test
+    void testMultipartUploadPartsRepairsFailedParts() throws Exception {
+        chainFailureResponses(2);
+        Mockito.when(mockFailureResponse.getStatusCode()).thenReturn(HttpStatus.SC_BAD_REQUEST);
+        // No retries, so both failures are repaired in a later pass
+        FileUploader fileUploader = createRepairingFileUploader(2);
+        Map<Integer, String> partsMap = fileUploader.multipartUploadParts(mutableResponseStatus, metaData, "https://invalid");
+        assertEquals(20, partsMap.size());
+        Mockito.verify(mockHttpClient, Mockito.times(22)).execute(Mockito.any(Request.class));
+    }
+
+    @Test
+    void testMultipartUploadPartsRepairClosesIdleConnections() throws Exception {
+        chainFailureResponses(2);
+        Mockito.when(mockFailureResponse.getStatusCode()).thenReturn(HttpStatus.SC_BAD_REQUEST);
+        AtomicInteger evictionCount = new AtomicInteger();
+        UploadOptions uploadOptions = UploadOptions.createOptions()
+            .setFailurePolicy(MultipartUploadFailurePolicy.REPAIR)
+            .setPartFailureBudget(2)
+            .setConnectionEvictor(evictionCount::incrementAndGet)
+            .build();
+        FileUploader fileUploader = new FileUploader(mockHttpClient, uploadRequestPaths, 0, 0, 10, 1, uploadOptions);
+        Map<Integer, String> partsMap = fileUploader.multipartUploadParts(mutableResponseStatus, metaData, "https://invalid");
+        assertEquals(20, partsMap.size());
+        // Both failed parts are repaired in a single pass, after the pooled connections were closed once.
+        assertEquals(1, evictionCount.get());
+    }
+
+    @Test
+    void testMultipartUploadPartsFailureBudgetExhausted() throws Exception {
+        Mockito.when(mockHttpClient.execute(Mockito.any(Request.class))).thenReturn(mockFailureResponse);
+        Mockito.when(mockFailureResponse.getStatusCode()).thenReturn(HttpStatus.SC_BAD_REQUEST);
+        FileUploader fileUploader = createRepairingFileUploader(2);
+        Map<Integer, String> partsMap = fileUploader.multipartUploadParts(mutableResponseStatus, metaData, "https://invalid");
+        assertEquals(0, partsMap.size());
+        // Two failures are within the budget, the third cancels the upload
+        Mockito.verify(mockHttpClient, Mockito.times(4)).execute(Mockito.any(Request.class));
+    }
+
+    @Test
+    void testMultipartUploadPartsStreamingSucceeds() throws Exception {
+        Mockito.when(mockHttpClient.execute(Mockito.any(Request.class))).thenReturn(mockSuccessResponse);
+        try (MultipartUploadFileMetadata streamingMetaData = new FileSplitter(FileSplitMode.STREAMING).splitFile(generatedSampleFilePath, CHUNK_SIZE)) {
+            FileUploader fileUploader = new FileUploader(mockHttpClient, uploadRequestPaths, 0, 0, 10, 4);
+            Map<Integer, String> partsMap = fileUploader.multipartUploadParts(mutableResponseStatus, streamingMetaData, "https://invalid");
+            // All parts are pulled from the pipeline and uploaded
+            assertEquals(20, partsMap.size());
+            assertEquals(20, streamingMetaData.getFileChunks().size());
+            Mockito.verify(mockHttpClient, Mockito.times(20)).execute(Mockito.any(Request.class));
+        }
+    }
+
     @Test
     void testMultipartUploadVerifyFailure() throws Exception {
         Map<String, String> startRequestHeaders = Map.of("Content-Type", "Test");
@@ -164,6 +378,210 @@ class FileUploaderTest {
         assertTrue(exception.getMessage().contains("The number of parts uploaded does not match the number of parts uploaded."));
     }
 
+    @Test
+    void testAbortedJournaledUploadResumesOnSameUploader() throws Exception {
+        Path journalDirectory = Files.createTempDirectory("upload-journal");
+        try {
+            Mockito.when(mockHttpClient.getGson()).thenReturn(new Gson());
+            Mockito.when(mockHttpClient.getBlackDuckUrl()).thenReturn(new HttpUrl("https://someUrl"));
+            Mockito.when(mockSuccessResponse.getHeaders()).thenReturn(Map.of(HttpHeaders.LOCATION, "https://urlToUploadTo"));
+            // The start request and the first part succeed, the connection of the second part is lost, which stops the upload, then every request succeeds.
+            Mockito.when(mockHttpClient.execute(Mockito.any(Request.class)))
+                .thenReturn(mockSuccessResponse, mockSuccessResponse)
+                .thenThrow(new IntegrationException("Connection reset", new SocketException("Connection reset")))
+                .thenReturn(mockSuccessResponse);
+            UploadOptions uploadOptions = UploadOptions.createOptions()
+                .setUploadJournal(new UploadJournal(journalDirectory))
+                .build();
+            FileUploader fileUploader = new FileUploader(mockHttpClient, uploadRequestPaths, 0, 0, 10, 1, uploadOptions);
+            BiFunction<MutableResponseStatus, IntegrationException, BinaryUploadStatus> statusErrorFunction = (response, exception) ->
+                new BinaryUploadStatus(response.getStatusCode(), response.getStatusMessage(), exception, null);
+
+            BinaryUploadStatus abortedStatus = fileUploader.multipartUpload(
+                metaData,
+                Map.of(),
+                ContentTypes.APPLICATION_BINARY_MULTIPART_UPLOAD_START_V1,
+                new MultipartUploadStartRequest(metaData.getFileSize(), metaData.getChecksum()),
+                response -> new BinaryUploadStatus(response.getStatusCode(), response.getStatusMessage(), null, null),
+                statusErrorFunction
+            );
+            assertTrue(abortedStatus.isError());
+
+            // The aborted upload must not fail its resume with the same uploader as cancelled.
+            UploadJournal.ResumableUpload resumableUpload = fileUploader.findResumableUpload(generatedSampleFilePath)
+                .orElseThrow(() -> new AssertionError("The aborted upload was not journaled."));
+            assertEquals(1, resumableUpload.getCompletedPartCount());
+            BinaryUploadStatus resumedStatus = fileUploader.resumeMultipartUpload(
+                resumableUpload,
+                response -> new BinaryUploadStatus(response.getStatusCode(), response.getStatusMessage(), null, null),
+                statusErrorFunction
+            );
+            assertFalse(resumedStatus.isError());
+            // The start request and two parts, then the remaining 19 parts and the finish request.
+            Mockito.verify(mockHttpClient, Mockito.times(23)).execute(Mockito.any(Request.class));
+        } finally {
+            FileUtils.deleteDirectory(journalDirectory.toFile());
+        }
+    }
+
+    @Test
+    void testResumeOfExpiredUploadStartsAgain() throws Exception {
+        Path journalDirectory = Files.createTempDirectory("upload-journal");
+        try {
+            Mockito.when(mockHttpClient.getGson()).thenReturn(new Gson());
+            Mockito.when(mockHttpClient.getBlackDuckUrl()).thenReturn(new HttpUrl("https://someUrl"));
+            Mockito.when(mockSuccessResponse.getHeaders()).thenReturn(Map.of(HttpHeaders.LOCATION, "https://urlToUploadTo"));
+            Mockito.when(mockFailureResponse.getStatusCode()).thenReturn(HttpStatus.SC_NOT_FOUND);
+            // The first upload stops at a lost connection. Its resume finds the upload gone, then every request of the new upload succeeds.
+            Mockito.when(mockHttpClient.execute(Mockito.any(Request.class)))
+                .thenReturn(mockSuccessResponse, mockSuccessResponse)
+                .thenThrow(new IntegrationException("Connection reset", new SocketException("Connection reset")))
+                .thenReturn(mockFailureResponse)
+                .thenReturn(mockSuccessResponse);
+            UploadOptions uploadOptions = UploadOptions.createOptions()
+                .setUploadJournal(new UploadJournal(journalDirectory))
+                .build();
+            FileUploader fileUploader = new FileUploader(mockHttpClient, uploadRequestPaths, 0, 0, 10, 1, uploadOptions);
+            ThrowingFunction<Response, BinaryUploadStatus, IntegrationException> statusFunction = response ->
+                new BinaryUploadStatus(response.getStatusCode(), response.getStatusMessage(), null, null);
+            BiFunction<MutableResponseStatus, IntegrationException, BinaryUploadStatus> statusErrorFunction = (response, exception) ->
+                new BinaryUploadStatus(response.getStatusCode(), response.getStatusMessage(), exception, null);
+            MultipartUploadStartRequest startRequest = new MultipartUploadStartRequest(metaData.getFileSize(), metaData.getChecksum());
+
+            BinaryUploadStatus stoppedStatus = fileUploader.multipartUpload(
+                metaData,
+                Map.of(),
+                ContentTypes.APPLICATION_BINARY_MULTIPART_UPLOAD_START_V1,
+                startRequest,
+                statusFunction,
+                statusErrorFunction
+            );
+            assertTrue(stoppedStatus.isError());
+
+            UploadJournal.ResumableUpload resumableUpload = fileUploader.findResumableUpload(generatedSampleFilePath)
+                .orElseThrow(() -> new AssertionError("The stopped upload was not journaled."));
+            BinaryUploadStatus resumedStatus = fileUploader.resumeMultipartUpload(
+                resumableUpload,
+                Map.of(),
+                ContentTypes.APPLICATION_BINARY_MULTIPART_UPLOAD_START_V1,
+                startRequest,
+                statusFunction,
+                statusErrorFunction
+            );
+            assertFalse(resumedStatus.isError());
+            // The new upload finished, so no journal is left to resume.
+            assertFalse(fileUploader.findResumableUpload(generatedSampleFilePath).isPresent());
+            // The start request and two parts, the part answered with 404 and the cancel request, then the start request, 20 parts and the finish request.
+            Mockito.verify(mockHttpClient, Mockito.times(27)).execute(Mockito.any(Request.class));
+        } finally {
+            FileUtils.deleteDirectory(journalDirectory.toFile());
+        }
+    }
+
+    @Test
+    void testRejectedPartDeletesJournal() throws Exception {
+        Path journalDirectory = Files.createTempDirectory("upload-journal");
+        try {
+            Mockito.when(mockHttpClient.getGson()).thenReturn(new Gson());
+            Mockito.when(mockHttpClient.getBlackDuckUrl()).thenReturn(new HttpUrl("https://someUrl"));
+            Mockito.when(mockSuccessResponse.getHeaders()).thenReturn(Map.of(HttpHeaders.LOCATION, "https://urlToUploadTo"));
+            Mockito.when(mockFailureResponse.getStatusCode()).thenReturn(HttpStatus.SC_BAD_REQUEST);
+            Mockito.when(mockHttpClient.execute(Mockito.any(Request.class)))
+                .thenReturn(mockSuccessResponse, mockSuccessResponse, mockFailureResponse)
+                .thenReturn(mockSuccessResponse);
+            UploadOptions uploadOptions = UploadOptions.createOptions()
+                .setUploadJournal(new UploadJournal(journalDirectory))
+                .build();
+            FileUploader fileUploader = new FileUploader(mockHttpClient, uploadRequestPaths, 0, 0, 10, 1, uploadOptions);
+
+            BinaryUploadStatus status = fileUploader.multipartUpload(
+                metaData,
+                Map.of(),
+                ContentTypes.APPLICATION_BINARY_MULTIPART_UPLOAD_START_V1,
+                new MultipartUploadStartRequest(metaData.getFileSize(), metaData.getChecksum()),
+                response -> new BinaryUploadStatus(response.getStatusCode(), response.getStatusMessage(), null, null),
+                (response, exception) -> new BinaryUploadStatus(response.getStatusCode(), response.getStatusMessage(), exception, null)
+            );
+            assertTrue(status.isError());
+            // A part rejected by Black Duck would be rejected again, so the upload is cancelled instead of kept for a resume.
+            assertFalse(fileUploader.findResumableUpload(generatedSampleFilePath).isPresent());
+            // The start request, two parts and the cancel request.
+            Mockito.verify(mockHttpClient, Mockito.times(4)).execute(Mockito.any(Request.class));
+        } finally {
+            FileUtils.deleteDirectory(journalDirectory.toFile());
+        }
+    }
+
+    @Test
+    void testStartMultipartUploadFallsBackToMD5Checksum() throws Exception {
+        MultipartUploadFileMetadata compositeMetaData = new FileSplitter(FileSplitterOptions.createOptions()
+            .setSplitMode(FileSplitMode.SINGLE_PASS)
+            .setParallelism(2)
+            .setPartDigestAlgorithm(PartDigestAlgorithms.MD5)
+            .setChecksumType(FileChecksumType.COMPOSITE)
+            .build())
+            .splitFile(generatedSampleFilePath, CHUNK_SIZE);
+        MultipartUploadStartRequest multipartUploadStartRequest = new MultipartUploadStartRequest(compositeMetaData.getFileSize(), compositeMetaData.getChecksum());
+        Mockito.when(mockHttpClient.getGson()).thenReturn(new Gson());
+        Mockito.when(mockHttpClient.getBlackDuckUrl()).thenReturn(new HttpUrl("https://someUrl"));
+        Mockito.when(mockSuccessResponse.getHeaders()).thenReturn(Map.of(HttpHeaders.LOCATION, "https://urlToUploadTo"));
+        Mockito.when(mockHttpClient.execute(Mockito.any(Request.class))).thenReturn(mockSuccessResponse);
+        // The server rejects the composite checksum, then accepts the MD5 checksum.
+        IntegrationRestException rejectedException = Mockito.mock(IntegrationRestException.class);
+        Mockito.when(rejectedException.getHttpStatusCode()).thenReturn(HttpStatus.SC_UNPROCESSABLE_ENTITY);
+        Mockito.doThrow(rejectedException).doNothing().when(mockHttpClient).throwExceptionForError(Mockito.any(Response.class));
+
+        FileUploader fileUploader = new FileUploader(mockHttpClient, uploadRequestPaths, 0, 0, 10);
+        String uploadUrl = fileUploader.startMultipartUpload(
+            mutableResponseStatus,
+            compositeMetaData,
+            Map.of(),
+            ContentTypes.APPLICATION_BINARY_MULTIPART_UPLOAD_START_V1,
+            multipartUploadStartRequest
+        );
+
+        assertEquals("https://urlToUploadTo", uploadUrl);
+        ArgumentCaptor<Request> requestCaptor = ArgumentCaptor.forClass(Request.class);
+        Mockito.verify(mockHttpClient, Mockito.times(2)).execute(requestCaptor.capture());
+        List<JsonObject> startRequests = new ArrayList<>();
+        for (Request request : requestCaptor.getAllValues()) {
+            startRequests.add(new Gson().fromJson(((StringBodyContent) request.getBodyContent()).getBodyContent(), JsonObject.class));
+        }
+
+        JsonObject compositeStartRequest = startRequests.get(0);
+        assertEquals(compositeMetaData.getChecksum(), compositeStartRequest.get(FileUploader.START_REQUEST_CHECKSUM_FIELD).getAsString());
+        assertTrue(compositeMetaData.getChecksum().endsWith("-" + compositeMetaData.getPartCount()));
+        assertEquals(FileChecksumType.COMPOSITE.getStartRequestValue(), compositeStartRequest.get(FileUploader.START_REQUEST_CHECKSUM_TYPE_FIELD).getAsString());
+        assertEquals(CHUNK_SIZE, compositeStartRequest.get(FileUploader.START_REQUEST_PART_SIZE_FIELD).getAsInt());
+
+        JsonObject md5StartRequest = startRequests.get(1);
+        assertFalse(md5StartRequest.has(FileUploader.START_REQUEST_CHECKSUM_TYPE_FIELD));
+        assertFalse(md5StartRequest.has(FileUploader.START_REQUEST_PART_SIZE_FIELD));
+        String fileMD5Checksum = Base64.getEncoder().encodeToString(DigestUtils.md5(Files.readAllBytes(generatedSampleFilePath)));
+        assertEquals(fileMD5Checksum, md5StartRequest.get(FileUploader.START_REQUEST_CHECKSUM_FIELD).getAsString());
+        assertEquals(compositeMetaData.getFileSize(), md5StartRequest.get("fileSize").getAsLong());
+    }
+
+    // The upload threads idle without a timeout, so a timed wait of an upload thread is its wait for a hedged request.
+    private boolean awaitTimedWaiting(Thread thread) {
+        long deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (thread.getState() != Thread.State.TIMED_WAITING) {
+            if (System.nanoTime() > deadlineNanos) {
+                return false;
+            }
+            Thread.yield();
+        }
+        return true;
+    }
+
+    private FileUploader createRepairingFileUploader(int partFailureBudget) {
+        UploadOptions uploadOptions = UploadOptions.createOptions()
+            .setFailurePolicy(MultipartUploadFailurePolicy.REPAIR)
+            .setPartFailureBudget(partFailureBudget)
+            .build();
+        return new FileUploader(mockHttpClient, uploadRequestPaths, 0, 0, 10, 1, uploadOptions);
+    }
+
     // Chain the number of failures as specified and succeed afterward
     private void chainFailureResponses(int failureCount) throws IntegrationException {
         OngoingStubbing<Response> stub = Mockito.when(mockHttpClient.execute(Mockito.any(Request.class)));
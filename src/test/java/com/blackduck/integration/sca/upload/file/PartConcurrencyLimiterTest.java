@@ -0,0 +1,102 @@
+package com.blackduck.integration.sca.upload.file;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class PartConcurrencyLimiterTest {
+    private static final int PART_SIZE = 1024 * 1024;
+    private static final long PART_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final PartConcurrencyPolicy ADAPTIVE_POLICY = new PartConcurrencyPolicy(1, 2);
+
+    private final AtomicLong nanoTime = new AtomicLong();
+
+    @Test
+    void testFixedLimitNeverChanges() throws InterruptedException {
+        PartConcurrencyLimiter concurrencyLimiter = new PartConcurrencyLimiter(PartConcurrencyPolicy.FIXED, 4, nanoTime::get);
+        assertFalse(concurrencyLimiter.isAdaptive());
+        concurrencyLimiter.acquire().congested();
+        for (int index = 0; index < 10; index++) {
+            uploadPart(concurrencyLimiter, PART_NANOS);
+        }
+        assertEquals(4, concurrencyLimiter.getLimit());
+        assertEquals(0, concurrencyLimiter.getInFlight());
+    }
+
+    @Test
+    void testLimitGrowsAdditivelyUpToTheMaximum() throws InterruptedException {
+        PartConcurrencyLimiter concurrencyLimiter = new PartConcurrencyLimiter(ADAPTIVE_POLICY, 4, nanoTime::get);
+        assertEquals(2, concurrencyLimiter.getLimit());
+        // One window of healthy parts at the current limit grows the limit by one part.
+        uploadParts(concurrencyLimiter, 2);
+        assertEquals(3, concurrencyLimiter.getLimit());
+        uploadParts(concurrencyLimiter, 3);
+        assertEquals(4, concurrencyLimiter.getLimit());
+        uploadParts(concurrencyLimiter, 20);
+        assertEquals(4, concurrencyLimiter.getLimit());
+    }
+
+    @Test
+    void testBackpressureHalvesTheLimitOncePerBurst() throws InterruptedException {
+        PartConcurrencyLimiter concurrencyLimiter = new PartConcurrencyLimiter(new PartConcurrencyPolicy(1, 8), 8, nanoTime::get);
+        List<PartConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int index = 0; index < 8; index++) {
+            permits.add(concurrencyLimiter.acquire());
+        }
+        assertFalse(concurrencyLimiter.tryAcquire().isPresent());
+
+        // Every request in flight is rejected, and the limit is only halved for the first rejection.
+        permits.forEach(PartConcurrencyLimiter.Permit::congested);
+        assertEquals(4, concurrencyLimiter.getLimit());
+        assertEquals(0, concurrencyLimiter.getInFlight());
+
+        concurrencyLimiter.acquire().congested();
+        assertEquals(2, concurrencyLimiter.getLimit());
+        concurrencyLimiter.acquire().congested();
+        concurrencyLimiter.acquire().congested();
+        assertEquals(1, concurrencyLimiter.getLimit());
+    }
+
+    @Test
+    void testLatencySpikeDecreasesTheLimit() throws InterruptedException {
+        PartConcurrencyLimiter concurrencyLimiter = new PartConcurrencyLimiter(new PartConcurrencyPolicy(1, 0), 8, nanoTime::get);
+        assertEquals(8, concurrencyLimiter.getLimit());
+        uploadParts(concurrencyLimiter, PartConcurrencyLimiter.MINIMUM_SAMPLE_COUNT);
+        assertEquals(8, concurrencyLimiter.getLimit());
+
+        uploadPart(concurrencyLimiter, PART_NANOS * 3);
+        assertEquals(4, concurrencyLimiter.getLimit());
+    }
+
+    @Test
+    void testReleaseWithoutOutcomeKeepsTheLimit() throws InterruptedException {
+        PartConcurrencyLimiter concurrencyLimiter = new PartConcurrencyLimiter(ADAPTIVE_POLICY, 4, nanoTime::get);
+        PartConcurrencyLimiter.Permit permit = concurrencyLimiter.acquire();
+        permit.close();
+        // The outcome of a released permit is ignored.
+        permit.congested();
+        assertEquals(2, concurrencyLimiter.getLimit());
+        assertEquals(0, concurrencyLimiter.getInFlight());
+        assertTrue(concurrencyLimiter.tryAcquire().isPresent());
+    }
+
+    private void uploadParts(PartConcurrencyLimiter concurrencyLimiter, int partCount) throws InterruptedException {
+        for (int index = 0; index < partCount; index++) {
+            uploadPart(concurrencyLimiter, PART_NANOS);
+        }
+    }
+
+    private void uploadPart(PartConcurrencyLimiter concurrencyLimiter, long partNanos) throws InterruptedException {
+        try (PartConcurrencyLimiter.Permit permit = concurrencyLimiter.acquire()) {
+            nanoTime.addAndGet(partNanos);
+            permit.succeeded(PART_SIZE);
+        }
+    }
+}
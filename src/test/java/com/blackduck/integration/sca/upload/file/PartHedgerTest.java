@@ -0,0 +1,55 @@
+package com.blackduck.integration.sca.upload.file;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.OptionalLong;
+
+import org.junit.jupiter.api.Test;
+
+class PartHedgerTest {
+    private static final int PART_SIZE = 1024;
+
+    @Test
+    void testHedgeDelayIsPercentileOfDurations() {
+        PartHedger partHedger = new PartHedger(new PartHedgingPolicy(90.0, 0.5), PART_SIZE * 100L);
+        for (long duration = 1; duration < PartHedger.MINIMUM_SAMPLE_COUNT; duration++) {
+            partHedger.partUploaded(duration);
+        }
+        // Too few parts were uploaded to know which parts are slow.
+        assertFalse(partHedger.getHedgeDelayNanos().isPresent());
+
+        for (long duration = PartHedger.MINIMUM_SAMPLE_COUNT; duration <= 10; duration++) {
+            partHedger.partUploaded(duration);
+        }
+        assertEquals(OptionalLong.of(9L), partHedger.getHedgeDelayNanos());
+    }
+
+    @Test
+    void testHedgesAreCappedByBandwidthFraction() {
+        PartHedger partHedger = new PartHedger(new PartHedgingPolicy(90.0, 0.25), PART_SIZE * 10L);
+        assertTrue(partHedger.tryHedge(PART_SIZE));
+        assertTrue(partHedger.tryHedge(PART_SIZE));
+        assertFalse(partHedger.tryHedge(PART_SIZE));
+        assertEquals(2, partHedger.getHedgeCount());
+    }
+
+    @Test
+    void testDisabledPolicyNeverHedges() {
+        PartHedger partHedger = new PartHedger(PartHedgingPolicy.DISABLED, PART_SIZE * 10L);
+        for (int part = 0; part < 10; part++) {
+            partHedger.partUploaded(1000L);
+        }
+        assertFalse(partHedger.getHedgeDelayNanos().isPresent());
+        assertFalse(partHedger.tryHedge(PART_SIZE));
+    }
+
+    @Test
+    void testPolicyRejectsOutOfRangeSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new PartHedgingPolicy(-1.0, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new PartHedgingPolicy(100.5, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new PartHedgingPolicy(90.0, -0.1));
+    }
+}
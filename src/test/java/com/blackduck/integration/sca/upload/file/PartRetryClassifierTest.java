@@ -0,0 +1,84 @@
+package com.blackduck.integration.sca.upload.file;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.security.cert.CertificateException;
+import java.util.Map;
+
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLHandshakeException;
+
+import org.apache.http.HttpStatus;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.junit.jupiter.api.Test;
+
+import com.blackduck.integration.exception.IntegrationException;
+import com.blackduck.integration.sca.upload.validation.UploadValidator;
+
+class PartRetryClassifierTest {
+    private final PartRetryClassifier partRetryClassifier = new PartRetryClassifier(UploadValidator.MULTIPART_UPLOAD_PART_RETRY_STATUS_CODES);
+
+    @Test
+    void testStatusCodes() {
+        assertEquals(PartUploadFailureClass.RETRYABLE_STATUS, partRetryClassifier.classify(HttpStatus.SC_SERVICE_UNAVAILABLE));
+        assertEquals(PartUploadFailureClass.NON_RETRYABLE_STATUS, partRetryClassifier.classify(HttpStatus.SC_BAD_REQUEST));
+    }
+
+    @Test
+    void testWrappedTransportExceptionsAreRetried() {
+        assertEquals(PartUploadFailureClass.CONNECTION, partRetryClassifier.classify(wrap(new SocketException("Connection reset"))));
+        assertEquals(PartUploadFailureClass.CONNECTION, partRetryClassifier.classify(wrap(new ConnectException("Connection refused"))));
+        assertEquals(PartUploadFailureClass.CONNECTION, partRetryClassifier.classify(wrap(new NoHttpResponseException("The target server failed to respond"))));
+        assertEquals(PartUploadFailureClass.TIMEOUT, partRetryClassifier.classify(wrap(new SocketTimeoutException("Read timed out"))));
+        assertEquals(PartUploadFailureClass.TIMEOUT, partRetryClassifier.classify(wrap(new ConnectTimeoutException("Connect timed out"))));
+        assertEquals(PartUploadFailureClass.TLS, partRetryClassifier.classify(wrap(new SSLException("Tag mismatch"))));
+    }
+
+    @Test
+    void testHandshakeClassifiedByCause() {
+        SSLHandshakeException resetHandshake = new SSLHandshakeException("Remote host terminated the handshake");
+        resetHandshake.initCause(new SocketException("Connection reset"));
+        assertEquals(PartUploadFailureClass.CONNECTION, partRetryClassifier.classify(wrap(resetHandshake)));
+
+        SSLHandshakeException rejectedHandshake = new SSLHandshakeException("PKIX path building failed");
+        rejectedHandshake.initCause(new CertificateException("unable to find valid certification path"));
+        assertEquals(PartUploadFailureClass.NON_RETRYABLE_TRANSPORT, partRetryClassifier.classify(wrap(rejectedHandshake)));
+    }
+
+    @Test
+    void testPermanentTransportExceptionsAreNotRetried() {
+        assertFalse(partRetryClassifier.classify(wrap(new UnknownHostException("blackduck.invalid"))).isRetryable());
+        assertFalse(partRetryClassifier.classify(wrap(new IOException("Unexpected"))).isRetryable());
+        assertFalse(partRetryClassifier.classify(new IntegrationException("Unexpected")).isRetryable());
+        // The file shrank since it was split, which no retry repairs, unlike a connection closed before the response ended.
+        assertEquals(PartUploadFailureClass.NON_RETRYABLE_TRANSPORT, partRetryClassifier.classify(wrap(new PartFileChangedException("The file ended"))));
+        assertEquals(PartUploadFailureClass.CONNECTION, partRetryClassifier.classify(wrap(new EOFException("Unexpected end of stream"))));
+    }
+
+    @Test
+    void testFailureCounts() {
+        partRetryClassifier.recordFailure(PartUploadFailureClass.CONNECTION);
+        partRetryClassifier.recordFailure(PartUploadFailureClass.CONNECTION);
+        partRetryClassifier.recordFailure(PartUploadFailureClass.TIMEOUT);
+        Map<PartUploadFailureClass, Long> failureCounts = partRetryClassifier.getFailureCounts();
+        assertEquals(PartUploadFailureClass.values().length, failureCounts.size());
+        assertEquals(2L, failureCounts.get(PartUploadFailureClass.CONNECTION));
+        assertEquals(1L, failureCounts.get(PartUploadFailureClass.TIMEOUT));
+        assertEquals(0L, failureCounts.get(PartUploadFailureClass.TLS));
+        assertTrue(PartUploadFailureClass.CONNECTION.isRetryable());
+    }
+
+    // The HTTP client reports transport failures as an IntegrationException caused by the IOException.
+    private IntegrationException wrap(IOException exception) {
+        return new IntegrationException(exception.getMessage(), exception);
+    }
+}
@@ -0,0 +1,160 @@
+package com.blackduck.integration.sca.upload.file;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.entity.ContentType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.blackduck.integration.sca.upload.rest.RetryScheduler;
+
+class PartStallWatchdogTest {
+    private static final int PART_SIZE = 1024 * 1024;
+    private static final long WINDOW_MILLIS = 4000L;
+    private static final PartStallPolicy STALL_POLICY = new PartStallPolicy(1024L, WINDOW_MILLIS);
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    // Holds the scheduled checks, which the test runs as it advances the clock.
+    private final Queue<Runnable> scheduledChecks = new ArrayDeque<>();
+    private final RetryScheduler retryScheduler = (task, delayMillis) -> scheduledChecks.add(task);
+    private Path partFilePath;
+    private FileChannel fileChannel;
+
+    @BeforeEach
+    void init() throws IOException {
+        partFilePath = Files.createTempFile("part-stall-watchdog", ".bin");
+        Files.write(partFilePath, new byte[PART_SIZE]);
+        fileChannel = FileChannel.open(partFilePath, StandardOpenOption.READ);
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        fileChannel.close();
+        Files.deleteIfExists(partFilePath);
+    }
+
+    @Test
+    void testStalledRequestIsAborted() {
+        PartStallWatchdog stallWatchdog = new PartStallWatchdog(retryScheduler, STALL_POLICY, TimeUnit.HOURS.toNanos(1), 1, nanoTime::get);
+        FilePartEntity entity = createEntity();
+        stallWatchdog.watch(entity, 1);
+
+        advanceTo(WINDOW_MILLIS - 1000L);
+        assertEquals(0, stallWatchdog.getStalledCount());
+        advanceTo(WINDOW_MILLIS);
+        assertEquals(1, stallWatchdog.getStalledCount());
+        // The request fails like a timeout, so the part is retried.
+        assertThrows(InterruptedIOException.class, () -> entity.writeTo(new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void testThrottledRequestIsNotAborted() {
+        PartStallWatchdog stallWatchdog = new PartStallWatchdog(retryScheduler, STALL_POLICY, TimeUnit.HOURS.toNanos(1), 1, nanoTime::get);
+        AtomicLong throttledNanos = new AtomicLong();
+        FilePartEntity entity = new FilePartEntity(fileChannel, new BufferPool(), 0L, PART_SIZE, ContentType.APPLICATION_OCTET_STREAM) {
+            @Override
+            long getThrottledNanos() {
+                return throttledNanos.get();
+            }
+        };
+        stallWatchdog.watch(entity, 1);
+
+        // The request waits for the bandwidth limiter the whole time, so it never stalls.
+        while (nanoTime.get() < TimeUnit.MILLISECONDS.toNanos(WINDOW_MILLIS * 2)) {
+            throttledNanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+            advanceTo(TimeUnit.NANOSECONDS.toMillis(nanoTime.get()) + 1000L);
+        }
+        assertEquals(0, stallWatchdog.getStalledCount());
+        // Once the request is no longer throttled, sending nothing for a window stalls it.
+        advanceTo(WINDOW_MILLIS * 3);
+        assertEquals(1, stallWatchdog.getStalledCount());
+    }
+
+    @Test
+    void testSentRequestIsNotAborted() {
+        PartStallWatchdog stallWatchdog = new PartStallWatchdog(retryScheduler, STALL_POLICY, TimeUnit.HOURS.toNanos(1), 1, nanoTime::get);
+        FilePartEntity entity = createEntity();
+        stallWatchdog.watch(entity, 1);
+        assertDoesNotThrow(() -> entity.writeTo(new ByteArrayOutputStream()));
+
+        advanceTo(WINDOW_MILLIS * 2);
+        assertEquals(0, stallWatchdog.getStalledCount());
+    }
+
+    @Test
+    void testRequestPastDeadlineIsAborted() {
+        PartStallWatchdog stallWatchdog = new PartStallWatchdog(retryScheduler, STALL_POLICY, TimeUnit.SECONDS.toNanos(60), 2, nanoTime::get);
+        // Two parts at a time share the minute left for ten parts, with slack.
+        long expectedDeadlineNanos = TimeUnit.SECONDS.toNanos(60) / 10 * 2 * PartStallWatchdog.DEADLINE_SLACK;
+        assertEquals(expectedDeadlineNanos, stallWatchdog.computeDeadlineNanos(0L, 10));
+        // The deadline of the last part is the deadline of the upload.
+        assertEquals(TimeUnit.SECONDS.toNanos(60), stallWatchdog.computeDeadlineNanos(0L, 1));
+
+        FilePartEntity entity = createEntity();
+        stallWatchdog.watch(entity, 1);
+        assertDoesNotThrow(() -> entity.writeTo(new ByteArrayOutputStream()));
+        advanceTo(TimeUnit.SECONDS.toMillis(60));
+        assertEquals(1, stallWatchdog.getExpiredCount());
+    }
+
+    @Test
+    void testDeadlineAppliesWithoutMinimumThroughput() {
+        PartStallPolicy deadlinePolicy = new PartStallPolicy(0L, WINDOW_MILLIS);
+        PartStallWatchdog stallWatchdog = new PartStallWatchdog(retryScheduler, deadlinePolicy, TimeUnit.SECONDS.toNanos(60), 1, nanoTime::get);
+        FilePartEntity entity = createEntity();
+        stallWatchdog.watch(entity, 1);
+
+        // The request never sends a byte, yet it is only aborted at its deadline.
+        advanceTo(TimeUnit.SECONDS.toMillis(59));
+        assertEquals(0, stallWatchdog.getExpiredCount());
+        advanceTo(TimeUnit.SECONDS.toMillis(60));
+        assertEquals(1, stallWatchdog.getExpiredCount());
+        assertEquals(0, stallWatchdog.getStalledCount());
+    }
+
+    @Test
+    void testDisabledPolicyNeverAborts() {
+        PartStallWatchdog stallWatchdog = new PartStallWatchdog(retryScheduler, PartStallPolicy.DISABLED, TimeUnit.SECONDS.toNanos(60), 1, nanoTime::get);
+        stallWatchdog.watch(createEntity(), 1);
+        // No check is scheduled at all.
+        assertEquals(0, scheduledChecks.size());
+    }
+
+    @Test
+    void testClosedWatchIsNotAborted() {
+        PartStallWatchdog stallWatchdog = new PartStallWatchdog(retryScheduler, STALL_POLICY, TimeUnit.HOURS.toNanos(1), 1, nanoTime::get);
+        FilePartEntity entity = createEntity();
+        stallWatchdog.watch(entity, 1).close();
+
+        advanceTo(WINDOW_MILLIS * 2);
+        assertEquals(0, stallWatchdog.getStalledCount());
+        assertDoesNotThrow(() -> entity.writeTo(new ByteArrayOutputStream()));
+    }
+
+    private FilePartEntity createEntity() {
+        return new FilePartEntity(fileChannel, new BufferPool(), 0L, PART_SIZE, ContentType.APPLICATION_OCTET_STREAM);
+    }
+
+    // Runs the scheduled checks once per second of the clock.
+    private void advanceTo(long millis) {
+        while (nanoTime.get() < TimeUnit.MILLISECONDS.toNanos(millis)) {
+            nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+            scheduledChecks.remove().run();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.blackduck.integration.sca.upload.file;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.blackduck.integration.sca.upload.file.digest.PartDigestAlgorithms;
+import com.blackduck.integration.sca.upload.file.model.MultipartUploadFileMetadata;
+import com.blackduck.integration.sca.upload.file.model.MultipartUploadPartTable;
+import com.blackduck.integration.sca.upload.generator.RandomByteContentFileGenerator;
+
+class UploadJournalTest {
+    private static final int CHUNK_SIZE = 1024 * 1024 * 5; // 5MB
+    private static final String UPLOAD_URL = "https://localhost/api/uploads/upload-id";
+    private final Path outputDirectory = Path.of("build/resources/test/output/upload-journal-test");
+    private Path generatedSampleFilePath;
+    private MultipartUploadFileMetadata fileMetadata;
+
+    @BeforeEach
+    void init() throws IOException {
+        RandomByteContentFileGenerator randomByteContentFileGenerator = new RandomByteContentFileGenerator();
+        generatedSampleFilePath = randomByteContentFileGenerator.generateFile(CHUNK_SIZE * 3L + 100L, ".bin").orElseThrow(() -> new IOException("Could not generate file"));
+        Files.createDirectories(outputDirectory);
+        fileMetadata = new FileSplitter().splitFile(generatedSampleFilePath, CHUNK_SIZE);
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        FileUtils.deleteDirectory(outputDirectory.toFile());
+        Files.deleteIfExists(generatedSampleFilePath);
+    }
+
+    @Test
+    void testJournaledUploadCanBeResumed() throws IOException {
+        UploadJournal uploadJournal = new UploadJournal(outputDirectory);
+        try (UploadJournal.Writer writer = uploadJournal.begin(fileMetadata, UPLOAD_URL).orElseThrow(IllegalStateException::new)) {
+            writer.partCompleted(0);
+            writer.partCompleted(2);
+        }
+
+        UploadJournal.ResumableUpload resumableUpload = uploadJournal.find(generatedSampleFilePath).orElseThrow(IllegalStateException::new);
+        assertEquals(UPLOAD_URL, resumableUpload.getUploadUrl());
+        assertEquals(2, resumableUpload.getCompletedPartCount());
+        assertTrue(resumableUpload.isPartCompleted(0));
+        assertFalse(resumableUpload.isPartCompleted(1));
+        assertTrue(resumableUpload.isPartCompleted(2));
+        assertFalse(resumableUpload.isPartCompleted(3));
+
+        MultipartUploadFileMetadata resumedMetadata = resumableUpload.getFileMetadata();
+        assertEquals(fileMetadata.getUploadId(), resumedMetadata.getUploadId());
+        assertEquals(fileMetadata.getChecksum(), resumedMetadata.getChecksum());
+        assertEquals(fileMetadata.getChecksumType(), resumedMetadata.getChecksumType());
+        assertEquals(fileMetadata.getFileSize(), resumedMetadata.getFileSize());
+        assertEquals(fileMetadata.getPartCount(), resumedMetadata.getPartCount());
+        MultipartUploadPartTable partTable = fileMetadata.getPartTable().orElseThrow(IllegalStateException::new);
+        MultipartUploadPartTable resumedPartTable = resumedMetadata.getPartTable().orElseThrow(IllegalStateException::new);
+        for (int index = 0; index < partTable.getPartCount(); index++) {
+            assertEquals(partTable.getStartByteRange(index), resumedPartTable.getStartByteRange(index));
+            assertEquals(partTable.getChunkSize(index), resumedPartTable.getChunkSize(index));
+            assertArrayEquals(partTable.getDigest(index), resumedPartTable.getDigest(index));
+            // The resumed parts must be tagged as they were when the upload started.
+            assertEquals(partTable.getTagId(index), resumedPartTable.getTagId(index));
+        }
+    }
+
+    @Test
+    void testIncompleteLastLineIsIgnored() throws IOException {
+        UploadJournal uploadJournal = new UploadJournal(outputDirectory);
+        try (UploadJournal.Writer writer = uploadJournal.begin(fileMetadata, UPLOAD_URL).orElseThrow(IllegalStateException::new)) {
+            writer.partCompleted(1);
+        }
+        // A process killed while recording a part leaves a partial line behind.
+        Files.write(listJournalFiles(uploadJournal).get(0), "3x".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        UploadJournal.ResumableUpload resumableUpload = uploadJournal.find(generatedSampleFilePath).orElseThrow(IllegalStateException::new);
+        assertEquals(1, resumableUpload.getCompletedPartCount());
+        assertTrue(resumableUpload.isPartCompleted(1));
+    }
+
+    @Test
+    void testChangedFileIsNotResumed() throws IOException {
+        UploadJournal uploadJournal = new UploadJournal(outputDirectory);
+        try (UploadJournal.Writer writer = uploadJournal.begin(fileMetadata, UPLOAD_URL).orElseThrow(IllegalStateException::new)) {
+            writer.partCompleted(0);
+        }
+        Files.write(generatedSampleFilePath, new byte[] { 1 }, StandardOpenOption.APPEND);
+
+        assertFalse(uploadJournal.find(generatedSampleFilePath).isPresent());
+        assertTrue(listJournalFiles(uploadJournal).isEmpty());
+    }
+
+    @Test
+    void testDeletedJournalIsNotResumed() throws IOException {
+        UploadJournal uploadJournal = new UploadJournal(outputDirectory);
+        UploadJournal.Writer writer = uploadJournal.begin(fileMetadata, UPLOAD_URL).orElseThrow(IllegalStateException::new);
+        writer.partCompleted(0);
+        writer.delete();
+
+        assertEquals(Optional.empty(), uploadJournal.find(generatedSampleFilePath).map(UploadJournal.ResumableUpload::getUploadUrl));
+    }
+
+    @Test
+    void testJournalOfOtherPartDigestAlgorithmIsNotResumed() throws IOException {
+        UploadJournal uploadJournal = new UploadJournal(outputDirectory);
+        try (UploadJournal.Writer writer = uploadJournal.begin(fileMetadata, UPLOAD_URL).orElseThrow(IllegalStateException::new)) {
+            writer.partCompleted(0);
+        }
+
+        assertFalse(uploadJournal.find(generatedSampleFilePath, PartDigestAlgorithms.SHA_256).isPresent());
+        assertTrue(listJournalFiles(uploadJournal).isEmpty());
+    }
+
+    @Test
+    void testJournalWithoutChecksumTypeIsNotResumed() throws IOException {
+        UploadJournal uploadJournal = new UploadJournal(outputDirectory);
+        try (UploadJournal.Writer writer = uploadJournal.begin(fileMetadata, UPLOAD_URL).orElseThrow(IllegalStateException::new)) {
+            writer.partCompleted(0);
+        }
+        Path journalPath = listJournalFiles(uploadJournal).get(0);
+        String journal = new String(Files.readAllBytes(journalPath), StandardCharsets.UTF_8);
+        Files.write(journalPath, journal.replaceFirst("\"checksumType\":\"[A-Z_0-9]+\",", "").getBytes(StandardCharsets.UTF_8));
+
+        assertFalse(uploadJournal.find(generatedSampleFilePath).isPresent());
+        assertTrue(listJournalFiles(uploadJournal).isEmpty());
+    }
+
+    private List<Path> listJournalFiles(UploadJournal uploadJournal) throws IOException {
+        try (Stream<Path> journalFiles = Files.list(uploadJournal.getJournalDirectory())) {
+            return journalFiles.collect(Collectors.toList());
+        }
+    }
+}
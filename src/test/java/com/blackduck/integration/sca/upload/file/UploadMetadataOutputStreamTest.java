@@ -0,0 +1,117 @@
+package com.blackduck.integration.sca.upload.file;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.blackduck.integration.sca.upload.file.digest.PartDigestAlgorithms;
+import com.blackduck.integration.sca.upload.file.model.FileChecksumType;
+import com.blackduck.integration.sca.upload.file.model.MultipartUploadFileMetadata;
+import com.blackduck.integration.sca.upload.file.model.MultipartUploadFilePart;
+import com.blackduck.integration.sca.upload.generator.RandomByteContentFileGenerator;
+
+class UploadMetadataOutputStreamTest {
+    private static final int CHUNK_SIZE = 1024 * 1024 * 5;
+    // Writes of this size end in the middle of parts, so parts are completed within a write.
+    private static final int WRITE_SIZE = 1024 * 1024 * 3 + 7;
+    private Path sourceFilePath;
+    private Path writtenFilePath;
+    private byte[] fileContent;
+
+    @BeforeEach
+    void init() throws IOException {
+        RandomByteContentFileGenerator randomByteContentFileGenerator = new RandomByteContentFileGenerator();
+        sourceFilePath = randomByteContentFileGenerator.generateFile(CHUNK_SIZE * 2L + 12345L, ".bin").orElseThrow(() -> new IOException("Could not generate file"));
+        fileContent = Files.readAllBytes(sourceFilePath);
+        writtenFilePath = Files.createTempFile("upload-metadata", ".bin");
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        Files.deleteIfExists(sourceFilePath);
+        Files.deleteIfExists(writtenFilePath);
+    }
+
+    @Test
+    void testOutputStreamMetadataMatchesFileSplitter() throws IOException {
+        UploadMetadataOutputStream outputStream = UploadMetadataOutputStream.open(writtenFilePath, CHUNK_SIZE);
+        try {
+            outputStream.write(fileContent[0]);
+            for (int offset = 1; offset < fileContent.length; offset += WRITE_SIZE) {
+                outputStream.write(fileContent, offset, Math.min(WRITE_SIZE, fileContent.length - offset));
+            }
+            assertThrows(IllegalStateException.class, outputStream::getFileMetadata);
+        } finally {
+            outputStream.close();
+        }
+
+        assertArrayEquals(fileContent, Files.readAllBytes(writtenFilePath));
+        MultipartUploadFileMetadata splitMetadata = new FileSplitter(FileSplitMode.SINGLE_PASS).splitFile(writtenFilePath, CHUNK_SIZE);
+        assertSameMetadata(splitMetadata, outputStream.getFileMetadata());
+    }
+
+    @Test
+    void testChannelMetadataMatchesFileSplitter() throws IOException {
+        try (UploadMetadataWritableByteChannel channel = UploadMetadataWritableByteChannel.open(writtenFilePath, CHUNK_SIZE)) {
+            for (int offset = 0; offset < fileContent.length; offset += WRITE_SIZE) {
+                ByteBuffer buffer = ByteBuffer.wrap(fileContent, offset, Math.min(WRITE_SIZE, fileContent.length - offset));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            channel.close();
+            assertSameMetadata(new FileSplitter(FileSplitMode.SINGLE_PASS).splitFile(writtenFilePath, CHUNK_SIZE), channel.getFileMetadata());
+        }
+        assertArrayEquals(fileContent, Files.readAllBytes(writtenFilePath));
+    }
+
+    @Test
+    void testCompositeChecksumMatchesFileSplitter() throws IOException {
+        try (UploadMetadataOutputStream outputStream = new UploadMetadataOutputStream(
+            Files.newOutputStream(writtenFilePath),
+            writtenFilePath,
+            CHUNK_SIZE,
+            PartDigestAlgorithms.SHA_256,
+            FileChecksumType.COMPOSITE
+        )) {
+            outputStream.write(fileContent);
+            outputStream.close();
+
+            FileSplitter fileSplitter = new FileSplitter(FileSplitterOptions.createOptions()
+                .setSplitMode(FileSplitMode.SINGLE_PASS)
+                .setParallelism(2)
+                .setPartDigestAlgorithm(PartDigestAlgorithms.SHA_256)
+                .setChecksumType(FileChecksumType.COMPOSITE)
+                .build());
+            MultipartUploadFileMetadata splitMetadata = fileSplitter.splitFile(writtenFilePath, CHUNK_SIZE);
+            assertEquals(FileChecksumType.COMPOSITE, outputStream.getFileMetadata().getChecksumType());
+            assertEquals(PartDigestAlgorithms.SHA_256.getName(), outputStream.getFileMetadata().getPartDigestName());
+            assertSameMetadata(splitMetadata, outputStream.getFileMetadata());
+        }
+    }
+
+    private void assertSameMetadata(MultipartUploadFileMetadata expected, MultipartUploadFileMetadata actual) {
+        assertEquals(expected.getFileName(), actual.getFileName());
+        assertEquals(expected.getChecksum(), actual.getChecksum());
+        assertEquals(expected.getFileSize(), actual.getFileSize());
+        assertEquals(expected.getChunkSize(), actual.getChunkSize());
+        assertEquals(expected.getFileChunks().size(), actual.getFileChunks().size());
+        for (int index = 0; index < expected.getFileChunks().size(); index++) {
+            MultipartUploadFilePart expectedPart = expected.getFileChunks().get(index);
+            MultipartUploadFilePart actualPart = actual.getFileChunks().get(index);
+            assertEquals(expectedPart.getStartByteRange(), actualPart.getStartByteRange());
+            assertEquals(expectedPart.getChunkSize(), actualPart.getChunkSize());
+            assertEquals(expectedPart.getChecksum(), actualPart.getChecksum());
+            assertEquals(expectedPart.getFilePath(), actualPart.getFilePath());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.blackduck.integration.sca.upload.rest;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+class BandwidthLimiterTest {
+    private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void testBurstIsSentWithoutWaiting() {
+        AtomicLong nanoTime = new AtomicLong();
+        BandwidthLimiter bandwidthLimiter = new BandwidthLimiter(1000L, 500L, nanoTime::get);
+        assertEquals(0L, bandwidthLimiter.reserve(500L));
+        // Once the burst is spent, the bytes wait for the rate.
+        assertEquals(ONE_SECOND, bandwidthLimiter.reserve(1000L));
+        // Reservations are queued behind each other.
+        assertEquals(ONE_SECOND * 3 / 2, bandwidthLimiter.reserve(500L));
+    }
+
+    @Test
+    void testIdleTimeRefillsTheBurstUpToItsSize() {
+        AtomicLong nanoTime = new AtomicLong();
+        BandwidthLimiter bandwidthLimiter = new BandwidthLimiter(1000L, 500L, nanoTime::get);
+        bandwidthLimiter.reserve(500L);
+        nanoTime.addAndGet(ONE_SECOND / 4);
+        assertEquals(0L, bandwidthLimiter.reserve(250L));
+
+        nanoTime.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        assertEquals(0L, bandwidthLimiter.reserve(500L));
+        assertEquals(ONE_SECOND / 10, bandwidthLimiter.reserve(100L));
+    }
+
+    @Test
+    void testRateChangeAppliesToWaitingBytes() {
+        AtomicLong nanoTime = new AtomicLong();
+        BandwidthLimiter bandwidthLimiter = new BandwidthLimiter(1000L, 0L, nanoTime::get);
+        assertEquals(ONE_SECOND * 2, bandwidthLimiter.reserve(2000L));
+
+        bandwidthLimiter.setRate(4000L, 0L);
+        assertEquals(4000L, bandwidthLimiter.getBytesPerSecond());
+        // The 2000 bytes still waiting are now sent in half a second, and the next 2000 bytes in another half.
+        assertEquals(ONE_SECOND, bandwidthLimiter.reserve(2000L));
+
+        bandwidthLimiter.setRate(0L, 0L);
+        assertFalse(bandwidthLimiter.isLimited());
+        assertEquals(0L, bandwidthLimiter.reserve(1_000_000L));
+    }
+
+    @Test
+    void testRateChangeWakesWaitingWriter() throws Exception {
+        BandwidthLimiter bandwidthLimiter = new BandwidthLimiter(1L, 0L);
+        AtomicReference<Throwable> acquireFailure = new AtomicReference<>();
+        // At one byte per second, the writer would wait for more than a quarter of an hour.
+        Thread writer = new Thread(() -> {
+            try {
+                bandwidthLimiter.acquire(1000L);
+            } catch (Throwable e) {
+                acquireFailure.set(e);
+            }
+        });
+        writer.start();
+        while (writer.getState() != Thread.State.TIMED_WAITING) {
+            assertTrue(writer.isAlive());
+            Thread.yield();
+        }
+
+        bandwidthLimiter.setRate(Long.MAX_VALUE / 2, 0L);
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        assertFalse(writer.isAlive());
+        assertNull(acquireFailure.get());
+    }
+
+    @Test
+    void testThrottledStreamWritesEveryByte() throws IOException {
+        byte[] content = new byte[ThrottledOutputStream.MAXIMUM_BLOCK_SIZE * 3 + 17];
+        new Random(7).nextBytes(content);
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        BandwidthLimiter bandwidthLimiter = new BandwidthLimiter(Long.MAX_VALUE / 2, content.length);
+        try (OutputStream throttledOutputStream = bandwidthLimiter.throttle(byteArrayOutputStream)) {
+            throttledOutputStream.write(content[0]);
+            throttledOutputStream.write(content, 1, content.length - 1);
+        }
+        assertArrayEquals(content, byteArrayOutputStream.toByteArray());
+    }
+}
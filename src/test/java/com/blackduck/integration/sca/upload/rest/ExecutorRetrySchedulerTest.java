@@ -0,0 +1,36 @@
+package com.blackduck.integration.sca.upload.rest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+class ExecutorRetrySchedulerTest {
+    private static final long DELAY_MILLIS = 50L;
+
+    @Test
+    void testScheduledTaskRunsAfterDelay() throws InterruptedException {
+        CountDownLatch taskRun = new CountDownLatch(1);
+        long startNanos = System.nanoTime();
+        ExecutorRetryScheduler.shared().schedule(taskRun::countDown, DELAY_MILLIS);
+        assertTrue(taskRun.await(10, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - startNanos >= TimeUnit.MILLISECONDS.toNanos(DELAY_MILLIS));
+    }
+
+    @Test
+    void testTaskWithoutDelayRunsInCallingThread() {
+        AtomicBoolean taskRun = new AtomicBoolean(false);
+        ExecutorRetryScheduler.shared().schedule(() -> taskRun.set(true), 0L);
+        assertTrue(taskRun.get());
+    }
+
+    @Test
+    void testAwaitWaitsForDelay() throws InterruptedException {
+        long startNanos = System.nanoTime();
+        ExecutorRetryScheduler.shared().await(DELAY_MILLIS);
+        assertTrue(System.nanoTime() - startNanos >= TimeUnit.MILLISECONDS.toNanos(DELAY_MILLIS));
+    }
+}
@@ -0,0 +1,43 @@
+package com.blackduck.integration.sca.upload.rest;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class RetryBudgetTest {
+    @Test
+    void testBudgetIsExhaustedAndRefilled() {
+        AtomicLong nanoTime = new AtomicLong();
+        RetryBudget retryBudget = new RetryBudget(2, 1.0, nanoTime::get);
+        assertTrue(retryBudget.tryAcquire());
+        assertTrue(retryBudget.tryAcquire());
+        assertFalse(retryBudget.tryAcquire());
+
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertFalse(retryBudget.tryAcquire());
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertTrue(retryBudget.tryAcquire());
+        assertFalse(retryBudget.tryAcquire());
+    }
+
+    @Test
+    void testBudgetIsRefilledUpToItsCapacity() {
+        AtomicLong nanoTime = new AtomicLong();
+        RetryBudget retryBudget = new RetryBudget(2, 1.0, nanoTime::get);
+        nanoTime.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        assertTrue(retryBudget.tryAcquire());
+        assertTrue(retryBudget.tryAcquire());
+        assertFalse(retryBudget.tryAcquire());
+    }
+
+    @Test
+    void testUnlimitedBudget() {
+        for (int retry = 0; retry < 1000; retry++) {
+            assertTrue(RetryBudget.UNLIMITED.tryAcquire());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.blackduck.integration.sca.upload.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.http.client.utils.DateUtils;
+import org.junit.jupiter.api.Test;
+
+class RetryPolicyTest {
+    private static final long INITIAL_INTERVAL = 100L;
+    private static final long MAXIMUM_BACKOFF = 1000L;
+
+    @Test
+    void testJitteredDelayStaysWithinBounds() {
+        RetryPolicy retryPolicy = new RetryPolicy(MAXIMUM_BACKOFF, RetryBudget.UNLIMITED);
+        long previousDelay = 0;
+        for (int attempt = 0; attempt < 100; attempt++) {
+            long delay = retryPolicy.nextDelay(INITIAL_INTERVAL, previousDelay, Collections.emptyMap());
+            assertTrue(delay >= INITIAL_INTERVAL, "Delay below the initial interval: " + delay);
+            assertTrue(delay <= Math.min(MAXIMUM_BACKOFF, Math.max(INITIAL_INTERVAL, previousDelay) * 3), "Delay above its bound: " + delay);
+            previousDelay = delay;
+        }
+    }
+
+    @Test
+    void testZeroIntervalRetriesImmediately() {
+        RetryPolicy retryPolicy = new RetryPolicy(MAXIMUM_BACKOFF, RetryBudget.UNLIMITED);
+        assertEquals(0L, retryPolicy.nextDelay(0L, 0L, Collections.emptyMap()));
+    }
+
+    @Test
+    void testRetryAfterSecondsIsHonored() {
+        RetryPolicy retryPolicy = new RetryPolicy(MAXIMUM_BACKOFF, RetryBudget.UNLIMITED);
+        Map<String, String> headers = Map.of("retry-after", "5");
+        assertEquals(Optional.of(5000L), retryPolicy.getServerDelay(headers));
+        // The server delay is longer than the maximum backoff, and wins over the jittered delay.
+        assertEquals(5000L, retryPolicy.nextDelay(INITIAL_INTERVAL, 0L, headers));
+    }
+
+    @Test
+    void testRetryAfterDateIsHonored() {
+        RetryPolicy retryPolicy = new RetryPolicy(MAXIMUM_BACKOFF, RetryBudget.UNLIMITED);
+        String retryDate = DateUtils.formatDate(new Date(System.currentTimeMillis() + 30_000L));
+        long serverDelay = retryPolicy.getServerDelay(Map.of("Retry-After", retryDate)).orElse(-1L);
+        // HTTP dates have a precision of one second.
+        assertTrue(serverDelay > 28_000L && serverDelay <= 30_000L, "Unexpected delay: " + serverDelay);
+    }
+
+    @Test
+    void testRateLimitResetIsHonored() {
+        RetryPolicy retryPolicy = new RetryPolicy(MAXIMUM_BACKOFF, RetryBudget.UNLIMITED);
+        assertEquals(Optional.of(2000L), retryPolicy.getServerDelay(Map.of("RateLimit-Reset", "2")));
+        assertEquals(Optional.of(7000L), retryPolicy.getServerDelay(Map.of("RateLimit", "limit=10, remaining=0, reset=7")));
+        assertFalse(retryPolicy.getServerDelay(Map.of("Retry-After", "soon")).isPresent());
+    }
+
+    @Test
+    void testServerDelayIsCapped() {
+        RetryPolicy retryPolicy = new RetryPolicy(MAXIMUM_BACKOFF, RetryBudget.UNLIMITED);
+        assertEquals(RetryPolicy.MAXIMUM_SERVER_DELAY, retryPolicy.nextDelay(INITIAL_INTERVAL, 0L, Map.of("Retry-After", "86400")));
+    }
+}